@@ -0,0 +1,144 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter;
+
+import java.awt.Graphics2D;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import javafx.scene.Node;
+import org.jfxconverter.utils.JFXInvoker;
+
+/**
+ * Pipelines the conversion of a list of Nodes. The conversion of each Node is performed in the FX thread, and the result
+ * is handed to a {@link ConversionSink} on a worker thread, so that the conversion of a Node overlaps the writing of the
+ * previous ones. The number of Nodes which are converted but not written yet is bounded.
+ *
+ * @param <G> the Graphics2D type
+ * @since 0.25
+ */
+class ConversionPipeline<G extends Graphics2D> {
+   private final JFXConverter converter;
+   private final List<? extends Node> roots;
+   private final Function<? super Node, G> factory;
+   private final ConversionSink<G> sink;
+   private final Executor executor;
+   private final int maxInFlight;
+   private final CompletableFuture<Void> result = new CompletableFuture<>();
+   private final AtomicInteger next = new AtomicInteger();
+   private final AtomicInteger remaining;
+
+   ConversionPipeline(JFXConverter converter, List<? extends Node> roots, Function<? super Node, G> factory, ConversionSink<G> sink,
+      Executor executor, int maxInFlight) {
+      if (maxInFlight <= 0) {
+         throw new IllegalArgumentException("The maximum number of conversions in flight must be strictly positive");
+      }
+      this.converter = converter;
+      this.roots = roots;
+      this.factory = factory;
+      this.sink = sink;
+      this.executor = executor;
+      this.maxInFlight = maxInFlight;
+      this.remaining = new AtomicInteger(roots.size());
+   }
+
+   /**
+    * Start the conversion.
+    *
+    * @return the future which will be completed when all the Nodes have been written
+    */
+   CompletableFuture<Void> start() {
+      if (roots.isEmpty()) {
+         result.complete(null);
+      } else {
+         int count = Math.min(maxInFlight, roots.size());
+         for (int i = 0; i < count; i++) {
+            scheduleNext();
+         }
+      }
+      return result;
+   }
+
+   /**
+    * Schedule the conversion of the next Node, if the pipeline has not been cancelled or has not failed.
+    */
+   private void scheduleNext() {
+      if (result.isDone()) {
+         return;
+      }
+      int index = next.getAndIncrement();
+      if (index >= roots.size()) {
+         return;
+      }
+      Node root = roots.get(index);
+      JFXInvoker.getInstance().invokeAsync(() -> capture(root))
+         .thenAcceptAsync(g2D -> write(root, g2D), executor)
+         .whenComplete((v, th) -> {
+            if (th != null) {
+               result.completeExceptionally(th instanceof CompletionException && th.getCause() != null ? th.getCause() : th);
+            } else if (remaining.decrementAndGet() == 0) {
+               result.complete(null);
+            } else {
+               scheduleNext();
+            }
+         });
+   }
+
+   /**
+    * Convert a Node. Called in the FX thread.
+    */
+   private G capture(Node root) {
+      if (result.isDone()) {
+         return null;
+      }
+      G g2D = factory.apply(root);
+      converter.convert(g2D, root);
+      return g2D;
+   }
+
+   /**
+    * Write the result of the conversion of a Node. Called in a worker thread.
+    */
+   private void write(Node root, G g2D) {
+      if (g2D == null || result.isDone()) {
+         return;
+      }
+      try {
+         sink.write(root, g2D);
+      } catch (Exception e) {
+         throw new CompletionException(e);
+      }
+   }
+}
@@ -0,0 +1,55 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter;
+
+import java.awt.Graphics2D;
+import javafx.scene.Node;
+
+/**
+ * Receives the result of the conversion of a Node in an asynchronous conversion. The sink is called in a worker thread,
+ * after the conversion of the Node to the Graphics2D has been performed in the FX thread. It is typically used to
+ * serialize the Graphics2D content to a file.
+ *
+ * @param <G> the Graphics2D type
+ * @since 0.25
+ */
+@FunctionalInterface
+public interface ConversionSink<G extends Graphics2D> {
+   /**
+    * Called after the conversion of a Node.
+    *
+    * @param root the converted root Node
+    * @param g2D the Graphics2D which received the conversion orders
+    * @throws Exception if the writing of the result failed
+    */
+   public void write(Node root, G g2D) throws Exception;
+}
@@ -34,9 +34,16 @@ package org.jfxconverter;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import javafx.scene.Node;
+import org.jfxconverter.converters.ConversionCostEstimator;
+import org.jfxconverter.converters.ConversionCostReport;
 import org.jfxconverter.converters.ConverterDelegate;
 import org.jfxconverter.converters.ConverterListener;
+import org.jfxconverter.utils.JFXInvoker;
 import org.jfxconverter.utils.Utilities;
 
 /**
@@ -48,10 +55,26 @@ import org.jfxconverter.utils.Utilities;
  * converter.convert(node, graphics2d);
  * </pre>
  *
+ * <h1>Asynchronous conversion</h1>
+ * The conversion can be performed without blocking the caller. The conversion itself is always performed in the FX thread:
+ * <pre>
+ * converter.convertAsync(graphics2d, node).thenAccept(g2D -&gt; write(g2D));
+ * </pre>
+ * A list of Nodes can be converted in a pipeline, where the conversion of a Node in the FX thread overlaps the writing of the
+ * previous Nodes on worker threads:
+ * <pre>
+ * converter.convertAsync(nodes, node -&gt; createGraphics(node), (node, g2D) -&gt; write(node, g2D), executor, 4);
+ * </pre>
+ *
  * <h1>Configuration</h1>
  * The configuration of the conversion is controlled by the {@link org.jfxconverter.conf.ConverterConfig} class.
  *
- * @version 0.22
+ * <h1>Conversion cost</h1>
+ * If a budget is set for the Node subtrees in the configuration, the subtrees which are over the budget are rasterized rather
+ * than converted as vector orders. The cost report of the last conversion is returned by {@link #getCostReport()}. The cost of
+ * a Node hierarchy can also be estimated without any conversion with {@link #estimateCost(javafx.scene.Node)}.
+ *
+ * @version 0.25
  */
 public class JFXConverter {
    private ConverterDelegate delegate = null;
@@ -143,6 +166,26 @@ public class JFXConverter {
       return delegate;
    }
 
+   /**
+    * Return the cost report of the last conversion. Return null if no budget was set for the Node subtrees in the configuration.
+    *
+    * @return the cost report
+    */
+   public ConversionCostReport getCostReport() {
+      return delegate.getCostReport();
+   }
+
+   /**
+    * Estimate the conversion cost of a JavaFX Node hierarchy, using the budgets and the raster scale of the configuration.
+    * No conversion is performed.
+    *
+    * @param root the root Node
+    * @return the cost report
+    */
+   public ConversionCostReport estimateCost(Node root) {
+      return new ConversionCostEstimator().estimate(root);
+   }
+
    /**
     * Convert a JavaFX Node hierarchy to a series of {@link java.awt.Graphics2D} orders.
     *
@@ -159,4 +202,42 @@ public class JFXConverter {
       }
       delegate.convert(g2D, root);
    }
+
+   /**
+    * Convert asynchronously a JavaFX Node hierarchy to a series of {@link java.awt.Graphics2D} orders. The conversion is
+    * performed in the FX thread, this method can be called from any thread.
+    *
+    * @param <G> the Graphics2D type
+    * @param g2D the Graphics2D
+    * @param root the root Node
+    * @return the future which will be completed with the Graphics2D when the conversion is finished
+    */
+   public <G extends Graphics2D> CompletableFuture<G> convertAsync(G g2D, Node root) {
+      return JFXInvoker.getInstance().invokeAsync(() -> {
+         convert(g2D, root);
+         return g2D;
+      });
+   }
+
+   /**
+    * Convert asynchronously a list of JavaFX Node hierarchies. Each Node is converted in the FX thread to a Graphics2D
+    * created by the factory, then the sink is called with the result on the executor. The conversion of a Node overlaps
+    * the writing of the previous ones, but no more than <code>maxInFlight</code> Nodes can be converted and not yet written.
+    *
+    * Cancelling the returned future stops the conversion of the Nodes which were not already converted. If a conversion
+    * or a writing fails, the returned future completes exceptionally and the remaining Nodes are not converted.
+    *
+    * @param <G> the Graphics2D type
+    * @param roots the root Nodes
+    * @param factory the factory which creates the Graphics2D for each Node (called in the FX thread)
+    * @param sink the sink which writes the result for each Node (called on the executor)
+    * @param executor the executor used for the writing
+    * @param maxInFlight the maximum number of Nodes which can be converted and not yet written
+    * @return the future which will be completed when all the Nodes have been written
+    */
+   public <G extends Graphics2D> CompletableFuture<Void> convertAsync(List<? extends Node> roots, Function<? super Node, G> factory,
+      ConversionSink<G> sink, Executor executor, int maxInFlight) {
+      ConversionPipeline<G> pipeline = new ConversionPipeline<>(this, roots, factory, sink, executor, maxInFlight);
+      return pipeline.start();
+   }
 }
@@ -35,12 +35,16 @@ package org.jfxconverter.conf;
  * The JFXConverter configuration. It is possible to set directly the conversion configuration parameters by
  * this class or by parsing an XML configuration URL with the {@link ConverterConfigParser} class.
  *
+ * @version 0.25
  * @since 0.6
  */
 public class ConverterConfig {
    private static ConverterConfig conf = null;
    private boolean isSupportingDisabled = true;
    private int grayScalePercent = 40;
+   private long maxSubtreePrimitives = 0;
+   private long maxSubtreeBytes = 0;
+   private double rasterScale = 1;
 
    private ConverterConfig() {
    }
@@ -63,6 +67,9 @@ public class ConverterConfig {
    public void reset() {
       isSupportingDisabled = true;
       grayScalePercent = 40;
+      maxSubtreePrimitives = 0;
+      maxSubtreeBytes = 0;
+      rasterScale = 1;
    }
 
    /**
@@ -103,4 +110,75 @@ public class ConverterConfig {
    public int getGrayScalePercent() {
       return grayScalePercent;
    }
+
+   /**
+    * Set the maximum estimated number of primitives for a Node subtree. The subtrees which are over this budget will be
+    * rasterized rather than converted as vector orders. A value of 0 means that there is no limit.
+    *
+    * @param maxPrimitives the maximum number of primitives
+    * @see org.jfxconverter.converters.ConversionCostEstimator
+    */
+   public void setMaximumSubtreePrimitives(long maxPrimitives) {
+      this.maxSubtreePrimitives = maxPrimitives;
+   }
+
+   /**
+    * Return the maximum estimated number of primitives for a Node subtree. It is 0 by default, which means that there is no limit.
+    *
+    * @return the maximum number of primitives
+    */
+   public long getMaximumSubtreePrimitives() {
+      return maxSubtreePrimitives;
+   }
+
+   /**
+    * Set the maximum estimated size in bytes for a Node subtree. The subtrees which are over this budget will be
+    * rasterized rather than converted as vector orders if their rasterized size is lower. A value of 0 means that there
+    * is no limit.
+    *
+    * @param maxBytes the maximum size in bytes
+    * @see org.jfxconverter.converters.ConversionCostEstimator
+    */
+   public void setMaximumSubtreeBytes(long maxBytes) {
+      this.maxSubtreeBytes = maxBytes;
+   }
+
+   /**
+    * Return the maximum estimated size in bytes for a Node subtree. It is 0 by default, which means that there is no limit.
+    *
+    * @return the maximum size in bytes
+    */
+   public long getMaximumSubtreeBytes() {
+      return maxSubtreeBytes;
+   }
+
+   /**
+    * Return true if a budget is set for the Node subtrees, in which case the subtrees which are over the budget will be rasterized.
+    *
+    * @return true if a budget is set for the Node subtrees
+    */
+   public boolean isRasterFallbackEnabled() {
+      return maxSubtreePrimitives > 0 || maxSubtreeBytes > 0;
+   }
+
+   /**
+    * Set the scale of the rasterized subtrees, relative to the output resolution. For example a scale of 2 will
+    * rasterize the subtrees with twice the output resolution.
+    *
+    * @param scale the raster scale
+    */
+   public void setRasterScale(double scale) {
+      if (scale > 0) {
+         this.rasterScale = scale;
+      }
+   }
+
+   /**
+    * Return the scale of the rasterized subtrees, relative to the output resolution. It is 1 by default.
+    *
+    * @return the raster scale
+    */
+   public double getRasterScale() {
+      return rasterScale;
+   }
 }
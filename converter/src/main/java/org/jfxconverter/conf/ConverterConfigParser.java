@@ -67,9 +67,12 @@ import org.xml.sax.helpers.DefaultHandler;
  *   &lt;xs:element name="globals"&gt;
  *     &lt;xs:complexType&gt;
  *       &lt;xs:sequence&gt;
- *         &lt;xs:choice&gt;
- *           &lt;xs:element minOccurs="0" ref="supportDisabled" /&gt;
- *           &lt;xs:element minOccurs="0" ref="grayScalePercent" /&gt;
+ *         &lt;xs:choice minOccurs="0" maxOccurs="unbounded"&gt;
+ *           &lt;xs:element ref="supportDisabled" /&gt;
+ *           &lt;xs:element ref="grayScalePercent" /&gt;
+ *           &lt;xs:element ref="maxSubtreePrimitives" /&gt;
+ *           &lt;xs:element ref="maxSubtreeBytes" /&gt;
+ *           &lt;xs:element ref="rasterScale" /&gt;
  *         &lt;/xs:choice&gt;
  *       &lt;/xs:sequence&gt;
  *     &lt;/xs:complexType&gt;
@@ -84,10 +87,25 @@ import org.xml.sax.helpers.DefaultHandler;
  *       &lt;xs:attribute name="value" type="xs:nonNegativeInteger" use="required" /&gt;
  *     &lt;/xs:complexType&gt;
  *   &lt;/xs:element&gt;
+ *   &lt;xs:element name="maxSubtreePrimitives"&gt;
+ *     &lt;xs:complexType&gt;
+ *       &lt;xs:attribute name="value" type="xs:nonNegativeInteger" use="required" /&gt;
+ *     &lt;/xs:complexType&gt;
+ *   &lt;/xs:element&gt;
+ *   &lt;xs:element name="maxSubtreeBytes"&gt;
+ *     &lt;xs:complexType&gt;
+ *       &lt;xs:attribute name="value" type="xs:nonNegativeInteger" use="required" /&gt;
+ *     &lt;/xs:complexType&gt;
+ *   &lt;/xs:element&gt;
+ *   &lt;xs:element name="rasterScale"&gt;
+ *     &lt;xs:complexType&gt;
+ *       &lt;xs:attribute name="value" type="xs:double" use="required" /&gt;
+ *     &lt;/xs:complexType&gt;
+ *   &lt;/xs:element&gt;
  * &lt;/xs:schema&gt;
  * </pre>
  *
- * @version 0.24
+ * @version 0.25
  */
 public class ConverterConfigParser {
    // Configuration Schema
@@ -155,6 +173,12 @@ public class ConverterConfigParser {
             parseSupportDisabled(attr);
          } else if (qname.equals("grayScalePercent")) {
             parseGrayScalePercent(attr);
+         } else if (qname.equals("maxSubtreePrimitives")) {
+            parseMaxSubtreePrimitives(attr);
+         } else if (qname.equals("maxSubtreeBytes")) {
+            parseMaxSubtreeBytes(attr);
+         } else if (qname.equals("rasterScale")) {
+            parseRasterScale(attr);
          }
       }
 
@@ -181,5 +205,47 @@ public class ConverterConfigParser {
             }
          }
       }
+
+      private void parseMaxSubtreePrimitives(Attributes attr) {
+         for (int i = 0; i < attr.getLength(); i++) {
+            String attrname = attr.getQName(i);
+            String attrvalue = attr.getValue(i);
+            if (attrname.equals("value")) {
+               try {
+                  long max = Long.parseLong(attrvalue);
+                  conf.setMaximumSubtreePrimitives(max);
+               } catch (NumberFormatException e) {
+               }
+            }
+         }
+      }
+
+      private void parseMaxSubtreeBytes(Attributes attr) {
+         for (int i = 0; i < attr.getLength(); i++) {
+            String attrname = attr.getQName(i);
+            String attrvalue = attr.getValue(i);
+            if (attrname.equals("value")) {
+               try {
+                  long max = Long.parseLong(attrvalue);
+                  conf.setMaximumSubtreeBytes(max);
+               } catch (NumberFormatException e) {
+               }
+            }
+         }
+      }
+
+      private void parseRasterScale(Attributes attr) {
+         for (int i = 0; i < attr.getLength(); i++) {
+            String attrname = attr.getQName(i);
+            String attrvalue = attr.getValue(i);
+            if (attrname.equals("value")) {
+               try {
+                  double scale = Double.parseDouble(attrvalue);
+                  conf.setRasterScale(scale);
+               } catch (NumberFormatException e) {
+               }
+            }
+         }
+      }
    }
 }
@@ -0,0 +1,120 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.converters;
+
+import javafx.scene.Node;
+
+/**
+ * The estimated conversion cost of a Node subtree, as computed by the {@link ConversionCostEstimator}.
+ *
+ * The vector cost is the cost of the subtree if all its Nodes were converted as vector orders. The effective cost takes
+ * into account the subtrees which will be rasterized, including the Node itself.
+ *
+ * @since 0.25
+ */
+public final class ConversionCost {
+   private final Node node;
+   private final long vectorPrimitives;
+   private final long vectorBytes;
+   private final long primitives;
+   private final long bytes;
+   private final boolean isRasterized;
+
+   ConversionCost(Node node, long vectorPrimitives, long vectorBytes, long primitives, long bytes, boolean isRasterized) {
+      this.node = node;
+      this.vectorPrimitives = vectorPrimitives;
+      this.vectorBytes = vectorBytes;
+      this.primitives = primitives;
+      this.bytes = bytes;
+      this.isRasterized = isRasterized;
+   }
+
+   /**
+    * Return the root Node of the subtree.
+    *
+    * @return the Node
+    */
+   public Node getNode() {
+      return node;
+   }
+
+   /**
+    * Return the estimated number of primitives of the subtree if all its Nodes were converted as vector orders.
+    *
+    * @return the number of vector primitives
+    */
+   public long getVectorPrimitives() {
+      return vectorPrimitives;
+   }
+
+   /**
+    * Return the estimated size in bytes of the subtree if all its Nodes were converted as vector orders.
+    *
+    * @return the vector size in bytes
+    */
+   public long getVectorBytes() {
+      return vectorBytes;
+   }
+
+   /**
+    * Return the estimated number of primitives of the subtree, taking into account the rasterized subtrees.
+    *
+    * @return the number of primitives
+    */
+   public long getPrimitives() {
+      return primitives;
+   }
+
+   /**
+    * Return the estimated size in bytes of the subtree, taking into account the rasterized subtrees.
+    *
+    * @return the size in bytes
+    */
+   public long getBytes() {
+      return bytes;
+   }
+
+   /**
+    * Return true if the subtree will be rasterized rather than converted as vector orders.
+    *
+    * @return true if the subtree will be rasterized
+    */
+   public boolean isRasterized() {
+      return isRasterized;
+   }
+
+   @Override
+   public String toString() {
+      return "ConversionCost{" + "primitives=" + primitives + ", bytes=" + bytes + ", vectorPrimitives=" + vectorPrimitives
+         + ", vectorBytes=" + vectorBytes + ", rasterized=" + isRasterized + '}';
+   }
+}
@@ -0,0 +1,377 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.converters;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import javafx.geometry.Bounds;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.SubScene;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundImage;
+import javafx.scene.layout.BackgroundRepeat;
+import javafx.scene.layout.Border;
+import javafx.scene.layout.Region;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Polyline;
+import javafx.scene.shape.SVGPath;
+import javafx.scene.shape.Shape;
+import javafx.scene.shape.Shape3D;
+import javafx.scene.text.Text;
+import org.jfxconverter.conf.ConverterConfig;
+
+/**
+ * Estimates the conversion cost of a Node hierarchy, and selects the subtrees which should be rasterized rather than
+ * converted as vector orders.
+ *
+ * <h1>Estimation</h1>
+ * The estimation is a cheap pre-pass over the hierarchy which does not perform any conversion. The cost of each Node is
+ * estimated in number of primitives and in bytes from heuristics: the number of points of the shapes, the number of characters
+ * of the texts, the size of the images, the number of tiles of repeated background images and the number of triangles of
+ * the 3D shapes. The cost of a subtree is the cost of its Node added to the cost of its visible children.
+ *
+ * <h1>Raster fallback</h1>
+ * The subtrees are visited bottom-up. If the cost of a subtree is over the maximum number of primitives or the maximum number of
+ * bytes, and if the cost of the subtree rasterized at the target resolution is lower, the subtree is marked as rasterized, and its
+ * raster cost is used for the estimation of its ancestors. The root of the hierarchy is never rasterized.
+ *
+ * @since 0.25
+ */
+public class ConversionCostEstimator {
+   /**
+    * The estimated size in bytes of one primitive, excluding its points.
+    */
+   protected static final long PRIMITIVE_BYTES = 64;
+   /**
+    * The estimated size in bytes of one point.
+    */
+   protected static final long POINT_BYTES = 16;
+   /**
+    * The estimated size in bytes of one image pixel.
+    */
+   protected static final long PIXEL_BYTES = 2;
+   private final long maxPrimitives;
+   private final long maxBytes;
+   private final double rasterScale;
+
+   /**
+    * Constructor, using the budgets and the raster scale of the {@link ConverterConfig}.
+    */
+   public ConversionCostEstimator() {
+      ConverterConfig conf = ConverterConfig.getInstance();
+      this.maxPrimitives = conf.getMaximumSubtreePrimitives();
+      this.maxBytes = conf.getMaximumSubtreeBytes();
+      this.rasterScale = conf.getRasterScale();
+   }
+
+   /**
+    * Constructor.
+    *
+    * @param maxPrimitives the maximum number of primitives for a subtree (0 for no limit)
+    * @param maxBytes the maximum size in bytes for a subtree (0 for no limit)
+    * @param rasterScale the scale of the rasterized subtrees, relative to the Node coordinates
+    */
+   public ConversionCostEstimator(long maxPrimitives, long maxBytes, double rasterScale) {
+      this.maxPrimitives = maxPrimitives;
+      this.maxBytes = maxBytes;
+      this.rasterScale = rasterScale;
+   }
+
+   /**
+    * Return the maximum number of primitives for a subtree (0 for no limit).
+    *
+    * @return the maximum number of primitives
+    */
+   public long getMaximumPrimitives() {
+      return maxPrimitives;
+   }
+
+   /**
+    * Return the maximum size in bytes for a subtree (0 for no limit).
+    *
+    * @return the maximum size in bytes
+    */
+   public long getMaximumBytes() {
+      return maxBytes;
+   }
+
+   /**
+    * Return the scale of the rasterized subtrees, relative to the Node coordinates.
+    *
+    * @return the raster scale
+    */
+   public double getRasterScale() {
+      return rasterScale;
+   }
+
+   /**
+    * Estimate the conversion cost of a Node hierarchy.
+    *
+    * @param root the root Node
+    * @return the cost report
+    */
+   public ConversionCostReport estimate(Node root) {
+      Map<Node, ConversionCost> costs = new IdentityHashMap<>();
+      estimate(root, costs, true);
+      ConversionCostReport report = new ConversionCostReport(root);
+      fillReport(root, costs, report);
+      return report;
+   }
+
+   private ConversionCost estimate(Node node, Map<Node, ConversionCost> costs, boolean isRoot) {
+      long vectorPrimitives = getPrimitives(node);
+      long vectorBytes = getBytes(node);
+      long primitives = vectorPrimitives;
+      long bytes = vectorBytes;
+      List<Node> children = getChildren(node);
+      if (children != null) {
+         Iterator<Node> it = children.iterator();
+         while (it.hasNext()) {
+            Node child = it.next();
+            if (child.isVisible()) {
+               ConversionCost childCost = estimate(child, costs, false);
+               vectorPrimitives += childCost.getVectorPrimitives();
+               vectorBytes += childCost.getVectorBytes();
+               primitives += childCost.getPrimitives();
+               bytes += childCost.getBytes();
+            }
+         }
+      }
+      boolean isRasterized = false;
+      if (!isRoot && isOverBudget(primitives, bytes)) {
+         long rasterBytes = getRasterBytes(node);
+         boolean isPrimitivesOver = maxPrimitives > 0 && primitives > maxPrimitives;
+         if (rasterBytes > 0 && (isPrimitivesOver || rasterBytes < bytes)) {
+            isRasterized = true;
+            primitives = 1;
+            bytes = rasterBytes;
+         }
+      }
+      ConversionCost cost = new ConversionCost(node, vectorPrimitives, vectorBytes, primitives, bytes, isRasterized);
+      costs.put(node, cost);
+      return cost;
+   }
+
+   /**
+    * Fill the final report, without the Nodes which are under a rasterized Node.
+    */
+   private void fillReport(Node node, Map<Node, ConversionCost> costs, ConversionCostReport report) {
+      ConversionCost cost = costs.get(node);
+      if (cost != null) {
+         report.addCost(cost);
+         if (!cost.isRasterized()) {
+            List<Node> children = getChildren(node);
+            if (children != null) {
+               Iterator<Node> it = children.iterator();
+               while (it.hasNext()) {
+                  fillReport(it.next(), costs, report);
+               }
+            }
+         }
+      }
+   }
+
+   private boolean isOverBudget(long primitives, long bytes) {
+      return (maxPrimitives > 0 && primitives > maxPrimitives) || (maxBytes > 0 && bytes > maxBytes);
+   }
+
+   /**
+    * Return the children of a Node which are converted with the Node (may be null).
+    *
+    * @param node the Node
+    * @return the children
+    */
+   protected List<Node> getChildren(Node node) {
+      if (node instanceof SubScene) {
+         Parent root = ((SubScene) node).getRoot();
+         return root != null ? root.getChildrenUnmodifiable() : null;
+      } else if (node instanceof Parent) {
+         return ((Parent) node).getChildrenUnmodifiable();
+      } else {
+         return null;
+      }
+   }
+
+   /**
+    * Return the estimated size in bytes of a Node subtree rasterized at the target resolution. Return 0 if the subtree
+    * can not be rasterized.
+    *
+    * @param node the Node
+    * @return the size in bytes
+    */
+   protected long getRasterBytes(Node node) {
+      Bounds bounds = node.getBoundsInLocal();
+      if (bounds.isEmpty()) {
+         return 0;
+      }
+      return PRIMITIVE_BYTES + getPixels(bounds.getWidth() * rasterScale, bounds.getHeight() * rasterScale) * PIXEL_BYTES;
+   }
+
+   /**
+    * Return the estimated number of primitives of a Node, without its children.
+    *
+    * @param node the Node
+    * @return the number of primitives
+    */
+   protected long getPrimitives(Node node) {
+      if (node instanceof Shape) {
+         Shape shape = (Shape) node;
+         return getShapePrimitives(shape);
+      } else if (node instanceof Region) {
+         Region region = (Region) node;
+         long primitives = 0;
+         Background background = region.getBackground();
+         if (background != null) {
+            primitives += background.getFills().size();
+            Iterator<BackgroundImage> it = background.getImages().iterator();
+            while (it.hasNext()) {
+               primitives += getTiles(region, it.next());
+            }
+         }
+         Border border = region.getBorder();
+         if (border != null) {
+            primitives += border.getStrokes().size() + border.getImages().size();
+         }
+         return primitives;
+      } else if (node instanceof Shape3D) {
+         return Shape3DMeshes.getTrianglesCount((Shape3D) node);
+      } else if (node instanceof ImageView) {
+         return 1;
+      } else {
+         return 0;
+      }
+   }
+
+   /**
+    * Return the estimated size in bytes of a Node, without its children.
+    *
+    * @param node the Node
+    * @return the size in bytes
+    */
+   protected long getBytes(Node node) {
+      if (node instanceof Text) {
+         String text = ((Text) node).getText();
+         return PRIMITIVE_BYTES + (text != null ? text.length() : 0);
+      } else if (node instanceof Shape) {
+         Shape shape = (Shape) node;
+         return getShapePrimitives(shape) * (PRIMITIVE_BYTES + getPoints(shape) * POINT_BYTES);
+      } else if (node instanceof Region) {
+         Region region = (Region) node;
+         long bytes = 0;
+         Background background = region.getBackground();
+         if (background != null) {
+            bytes += background.getFills().size() * (PRIMITIVE_BYTES + 4 * POINT_BYTES);
+            Iterator<BackgroundImage> it = background.getImages().iterator();
+            while (it.hasNext()) {
+               BackgroundImage bImage = it.next();
+               Image image = bImage.getImage();
+               long tileBytes = PRIMITIVE_BYTES + getPixels(image.getWidth(), image.getHeight()) * PIXEL_BYTES;
+               bytes += getTiles(region, bImage) * tileBytes;
+            }
+         }
+         Border border = region.getBorder();
+         if (border != null) {
+            bytes += border.getStrokes().size() * (PRIMITIVE_BYTES + 4 * POINT_BYTES);
+         }
+         return bytes;
+      } else if (node instanceof ImageView) {
+         ImageView view = (ImageView) node;
+         Rectangle2D viewport = view.getViewport();
+         Image image = view.getImage();
+         if (viewport != null) {
+            return PRIMITIVE_BYTES + getPixels(viewport.getWidth(), viewport.getHeight()) * PIXEL_BYTES;
+         } else if (image != null) {
+            return PRIMITIVE_BYTES + getPixels(image.getWidth(), image.getHeight()) * PIXEL_BYTES;
+         } else {
+            return 0;
+         }
+      } else if (node instanceof Shape3D) {
+         // a Shape3D is projected as one polygon per triangle
+         return Shape3DMeshes.getTrianglesCount((Shape3D) node) * (PRIMITIVE_BYTES + 3 * POINT_BYTES);
+      } else {
+         return 0;
+      }
+   }
+
+   private long getShapePrimitives(Shape shape) {
+      int count = 0;
+      if (shape.getFill() != null) {
+         count++;
+      }
+      if (shape.getStroke() != null) {
+         count++;
+      }
+      return Math.max(count, 1);
+   }
+
+   private long getPoints(Shape shape) {
+      if (shape instanceof Polyline) {
+         return ((Polyline) shape).getPoints().size() / 2;
+      } else if (shape instanceof Polygon) {
+         return ((Polygon) shape).getPoints().size() / 2;
+      } else if (shape instanceof Path) {
+         return ((Path) shape).getElements().size() * 2;
+      } else if (shape instanceof SVGPath) {
+         String content = ((SVGPath) shape).getContent();
+         return content != null ? content.length() / 6 + 1 : 0;
+      } else {
+         return 4;
+      }
+   }
+
+   private long getTiles(Region region, BackgroundImage bImage) {
+      Image image = bImage.getImage();
+      if (image == null || image.getWidth() <= 0 || image.getHeight() <= 0) {
+         return 0;
+      }
+      long tilesX = 1;
+      long tilesY = 1;
+      if (bImage.getRepeatX() != BackgroundRepeat.NO_REPEAT) {
+         tilesX = Math.max(1, (long) Math.ceil(region.getWidth() / image.getWidth()));
+      }
+      if (bImage.getRepeatY() != BackgroundRepeat.NO_REPEAT) {
+         tilesY = Math.max(1, (long) Math.ceil(region.getHeight() / image.getHeight()));
+      }
+      return tilesX * tilesY;
+   }
+
+   private static long getPixels(double width, double height) {
+      return (long) Math.ceil(width) * (long) Math.ceil(height);
+   }
+}
@@ -0,0 +1,130 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.converters;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javafx.scene.Node;
+
+/**
+ * The report of the conversion costs of a Node hierarchy, as computed by the {@link ConversionCostEstimator}.
+ *
+ * @since 0.25
+ */
+public final class ConversionCostReport {
+   private final Node root;
+   private final Map<Node, ConversionCost> costs = new IdentityHashMap<>();
+   private final List<Node> rasterized = new ArrayList<>();
+
+   ConversionCostReport(Node root) {
+      this.root = root;
+   }
+
+   void addCost(ConversionCost cost) {
+      costs.put(cost.getNode(), cost);
+      if (cost.isRasterized()) {
+         rasterized.add(cost.getNode());
+      }
+   }
+
+   /**
+    * Return the root Node of the hierarchy.
+    *
+    * @return the root Node
+    */
+   public Node getRoot() {
+      return root;
+   }
+
+   /**
+    * Return the cost of the subtree of a Node (may be null if the Node was not estimated, for example because it is not
+    * visible or it is in a rasterized subtree).
+    *
+    * @param node the Node
+    * @return the cost of the subtree
+    */
+   public ConversionCost getCost(Node node) {
+      return costs.get(node);
+   }
+
+   /**
+    * Return the cost of the whole hierarchy.
+    *
+    * @return the cost of the whole hierarchy
+    */
+   public ConversionCost getRootCost() {
+      return costs.get(root);
+   }
+
+   /**
+    * Return true if a Node subtree will be rasterized.
+    *
+    * @param node the Node
+    * @return true if the subtree will be rasterized
+    */
+   public boolean isRasterized(Node node) {
+      ConversionCost cost = costs.get(node);
+      return cost != null && cost.isRasterized();
+   }
+
+   /**
+    * Return the Nodes whose subtree will be rasterized.
+    *
+    * @return the rasterized Nodes
+    */
+   public List<Node> getRasterizedNodes() {
+      return Collections.unmodifiableList(rasterized);
+   }
+
+   /**
+    * Return the estimated number of primitives of the whole hierarchy, taking into account the rasterized subtrees.
+    *
+    * @return the number of primitives
+    */
+   public long getPrimitives() {
+      ConversionCost cost = costs.get(root);
+      return cost != null ? cost.getPrimitives() : 0;
+   }
+
+   /**
+    * Return the estimated size in bytes of the whole hierarchy, taking into account the rasterized subtrees.
+    *
+    * @return the size in bytes
+    */
+   public long getBytes() {
+      ConversionCost cost = costs.get(root);
+      return cost != null ? cost.getBytes() : 0;
+   }
+}
@@ -36,6 +36,8 @@ import java.awt.Graphics2D;
 import java.awt.Paint;
 import java.awt.Stroke;
 import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Rectangle2D;
 import java.util.Iterator;
 import java.util.Stack;
 import javafx.scene.Group;
@@ -47,6 +49,7 @@ import javafx.scene.image.ImageView;
 import javafx.scene.layout.Region;
 import javafx.scene.shape.Shape;
 import javafx.scene.shape.Shape3D;
+import org.jfxconverter.conf.ConverterConfig;
 import org.jfxconverter.utils.JFXShapeUtilities;
 
 /**
@@ -55,10 +58,15 @@ import org.jfxconverter.utils.JFXShapeUtilities;
  * Note that it is preferable to use the {@link org.jfxconverter.JFXConverter} class rather than this one. This class is called internally by the
  * {@link org.jfxconverter.JFXConverter} class.
  *
- * @version 0.20
+ * If a maximum number of primitives or a maximum size in bytes is set for the subtrees in the {@link ConverterConfig}, the cost of the
+ * hierarchy is estimated before the conversion by a {@link ConversionCostEstimator}, and the subtrees which are over the budget are
+ * converted as images by a {@link RasterConverter}.
+ *
+ * @version 0.25
  */
 public class ConverterDelegate {
    private Node root = null;
+   private AffineTransform baseTransform = null;
    private Graphics2D g2D = null;
    private ConverterListener listener = null;
    private final Stack<TransformWrapper> transforms = new Stack<>();
@@ -66,6 +74,8 @@ public class ConverterDelegate {
    private final Stack<FontWrapper> fonts = new Stack<>();
    private final Stack<StrokeWrapper> strokes = new Stack<>();
    private final Stack<ClipWrapper> clips = new Stack<>();
+   private ConversionCostReport costReport = null;
+   private double rasterScale = 1;
 
    public ConverterDelegate() {
    }
@@ -74,6 +84,7 @@ public class ConverterDelegate {
     * Resets the ConverterDelegate.
     */
    public void reset() {
+      costReport = null;
       clips.clear();
       strokes.clear();
       fonts.clear();
@@ -108,6 +119,16 @@ public class ConverterDelegate {
       return root;
    }
 
+   /**
+    * Return the transform of the Graphics2D at the beginning of the conversion, before the transforms of the root Node
+    * are applied.
+    *
+    * @return the transform
+    */
+   public AffineTransform getBaseTransform() {
+      return baseTransform == null ? new AffineTransform() : new AffineTransform(baseTransform);
+   }
+
    /**
     * Return the Graphics2D.
     *
@@ -117,6 +138,16 @@ public class ConverterDelegate {
       return g2D;
    }
 
+   /**
+    * Return the cost report of the last conversion. Return null if no budget was set for the subtrees in the
+    * {@link ConverterConfig}.
+    *
+    * @return the cost report
+    */
+   public ConversionCostReport getCostReport() {
+      return costReport;
+   }
+
    /**
     * Set the CLip of a Node.
     *
@@ -126,8 +157,65 @@ public class ConverterDelegate {
       if (node.getClip() != null) {
          java.awt.Shape awtShape = JFXShapeUtilities.getShape(node.getClip());
          awtShape = JFXShapeUtilities.transformShape(node.getClip(), awtShape);
-         clips.peek().setClip(awtShape);
-         g2D.clip(awtShape);
+         clip(awtShape);
+      }
+   }
+
+   /**
+    * Intersect the current clip with a Shape, expressed in the current user space.
+    *
+    * The axis-aligned rectangular clips are intersected arithmetically with the current clip if it is also rectangular, and
+    * the resulting rectangle is set as the clip of the Graphics2D. A rectangular clip which contains the current clip is
+    * dropped because it does not change the effective clip region. Other clips are intersected by the Graphics2D.
+    *
+    * @param awtShape the Shape
+    */
+   public void clip(java.awt.Shape awtShape) {
+      ClipWrapper wrapper = clips.peek();
+      wrapper.setClip(awtShape);
+      AffineTransform tr = g2D.getTransform();
+      if (wrapper.isRectangular() && awtShape instanceof Rectangle2D && isAxisAligned(tr)) {
+         Rectangle2D deviceRect = tr.createTransformedShape(awtShape).getBounds2D();
+         Rectangle2D current = wrapper.getDeviceClip();
+         if (current != null && deviceRect.contains(current)) {
+            return;
+         }
+         Rectangle2D effective = current == null ? deviceRect : deviceRect.createIntersection(current);
+         if (effective.isEmpty()) {
+            effective = new Rectangle2D.Double(effective.getX(), effective.getY(), 0, 0);
+         }
+         try {
+            Rectangle2D userRect = tr.createInverse().createTransformedShape(effective).getBounds2D();
+            wrapper.setDeviceClip(effective);
+            g2D.setClip(userRect);
+            return;
+         } catch (NoninvertibleTransformException e) {
+         }
+      }
+      wrapper.setNonRectangular();
+      g2D.clip(awtShape);
+   }
+
+   private static boolean isAxisAligned(AffineTransform tr) {
+      return (tr.getType() & (AffineTransform.TYPE_GENERAL_ROTATION | AffineTransform.TYPE_GENERAL_TRANSFORM)) == 0;
+   }
+
+   /**
+    * Create the clip state of a new Node, which inherits the effective clip of its parent.
+    */
+   private ClipWrapper createClipWrapper() {
+      java.awt.Shape oldClip = g2D.getClip();
+      if (!clips.empty()) {
+         return new ClipWrapper(oldClip, clips.peek());
+      } else if (oldClip == null) {
+         return new ClipWrapper(oldClip, true, null);
+      } else {
+         AffineTransform tr = g2D.getTransform();
+         if (oldClip instanceof Rectangle2D && isAxisAligned(tr)) {
+            return new ClipWrapper(oldClip, true, tr.createTransformedShape(oldClip).getBounds2D());
+         } else {
+            return new ClipWrapper(oldClip, false, null);
+         }
       }
    }
 
@@ -139,7 +227,7 @@ public class ConverterDelegate {
       paints.push(new PaintWrapper(g2D.getColor()));
       fonts.push(new FontWrapper(g2D.getFont()));
       strokes.push(new StrokeWrapper(g2D.getStroke()));
-      clips.push(new ClipWrapper(g2D.getClip()));
+      clips.push(createClipWrapper());
    }
 
    void setStroke(Stroke stroke) {
@@ -211,6 +299,16 @@ public class ConverterDelegate {
    public void convert(Graphics2D g2D, Node root) {
       this.g2D = g2D;
       this.root = root;
+      this.baseTransform = g2D.getTransform();
+      ConverterConfig conf = ConverterConfig.getInstance();
+      if (conf.isRasterFallbackEnabled()) {
+         rasterScale = conf.getRasterScale();
+         ConversionCostEstimator estimator = new ConversionCostEstimator(conf.getMaximumSubtreePrimitives(), conf.getMaximumSubtreeBytes(),
+            rasterScale);
+         costReport = estimator.estimate(root);
+      } else {
+         costReport = null;
+      }
       AbstractConverter conv = getConverter(root);
       if (conv != null) {
          this.startNode(root);
@@ -238,7 +336,9 @@ public class ConverterDelegate {
 
    private AbstractConverter getConverter(Node node) {
       AbstractConverter conv = null;
-      if (node instanceof Shape) {
+      if (costReport != null && costReport.isRasterized(node)) {
+         conv = new RasterConverter(this, node, rasterScale);
+      } else if (node instanceof Shape) {
          Shape shape = (Shape) node;
          conv = new ShapeConverter(this, shape);
       } else if (node instanceof Control) {
@@ -278,7 +378,9 @@ public class ConverterDelegate {
             this.startNode(node);
             conv.applyTransforms();
             clip(node);
-            if (listener != null) {
+            // the effect is already rendered in the image of a rasterized Node
+            boolean hasEffect = listener != null && !(conv instanceof RasterConverter);
+            if (hasEffect) {
                listener.applyEffect(g2D, node, node.getEffect());
             }
             conv.convert();
@@ -294,7 +396,7 @@ public class ConverterDelegate {
                   convert(child);
                }
             }
-            if (listener != null) {
+            if (hasEffect) {
                listener.endEffect(g2D, node);
             }
             this.endNode(node);
@@ -347,9 +449,19 @@ public class ConverterDelegate {
    private static class ClipWrapper {
       private java.awt.Shape oldClip = null;
       private java.awt.Shape clip = null;
+      // true if the effective clip is known to be an axis-aligned rectangle in the device space (or no clip)
+      private boolean isRectangular = true;
+      // the effective clip in the device space, null if there is no clip
+      private Rectangle2D deviceClip = null;
 
-      private ClipWrapper(java.awt.Shape oldClip) {
+      private ClipWrapper(java.awt.Shape oldClip, boolean isRectangular, Rectangle2D deviceClip) {
          this.oldClip = oldClip;
+         this.isRectangular = isRectangular;
+         this.deviceClip = deviceClip;
+      }
+
+      private ClipWrapper(java.awt.Shape oldClip, ClipWrapper parent) {
+         this(oldClip, parent.isRectangular, parent.deviceClip);
       }
 
       java.awt.Shape getOldClip() {
@@ -363,6 +475,23 @@ public class ConverterDelegate {
       java.awt.Shape getClip() {
          return clip;
       }
+
+      boolean isRectangular() {
+         return isRectangular;
+      }
+
+      void setNonRectangular() {
+         this.isRectangular = false;
+         this.deviceClip = null;
+      }
+
+      void setDeviceClip(Rectangle2D deviceClip) {
+         this.deviceClip = deviceClip;
+      }
+
+      Rectangle2D getDeviceClip() {
+         return deviceClip;
+      }
    }
 
    private static class TransformWrapper {
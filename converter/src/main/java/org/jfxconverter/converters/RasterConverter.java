@@ -0,0 +1,124 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.converters;
+
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import javafx.embed.swing.SwingFXUtils;
+import javafx.geometry.Bounds;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.NonInvertibleTransformException;
+import javafx.scene.transform.Scale;
+import javafx.scene.transform.Transform;
+
+/**
+ * A converter which convert a Node subtree by serializing it as an Image. It is used for the subtrees which have been selected
+ * for rasterization by the {@link ConversionCostEstimator}.
+ *
+ * The subtree is rendered in the Node coordinates, at the raster scale multiplied by the scale of the current Graphics2D
+ * transform.
+ *
+ * @since 0.25
+ */
+public class RasterConverter extends AbstractConverter {
+   private final Node node;
+   private final double rasterScale;
+
+   /**
+    * Constructor.
+    *
+    * @param converter the ConverterDelegate
+    * @param node the Node
+    * @param rasterScale the raster scale, relative to the Graphics2D device space
+    */
+   public RasterConverter(ConverterDelegate converter, Node node, double rasterScale) {
+      super(converter, node);
+      this.node = node;
+      this.rasterScale = rasterScale;
+   }
+
+   /**
+    * Return the Node.
+    *
+    * @return the Node
+    */
+   public Node getNode() {
+      return node;
+   }
+
+   /**
+    * Convert the Node subtree by serializing it as an Image.
+    */
+   @Override
+   public void convert() {
+      Bounds bounds = node.getBoundsInLocal();
+      if (bounds.isEmpty()) {
+         return;
+      }
+      Graphics2D g2D = converter.getGraphics2D();
+      double scale = rasterScale * getDeviceScale(g2D.getTransform());
+      Transform toLocal;
+      try {
+         toLocal = node.getLocalToParentTransform().createInverse();
+      } catch (NonInvertibleTransformException e) {
+         return;
+      }
+      int width = (int) Math.ceil(bounds.getWidth() * scale);
+      int height = (int) Math.ceil(bounds.getHeight() * scale);
+      if (width <= 0 || height <= 0) {
+         return;
+      }
+      SnapshotParameters params = new SnapshotParameters();
+      params.setFill(Color.TRANSPARENT);
+      params.setTransform(new Scale(scale, scale).createConcatenation(toLocal));
+      params.setViewport(new Rectangle2D(bounds.getMinX() * scale, bounds.getMinY() * scale, width, height));
+      WritableImage wimage = node.snapshot(params, null);
+      BufferedImage image = new BufferedImage((int) wimage.getWidth(), (int) wimage.getHeight(), BufferedImage.TYPE_INT_ARGB);
+      image = SwingFXUtils.fromFXImage(wimage, image);
+
+      AffineTransform tr = AffineTransform.getTranslateInstance(bounds.getMinX(), bounds.getMinY());
+      tr.scale(1 / scale, 1 / scale);
+      g2D.drawImage(image, tr, null);
+   }
+
+   private static double getDeviceScale(AffineTransform tr) {
+      double scaleX = Math.hypot(tr.getScaleX(), tr.getShearY());
+      double scaleY = Math.hypot(tr.getShearX(), tr.getScaleY());
+      double scale = Math.max(scaleX, scaleY);
+      return scale > 0 ? scale : 1;
+   }
+}
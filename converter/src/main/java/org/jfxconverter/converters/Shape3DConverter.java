@@ -32,17 +32,22 @@ the project website at the project page on https://sourceforge.net/projects/jfxc
 package org.jfxconverter.converters;
 
 import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
-import javafx.embed.swing.SwingFXUtils;
-import javafx.scene.SnapshotParameters;
-import javafx.scene.image.WritableImage;
-import javafx.scene.paint.Color;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
 import javafx.scene.shape.Shape3D;
+import org.jfxconverter.utils.Utilities;
 
 /**
- * A converter which convert a Shape3D.
+ * A converter which convert a Shape3D. The Shape is projected through the Scene camera into 2D polygons by a
+ * {@link Shape3DProjector}.
  *
- * @since 0.17
+ * The Shapes which are in a {@link javafx.scene.SubScene} are not converted by this class, because they are projected together
+ * by the {@link SubSceneConverter}.
+ *
+ * @version 0.25
  */
 public class Shape3DConverter extends AbstractConverter {
    private Shape3D shape = null;
@@ -62,20 +67,59 @@ public class Shape3DConverter extends AbstractConverter {
    }
 
    /**
-    * Convert a Shape3D by serializing the Shape as an Image.
+    * Convert a Shape3D by projecting the Shape through the Scene camera.
     */
    @Override
    public void convert() {
-      SnapshotParameters params = new SnapshotParameters();
-      Color transparent = new Color(0, 0, 0, 0);
-      params.setFill(transparent);
-      params.setDepthBuffer(true);
-      params.setCamera(shape.getScene().getCamera());
-      WritableImage wimage = shape.snapshot(params, null);
-      BufferedImage image = new BufferedImage((int) wimage.getWidth(), (int) wimage.getHeight(), BufferedImage.TYPE_INT_ARGB);
-      image = SwingFXUtils.fromFXImage(wimage, image);
-
+      Scene scene = shape.getScene();
+      if (scene == null || isInSubScene(scene)) {
+         return;
+      }
+      Shape3DProjector projector = new Shape3DProjector(scene.getCamera(), scene.getWidth(), scene.getHeight());
+      projector.addLights(scene.getRoot());
+      projector.addShape(shape);
+      if (projector.getPolygonsCount() == 0) {
+         return;
+      }
       Graphics2D g2D = converter.getGraphics2D();
-      g2D.drawImage(image, 0, 0, image.getWidth(), image.getHeight(), 0, 0, image.getWidth(), image.getHeight(), null);
+      AffineTransform savedTransform = g2D.getTransform();
+      try {
+         // the polygons are in the Scene coordinates
+         g2D.setTransform(getSceneTransform(converter.getBaseTransform(), converter.getRoot()));
+         projector.paint(g2D);
+      } catch (NoninvertibleTransformException e) {
+      } finally {
+         g2D.setTransform(savedTransform);
+      }
+   }
+
+   /**
+    * Return the transform which converts the Scene coordinates to the coordinates of the conversion. The transforms of
+    * the converted root are applied by the conversion, so the conversion coordinates are the coordinates of the parent
+    * of the root, on top of the base transform of the conversion.
+    *
+    * @param base the base transform of the conversion
+    * @param root the converted root
+    * @return the transform
+    * @throws NoninvertibleTransformException if the transform of the parent of the root can not be inverted
+    */
+   static AffineTransform getSceneTransform(AffineTransform base, Node root) throws NoninvertibleTransformException {
+      AffineTransform tr = new AffineTransform(base);
+      Parent parent = root == null ? null : root.getParent();
+      if (parent != null) {
+         tr.concatenate(Utilities.getAffineTransform(parent.getLocalToSceneTransform()).createInverse());
+      }
+      return tr;
+   }
+
+   /**
+    * Return true if the Shape is in a SubScene, in which case its root is not the Scene root.
+    */
+   private boolean isInSubScene(Scene scene) {
+      Node top = shape;
+      while (top.getParent() != null) {
+         top = top.getParent();
+      }
+      return top != scene.getRoot();
    }
 }
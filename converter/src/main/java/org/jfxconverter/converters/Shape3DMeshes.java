@@ -0,0 +1,306 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.converters;
+
+import javafx.scene.shape.Box;
+import javafx.scene.shape.Cylinder;
+import javafx.scene.shape.Mesh;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.Shape3D;
+import javafx.scene.shape.Sphere;
+import javafx.scene.shape.TriangleMesh;
+
+/**
+ * Creates the triangle arrays of the JavaFX 3D shapes. The triangles are stored in primitive arrays: the points array contains
+ * the x, y, z coordinates of each point, and the faces array contains the three point indexes of each triangle.
+ *
+ * The front faces of the triangles follow the JavaFX convention: the cross product of the (p1 - p0) and (p2 - p0) vectors
+ * points outside of the shape.
+ *
+ * @since 0.25
+ */
+final class Shape3DMeshes {
+   private Shape3DMeshes() {
+   }
+
+   /**
+    * Return the triangle arrays of a Shape3D (may be null if the shape is not supported).
+    *
+    * @param shape the Shape3D
+    * @return the triangle arrays
+    */
+   static Triangles getTriangles(Shape3D shape) {
+      if (shape instanceof MeshView) {
+         return getTriangles(((MeshView) shape).getMesh());
+      } else if (shape instanceof Box) {
+         Box box = (Box) shape;
+         return createBox((float) box.getWidth(), (float) box.getHeight(), (float) box.getDepth());
+      } else if (shape instanceof Sphere) {
+         Sphere sphere = (Sphere) shape;
+         return createSphere(sphere.getDivisions(), (float) sphere.getRadius());
+      } else if (shape instanceof Cylinder) {
+         Cylinder cylinder = (Cylinder) shape;
+         return createCylinder(cylinder.getDivisions(), (float) cylinder.getRadius(), (float) cylinder.getHeight());
+      } else {
+         return null;
+      }
+   }
+
+   /**
+    * Return the number of triangles of a Shape3D, without creating its triangle arrays.
+    *
+    * @param shape the Shape3D
+    * @return the number of triangles
+    */
+   static int getTrianglesCount(Shape3D shape) {
+      if (shape instanceof MeshView) {
+         Mesh mesh = ((MeshView) shape).getMesh();
+         if (mesh instanceof TriangleMesh) {
+            TriangleMesh tmesh = (TriangleMesh) mesh;
+            return tmesh.getFaces().size() / (tmesh.getVertexFormat().getVertexIndexSize() * 3);
+         } else {
+            return 0;
+         }
+      } else if (shape instanceof Box) {
+         return 12;
+      } else if (shape instanceof Sphere) {
+         int div = Math.max(((((Sphere) shape).getDivisions() + 3) / 4) * 4, 4);
+         return (div / 2 - 1) * div * 2;
+      } else if (shape instanceof Cylinder) {
+         return Math.max(((Cylinder) shape).getDivisions(), 3) * 4;
+      } else {
+         return 0;
+      }
+   }
+
+   private static Triangles getTriangles(Mesh mesh) {
+      if (!(mesh instanceof TriangleMesh)) {
+         return null;
+      }
+      TriangleMesh tmesh = (TriangleMesh) mesh;
+      float[] points = tmesh.getPoints().toArray(null);
+      int[] meshFaces = tmesh.getFaces().toArray(null);
+      // each vertex of a face has a point index, an optional normal index and a texture coordinate index
+      int vertexSize = tmesh.getVertexFormat().getVertexIndexSize();
+      int faceSize = vertexSize * 3;
+      int count = meshFaces.length / faceSize;
+      int[] faces = new int[count * 3];
+      int pointsCount = points.length / 3;
+      int j = 0;
+      for (int i = 0; i < count; i++) {
+         int offset = i * faceSize;
+         int p0 = meshFaces[offset];
+         int p1 = meshFaces[offset + vertexSize];
+         int p2 = meshFaces[offset + 2 * vertexSize];
+         if (p0 < pointsCount && p1 < pointsCount && p2 < pointsCount) {
+            faces[j++] = p0;
+            faces[j++] = p1;
+            faces[j++] = p2;
+         }
+      }
+      return new Triangles(points, faces, j / 3);
+   }
+
+   private static Triangles createBox(float width, float height, float depth) {
+      float w = width / 2f;
+      float h = height / 2f;
+      float d = depth / 2f;
+      float[] points = {
+         -w, -h, -d, w, -h, -d, w, h, -d, -w, h, -d,
+         -w, -h, d, w, -h, d, w, h, d, -w, h, d
+      };
+      int[] faces = {
+         0, 1, 2, 0, 2, 3, // front
+         5, 4, 7, 5, 7, 6, // back
+         4, 0, 3, 4, 3, 7, // left
+         1, 5, 6, 1, 6, 2, // right
+         4, 5, 1, 4, 1, 0, // top
+         3, 2, 6, 3, 6, 7 // bottom
+      };
+      Triangles triangles = new Triangles(points, faces, 12);
+      triangles.orientOutside();
+      return triangles;
+   }
+
+   private static Triangles createSphere(int divisions, float radius) {
+      // same divisions as the JavaFX Sphere
+      int div = Math.max(((divisions + 3) / 4) * 4, 4);
+      int div2 = div / 2;
+      int rings = div2 - 1;
+      float[] points = new float[(rings * div + 2) * 3];
+      int pos = 0;
+      for (int y = 0; y < rings; y++) {
+         double va = (y + 1 - div2 / 2) * 2 * Math.PI / div;
+         float sinVa = (float) Math.sin(va);
+         float cosVa = (float) Math.cos(va);
+         for (int i = 0; i < div; i++) {
+            double a = i * 2 * Math.PI / div;
+            points[pos++] = (float) Math.sin(a) * cosVa * radius;
+            points[pos++] = sinVa * radius;
+            points[pos++] = (float) Math.cos(a) * cosVa * radius;
+         }
+      }
+      int top = rings * div;
+      int bottom = top + 1;
+      points[pos++] = 0;
+      points[pos++] = -radius;
+      points[pos++] = 0;
+      points[pos++] = 0;
+      points[pos++] = radius;
+      points[pos] = 0;
+
+      int count = (rings - 1) * div * 2 + div * 2;
+      int[] faces = new int[count * 3];
+      int f = 0;
+      for (int y = 0; y < rings - 1; y++) {
+         for (int x = 0; x < div; x++) {
+            int p0 = y * div + x;
+            int p1 = y * div + (x + 1) % div;
+            int p2 = p0 + div;
+            int p3 = p1 + div;
+            f = addTriangle(faces, f, p0, p1, p2);
+            f = addTriangle(faces, f, p3, p2, p1);
+         }
+      }
+      int last = (rings - 1) * div;
+      for (int x = 0; x < div; x++) {
+         f = addTriangle(faces, f, top, (x + 1) % div, x);
+         f = addTriangle(faces, f, bottom, last + x, last + (x + 1) % div);
+      }
+      Triangles triangles = new Triangles(points, faces, count);
+      triangles.orientOutside();
+      return triangles;
+   }
+
+   private static Triangles createCylinder(int divisions, float radius, float height) {
+      int div = Math.max(divisions, 3);
+      float h = height / 2f;
+      float[] points = new float[(div * 2 + 2) * 3];
+      int pos = 0;
+      for (int i = 0; i < div; i++) {
+         double a = i * 2 * Math.PI / div;
+         float x = (float) Math.sin(a) * radius;
+         float z = (float) Math.cos(a) * radius;
+         points[pos++] = x;
+         points[pos++] = -h;
+         points[pos++] = z;
+         points[pos++] = x;
+         points[pos++] = h;
+         points[pos++] = z;
+      }
+      int top = div * 2;
+      int bottom = top + 1;
+      points[pos++] = 0;
+      points[pos++] = -h;
+      points[pos++] = 0;
+      points[pos++] = 0;
+      points[pos++] = h;
+      points[pos] = 0;
+
+      int count = div * 4;
+      int[] faces = new int[count * 3];
+      int f = 0;
+      for (int i = 0; i < div; i++) {
+         int t0 = i * 2;
+         int b0 = t0 + 1;
+         int t1 = ((i + 1) % div) * 2;
+         int b1 = t1 + 1;
+         f = addTriangle(faces, f, t0, b0, t1);
+         f = addTriangle(faces, f, t1, b0, b1);
+         f = addTriangle(faces, f, top, t1, t0);
+         f = addTriangle(faces, f, bottom, b0, b1);
+      }
+      Triangles triangles = new Triangles(points, faces, count);
+      triangles.orientOutside();
+      return triangles;
+   }
+
+   private static int addTriangle(int[] faces, int offset, int p0, int p1, int p2) {
+      faces[offset] = p0;
+      faces[offset + 1] = p1;
+      faces[offset + 2] = p2;
+      return offset + 3;
+   }
+
+   /**
+    * The triangle arrays of a shape.
+    */
+   static final class Triangles {
+      /**
+       * The x, y, z coordinates of the points.
+       */
+      final float[] points;
+      /**
+       * The three point indexes of each triangle.
+       */
+      final int[] faces;
+      /**
+       * The number of triangles.
+       */
+      final int count;
+
+      Triangles(float[] points, int[] faces, int count) {
+         this.points = points;
+         this.faces = faces;
+         this.count = count;
+      }
+
+      /**
+       * Orient the triangles of a convex shape centered on the origin so that their front face is outside.
+       */
+      private void orientOutside() {
+         for (int i = 0; i < count; i++) {
+            int f = i * 3;
+            int p0 = faces[f] * 3;
+            int p1 = faces[f + 1] * 3;
+            int p2 = faces[f + 2] * 3;
+            float ux = points[p1] - points[p0];
+            float uy = points[p1 + 1] - points[p0 + 1];
+            float uz = points[p1 + 2] - points[p0 + 2];
+            float vx = points[p2] - points[p0];
+            float vy = points[p2 + 1] - points[p0 + 1];
+            float vz = points[p2 + 2] - points[p0 + 2];
+            float nx = uy * vz - uz * vy;
+            float ny = uz * vx - ux * vz;
+            float nz = ux * vy - uy * vx;
+            float cx = points[p0] + points[p1] + points[p2];
+            float cy = points[p0 + 1] + points[p1 + 1] + points[p2 + 1];
+            float cz = points[p0 + 2] + points[p1 + 2] + points[p2 + 2];
+            if (nx * cx + ny * cy + nz * cz < 0) {
+               int tmp = faces[f + 1];
+               faces[f + 1] = faces[f + 2];
+               faces[f + 2] = tmp;
+            }
+         }
+      }
+   }
+}
@@ -0,0 +1,618 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.converters;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import javafx.geometry.Point3D;
+import javafx.scene.AmbientLight;
+import javafx.scene.Camera;
+import javafx.scene.LightBase;
+import javafx.scene.Node;
+import javafx.scene.ParallelCamera;
+import javafx.scene.Parent;
+import javafx.scene.PerspectiveCamera;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Material;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.CullFace;
+import javafx.scene.shape.DrawMode;
+import javafx.scene.shape.Shape3D;
+import javafx.scene.transform.Affine;
+import javafx.scene.transform.NonInvertibleTransformException;
+import javafx.scene.transform.Transform;
+
+/**
+ * Projects JavaFX 3D shapes through a Camera into 2D polygons. The supported shapes are the {@link javafx.scene.shape.MeshView}
+ * with a {@link javafx.scene.shape.TriangleMesh}, the {@link javafx.scene.shape.Box}, the {@link javafx.scene.shape.Sphere} and
+ * the {@link javafx.scene.shape.Cylinder}.
+ *
+ * <h1>Projection</h1>
+ * The triangles of the shapes are:
+ * <ul>
+ * <li>Culled depending on the {@link javafx.scene.shape.CullFace} of their shape</li>
+ * <li>Culled against the view frustum of the Camera. The triangles which cross the near clip plane are clipped</li>
+ * <li>Flat shaded with the ambient lights and the point lights of the scene, or with a default light at the Camera position if
+ * there are no lights, as in JavaFX. Only the diffuse color of the materials is used</li>
+ * <li>Sorted back to front (painter's algorithm) on their mean depth</li>
+ * </ul>
+ *
+ * The polygons are stored in primitive arrays, and the consecutive polygons of the same color are emitted as one shape, to stay
+ * fast on meshes with a large number of triangles.
+ *
+ * <h1>Usage</h1>
+ * <pre>
+ * Shape3DProjector projector = new Shape3DProjector(camera, width, height);
+ * projector.addLights(root);
+ * projector.addShapes(root);
+ * projector.paint(g2D);
+ * </pre>
+ *
+ * @since 0.25
+ */
+public class Shape3DProjector {
+   private static final PhongMaterial DEFAULT_MATERIAL = new PhongMaterial();
+   private static final int MAX_VERTICES = 4;
+   private final float width;
+   private final float height;
+   private final boolean isPerspective;
+   private final Transform sceneToCamera;
+   // position of the eye in the Camera coordinates
+   private final float eyeX;
+   private final float eyeY;
+   private final float eyeZ;
+   private final float focal;
+   private final float near;
+   private final float far;
+   // the default light position in eye coordinates
+   private final float[] defaultLight;
+   private final List<Light> lights = new ArrayList<>();
+   private float[] eyePoints = new float[0];
+   // polygons
+   private int count = 0;
+   private float[] xs = new float[0];
+   private float[] ys = new float[0];
+   private float[] depths = new float[0];
+   private int[] colors = new int[0];
+   private byte[] sizes = new byte[0];
+   private boolean[] lines = new boolean[0];
+   // clipping buffers
+   private final float[] clipIn = new float[MAX_VERTICES * 3];
+   private final float[] clipOut = new float[MAX_VERTICES * 3];
+
+   /**
+    * Constructor.
+    *
+    * @param camera the Camera (a default ParallelCamera is used if null)
+    * @param width the width of the view
+    * @param height the height of the view
+    */
+   public Shape3DProjector(Camera camera, double width, double height) {
+      this.width = (float) width;
+      this.height = (float) height;
+      if (camera == null) {
+         camera = new ParallelCamera();
+      }
+      Transform toCamera;
+      try {
+         toCamera = camera.getLocalToSceneTransform().createInverse();
+      } catch (NonInvertibleTransformException e) {
+         toCamera = new Affine();
+      }
+      this.sceneToCamera = toCamera;
+      if (camera instanceof PerspectiveCamera) {
+         PerspectiveCamera pcamera = (PerspectiveCamera) camera;
+         isPerspective = true;
+         double halfDim = pcamera.isVerticalFieldOfView() ? height / 2 : width / 2;
+         focal = (float) (halfDim / Math.tan(Math.toRadians(pcamera.getFieldOfView() / 2)));
+         if (pcamera.isFixedEyeAtCameraZero()) {
+            eyeX = 0;
+            eyeY = 0;
+            eyeZ = 0;
+            near = (float) camera.getNearClip();
+            far = (float) camera.getFarClip();
+         } else {
+            // the eye is positioned so that the z = 0 plane is seen at the view scale, the clip distances are relative to the focal
+            eyeX = this.width / 2;
+            eyeY = this.height / 2;
+            eyeZ = -focal;
+            near = (float) camera.getNearClip() * focal;
+            far = (float) camera.getFarClip() * focal;
+         }
+         defaultLight = new float[] { 0, 0, 0 };
+      } else {
+         isPerspective = false;
+         eyeX = 0;
+         eyeY = 0;
+         eyeZ = 0;
+         focal = 1;
+         near = Float.NEGATIVE_INFINITY;
+         far = Float.POSITIVE_INFINITY;
+         // same position as the JavaFX ParallelCamera
+         float distance = (float) (height / 2 / Math.tan(Math.toRadians(15)));
+         defaultLight = new float[] { this.width / 2, this.height / 2, -distance };
+      }
+   }
+
+   /**
+    * Add the lights which are under a Node.
+    *
+    * @param root the root Node
+    */
+   public void addLights(Node root) {
+      if (root instanceof LightBase) {
+         LightBase light = (LightBase) root;
+         if (light.isLightOn()) {
+            Point3D pos = sceneToCamera.transform(light.localToScene(0, 0, 0));
+            lights.add(new Light(light, (float) pos.getX() - eyeX, (float) pos.getY() - eyeY, (float) pos.getZ() - eyeZ));
+         }
+      } else if (root instanceof Parent) {
+         Iterator<Node> it = ((Parent) root).getChildrenUnmodifiable().iterator();
+         while (it.hasNext()) {
+            addLights(it.next());
+         }
+      }
+   }
+
+   /**
+    * Add the visible shapes which are under a Node.
+    *
+    * @param root the root Node
+    */
+   public void addShapes(Node root) {
+      if (!root.isVisible()) {
+         return;
+      }
+      if (root instanceof Shape3D) {
+         addShape((Shape3D) root);
+      } else if (root instanceof Parent) {
+         Iterator<Node> it = ((Parent) root).getChildrenUnmodifiable().iterator();
+         while (it.hasNext()) {
+            addShapes(it.next());
+         }
+      }
+   }
+
+   /**
+    * Return the number of polygons which have been projected and not culled.
+    *
+    * @return the number of polygons
+    */
+   public int getPolygonsCount() {
+      return count;
+   }
+
+   /**
+    * Project a shape.
+    *
+    * @param shape the shape
+    */
+   public void addShape(Shape3D shape) {
+      Shape3DMeshes.Triangles triangles = Shape3DMeshes.getTriangles(shape);
+      if (triangles == null || triangles.count == 0) {
+         return;
+      }
+      Transform tr = sceneToCamera.createConcatenation(shape.getLocalToSceneTransform());
+      float mxx = (float) tr.getMxx();
+      float mxy = (float) tr.getMxy();
+      float mxz = (float) tr.getMxz();
+      float myx = (float) tr.getMyx();
+      float myy = (float) tr.getMyy();
+      float myz = (float) tr.getMyz();
+      float mzx = (float) tr.getMzx();
+      float mzy = (float) tr.getMzy();
+      float mzz = (float) tr.getMzz();
+      float tx = (float) tr.getTx() - eyeX;
+      float ty = (float) tr.getTy() - eyeY;
+      float tz = (float) tr.getTz() - eyeZ;
+      // a mirroring transform reverses the orientation of the triangles
+      boolean isMirrored = tr.determinant() < 0;
+
+      float[] points = triangles.points;
+      int pointsLength = points.length - points.length % 3;
+      if (eyePoints.length < pointsLength) {
+         eyePoints = new float[pointsLength];
+      }
+      for (int i = 0; i < pointsLength; i += 3) {
+         float x = points[i];
+         float y = points[i + 1];
+         float z = points[i + 2];
+         eyePoints[i] = mxx * x + mxy * y + mxz * z + tx;
+         eyePoints[i + 1] = myx * x + myy * y + myz * z + ty;
+         eyePoints[i + 2] = mzx * x + mzy * y + mzz * z + tz;
+      }
+
+      Color diffuse = getDiffuseColor(shape);
+      float diffuseR = (float) diffuse.getRed();
+      float diffuseG = (float) diffuse.getGreen();
+      float diffuseB = (float) diffuse.getBlue();
+      int alpha = (int) Math.round(diffuse.getOpacity() * 255) << 24;
+      List<Light> shapeLights = getLights(shape);
+      CullFace cullFace = shape.getCullFace();
+      boolean isLine = shape.getDrawMode() == DrawMode.LINE;
+
+      int[] faces = triangles.faces;
+      for (int i = 0; i < triangles.count; i++) {
+         int f = i * 3;
+         int p0 = faces[f] * 3;
+         int p1 = faces[f + 1] * 3;
+         int p2 = faces[f + 2] * 3;
+         float x0 = eyePoints[p0];
+         float y0 = eyePoints[p0 + 1];
+         float z0 = eyePoints[p0 + 2];
+         float x1 = eyePoints[p1];
+         float y1 = eyePoints[p1 + 1];
+         float z1 = eyePoints[p1 + 2];
+         float x2 = eyePoints[p2];
+         float y2 = eyePoints[p2 + 1];
+         float z2 = eyePoints[p2 + 2];
+         // view frustum culling on the depth
+         if ((z0 < near && z1 < near && z2 < near) || (z0 > far && z1 > far && z2 > far)) {
+            continue;
+         }
+         float ux = x1 - x0;
+         float uy = y1 - y0;
+         float uz = z1 - z0;
+         float vx = x2 - x0;
+         float vy = y2 - y0;
+         float vz = z2 - z0;
+         float nx = uy * vz - uz * vy;
+         float ny = uz * vx - ux * vz;
+         float nz = ux * vy - uy * vx;
+         if (isMirrored) {
+            nx = -nx;
+            ny = -ny;
+            nz = -nz;
+         }
+         // back-face culling: the front face normal points to the eye
+         float facing = isPerspective ? nx * x0 + ny * y0 + nz * z0 : nz;
+         boolean isFront = facing < 0;
+         if ((cullFace == CullFace.BACK && !isFront) || (cullFace == CullFace.FRONT && isFront)) {
+            continue;
+         }
+         int vertices;
+         if (z0 < near || z1 < near || z2 < near) {
+            vertices = clipNear(x0, y0, z0, x1, y1, z1, x2, y2, z2);
+         } else {
+            clipOut[0] = x0;
+            clipOut[1] = y0;
+            clipOut[2] = z0;
+            clipOut[3] = x1;
+            clipOut[4] = y1;
+            clipOut[5] = z1;
+            clipOut[6] = x2;
+            clipOut[7] = y2;
+            clipOut[8] = z2;
+            vertices = 3;
+         }
+         if (vertices < 3) {
+            continue;
+         }
+         float length = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+         if (length == 0) {
+            continue;
+         }
+         nx /= length;
+         ny /= length;
+         nz /= length;
+         float cx = (x0 + x1 + x2) / 3;
+         float cy = (y0 + y1 + y2) / 3;
+         float cz = (z0 + z1 + z2) / 3;
+         int argb = alpha | shade(shapeLights, nx, ny, nz, cx, cy, cz, diffuseR, diffuseG, diffuseB);
+         addPolygon(vertices, argb, isLine);
+      }
+   }
+
+   private Color getDiffuseColor(Shape3D shape) {
+      Material material = shape.getMaterial();
+      if (!(material instanceof PhongMaterial)) {
+         material = DEFAULT_MATERIAL;
+      }
+      Color color = ((PhongMaterial) material).getDiffuseColor();
+      return color != null ? color : Color.WHITE;
+   }
+
+   /**
+    * Return the lights which are lighting a shape.
+    */
+   private List<Light> getLights(Shape3D shape) {
+      if (lights.isEmpty()) {
+         return lights;
+      }
+      List<Light> shapeLights = new ArrayList<>(lights.size());
+      Iterator<Light> it = lights.iterator();
+      while (it.hasNext()) {
+         Light light = it.next();
+         if (light.isInScope(shape)) {
+            shapeLights.add(light);
+         }
+      }
+      return shapeLights;
+   }
+
+   /**
+    * Compute the flat shaded RGB color of a triangle.
+    */
+   private int shade(List<Light> shapeLights, float nx, float ny, float nz, float cx, float cy, float cz, float red, float green, float blue) {
+      float r = 0;
+      float g = 0;
+      float b = 0;
+      if (lights.isEmpty()) {
+         float lambert = lambert(defaultLight[0], defaultLight[1], defaultLight[2], nx, ny, nz, cx, cy, cz);
+         r = lambert;
+         g = lambert;
+         b = lambert;
+      } else {
+         for (int i = 0; i < shapeLights.size(); i++) {
+            Light light = shapeLights.get(i);
+            if (light.isAmbient) {
+               r += light.red;
+               g += light.green;
+               b += light.blue;
+            } else {
+               float lambert = lambert(light.x, light.y, light.z, nx, ny, nz, cx, cy, cz);
+               r += light.red * lambert;
+               g += light.green * lambert;
+               b += light.blue * lambert;
+            }
+         }
+      }
+      return toComponent(red * r) << 16 | toComponent(green * g) << 8 | toComponent(blue * b);
+   }
+
+   private static float lambert(float lx, float ly, float lz, float nx, float ny, float nz, float cx, float cy, float cz) {
+      float dx = lx - cx;
+      float dy = ly - cy;
+      float dz = lz - cz;
+      float length = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+      if (length == 0) {
+         return 0;
+      }
+      return Math.max(0, (nx * dx + ny * dy + nz * dz) / length);
+   }
+
+   private static int toComponent(float value) {
+      return Math.min(255, Math.max(0, Math.round(value * 255)));
+   }
+
+   /**
+    * Clip a triangle against the near plane. The resulting polygon is in the clipOut array.
+    *
+    * @return the number of vertices of the clipped polygon
+    */
+   private int clipNear(float x0, float y0, float z0, float x1, float y1, float z1, float x2, float y2, float z2) {
+      clipIn[0] = x0;
+      clipIn[1] = y0;
+      clipIn[2] = z0;
+      clipIn[3] = x1;
+      clipIn[4] = y1;
+      clipIn[5] = z1;
+      clipIn[6] = x2;
+      clipIn[7] = y2;
+      clipIn[8] = z2;
+      int out = 0;
+      for (int i = 0; i < 3; i++) {
+         int a = i * 3;
+         int b = ((i + 1) % 3) * 3;
+         float za = clipIn[a + 2];
+         float zb = clipIn[b + 2];
+         boolean aInside = za >= near;
+         boolean bInside = zb >= near;
+         if (aInside) {
+            clipOut[out++] = clipIn[a];
+            clipOut[out++] = clipIn[a + 1];
+            clipOut[out++] = za;
+         }
+         if (aInside != bInside) {
+            float t = (near - za) / (zb - za);
+            clipOut[out++] = clipIn[a] + t * (clipIn[b] - clipIn[a]);
+            clipOut[out++] = clipIn[a + 1] + t * (clipIn[b + 1] - clipIn[a + 1]);
+            clipOut[out++] = near;
+         }
+      }
+      return out / 3;
+   }
+
+   /**
+    * Project and store the polygon which is in the clipOut array.
+    */
+   private void addPolygon(int vertices, int argb, boolean isLine) {
+      ensureCapacity(count + 1);
+      int offset = count * MAX_VERTICES;
+      float minX = Float.POSITIVE_INFINITY;
+      float minY = Float.POSITIVE_INFINITY;
+      float maxX = Float.NEGATIVE_INFINITY;
+      float maxY = Float.NEGATIVE_INFINITY;
+      float depth = 0;
+      for (int v = 0; v < vertices; v++) {
+         float x = clipOut[v * 3];
+         float y = clipOut[v * 3 + 1];
+         float z = clipOut[v * 3 + 2];
+         float sx;
+         float sy;
+         if (isPerspective) {
+            sx = width / 2 + x * focal / z;
+            sy = height / 2 + y * focal / z;
+         } else {
+            sx = x;
+            sy = y;
+         }
+         xs[offset + v] = sx;
+         ys[offset + v] = sy;
+         minX = Math.min(minX, sx);
+         minY = Math.min(minY, sy);
+         maxX = Math.max(maxX, sx);
+         maxY = Math.max(maxY, sy);
+         depth += z;
+      }
+      // view frustum culling on the view
+      if (maxX < 0 || maxY < 0 || minX > width || minY > height) {
+         return;
+      }
+      depths[count] = depth / vertices;
+      colors[count] = argb;
+      sizes[count] = (byte) vertices;
+      lines[count] = isLine;
+      count++;
+   }
+
+   private void ensureCapacity(int capacity) {
+      if (depths.length < capacity) {
+         int newCapacity = Math.max(capacity, depths.length * 2 + 64);
+         xs = Arrays.copyOf(xs, newCapacity * MAX_VERTICES);
+         ys = Arrays.copyOf(ys, newCapacity * MAX_VERTICES);
+         depths = Arrays.copyOf(depths, newCapacity);
+         colors = Arrays.copyOf(colors, newCapacity);
+         sizes = Arrays.copyOf(sizes, newCapacity);
+         lines = Arrays.copyOf(lines, newCapacity);
+      }
+   }
+
+   /**
+    * Sort the polygons back to front and paint them. The consecutive polygons with the same color are painted as one shape.
+    *
+    * @param g2D the Graphics2D
+    */
+   public void paint(Graphics2D g2D) {
+      if (count == 0) {
+         return;
+      }
+      // sort keys: the decreasing depth in the high bits, the polygon index in the low bits
+      long[] keys = new long[count];
+      for (int i = 0; i < count; i++) {
+         int bits = Float.floatToIntBits(depths[i]);
+         int sortable = bits ^ ((bits >> 31) & 0x7fffffff);
+         keys[i] = ((long) ~sortable << 32) | i;
+      }
+      Arrays.sort(keys);
+
+      Path2D.Float path = new Path2D.Float(Path2D.WIND_NON_ZERO);
+      int batchColor = 0;
+      boolean batchLine = false;
+      boolean isEmpty = true;
+      for (int k = 0; k < count; k++) {
+         int i = (int) keys[k];
+         if (!isEmpty && (colors[i] != batchColor || lines[i] != batchLine)) {
+            paintBatch(g2D, path, batchColor, batchLine);
+            path.reset();
+            isEmpty = true;
+         }
+         batchColor = colors[i];
+         batchLine = lines[i];
+         appendPolygon(path, i);
+         isEmpty = false;
+      }
+      if (!isEmpty) {
+         paintBatch(g2D, path, batchColor, batchLine);
+      }
+   }
+
+   /**
+    * Append a polygon to a path. The polygons are always appended with the same orientation, so that the overlapping polygons of
+    * a batch do not cancel each other with the non-zero winding rule.
+    */
+   private void appendPolygon(Path2D.Float path, int i) {
+      int offset = i * MAX_VERTICES;
+      int vertices = sizes[i];
+      float area = 0;
+      for (int v = 0; v < vertices; v++) {
+         int next = (v + 1) % vertices;
+         area += xs[offset + v] * ys[offset + next] - xs[offset + next] * ys[offset + v];
+      }
+      if (area < 0) {
+         path.moveTo(xs[offset], ys[offset]);
+         for (int v = 1; v < vertices; v++) {
+            path.lineTo(xs[offset + v], ys[offset + v]);
+         }
+      } else {
+         path.moveTo(xs[offset + vertices - 1], ys[offset + vertices - 1]);
+         for (int v = vertices - 2; v >= 0; v--) {
+            path.lineTo(xs[offset + v], ys[offset + v]);
+         }
+      }
+      path.closePath();
+   }
+
+   private void paintBatch(Graphics2D g2D, Path2D.Float path, int argb, boolean isLine) {
+      g2D.setColor(new java.awt.Color(argb, true));
+      if (isLine) {
+         g2D.draw(path);
+      } else {
+         g2D.fill(path);
+      }
+   }
+
+   /**
+    * A light, with its position in eye coordinates.
+    */
+   private static class Light {
+      private final LightBase light;
+      private final boolean isAmbient;
+      private final float x;
+      private final float y;
+      private final float z;
+      private final float red;
+      private final float green;
+      private final float blue;
+
+      private Light(LightBase light, float x, float y, float z) {
+         this.light = light;
+         this.isAmbient = light instanceof AmbientLight;
+         this.x = x;
+         this.y = y;
+         this.z = z;
+         Color color = light.getColor();
+         this.red = (float) color.getRed();
+         this.green = (float) color.getGreen();
+         this.blue = (float) color.getBlue();
+      }
+
+      private boolean isInScope(Node node) {
+         List<Node> scope = light.getScope();
+         if (scope.isEmpty()) {
+            return true;
+         }
+         Node parent = node;
+         while (parent != null) {
+            if (scope.contains(parent)) {
+               return true;
+            }
+            parent = parent.getParent();
+         }
+         return false;
+      }
+   }
+}
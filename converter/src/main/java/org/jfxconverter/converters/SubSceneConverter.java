@@ -31,13 +31,15 @@ the project website at the project page on https://sourceforge.net/projects/jfxc
  */
 package org.jfxconverter.converters;
 
+import java.awt.geom.Rectangle2D;
 import javafx.scene.Parent;
 import javafx.scene.SubScene;
 
 /**
- * A converter which convert a subScene.
+ * A converter which convert a subScene. The 3D Shapes of the SubScene are projected together through the SubScene camera into
+ * 2D polygons by a {@link Shape3DProjector}, so that they are sorted in depth relatively to each other.
  *
- * @since 0.17
+ * @version 0.25
  */
 public class SubSceneConverter extends AbstractConverter {
    private SubScene subScene = null;
@@ -67,9 +69,21 @@ public class SubSceneConverter extends AbstractConverter {
    }
 
    /**
-    * Do Nothing.
+    * Project the 3D Shapes of the SubScene. The other Nodes of the SubScene are converted as children of the SubScene.
     */
    @Override
    public void convert() {
+      Parent root = subScene.getRoot();
+      if (root == null) {
+         return;
+      }
+      Shape3DProjector projector = new Shape3DProjector(subScene.getCamera(), subScene.getWidth(), subScene.getHeight());
+      projector.addLights(root);
+      projector.addShapes(root);
+      if (projector.getPolygonsCount() != 0) {
+         // the content of the SubScene is clipped by its bounds
+         converter.clip(new Rectangle2D.Double(0, 0, subScene.getWidth(), subScene.getHeight()));
+         projector.paint(converter.getGraphics2D());
+      }
    }
 }
@@ -0,0 +1,266 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.utils;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+/**
+ * Encodes the images drawn by the drivers, and computes the keys which identify the distinct images.
+ *
+ * <h1>Usage</h1>
+ * The pixels of a drawn image are read once, and used both to compute the key of the image, which is a hash of its
+ * pixels, and to create a snapshot of the image which can be encoded later even if the drawn image is modified.
+ *
+ * <h1>Encoding</h1>
+ * <ul>
+ * <li>The images are encoded as PNG, with a configurable deflate level</li>
+ * <li>If a JPEG quality is set, the images can be encoded as JPEG if they are opaque</li>
+ * </ul>
+ * The image writers are created once for each encoder and reused for all the images, until the encoder is disposed.
+ * An encoder is not thread-safe.
+ *
+ * @since 0.25
+ */
+public class ImageEncoder {
+   /**
+    * The default deflate level for PNG images.
+    */
+   public static final int DEFAULT_DEFLATE_LEVEL = 6;
+   private int deflateLevel = DEFAULT_DEFLATE_LEVEL;
+   private float jpegQuality = 0f;
+   private ImageWriter pngWriter = null;
+   private ImageWriter jpegWriter = null;
+   private final ByteArrayOutputStream out = new ByteArrayOutputStream(16384);
+   private final byte[] digestBuffer = new byte[16384];
+
+   /**
+    * Set the deflate level used to encode the PNG images, from 0 (no compression) to 9 (best compression). The default
+    * is {@link #DEFAULT_DEFLATE_LEVEL}.
+    *
+    * @param deflateLevel the deflate level
+    */
+   public void setDeflateLevel(int deflateLevel) {
+      this.deflateLevel = Math.max(0, Math.min(deflateLevel, 9));
+   }
+
+   /**
+    * Return the deflate level used to encode the PNG images.
+    *
+    * @return the deflate level
+    */
+   public int getDeflateLevel() {
+      return deflateLevel;
+   }
+
+   /**
+    * Set the quality used to encode the opaque images as JPEG, between 0 and 1. If the quality is 0, which is the
+    * default, all the images are encoded as PNG.
+    *
+    * @param jpegQuality the quality
+    */
+   public void setJPEGQuality(float jpegQuality) {
+      this.jpegQuality = Math.max(0f, Math.min(jpegQuality, 1f));
+   }
+
+   /**
+    * Return the quality used to encode the opaque images as JPEG.
+    *
+    * @return the quality
+    */
+   public float getJPEGQuality() {
+      return jpegQuality;
+   }
+
+   /**
+    * Return true if an image is encoded as JPEG. This is the case if a JPEG quality is set and the image has no alpha
+    * channel.
+    *
+    * @param image the image
+    * @return true if the image is encoded as JPEG
+    */
+   public boolean isJPEG(BufferedImage image) {
+      return jpegQuality > 0f && !image.getColorModel().hasAlpha();
+   }
+
+   /**
+    * Return a new SHA-256 digest.
+    *
+    * @return the digest
+    */
+   public static MessageDigest createDigest() {
+      try {
+         return MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+         throw new IllegalStateException(e);
+      }
+   }
+
+   /**
+    * Return the key of an image, which is a hash of its size and pixels.
+    *
+    * @param pixels the ARGB pixels of the image
+    * @param width the image width
+    * @param height the image height
+    * @return the key
+    */
+   public String getKey(int[] pixels, int width, int height) {
+      MessageDigest digest = createDigest();
+      byte[] buf = digestBuffer;
+      int pos = 0;
+      for (int i = 0; i < pixels.length; i++) {
+         int pixel = pixels[i];
+         buf[pos++] = (byte) (pixel >>> 24);
+         buf[pos++] = (byte) (pixel >>> 16);
+         buf[pos++] = (byte) (pixel >>> 8);
+         buf[pos++] = (byte) pixel;
+         if (pos == buf.length) {
+            digest.update(buf, 0, pos);
+            pos = 0;
+         }
+      }
+      digest.update(buf, 0, pos);
+      return width + "x" + height + ":" + Base64.getEncoder().encodeToString(digest.digest());
+   }
+
+   /**
+    * Return true if all the pixels of an image are opaque.
+    *
+    * @param pixels the ARGB pixels of the image
+    * @return true if all the pixels are opaque
+    */
+   public static boolean isOpaque(int[] pixels) {
+      for (int i = 0; i < pixels.length; i++) {
+         if ((pixels[i] >>> 24) != 0xFF) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Create an image which shares the pixels which have been read from a drawn image, so that the drawn image can be
+    * modified without changing the snapshot. The opaque images have no alpha channel, which is necessary to encode them
+    * as JPEG.
+    *
+    * @param pixels the ARGB pixels of the image
+    * @param width the image width
+    * @param height the image height
+    * @param opaque true if all the pixels are opaque
+    * @return the snapshot
+    */
+   public static BufferedImage createSnapshot(int[] pixels, int width, int height, boolean opaque) {
+      DataBufferInt buffer = new DataBufferInt(pixels, pixels.length);
+      DirectColorModel model;
+      int[] masks;
+      if (opaque) {
+         model = new DirectColorModel(24, 0xFF0000, 0xFF00, 0xFF);
+         masks = new int[] {0xFF0000, 0xFF00, 0xFF};
+      } else {
+         model = (DirectColorModel) ColorModel.getRGBdefault();
+         masks = new int[] {0xFF0000, 0xFF00, 0xFF, 0xFF000000};
+      }
+      WritableRaster raster = WritableRaster.createPackedRaster(buffer, width, height, width, masks, null);
+      return new BufferedImage(model, raster, false, null);
+   }
+
+   /**
+    * Encode an image as PNG or JPEG.
+    *
+    * @param image the image
+    * @param jpeg true to encode the image as JPEG
+    * @return the encoded image
+    * @throws IOException if the image could not be encoded
+    */
+   public byte[] encode(BufferedImage image, boolean jpeg) throws IOException {
+      ImageWriter writer;
+      if (jpeg) {
+         if (jpegWriter == null) {
+            jpegWriter = ImageIO.getImageWritersByFormatName("jpeg").next();
+         }
+         writer = jpegWriter;
+      } else {
+         if (pngWriter == null) {
+            pngWriter = ImageIO.getImageWritersByFormatName("png").next();
+         }
+         writer = pngWriter;
+      }
+      out.reset();
+      // the stream is cached in memory rather than in a temporary file
+      try (ImageOutputStream stream = new MemoryCacheImageOutputStream(out)) {
+         writer.setOutput(stream);
+         ImageWriteParam param = writer.getDefaultWriteParam();
+         if (param.canWriteCompressed()) {
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            if (jpeg) {
+               param.setCompressionQuality(jpegQuality);
+            } else {
+               // the PNG writer maps the quality to the deflate level, 1 being no compression
+               param.setCompressionQuality(Math.max(0f, 1f - (deflateLevel + 0.01f) / 9f));
+            }
+         }
+         writer.write(null, new IIOImage(image, null, null), param);
+      } finally {
+         writer.reset();
+      }
+      return out.toByteArray();
+   }
+
+   /**
+    * Dispose the image writers. The encoder can still be used after this call, the writers are created again if
+    * necessary.
+    */
+   public void dispose() {
+      if (pngWriter != null) {
+         pngWriter.dispose();
+         pngWriter = null;
+      }
+      if (jpegWriter != null) {
+         jpegWriter.dispose();
+         jpegWriter = null;
+      }
+   }
+}
@@ -31,14 +31,17 @@ the project website at the project page on https://sourceforge.net/projects/jfxc
  */
 package org.jfxconverter.utils;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
 import javafx.application.Platform;
 import javafx.embed.swing.JFXPanel;
 
 /**
- * The JFXInvoker class allows some code to be executed synchronously on the FX event thread.
+ * The JFXInvoker class allows some code to be executed synchronously or asynchronously on the FX event thread.
  *
+ * @version 0.25
  * @since 0.20
  */
 public class JFXInvoker {
@@ -88,4 +91,32 @@ public class JFXInvoker {
          }
       }
    }
+
+   /**
+    * Allows some code to be executed asynchronously on the FX thread. If this method is called in the FX thread, the code is
+    * executed immediately. The code will not be executed if the returned future has been cancelled before the FX thread
+    * could run it.
+    *
+    * @param <T> the type of the result
+    * @param callable the code to execute
+    * @return the future which will be completed with the result of the code, or exceptionally if the code thrown an exception
+    */
+   public <T> CompletableFuture<T> invokeAsync(Callable<T> callable) {
+      CompletableFuture<T> future = new CompletableFuture<>();
+      Runnable task = () -> {
+         if (!future.isDone()) {
+            try {
+               future.complete(callable.call());
+            } catch (Throwable th) {
+               future.completeExceptionally(th);
+            }
+         }
+      };
+      if (Platform.isFxApplicationThread()) {
+         task.run();
+      } else {
+         Platform.runLater(task);
+      }
+      return future;
+   }
 }
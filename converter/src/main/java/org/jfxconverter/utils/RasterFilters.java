@@ -0,0 +1,215 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.utils;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.util.stream.IntStream;
+
+/**
+ * Pixel filters which work directly on the <code>int[]</code> array of ARGB images. Contrary to the
+ * {@link java.awt.image.RGBImageFilter} pipelines, the filters always return a new {@link BufferedImage} of type
+ * {@link BufferedImage#TYPE_INT_ARGB}, and large images are processed in row bands in parallel.
+ *
+ * @since 0.25
+ */
+public final class RasterFilters {
+   /**
+    * The minimum number of pixels for an image to be processed in parallel.
+    */
+   private static final int PARALLEL_THRESHOLD = 256 * 256;
+   /**
+    * The number of rows in each band for the parallel processing.
+    */
+   private static final int BAND_HEIGHT = 64;
+
+   private RasterFilters() {
+   }
+
+   /**
+    * Return an ARGB BufferedImage with the content of an Image. The Image is returned as is if it is already a
+    * {@link BufferedImage#TYPE_INT_ARGB} image, else the Image is drawn in a new ARGB image.
+    *
+    * @param image the Image
+    * @return the ARGB BufferedImage
+    */
+   public static BufferedImage toARGBImage(java.awt.Image image) {
+      if (image instanceof BufferedImage && ((BufferedImage) image).getType() == BufferedImage.TYPE_INT_ARGB) {
+         return (BufferedImage) image;
+      }
+      int width = Math.max(1, image.getWidth(null));
+      int height = Math.max(1, image.getHeight(null));
+      BufferedImage buf = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+      Graphics2D g2d = buf.createGraphics();
+      g2d.drawImage(image, 0, 0, null);
+      g2d.dispose();
+      return buf;
+   }
+
+   /**
+    * Return the gray-scaled value of a pixel, using the same algorithm as the {@link javax.swing.GrayFilter} class with
+    * the <code>brighter</code> flag set.
+    *
+    * @param rgb the pixel in the default RGB color model
+    * @param percent the gray-scale percent
+    * @return the gray-scaled pixel
+    */
+   public static int grayPixel(int rgb, int percent) {
+      int gray = (int) ((0.30 * ((rgb >> 16) & 0xFF) + 0.59 * ((rgb >> 8) & 0xFF) + 0.11 * (rgb & 0xFF)) / 3);
+      gray = 255 - ((255 - gray) * (100 - percent) / 100);
+      if (gray < 0) {
+         gray = 0;
+      } else if (gray > 255) {
+         gray = 255;
+      }
+      return (rgb & 0xFF000000) | (gray << 16) | (gray << 8) | gray;
+   }
+
+   /**
+    * Creates a gray-scaled version of an Image.
+    *
+    * @param image the Image
+    * @param percent the gray-scale percent
+    * @return the gray-scaled image
+    */
+   public static BufferedImage gray(java.awt.Image image, int percent) {
+      BufferedImage src = toARGBImage(image);
+      int width = src.getWidth();
+      int height = src.getHeight();
+      BufferedImage dst = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+      int[] srcPixels = getPixels(src);
+      int[] dstPixels = getPixels(dst);
+      forEachBand(width, height, (from, to) -> {
+         for (int i = from; i < to; i++) {
+            dstPixels[i] = grayPixel(srcPixels[i], percent);
+         }
+      });
+      return dst;
+   }
+
+   /**
+    * Creates a version of an Image with a modified opacity.
+    * <ul>
+    * <li>If the <code>multiply</code> flag is set to false, the pixels opacity will be replaced by the <code>opacity</code> value</li>
+    * <li>If the <code>multiply</code> flag is set to true, the pixels opacity will be multiplied by the <code>opacity</code> value</li>
+    * </ul>
+    *
+    * @param image the Image
+    * @param opacity the opacity value
+    * @param multiply true if the current pixels opacity must be multiplied by the opacity value
+    * @return the opacified image
+    */
+   public static BufferedImage opacify(java.awt.Image image, double opacity, boolean multiply) {
+      BufferedImage src = toARGBImage(image);
+      int width = src.getWidth();
+      int height = src.getHeight();
+      BufferedImage dst = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+      int[] srcPixels = getPixels(src);
+      int[] dstPixels = getPixels(dst);
+      if (multiply) {
+         // precompute the 256 possible alpha values
+         int[] alphas = new int[256];
+         for (int a = 0; a < 256; a++) {
+            alphas[a] = clampAlpha((int) (a * opacity)) << 24;
+         }
+         forEachBand(width, height, (from, to) -> {
+            for (int i = from; i < to; i++) {
+               int rgb = srcPixels[i];
+               dstPixels[i] = (rgb & 0x00FFFFFF) | alphas[rgb >>> 24];
+            }
+         });
+      } else {
+         int alpha = clampAlpha((int) (opacity * 255)) << 24;
+         forEachBand(width, height, (from, to) -> {
+            for (int i = from; i < to; i++) {
+               dstPixels[i] = (srcPixels[i] & 0x00FFFFFF) | alpha;
+            }
+         });
+      }
+      return dst;
+   }
+
+   private static int clampAlpha(int alpha) {
+      if (alpha < 0) {
+         return 0;
+      } else if (alpha > 255) {
+         return 255;
+      } else {
+         return alpha;
+      }
+   }
+
+   /**
+    * Return the pixels of an ARGB image. If the raster of the image does not directly map its data buffer (for example
+    * for a sub-image), the pixels are copied.
+    */
+   private static int[] getPixels(BufferedImage image) {
+      WritableRaster raster = image.getRaster();
+      if (raster.getDataBuffer() instanceof DataBufferInt && raster.getParent() == null
+         && raster.getSampleModel() instanceof SinglePixelPackedSampleModel) {
+         SinglePixelPackedSampleModel model = (SinglePixelPackedSampleModel) raster.getSampleModel();
+         DataBufferInt buffer = (DataBufferInt) raster.getDataBuffer();
+         if (model.getScanlineStride() == image.getWidth() && buffer.getOffset() == 0 && buffer.getNumBanks() == 1) {
+            return buffer.getData();
+         }
+      }
+      return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+   }
+
+   /**
+    * Apply a band filter on all the pixels of an image. Small images are processed in the calling thread, larger images
+    * are processed in row bands in parallel.
+    */
+   private static void forEachBand(int width, int height, BandFilter filter) {
+      int size = width * height;
+      if (size < PARALLEL_THRESHOLD) {
+         filter.filter(0, size);
+      } else {
+         int bands = (height + BAND_HEIGHT - 1) / BAND_HEIGHT;
+         IntStream.range(0, bands).parallel().forEach(band -> {
+            int from = band * BAND_HEIGHT * width;
+            int to = Math.min(size, from + BAND_HEIGHT * width);
+            filter.filter(from, to);
+         });
+      }
+   }
+
+   /**
+    * Filters a contiguous range of pixels.
+    */
+   private interface BandFilter {
+      void filter(int from, int to);
+   }
+}
@@ -36,14 +36,10 @@ import java.awt.Graphics2D;
 import java.awt.MultipleGradientPaint;
 import java.awt.Shape;
 import java.awt.TexturePaint;
-import java.awt.Toolkit;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
-import java.awt.image.FilteredImageSource;
-import java.awt.image.ImageFilter;
-import java.awt.image.ImageProducer;
 import java.awt.image.RenderedImage;
 import java.io.IOException;
 import java.net.URL;
@@ -92,7 +88,6 @@ import javafx.scene.text.FontWeight;
 import javafx.scene.transform.Rotate;
 import javafx.scene.transform.Transform;
 import javax.imageio.ImageIO;
-import javax.swing.GrayFilter;
 import org.jfxconverter.conf.ConverterConfig;
 import org.jfxconverter.wrappers.BackgroundWrapper;
 import org.jfxconverter.wrappers.BorderWrapper;
@@ -100,7 +95,7 @@ import org.jfxconverter.wrappers.BorderWrapper;
 /**
  * A utilities class.
  *
- * @version 0.22
+ * @version 0.25
  */
 public class Utilities implements CSSProperties {
 
@@ -600,17 +595,11 @@ public class Utilities implements CSSProperties {
          if (image instanceof BufferedImage) {
             BufferedImage bimage = (BufferedImage) image;
             if (isDisabled(region)) {
-               java.awt.Image _image = createDisabledImage((BufferedImage) image);
-               if (_image instanceof BufferedImage) {
-                  bimage = (BufferedImage) _image;
-               }
+               bimage = createDisabledImage(bimage);
             }
             // take care of the opacity CSS property
             if (opacity >= 0) {
-               java.awt.Image _image = createOpacifiedImage(bimage, opacity, false);
-               if (_image instanceof BufferedImage) {
-                  bimage = (BufferedImage) _image;
-               }
+               bimage = createOpacifiedImage(bimage, opacity, false);
             }
             Rectangle2D rec = new Rectangle2D.Double(region.getLayoutX(), region.getLayoutY(), region.getPrefWidth(), region.getPrefHeight());
             TexturePaint paint = new TexturePaint(bimage, rec);
@@ -635,10 +624,7 @@ public class Utilities implements CSSProperties {
       BufferedImage buf = new BufferedImage((int) image.getWidth(), (int) image.getHeight(), BufferedImage.TYPE_INT_ARGB);
       buf = SwingFXUtils.fromFXImage(image, buf);
       if (isDisabled(region)) {
-         java.awt.Image _image = createDisabledImage(buf);
-         if (_image instanceof BufferedImage) {
-            buf = (BufferedImage) _image;
-         }
+         buf = createDisabledImage(buf);
       }
       Rectangle2D rec = new Rectangle2D.Double(0, 0, image.getWidth(), image.getHeight());
       TexturePaint paint = new TexturePaint(buf, rec);
@@ -659,17 +645,11 @@ public class Utilities implements CSSProperties {
       buf = SwingFXUtils.fromFXImage(image, buf);
       // take care of the disabled state of the Node
       if (isDisabled) {
-         java.awt.Image _image = createDisabledImage(buf);
-         if (_image instanceof BufferedImage) {
-            buf = (BufferedImage) _image;
-         }
+         buf = createDisabledImage(buf);
       }
       // take care of the opacity CSS property
       if (opacity >= 0) {
-         java.awt.Image _image = createOpacifiedImage(buf, opacity, false);
-         if (_image instanceof BufferedImage) {
-            buf = (BufferedImage) _image;
-         }
+         buf = createOpacifiedImage(buf, opacity, false);
       }
       Rectangle2D rec = new Rectangle2D.Double(pattern.getX(), pattern.getY(), pattern.getWidth(), pattern.getHeight());
       TexturePaint paint = new TexturePaint(buf, rec);
@@ -801,21 +781,19 @@ public class Utilities implements CSSProperties {
    }
 
    /**
-    * Creates a disabled version of an Image.
+    * Creates a disabled version of an Image. The result is always a new ARGB BufferedImage.
     *
     * @param image the Image
     * @return the disabled version of the Image
     */
-   public static java.awt.Image createDisabledImage(java.awt.Image image) {
+   public static BufferedImage createDisabledImage(java.awt.Image image) {
       ConverterConfig conf = ConverterConfig.getInstance();
-      ImageFilter filter = new GrayFilter(true, conf.getGrayScalePercent());
-      ImageProducer producer = new FilteredImageSource(image.getSource(), filter);
-      java.awt.Image newImage = Toolkit.getDefaultToolkit().createImage(producer);
-      return newImage;
+      return RasterFilters.gray(image, conf.getGrayScalePercent());
    }
 
    /**
     * Creates a opacified version of an Image. Note that it will always create a more transparent version of the Image.
+    * The result is always a new ARGB BufferedImage.
     *
     * @param image the Image
     * @param opacity the opacity value
@@ -823,11 +801,8 @@ public class Utilities implements CSSProperties {
     * the current pixel opacity value
     * @return the opacified version of the Image
     */
-   public static java.awt.Image createOpacifiedImage(java.awt.Image image, double opacity, boolean multiply) {
-      OpacityFilter filter = new OpacityFilter(opacity, multiply);
-      ImageProducer producer = new FilteredImageSource(image.getSource(), filter);
-      java.awt.Image newImage = Toolkit.getDefaultToolkit().createImage(producer);
-      return newImage;
+   public static BufferedImage createOpacifiedImage(java.awt.Image image, double opacity, boolean multiply) {
+      return RasterFilters.opacify(image, opacity, multiply);
    }
 
    /**
@@ -838,8 +813,7 @@ public class Utilities implements CSSProperties {
     */
    public static java.awt.Color createDisabledColor(java.awt.Color color) {
       ConverterConfig conf = ConverterConfig.getInstance();
-      GrayFilter filter = new GrayFilter(true, conf.getGrayScalePercent());
-      int rgb = filter.filterRGB(0, 0, color.getRGB());
+      int rgb = RasterFilters.grayPixel(color.getRGB(), conf.getGrayScalePercent());
       int red = rgb & 0xFF;
       int green = (rgb >> 8) & 0xFF;
       int blue = (rgb >> 16) & 0xFF;
@@ -0,0 +1,244 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import javafx.embed.swing.JFXPanel;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import org.jfxconverter.utils.JFXInvoker;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the asynchronous conversions of the JFXConverter class, performed by a ConversionPipeline.
+ *
+ * @since 0.25
+ */
+public class ConversionPipelineTest {
+   // an executor which writes the results in the calling thread
+   private static final Executor SAME_THREAD = Runnable::run;
+
+   private List<Node> createNodes(int count) {
+      List<Node> nodes = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+         Rectangle rec = new Rectangle(0, 0, 10 + i, 10);
+         rec.setFill(Color.RED);
+         nodes.add(rec);
+      }
+      return nodes;
+   }
+
+   private Function<Node, Graphics2D> createFactory(AtomicInteger created) {
+      return node -> {
+         created.incrementAndGet();
+         return new BufferedImage(100, 20, BufferedImage.TYPE_INT_ARGB).createGraphics();
+      };
+   }
+
+   /**
+    * Wait until the tasks which are already queued in the FX thread have been executed.
+    */
+   private void waitForFXThread() throws Exception {
+      for (int i = 0; i < 3; i++) {
+         JFXInvoker.getInstance().invokeBlocking(() -> {
+         });
+      }
+   }
+
+   /**
+    * Test of the conversion of an empty list.
+    */
+   @Test
+   public void testEmptyList() throws Exception {
+      System.out.println("ConversionPipelineTest : testEmptyList");
+      AtomicInteger created = new AtomicInteger();
+      List<Node> written = Collections.synchronizedList(new ArrayList<>());
+      CompletableFuture<Void> future = new JFXConverter().convertAsync(Collections.<Node>emptyList(), createFactory(created),
+         (root, g2D) -> written.add(root), SAME_THREAD, 2);
+      assertTrue(future.isDone(), "Future should be completed");
+      assertFalse(future.isCompletedExceptionally(), "Future should not fail");
+      assertEquals(0, created.get(), "Created Graphics2D");
+      assertTrue(written.isEmpty(), "No written Node");
+   }
+
+   /**
+    * Test of an invalid number of conversions in flight.
+    */
+   @Test
+   public void testInvalidMaxInFlight() {
+      System.out.println("ConversionPipelineTest : testInvalidMaxInFlight");
+      assertThrows(IllegalArgumentException.class, () -> new JFXConverter().convertAsync(createNodes(2),
+         createFactory(new AtomicInteger()), (root, g2D) -> {
+         }, SAME_THREAD, 0), "maxInFlight must be strictly positive");
+   }
+
+   /**
+    * Test of the conversion of a single Node.
+    */
+   @Test
+   public void testConvertAsync() throws Exception {
+      System.out.println("ConversionPipelineTest : testConvertAsync");
+      new JFXPanel();
+      Rectangle rec = new Rectangle(0, 0, 10, 10);
+      rec.setFill(Color.RED);
+      BufferedImage image = new BufferedImage(20, 20, BufferedImage.TYPE_INT_ARGB);
+      Graphics2D g2D = image.createGraphics();
+      CompletableFuture<Graphics2D> future = new JFXConverter().convertAsync(g2D, rec);
+      assertSame(g2D, future.get(10, TimeUnit.SECONDS), "Converted Graphics2D");
+      g2D.dispose();
+      assertEquals(0xFFFF0000, image.getRGB(5, 5), "Converted Rectangle");
+      assertEquals(0, image.getRGB(15, 15), "Nothing outside of the Rectangle");
+   }
+
+   /**
+    * Test that all the Nodes are converted and written.
+    */
+   @Test
+   public void testConvertList() throws Exception {
+      System.out.println("ConversionPipelineTest : testConvertList");
+      new JFXPanel();
+      List<Node> nodes = createNodes(10);
+      AtomicInteger created = new AtomicInteger();
+      Map<Node, Graphics2D> written = Collections.synchronizedMap(new IdentityHashMap<>());
+      CompletableFuture<Void> future = new JFXConverter().convertAsync(nodes, createFactory(created),
+         (root, g2D) -> written.put(root, g2D), SAME_THREAD, 3);
+      future.get(10, TimeUnit.SECONDS);
+      assertEquals(10, created.get(), "Created Graphics2D");
+      assertEquals(10, written.size(), "Written Nodes");
+      for (Node node : nodes) {
+         assertTrue(written.containsKey(node), "Written Node");
+      }
+   }
+
+   /**
+    * Test that the number of Nodes which are converted but not written is bounded.
+    */
+   @Test
+   public void testBoundedInFlight() throws Exception {
+      System.out.println("ConversionPipelineTest : testBoundedInFlight");
+      new JFXPanel();
+      AtomicInteger created = new AtomicInteger();
+      AtomicInteger written = new AtomicInteger();
+      AtomicInteger maxInFlight = new AtomicInteger();
+      CountDownLatch release = new CountDownLatch(1);
+      Function<Node, Graphics2D> factory = node -> {
+         int inFlight = created.incrementAndGet() - written.get();
+         maxInFlight.accumulateAndGet(inFlight, Math::max);
+         return new BufferedImage(100, 20, BufferedImage.TYPE_INT_ARGB).createGraphics();
+      };
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+      try {
+         CompletableFuture<Void> future = new JFXConverter().convertAsync(createNodes(8), factory, (root, g2D) -> {
+            // the writing is blocked until the window has been checked
+            release.await();
+            written.incrementAndGet();
+         }, executor, 2);
+         waitForFXThread();
+         Thread.sleep(200);
+         waitForFXThread();
+         assertEquals(2, created.get(), "Converted Nodes while the writing is blocked");
+         release.countDown();
+         future.get(10, TimeUnit.SECONDS);
+         assertEquals(8, created.get(), "Converted Nodes");
+         assertEquals(8, written.get(), "Written Nodes");
+         assertTrue(maxInFlight.get() <= 2, "Nodes converted and not written");
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+
+   /**
+    * Test that cancelling the conversion stops the conversion of the remaining Nodes.
+    */
+   @Test
+   public void testCancel() throws Exception {
+      System.out.println("ConversionPipelineTest : testCancel");
+      new JFXPanel();
+      AtomicInteger created = new AtomicInteger();
+      AtomicInteger written = new AtomicInteger();
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+      CountDownLatch started = new CountDownLatch(1);
+      CompletableFuture<Void> future = new JFXConverter().convertAsync(createNodes(10), createFactory(created), (root, g2D) -> {
+         started.await();
+         written.incrementAndGet();
+         futures.get(0).cancel(false);
+      }, SAME_THREAD, 1);
+      futures.add(future);
+      started.countDown();
+      assertThrows(CancellationException.class, () -> future.get(10, TimeUnit.SECONDS), "Cancelled conversion");
+      assertTrue(future.isCancelled(), "Cancelled conversion");
+      waitForFXThread();
+      assertEquals(1, created.get(), "Converted Nodes after the cancellation");
+      assertEquals(1, written.get(), "Written Nodes after the cancellation");
+   }
+
+   /**
+    * Test that a failure of the sink completes the conversion exceptionally.
+    */
+   @Test
+   public void testSinkFailure() throws Exception {
+      System.out.println("ConversionPipelineTest : testSinkFailure");
+      new JFXPanel();
+      AtomicInteger created = new AtomicInteger();
+      AtomicInteger written = new AtomicInteger();
+      CompletableFuture<Void> future = new JFXConverter().convertAsync(createNodes(10), createFactory(created), (root, g2D) -> {
+         if (written.incrementAndGet() == 2) {
+            throw new IOException("Sink failure");
+         }
+      }, SAME_THREAD, 1);
+      ExecutionException ex = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS), "Failed conversion");
+      assertTrue(ex.getCause() instanceof IOException, "Cause of the failure");
+      assertEquals("Sink failure", ex.getCause().getMessage(), "Cause of the failure");
+      waitForFXThread();
+      assertEquals(2, created.get(), "Converted Nodes after the failure");
+   }
+}
@@ -76,6 +76,11 @@ public class ConverterConfigParserTest {
       ConverterConfig conf = ConverterConfig.getInstance();
       assertFalse(conf.isSupportingDisabled(), "SupportDisabled");
       assertEquals(20, conf.getGrayScalePercent(), "GrayScale");
+      assertEquals(5000, conf.getMaximumSubtreePrimitives(), "MaxSubtreePrimitives");
+      assertEquals(0, conf.getMaximumSubtreeBytes(), "MaxSubtreeBytes");
+      assertEquals(2, conf.getRasterScale(), 0.001d, "RasterScale");
+      assertTrue(conf.isRasterFallbackEnabled(), "RasterFallback");
+      conf.reset();
    }
 
 }
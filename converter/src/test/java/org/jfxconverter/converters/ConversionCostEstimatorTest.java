@@ -0,0 +1,118 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.converters;
+
+import javafx.scene.Group;
+import javafx.scene.shape.Polyline;
+import javafx.scene.shape.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the ConversionCostEstimator class.
+ *
+ * @since 0.25
+ */
+public class ConversionCostEstimatorTest {
+
+   private Group createScatter(int count) {
+      Group scatter = new Group();
+      for (int i = 0; i < count; i++) {
+         scatter.getChildren().add(new Rectangle(i % 100, i / 100, 1, 1));
+      }
+      return scatter;
+   }
+
+   /**
+    * Test of the estimation without any budget.
+    */
+   @Test
+   public void testEstimateNoBudget() {
+      System.out.println("ConversionCostEstimatorTest : testEstimateNoBudget");
+      Group root = new Group();
+      Group scatter = createScatter(1000);
+      Polyline line = new Polyline();
+      for (int i = 0; i < 100; i++) {
+         line.getPoints().addAll((double) i, (double) i);
+      }
+      root.getChildren().addAll(scatter, line);
+
+      ConversionCostReport report = new ConversionCostEstimator(0, 0, 1).estimate(root);
+      assertTrue(report.getRasterizedNodes().isEmpty(), "No Node should be rasterized");
+      assertEquals(1001, report.getPrimitives(), "Primitives");
+      assertEquals(report.getRootCost().getVectorBytes(), report.getBytes(), "Bytes");
+      ConversionCost lineCost = report.getCost(line);
+      assertNotNull(lineCost, "Polyline cost");
+      assertEquals(ConversionCostEstimator.PRIMITIVE_BYTES + 100 * ConversionCostEstimator.POINT_BYTES, lineCost.getBytes(), "Polyline bytes");
+   }
+
+   /**
+    * Test of the raster fallback for a subtree which is over the primitives budget.
+    */
+   @Test
+   public void testEstimateRasterFallback() {
+      System.out.println("ConversionCostEstimatorTest : testEstimateRasterFallback");
+      Group root = new Group();
+      Group scatter = createScatter(1000);
+      Rectangle rec = new Rectangle(0, 0, 10, 10);
+      root.getChildren().addAll(scatter, rec);
+
+      ConversionCostReport report = new ConversionCostEstimator(100, 0, 1).estimate(root);
+      assertEquals(1, report.getRasterizedNodes().size(), "Rasterized Nodes");
+      assertSame(scatter, report.getRasterizedNodes().get(0), "Rasterized Node");
+      assertTrue(report.isRasterized(scatter), "Scatter should be rasterized");
+      assertFalse(report.isRasterized(root), "Root should never be rasterized");
+      assertNull(report.getCost(scatter.getChildren().get(0)), "Nodes under a rasterized Node should not be in the report");
+      assertEquals(2, report.getPrimitives(), "Primitives");
+      assertEquals(1001, report.getRootCost().getVectorPrimitives(), "Vector primitives");
+   }
+
+   /**
+    * Test that a subtree which is only over the bytes budget is not rasterized if its raster is larger.
+    */
+   @Test
+   public void testEstimateLargerRaster() {
+      System.out.println("ConversionCostEstimatorTest : testEstimateLargerRaster");
+      Group root = new Group();
+      Group group = new Group();
+      Polyline line = new Polyline();
+      for (int i = 0; i < 1000; i++) {
+         line.getPoints().addAll((double) i, (double) i);
+      }
+      group.getChildren().add(line);
+      root.getChildren().add(group);
+
+      ConversionCostReport report = new ConversionCostEstimator(0, 1000, 1).estimate(root);
+      assertTrue(report.getRasterizedNodes().isEmpty(), "No Node should be rasterized");
+   }
+}
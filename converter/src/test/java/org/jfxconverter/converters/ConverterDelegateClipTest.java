@@ -0,0 +1,113 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.converters;
+
+import java.awt.Graphics2D;
+import java.awt.Shape;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the clipping in the ConverterDelegate class.
+ *
+ * @since 0.25
+ */
+public class ConverterDelegateClipTest {
+
+   private Group createClippedGroup(Group parent, javafx.scene.shape.Shape clip) {
+      Group group = new Group();
+      group.setClip(clip);
+      parent.getChildren().add(group);
+      return group;
+   }
+
+   private Map<Node, Shape> convert(Group root) {
+      Map<Node, Shape> clips = new IdentityHashMap<>();
+      ConverterDelegate delegate = new ConverterDelegate();
+      delegate.setListener(new ConverterListener() {
+         @Override
+         public void endNode(Graphics2D g2D, Node node) {
+            clips.put(node, g2D.getClip());
+         }
+      });
+      BufferedImage image = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+      Graphics2D g2D = image.createGraphics();
+      delegate.convert(g2D, root);
+      g2D.dispose();
+      return clips;
+   }
+
+   /**
+    * Test of the arithmetic intersection of rectangular clips.
+    */
+   @Test
+   public void testRectangularClips() {
+      System.out.println("ConverterDelegateClipTest : testRectangularClips");
+      Group root = new Group();
+      Group groupA = createClippedGroup(root, new Rectangle(0, 0, 100, 100));
+      Group groupB = createClippedGroup(groupA, new Rectangle(10, 10, 200, 50));
+      groupB.setTranslateX(5);
+      Group groupC = createClippedGroup(groupB, new Rectangle(-10, -10, 500, 500));
+
+      Map<Node, Shape> clips = convert(root);
+      assertEquals(new Rectangle2D.Double(0, 0, 100, 100), clips.get(groupA).getBounds2D(), "Clip of A");
+      assertTrue(clips.get(groupB) instanceof Rectangle2D, "Clip of B should be a rectangle");
+      // B is translated by 5: its clip is intersected with the clip of A in the device space
+      assertEquals(new Rectangle2D.Double(10, 10, 85, 50), clips.get(groupB).getBounds2D(), "Clip of B");
+      assertEquals(clips.get(groupB).getBounds2D(), clips.get(groupC).getBounds2D(), "Clip of C should not change the clip");
+   }
+
+   /**
+    * Test of a non rectangular clip under rectangular clips.
+    */
+   @Test
+   public void testNonRectangularClip() {
+      System.out.println("ConverterDelegateClipTest : testNonRectangularClip");
+      Group root = new Group();
+      Group groupA = createClippedGroup(root, new Rectangle(0, 0, 100, 100));
+      Group groupB = createClippedGroup(groupA, new Circle(100, 100, 50));
+      Group groupC = createClippedGroup(groupB, new Rectangle(0, 0, 500, 500));
+
+      Map<Node, Shape> clips = convert(root);
+      assertEquals(new Rectangle2D.Double(50, 50, 50, 50), clips.get(groupB).getBounds2D(), "Clip of B");
+      assertEquals(new Rectangle2D.Double(50, 50, 50, 50), clips.get(groupC).getBounds2D(), "Clip of C");
+   }
+}
@@ -0,0 +1,203 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.converters;
+
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import javafx.scene.AmbientLight;
+import javafx.scene.Group;
+import javafx.scene.PerspectiveCamera;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.Box;
+import javafx.scene.shape.CullFace;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Shape3DProjector class.
+ *
+ * @since 0.25
+ */
+public class Shape3DProjectorTest {
+
+   private Box createBox(double x, double y, double z, double size, Color color) {
+      Box box = new Box(size, size, size);
+      box.setTranslateX(x);
+      box.setTranslateY(y);
+      box.setTranslateZ(z);
+      box.setMaterial(new PhongMaterial(color));
+      return box;
+   }
+
+   private BufferedImage paint(Shape3DProjector projector, int width, int height) {
+      BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+      Graphics2D g2D = image.createGraphics();
+      projector.paint(g2D);
+      g2D.dispose();
+      return image;
+   }
+
+   /**
+    * Test of the back-face culling of a Box seen from the front.
+    */
+   @Test
+   public void testBackFaceCulling() {
+      System.out.println("Shape3DProjectorTest : testBackFaceCulling");
+      Box box = createBox(100, 100, 0, 50, Color.RED);
+      Shape3DProjector projector = new Shape3DProjector(new PerspectiveCamera(), 200, 200);
+      projector.addShape(box);
+      assertEquals(2, projector.getPolygonsCount(), "Only the front face should be visible");
+
+      box.setCullFace(CullFace.NONE);
+      projector = new Shape3DProjector(new PerspectiveCamera(), 200, 200);
+      projector.addShape(box);
+      assertEquals(12, projector.getPolygonsCount(), "All the faces should be visible");
+
+      box.setCullFace(CullFace.FRONT);
+      projector = new Shape3DProjector(new PerspectiveCamera(), 200, 200);
+      projector.addShape(box);
+      assertEquals(10, projector.getPolygonsCount(), "The back face and the inner side faces should be visible");
+   }
+
+   /**
+    * Test of the view frustum culling.
+    */
+   @Test
+   public void testFrustumCulling() {
+      System.out.println("Shape3DProjectorTest : testFrustumCulling");
+      Shape3DProjector projector = new Shape3DProjector(new PerspectiveCamera(), 200, 200);
+      projector.addShape(createBox(1000, 100, 0, 50, Color.RED));
+      assertEquals(0, projector.getPolygonsCount(), "Box outside of the view");
+
+      PerspectiveCamera camera = new PerspectiveCamera();
+      camera.setFarClip(1);
+      projector = new Shape3DProjector(camera, 200, 200);
+      projector.addShape(createBox(100, 100, 2000, 50, Color.RED));
+      assertEquals(0, projector.getPolygonsCount(), "Box beyond the far clip");
+   }
+
+   /**
+    * Test of the painter's algorithm and of the shading.
+    */
+   @Test
+   public void testDepthSort() {
+      System.out.println("Shape3DProjectorTest : testDepthSort");
+      Group root = new Group();
+      // the near Box is added first, it must be painted last
+      Box near = createBox(100, 100, 0, 50, Color.RED);
+      Box far = createBox(100, 100, 200, 150, Color.BLUE);
+      root.getChildren().addAll(near, far, new AmbientLight(Color.WHITE));
+      Shape3DProjector projector = new Shape3DProjector(new PerspectiveCamera(), 200, 200);
+      projector.addLights(root);
+      projector.addShapes(root);
+      BufferedImage image = paint(projector, 200, 200);
+      assertEquals(0xFFFF0000, image.getRGB(100, 100), "Near Box at the center");
+      assertEquals(0xFF0000FF, image.getRGB(100, 60), "Far Box around the near Box");
+      assertEquals(0, image.getRGB(2, 2), "Nothing in the corner");
+   }
+
+   /**
+    * Test of the projection of a large mesh.
+    */
+   @Test
+   public void testLargeMesh() {
+      System.out.println("Shape3DProjectorTest : testLargeMesh");
+      int n = 250;
+      TriangleMesh mesh = new TriangleMesh();
+      float[] points = new float[(n + 1) * (n + 1) * 3];
+      int pos = 0;
+      for (int y = 0; y <= n; y++) {
+         for (int x = 0; x <= n; x++) {
+            points[pos++] = x;
+            points[pos++] = y;
+            points[pos++] = 0;
+         }
+      }
+      int[] faces = new int[n * n * 2 * 6];
+      pos = 0;
+      for (int y = 0; y < n; y++) {
+         for (int x = 0; x < n; x++) {
+            int p0 = y * (n + 1) + x;
+            int p1 = p0 + 1;
+            int p2 = p0 + n + 1;
+            int p3 = p2 + 1;
+            int[] face = { p0, 0, p1, 0, p2, 0, p1, 0, p3, 0, p2, 0 };
+            System.arraycopy(face, 0, faces, pos, face.length);
+            pos += face.length;
+         }
+      }
+      mesh.getPoints().addAll(points);
+      mesh.getTexCoords().addAll(0, 0);
+      mesh.getFaces().addAll(faces);
+      MeshView view = new MeshView(mesh);
+      view.setCullFace(CullFace.NONE);
+
+      Shape3DProjector projector = new Shape3DProjector(new PerspectiveCamera(), n, n);
+      projector.addShape(view);
+      assertEquals(n * n * 2, projector.getPolygonsCount(), "Triangles");
+      BufferedImage image = paint(projector, n, n);
+      assertNotEquals(0, image.getRGB(n / 2, n / 2), "Mesh at the center");
+   }
+
+   /**
+    * Test of the projection of a Shape whose converted root is a translated subtree of the Scene.
+    */
+   @Test
+   public void testTranslatedRoot() throws Exception {
+      System.out.println("Shape3DProjectorTest : testTranslatedRoot");
+      Group top = new Group();
+      top.setTranslateX(50);
+      top.setTranslateY(20);
+      Group root = new Group();
+      root.setTranslateX(30);
+      top.getChildren().add(root);
+      // the center of the Box is at (180, 120) in the Scene
+      Box box = createBox(100, 100, 0, 20, Color.RED);
+      root.getChildren().add(box);
+
+      Shape3DProjector projector = new Shape3DProjector(new PerspectiveCamera(), 400, 400);
+      projector.addShape(box);
+      BufferedImage image = new BufferedImage(400, 400, BufferedImage.TYPE_INT_ARGB);
+      Graphics2D g2D = image.createGraphics();
+      g2D.setTransform(Shape3DConverter.getSceneTransform(AffineTransform.getTranslateInstance(10, 0), root));
+      projector.paint(g2D);
+      g2D.dispose();
+      // the conversion coordinates are the coordinates of the parent of the root, translated by the base transform
+      assertNotEquals(0, image.getRGB(140, 100), "Box in the coordinates of the conversion");
+      assertEquals(0, image.getRGB(190, 120), "No Box in the Scene coordinates");
+   }
+}
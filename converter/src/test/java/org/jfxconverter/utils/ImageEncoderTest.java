@@ -0,0 +1,104 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.utils;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the ImageEncoder class.
+ *
+ * @since 0.25
+ */
+public class ImageEncoderTest {
+
+   private int[] createPixels(int width, int height, int alpha) {
+      int[] pixels = new int[width * height];
+      for (int i = 0; i < pixels.length; i++) {
+         pixels[i] = (alpha << 24) | (i * 31 & 0xFFFFFF);
+      }
+      return pixels;
+   }
+
+   /**
+    * Test of the keys and snapshots of the images.
+    */
+   @Test
+   public void testKeyAndSnapshot() {
+      System.out.println("ImageEncoderTest : testKeyAndSnapshot");
+      ImageEncoder encoder = new ImageEncoder();
+      int[] pixels = createPixels(10, 10, 0xFF);
+      String key = encoder.getKey(pixels, 10, 10);
+      assertEquals(key, encoder.getKey(pixels.clone(), 10, 10), "Same pixels, same key");
+      assertNotEquals(key, encoder.getKey(pixels, 20, 5), "Different size, different key");
+      assertTrue(ImageEncoder.isOpaque(pixels), "Opaque pixels");
+
+      BufferedImage snapshot = ImageEncoder.createSnapshot(pixels, 10, 10, true);
+      assertFalse(snapshot.getColorModel().hasAlpha(), "Opaque snapshot without alpha");
+      assertEquals(pixels[34], snapshot.getRGB(4, 3), "Snapshot pixel");
+
+      int[] transparent = createPixels(10, 10, 0x80);
+      assertFalse(ImageEncoder.isOpaque(transparent), "Transparent pixels");
+      snapshot = ImageEncoder.createSnapshot(transparent, 10, 10, false);
+      assertTrue(snapshot.getColorModel().hasAlpha(), "Transparent snapshot with alpha");
+      assertEquals(transparent[34], snapshot.getRGB(4, 3), "Snapshot pixel");
+   }
+
+   /**
+    * Test of the encoding of the images as PNG and JPEG, and of the reuse of the encoder after it has been disposed.
+    */
+   @Test
+   public void testEncode() throws Exception {
+      System.out.println("ImageEncoderTest : testEncode");
+      ImageEncoder encoder = new ImageEncoder();
+      encoder.setJPEGQuality(0.8f);
+      int[] pixels = createPixels(16, 16, 0xFF);
+      BufferedImage opaque = ImageEncoder.createSnapshot(pixels, 16, 16, true);
+      BufferedImage transparent = ImageEncoder.createSnapshot(createPixels(16, 16, 0x80), 16, 16, false);
+      assertTrue(encoder.isJPEG(opaque), "JPEG for an opaque image");
+      assertFalse(encoder.isJPEG(transparent), "PNG for a transparent image");
+
+      byte[] png = encoder.encode(opaque, false);
+      BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(png));
+      assertEquals(pixels[17], decoded.getRGB(1, 1), "Decoded PNG pixel");
+      byte[] jpeg = encoder.encode(opaque, true);
+      assertEquals(0xFF, jpeg[0] & 0xFF, "JPEG marker");
+      assertEquals(0xD8, jpeg[1] & 0xFF, "JPEG marker");
+
+      encoder.dispose();
+      assertArrayEquals(png, encoder.encode(opaque, false), "Encoding after dispose");
+   }
+}
@@ -0,0 +1,97 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.utils;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javafx.application.Platform;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the JFXInvoker class.
+ *
+ * @since 0.25
+ */
+public class JFXInvokerTest {
+
+   /**
+    * Test that the code is executed in the FX thread and that its result completes the future.
+    */
+   @Test
+   public void testInvokeAsync() throws Exception {
+      System.out.println("JFXInvokerTest : testInvokeAsync");
+      CompletableFuture<Boolean> future = JFXInvoker.getInstance().invokeAsync(() -> Platform.isFxApplicationThread());
+      assertTrue(future.get(10, TimeUnit.SECONDS), "Code executed in the FX thread");
+   }
+
+   /**
+    * Test that an exception thrown by the code completes the future exceptionally.
+    */
+   @Test
+   public void testInvokeAsyncFailure() throws Exception {
+      System.out.println("JFXInvokerTest : testInvokeAsyncFailure");
+      CompletableFuture<Object> future = JFXInvoker.getInstance().invokeAsync(() -> {
+         throw new IOException("Failure");
+      });
+      ExecutionException ex = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS), "Failed code");
+      assertTrue(ex.getCause() instanceof IOException, "Cause of the failure");
+   }
+
+   /**
+    * Test that the code is not executed if the future is cancelled before the FX thread could run it.
+    */
+   @Test
+   public void testInvokeAsyncCancel() throws Exception {
+      System.out.println("JFXInvokerTest : testInvokeAsyncCancel");
+      JFXInvoker invoker = JFXInvoker.getInstance();
+      CountDownLatch release = new CountDownLatch(1);
+      // block the FX thread until the second future has been cancelled
+      CompletableFuture<Boolean> blocking = invoker.invokeAsync(() -> release.await(10, TimeUnit.SECONDS));
+      AtomicBoolean executed = new AtomicBoolean(false);
+      CompletableFuture<Boolean> future = invoker.invokeAsync(() -> {
+         executed.set(true);
+         return true;
+      });
+      future.cancel(false);
+      release.countDown();
+      assertTrue(blocking.get(10, TimeUnit.SECONDS), "Blocking code executed");
+      invoker.invokeBlocking(() -> {
+      });
+      assertFalse(executed.get(), "Cancelled code should not be executed");
+   }
+}
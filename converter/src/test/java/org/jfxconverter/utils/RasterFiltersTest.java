@@ -0,0 +1,103 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.utils;
+
+import java.awt.image.BufferedImage;
+import javax.swing.GrayFilter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the RasterFilters class.
+ *
+ * @since 0.25
+ */
+public class RasterFiltersTest {
+
+   private BufferedImage createImage(int width, int height) {
+      BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+      for (int y = 0; y < height; y++) {
+         for (int x = 0; x < width; x++) {
+            image.setRGB(x, y, (x * 31 + y * 17) | ((x + y) & 0xFF) << 24);
+         }
+      }
+      return image;
+   }
+
+   /**
+    * Test of the gray filter against the Swing GrayFilter, for a small and a large (parallel) image.
+    */
+   @Test
+   public void testGray() {
+      System.out.println("RasterFiltersTest : testGray");
+      GrayFilter filter = new GrayFilter(true, 40);
+      for (int size : new int[] { 20, 600 }) {
+         BufferedImage image = createImage(size, size);
+         BufferedImage result = RasterFilters.gray(image, 40);
+         assertEquals(BufferedImage.TYPE_INT_ARGB, result.getType(), "Image type");
+         for (int y = 0; y < size; y += 7) {
+            for (int x = 0; x < size; x += 7) {
+               assertEquals(filter.filterRGB(x, y, image.getRGB(x, y)), result.getRGB(x, y), "Pixel " + x + "," + y);
+            }
+         }
+      }
+   }
+
+   /**
+    * Test of the opacity filter.
+    */
+   @Test
+   public void testOpacify() {
+      System.out.println("RasterFiltersTest : testOpacify");
+      BufferedImage image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+      image.setRGB(1, 1, 0x80123456);
+      BufferedImage result = RasterFilters.opacify(image, 0.5, false);
+      assertEquals(0x7F123456, result.getRGB(1, 1), "Replaced opacity");
+      result = RasterFilters.opacify(image, 0.5, true);
+      assertEquals(0x40123456, result.getRGB(1, 1), "Multiplied opacity");
+      assertEquals(0x80123456, image.getRGB(1, 1), "Source image must not be modified");
+   }
+
+   /**
+    * Test of the filters on a sub-image.
+    */
+   @Test
+   public void testSubImage() {
+      System.out.println("RasterFiltersTest : testSubImage");
+      BufferedImage image = createImage(50, 50);
+      BufferedImage sub = image.getSubimage(10, 20, 5, 5);
+      BufferedImage result = RasterFilters.opacify(sub, 1, false);
+      assertEquals(5, result.getWidth(), "Width");
+      assertEquals(image.getRGB(12, 23) | 0xFF000000, result.getRGB(2, 3), "Pixel");
+   }
+}
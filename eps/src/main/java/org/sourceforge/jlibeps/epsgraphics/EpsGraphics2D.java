@@ -412,16 +412,29 @@ public class EpsGraphics2D extends Graphics2D {
 
    /**
     * Intersects the current clip with the interior of the specified Shape and
-    * sets the clip to the resulting intersection.
+    * sets the clip to the resulting intersection. Rectangular clips are
+    * intersected arithmetically, and a rectangle which contains the current
+    * clip does not change it.
     *
     * @since 0.1
     */
    @Override
    public void clip(final Shape shape) {
-      if (_clip == null) {
+      final Shape current = getClip();
+      if (current == null) {
          setClip(shape);
+      } else if (shape instanceof Rectangle2D && current instanceof Rectangle2D) {
+         final Rectangle2D rectangle = (Rectangle2D) shape;
+         final Rectangle2D currentRectangle = (Rectangle2D) current;
+         if (!rectangle.contains(currentRectangle)) {
+            final Rectangle2D intersection = rectangle.createIntersection(currentRectangle);
+            if (intersection.isEmpty()) {
+               intersection.setRect(intersection.getX(), intersection.getY(), 0, 0);
+            }
+            setClip(intersection);
+         }
       } else {
-         final Area area = new Area(_clip);
+         final Area area = new Area(current);
          area.intersect(new Area(shape));
          setClip(area);
       }
@@ -1258,6 +1271,11 @@ public class EpsGraphics2D extends Graphics2D {
          final AffineTransform transform = _transform.createInverse();
          transform.concatenate(_clipTransform);
 
+         if (_clip instanceof Rectangle2D && (transform.getType()
+               & (AffineTransform.TYPE_GENERAL_ROTATION | AffineTransform.TYPE_GENERAL_TRANSFORM)) == 0) {
+            // an axis-aligned rectangle stays a rectangle
+            return transform.createTransformedShape(_clip).getBounds2D();
+         }
          return transform.createTransformedShape(_clip);
 
       } catch (final NoninvertibleTransformException nte) {
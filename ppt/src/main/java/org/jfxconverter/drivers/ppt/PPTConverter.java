@@ -35,6 +35,9 @@ import java.awt.Color;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.stream.Stream;
 import javafx.embed.swing.JFXPanel;
 import javafx.geometry.Bounds;
 import javafx.scene.Node;
@@ -46,10 +49,37 @@ import org.jfxconverter.converters.DefaultConverterListener;
 /**
  * An utility class to convert Nodes to PPT content.
  *
- * @version 0.21
+ * <h1>Several slides</h1>
+ * A list or a Stream of Nodes can be converted in one PPT file, with one slide for each Node. All the slides are in the
+ * same SlideShow, so the fonts and the pictures are shared by the slides, and an image drawn in several slides is only
+ * added once. Each Node is released as soon as its slide has been created, and the file is written once at the end.
+ * Using a Stream which creates the Nodes lazily allows to keep only one Node in memory at a time.
+ *
+ * @version 0.25
  */
 public class PPTConverter {
    private File file = null;
+   private PPTPictureEncoder pictureEncoder = new PPTPictureEncoder();
+
+   /**
+    * Set the encoder used for the images. The encoder is shared by all the slides of a conversion.
+    *
+    * @param encoder the encoder
+    */
+   public void setPictureEncoder(PPTPictureEncoder encoder) {
+      if (encoder != null) {
+         this.pictureEncoder = encoder;
+      }
+   }
+
+   /**
+    * Return the encoder used for the images.
+    *
+    * @return the encoder
+    */
+   public PPTPictureEncoder getPictureEncoder() {
+      return pictureEncoder;
+   }
 
    /**
     * Convert a Node in a PPT file.
@@ -71,39 +101,88 @@ public class PPTConverter {
     * @throws Exception
     */
    public void convert(Node node, File file, boolean isExtended) throws Exception {
+      convert(Collections.singletonList(node), file, isExtended);
+   }
+
+   /**
+    * Convert a list of Nodes in a PPT file, with one slide for each Node.
+    *
+    * @param nodes the Nodes
+    * @param file the PPT file
+    * @param isExtended true for an extended conversion
+    * @throws Exception
+    */
+   public void convert(Iterable<? extends Node> nodes, File file, boolean isExtended) throws Exception {
       // make sure that the JavaFX Platform is initialized, the Panel is not used
       JFXPanel jfxPanel = new JFXPanel();
       this.file = file;
 
-      createSlides(node, isExtended);
+      createSlides(nodes.iterator(), isExtended);
    }
 
    /**
-    * Creates the Slide corresponding to the Node.
+    * Convert a Stream of Nodes in a PPT file, with one slide for each Node. The Nodes are converted in the order of the
+    * Stream.
     *
-    * @param node the Node
+    * @param nodes the Nodes
+    * @param file the PPT file
+    * @param isExtended true for an extended conversion
+    * @throws Exception
+    */
+   public void convert(Stream<? extends Node> nodes, File file, boolean isExtended) throws Exception {
+      // make sure that the JavaFX Platform is initialized, the Panel is not used
+      JFXPanel jfxPanel = new JFXPanel();
+      this.file = file;
+
+      createSlides(nodes.sequential().iterator(), isExtended);
+   }
+
+   /**
+    * Creates the Slides corresponding to the Nodes.
+    *
+    * @param nodes the Nodes
     * @param isExtended true for an extended conversion
     */
-   private void createSlides(Node node, boolean isExtended) throws IOException {
+   private void createSlides(Iterator<? extends Node> nodes, boolean isExtended) throws IOException {
       if (file != null) {
-         Bounds bounds = node.getBoundsInLocal();
-         HSLFSlideShow pptSlides = new HSLFSlideShow();
-         HSLFSlide slide = pptSlides.createSlide();
-
-         JFXConverter converter = new JFXConverter();
-         PPTGraphics2D g2d;
-         if (isExtended) {
-            g2d = new PPTJFXGraphics2D(slide, (float) bounds.getWidth(), (float) bounds.getHeight(), Color.WHITE, Color.BLACK);
-            converter.setListener(new DefaultConverterListener());
-         } else {
-            g2d = new PPTGraphics2D(slide, (float) bounds.getWidth(), (float) bounds.getHeight(), Color.WHITE, Color.BLACK);
-         }
-         converter.convert(g2d, node);
+         try (HSLFSlideShow pptSlides = new HSLFSlideShow()) {
+            while (nodes.hasNext()) {
+               createSlide(pptSlides, nodes.next(), isExtended);
+            }
 
-         try (FileOutputStream stream = new FileOutputStream(file)) {
-            pptSlides.write(stream);
-            stream.flush();
+            try (FileOutputStream stream = new FileOutputStream(file)) {
+               pptSlides.write(stream);
+               stream.flush();
+            }
+         } finally {
+            // the encoder must not keep the SlideShow after the conversion
+            pictureEncoder.clear();
          }
       }
    }
+
+   /**
+    * Creates the Slide corresponding to a Node. Nothing refers to the Node or to its converter after the Slide has been
+    * created.
+    *
+    * @param pptSlides the SlideShow
+    * @param node the Node
+    * @param isExtended true for an extended conversion
+    */
+   private void createSlide(HSLFSlideShow pptSlides, Node node, boolean isExtended) {
+      Bounds bounds = node.getBoundsInLocal();
+      HSLFSlide slide = pptSlides.createSlide();
+
+      JFXConverter converter = new JFXConverter();
+      PPTGraphics2D g2d;
+      if (isExtended) {
+         g2d = new PPTJFXGraphics2D(slide, (float) bounds.getWidth(), (float) bounds.getHeight(), Color.WHITE, Color.BLACK);
+         converter.setListener(new DefaultConverterListener());
+      } else {
+         g2d = new PPTGraphics2D(slide, (float) bounds.getWidth(), (float) bounds.getHeight(), Color.WHITE, Color.BLACK);
+      }
+      g2d.setPictureEncoder(pictureEncoder);
+      converter.convert(g2d, node);
+      g2d.dispose();
+   }
 }
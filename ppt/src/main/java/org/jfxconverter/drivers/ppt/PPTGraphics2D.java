@@ -37,6 +37,7 @@ package org.jfxconverter.drivers.ppt;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Composite;
+import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.GradientPaint;
@@ -52,7 +53,6 @@ import java.awt.Shape;
 import java.awt.Stroke;
 import java.awt.font.FontRenderContext;
 import java.awt.font.GlyphVector;
-import java.awt.font.LineMetrics;
 import java.awt.font.TextLayout;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Arc2D;
@@ -70,20 +70,21 @@ import java.awt.image.BufferedImageOp;
 import java.awt.image.ImageObserver;
 import java.awt.image.RenderedImage;
 import java.awt.image.renderable.RenderableImage;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.text.AttributedCharacterIterator;
 import java.text.CharacterIterator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import javax.imageio.ImageIO;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.poi.ddf.EscherOptRecord;
 import org.apache.poi.ddf.EscherPropertyTypes;
 import org.apache.poi.ddf.EscherSimpleProperty;
 import org.apache.poi.hslf.record.FontCollection;
 import org.apache.poi.hslf.usermodel.HSLFAutoShape;
-import org.apache.poi.hslf.usermodel.HSLFFontInfo;
 import org.apache.poi.hslf.usermodel.HSLFFreeformShape;
 import org.apache.poi.hslf.usermodel.HSLFLine;
 import org.apache.poi.hslf.usermodel.HSLFPictureData;
@@ -91,7 +92,6 @@ import org.apache.poi.hslf.usermodel.HSLFPictureShape;
 import org.apache.poi.hslf.usermodel.HSLFShape;
 import org.apache.poi.hslf.usermodel.HSLFSimpleShape;
 import org.apache.poi.hslf.usermodel.HSLFSlide;
-import org.apache.poi.hslf.usermodel.HSLFSlideShow;
 import org.apache.poi.hslf.usermodel.HSLFTextBox;
 import org.apache.poi.hslf.usermodel.HSLFTextRun;
 import org.apache.poi.sl.usermodel.PictureData;
@@ -118,7 +118,7 @@ import org.mdiutil.geom.ShapeUtilities;
  * <li>creation of sub-contexts</li>
  * </ul>
  *
- * @@version 0.20
+ * @version 0.25
  */
 public class PPTGraphics2D extends Graphics2D {
    public static final int ACTION_DRAW = 0;
@@ -136,10 +136,25 @@ public class PPTGraphics2D extends Graphics2D {
    private Font font;
    private FontRenderContext fctx = null;
    private FontMetrics fontMetrics = null;
+   // the metrics of the fonts and texts, shared with the created Graphics
+   private PPTTextMetrics textMetrics = new PPTTextMetrics();
    private Shape deviceclip;
+   // the Area of the device clip, created only when it is needed, and never modified
+   private Area deviceclipArea = null;
+   private Rectangle2D deviceclipBounds = null;
+   // the bounds of the visible region in the device space, cached until the clip changes
+   private Rectangle2D visibleBounds = null;
+   // the corners of the bounds of the primitives, used to check if they are visible
+   private final double[] corners = new double[8];
+   // the number of primitives which were rejected before being converted, shared with the created Graphics
+   private AtomicLong rejectedCount = new AtomicLong();
+   private boolean rejectOutsideSlide = false;
    private static final float DASH_LIMIT_DOT = 0.5f / 348f;
    private static final float DASH_LIMIT_NORMAL = 4f / 348f;
    private Paint paint;
+   // the pictures of the rasterized Paints, shared with the created Graphics
+   private Map<RasterKey, HSLFPictureData> rasterCache = new HashMap<>();
+   private PPTPictureEncoder pictureEncoder = new PPTPictureEncoder();
 
    /* The last Color.
     */
@@ -169,6 +184,8 @@ public class PPTGraphics2D extends Graphics2D {
    protected StrokeStyle.LineDash lineDashing = StrokeStyle.LineDash.SOLID;
    private boolean acceptSmallShapes = true;
    private boolean hardClipTexts = false;
+   // the Shapes which are merged, shared with the created Graphics
+   private MergedShapes mergedShapes = new MergedShapes();
    // by default the Locale is the default Locale on the Machine
    private Locale locale = Locale.getDefault();
 
@@ -260,6 +277,14 @@ public class PPTGraphics2D extends Graphics2D {
       basicStroke = pptG2d.basicStroke;
       slide = pptG2d.slide;
       deviceclip = pptG2d.deviceclip;
+      deviceclipArea = pptG2d.deviceclipArea;
+      deviceclipBounds = pptG2d.deviceclipBounds;
+      rejectedCount = pptG2d.rejectedCount;
+      rejectOutsideSlide = pptG2d.rejectOutsideSlide;
+      rasterCache = pptG2d.rasterCache;
+      pictureEncoder = pptG2d.pictureEncoder;
+      mergedShapes = pptG2d.mergedShapes;
+      textMetrics = pptG2d.textMetrics;
       // this cast is safe (the only reason of the existence of Graphics is because Graphics predated Graphics2D
       // and Sun did not want to change the API when Swing was introduced), to the point that it is even a common pattern in Oracle tutorials on Swing
       g2D = (Graphics2D) pptG2d.g2D.create();
@@ -297,6 +322,26 @@ public class PPTGraphics2D extends Graphics2D {
       return slide;
    }
 
+   /**
+    * Set the encoder used for the images. The encoder is shared by the Graphics created from this Graphics.
+    *
+    * @param encoder the encoder
+    */
+   public void setPictureEncoder(PPTPictureEncoder encoder) {
+      if (encoder != null) {
+         this.pictureEncoder = encoder;
+      }
+   }
+
+   /**
+    * Return the encoder used for the images.
+    *
+    * @return the encoder
+    */
+   public PPTPictureEncoder getPictureEncoder() {
+      return pictureEncoder;
+   }
+
    public void setHardClippingTexts(boolean b) {
       this.hardClipTexts = b;
    }
@@ -305,6 +350,148 @@ public class PPTGraphics2D extends Graphics2D {
       return hardClipTexts;
    }
 
+   /**
+    * Set if consecutive Shapes drawn or filled with the same Color and Stroke are merged in one freeform Shape. False
+    * by default. This reduces a lot the number of Shapes in the Slide for Nodes such as charts, which draw a lot of bars
+    * or lines with the same style. The merged Shapes are added to the Slide as soon as a Shape with another style, a
+    * text, or an image is drawn, or when the Graphics is disposed.
+    *
+    * @param merge true if the Shapes are merged
+    */
+   public void setMergeShapes(boolean merge) {
+      if (!merge) {
+         flushMergedShapes();
+      }
+      mergedShapes.enabled = merge;
+   }
+
+   /**
+    * Return true if consecutive Shapes drawn or filled with the same Color and Stroke are merged in one freeform Shape.
+    *
+    * @return true if the Shapes are merged
+    */
+   public boolean isMergingShapes() {
+      return mergedShapes.enabled;
+   }
+
+   /**
+    * Set if the Shapes and texts which are outside of the page of the SlideShow are rejected. False by default, because
+    * the Shapes outside of the page are still visible when editing the Slide.
+    *
+    * @param reject true if the Shapes and texts outside of the page are rejected
+    */
+   public void setRejectOutsideSlide(boolean reject) {
+      this.rejectOutsideSlide = reject;
+      visibleBounds = null;
+   }
+
+   /**
+    * Return true if the Shapes and texts which are outside of the page of the SlideShow are rejected.
+    *
+    * @return true if the Shapes and texts outside of the page are rejected
+    */
+   public boolean isRejectingOutsideSlide() {
+      return rejectOutsideSlide;
+   }
+
+   /**
+    * Return the number of Shapes and texts which were rejected before being converted because they were outside of
+    * the clip, or outside of the page if {@link #setRejectOutsideSlide(boolean)} is set. The count is shared with the
+    * Graphics created from this Graphics.
+    *
+    * @return the number of rejected Shapes and texts
+    */
+   public long getRejectedCount() {
+      return rejectedCount.get();
+   }
+
+   /**
+    * Return the bounds of the visible region in the device space, or null if everything is visible. The bounds are
+    * cached until the clip changes, and must not be modified.
+    */
+   private Rectangle2D getVisibleBounds() {
+      if (deviceclip == null && (!rejectOutsideSlide || slide == null)) {
+         return null;
+      }
+      if (visibleBounds == null) {
+         Rectangle2D rec = null;
+         if (rejectOutsideSlide && slide != null) {
+            Dimension dim = slide.getSlideShow().getPageSize();
+            rec = new Rectangle2D.Double(0, 0, dim.getWidth(), dim.getHeight());
+         }
+         if (deviceclip != null) {
+            rec = rec == null ? getDeviceClipBounds() : intersect(rec, getDeviceClipBounds());
+         }
+         visibleBounds = rec;
+      }
+      return visibleBounds;
+   }
+
+   /**
+    * Return true if a rectangle in the user space is outside of the visible region once transformed. Only the corners
+    * of the rectangle are transformed, so this is much cheaper than transforming the primitive. The rejected
+    * primitives are counted.
+    */
+   private boolean isOutsideVisibleBounds(double x, double y, double rWidth, double rHeight) {
+      Rectangle2D visible = getVisibleBounds();
+      if (visible == null) {
+         return false;
+      }
+      double[] pts = corners;
+      pts[0] = x;
+      pts[1] = y;
+      pts[2] = x + rWidth;
+      pts[3] = y;
+      pts[4] = x;
+      pts[5] = y + rHeight;
+      pts[6] = x + rWidth;
+      pts[7] = y + rHeight;
+      trans.transform(pts, 0, pts, 0, 4);
+      double minX = Math.min(Math.min(pts[0], pts[2]), Math.min(pts[4], pts[6]));
+      double maxX = Math.max(Math.max(pts[0], pts[2]), Math.max(pts[4], pts[6]));
+      double minY = Math.min(Math.min(pts[1], pts[3]), Math.min(pts[5], pts[7]));
+      double maxY = Math.max(Math.max(pts[1], pts[3]), Math.max(pts[5], pts[7]));
+      // the bounds of horizontal or vertical lines have no width or height, and they would never intersect
+      if (visible.intersects(minX, minY, Math.max(0.1, maxX - minX), Math.max(0.1, maxY - minY))) {
+         return false;
+      } else {
+         rejectedCount.incrementAndGet();
+         return true;
+      }
+   }
+
+   /**
+    * Return true if a Shape in the user space is outside of the visible region once transformed.
+    *
+    * @param shape the Shape
+    * @param margin the margin around the Shape bounds, for example for the Stroke width
+    */
+   private boolean isOutsideVisibleBounds(Shape shape, double margin) {
+      if (getVisibleBounds() == null) {
+         return false;
+      }
+      Rectangle2D bounds = shape.getBounds2D();
+      return isOutsideVisibleBounds(bounds.getX() - margin, bounds.getY() - margin, bounds.getWidth() + 2 * margin,
+         bounds.getHeight() + 2 * margin);
+   }
+
+   /**
+    * Return true if a text is outside of the visible region. The bounds of the text are estimated with the maximum
+    * advance of the Font, far enough to contain the text box, so that no text layout is needed.
+    */
+   private boolean isTextOutsideVisibleBounds(String s, float x, float y) {
+      if (fontMetrics == null || getVisibleBounds() == null) {
+         return false;
+      }
+      double advance = fontMetrics.getMaxAdvance();
+      if (advance <= 0) {
+         advance = font.getSize2D() * 2;
+      }
+      double textWidth = (s.length() + 2) * advance;
+      double lineHeight = fontMetrics.getHeight();
+      return isOutsideVisibleBounds(x - textWidth, y - 2 * lineHeight, 3 * textWidth, 4 * lineHeight);
+   }
+
    public void setAcceptSmallShapes(boolean accept) {
       this.acceptSmallShapes = accept;
    }
@@ -346,17 +533,24 @@ public class PPTGraphics2D extends Graphics2D {
       setPaint(paint1);
    }
 
+   /**
+    * Measure a String with the current Font. The measures are cached, because the same Strings are often drawn many
+    * times, for example in tables.
+    */
+   private PPTTextMetrics.TextMeasure measureText(String s) {
+      g2D.setTransform(trans);
+      return textMetrics.measure(s, font, g2D, fctx);
+   }
+
    private Rectangle2D getTextBox(String s, double x, double y, boolean rotated, float rot) {
-      FontMetrics m = getFontMetrics(font);
-      LineMetrics lm = m.getLineMetrics(s, this);
-      Rectangle2D rec = m.getStringBounds(s, g2D).getBounds();
-      TextLayout layout = new TextLayout(s, font, fctx);
-      Rectangle2D rec2 = layout.getBounds();
-      int stringWidth = m.stringWidth(s);
+      PPTTextMetrics.TextMeasure measure = measureText(s);
+      Rectangle2D rec = measure.getStringBounds();
+      Rectangle2D rec2 = measure.getLayoutBounds();
+      int stringWidth = measure.stringWidth;
       int deltaX = 0;
       int deltaY = 0;
       // need to do this else sometimes the String is outside the bounds
-      int charWidth = (s.length() / 2 + 1) * m.charWidth('X');
+      int charWidth = (s.length() / 2 + 1) * measure.charWidth;
       int supp = 0;
 
       if (rotated) {
@@ -366,9 +560,9 @@ public class PPTGraphics2D extends Graphics2D {
       }
       int aWidth = (int) (rec.getWidth() + charWidth + supp);
       int aHeight = (int) (rec2.getHeight() + supp);
-      int deltaPos = (int) (rec.getHeight() - rec2.getHeight() - lm.getAscent() + lm.getDescent() - lm.getLeading());
+      int deltaPos = (int) (rec.getHeight() - rec2.getHeight() - measure.ascent + measure.descent - measure.leading);
 
-      rec2.setRect(x + rec.getWidth() - stringWidth + deltaX, y - rec2.getHeight() + lm.getLeading() - deltaPos + deltaY, aWidth, aHeight);
+      rec2.setRect(x + rec.getWidth() - stringWidth + deltaX, y - rec2.getHeight() + measure.leading - deltaPos + deltaY, aWidth, aHeight);
       if (!acceptSmallShapes) {
          if (rec2.getWidth() < 1d || rec2.getHeight() < 1d) {
             rec2 = null;
@@ -381,15 +575,74 @@ public class PPTGraphics2D extends Graphics2D {
    public void clip(Shape shape) {
       shape = ShapeUtilities.createTransformedShape(shape, trans);
       if (deviceclip != null) {
-         Area area = new Area(deviceclip);
-         if (shape != null) {
-            area.intersect(new Area(shape));
+         if (shape == null) {
+            shape = deviceclip;
+         } else if (shape instanceof Rectangle2D && ((Rectangle2D) shape).contains(getDeviceClipBounds())) {
+            // the clip does not change the effective clip region
+            shape = deviceclip;
+         } else if (shape instanceof Rectangle2D && deviceclip instanceof Rectangle2D) {
+            shape = intersect((Rectangle2D) shape, (Rectangle2D) deviceclip);
+         } else {
+            Area area = new Area(shape);
+            area.intersect(getDeviceClipArea());
+            shape = area;
+         }
+      }
+      setDeviceClip(shape);
+   }
+
+   /**
+    * Set the clip in the device space. If the clip is not a Rectangle2D but its area is rectangular, it is replaced by
+    * its bounds, so that the clipping of the next graphic orders can be computed on rectangles.
+    *
+    * @param shape the clip in the device space
+    */
+   private void setDeviceClip(Shape shape) {
+      deviceclipArea = null;
+      deviceclipBounds = null;
+      visibleBounds = null;
+      if (shape != null && !(shape instanceof Rectangle2D)) {
+         Area area = shape instanceof Area ? (Area) shape : new Area(shape);
+         if (area.isRectangular()) {
+            shape = area.getBounds2D();
+         } else {
+            deviceclipArea = area;
          }
-         shape = area;
       }
       deviceclip = shape;
    }
 
+   /**
+    * Return the Area of the device clip. The Area is cached until the clip changes, and must not be modified.
+    */
+   private Area getDeviceClipArea() {
+      if (deviceclipArea == null) {
+         deviceclipArea = new Area(deviceclip);
+      }
+      return deviceclipArea;
+   }
+
+   /**
+    * Return the bounds of the device clip. The bounds are cached until the clip changes, and must not be modified.
+    */
+   private Rectangle2D getDeviceClipBounds() {
+      if (deviceclipBounds == null) {
+         deviceclipBounds = deviceclip.getBounds2D();
+      }
+      return deviceclipBounds;
+   }
+
+   /**
+    * Return the intersection of two rectangles. The result is an empty rectangle if they do not intersect.
+    */
+   private static Rectangle2D intersect(Rectangle2D rec1, Rectangle2D rec2) {
+      Rectangle2D rec = rec1.createIntersection(rec2);
+      if (rec.isEmpty()) {
+         rec.setRect(rec.getX(), rec.getY(), 0, 0);
+      }
+      return rec;
+   }
+
    @Override
    public void clipRect(int x, int y, int aWidth, int aHeight) {
       clip(new Rectangle(x, y, aWidth, aHeight));
@@ -409,6 +662,7 @@ public class PPTGraphics2D extends Graphics2D {
 
    @Override
    public void dispose() {
+      flushMergedShapes();
       g2D.dispose();
       // img.flush();
    }
@@ -445,14 +699,73 @@ public class PPTGraphics2D extends Graphics2D {
 
    @Override
    public void draw(Shape shape) {
+      if (isOutsideVisibleBounds(shape, basicStroke.getLineWidth() / 2)) {
+         return;
+      }
       shape = transformShape(shape);
       if (shape != null) {
          if (acceptDrawShape(shape)) {
-            doDrawing(shape);
+            if (!mergeShape(shape, ACTION_DRAW)) {
+               doDrawing(shape);
+            }
          }
       }
    }
 
+   /**
+    * Merge a Shape with the previous Shapes if the merging of Shapes is enabled and the current paint is a Color.
+    * Return false if the Shape was not merged.
+    */
+   private boolean mergeShape(Shape shape, int type) {
+      MergedShapes merged = mergedShapes;
+      if (!merged.enabled || color == null || slide == null) {
+         return false;
+      }
+      float lineWidth = basicStroke.getLineWidth();
+      Rectangle2D bounds = shape.getBounds2D();
+      if (merged.count > 0 && (merged.owner != this || merged.type != type || !merged.color.equals(color)
+         || (type == ACTION_DRAW && (merged.lineWidth != lineWidth || merged.dash != lineDashing))
+         || (type == ACTION_FILL && merged.overlaps(bounds)) || merged.count >= MergedShapes.MAX_SHAPES)) {
+         flushMergedShapes();
+      }
+      if (merged.count == 0) {
+         merged.owner = this;
+         merged.type = type;
+         merged.color = color;
+         merged.lineWidth = lineWidth;
+         merged.dash = lineDashing;
+      }
+      merged.add(shape, bounds);
+      return true;
+   }
+
+   /**
+    * Add the merged Shapes to the Slide, as one freeform Shape. It is called automatically before any other Shape is
+    * added to the Slide, and when the Graphics is disposed.
+    */
+   public void flushMergedShapes() {
+      MergedShapes merged = mergedShapes;
+      if (merged.count == 0) {
+         return;
+      }
+      Path2D.Double path = merged.path;
+      PPTGraphics2D owner = merged.owner;
+      merged.clear();
+      owner.addMergedShape(path, merged);
+   }
+
+   private void addMergedShape(Path2D.Double path, MergedShapes merged) {
+      HSLFFreeformShape free = doCreateFreeformShape();
+      free.setSheet(slide);
+      free.setPath(path);
+      if (merged.type == ACTION_DRAW) {
+         setShapeDrawProperties(free, merged.color, merged.lineWidth, merged.dash);
+      } else {
+         setShapeFillProperties(free, merged.color);
+      }
+      addShape(free);
+   }
+
    private void doDrawing(Shape shape) {
       if (shape instanceof Ellipse2D) {
          doEllipse2DDrawing((Ellipse2D) shape, ACTION_DRAW);
@@ -478,34 +791,41 @@ public class PPTGraphics2D extends Graphics2D {
    }
 
    private void setShapeDrawProperties(HSLFSimpleShape shape) {
-      shape.setFillColor(null);
       if (color == null && paint instanceof GradientPaint) {
          GradientPaint gpaint = (GradientPaint) paint;
-         shape.setLineColor(getBrighterColor(gpaint));
+         setShapeDrawProperties(shape, getBrighterColor(gpaint), basicStroke.getLineWidth(), lineDashing);
       } else {
-         shape.setLineColor(this.getColor());
+         setShapeDrawProperties(shape, this.getColor(), basicStroke.getLineWidth(), lineDashing);
+      }
+   }
+
+   private void setShapeDrawProperties(HSLFSimpleShape shape, Color lineColor, double lineWidth, StrokeStyle.LineDash dash) {
+      shape.setFillColor(null);
+      shape.setLineColor(lineColor);
+      shape.setLineWidth(lineWidth);
+      shape.setLineDash(dash);
+   }
+
+   private void setShapeFillProperties(HSLFSimpleShape shape, Color fillColor) {
+      shape.setFillColor(fillColor);
+      // if the alpha value of the color is not 255, it's translucent, so we need to set the transparency property for the
+      // records used for the fill
+      if (fillColor.getAlpha() != 255) {
+         EscherOptRecord opt = (EscherOptRecord) HSLFShape.getEscherChild(shape.getSpContainer(), EscherOptRecord.RECORD_ID);
+         // int alpha =  (p.getPropertyValue() >> 8) & 0xFF;
+         int alpha = fillColor.getAlpha() << 8;
+         EscherSimpleProperty p = new EscherSimpleProperty(EscherPropertyTypes.FILL__FILLOPACITY, alpha);
+         opt.addEscherProperty(p);
       }
-      shape.setLineWidth(basicStroke.getLineWidth());
-      shape.setLineDash(lineDashing);
+      shape.setLineColor(null);
+      setShapeFillingAdditionalProperties(shape);
    }
 
    private void setShapeFillProperties(HSLFSimpleShape shape) {
       // if the current color is not null, use it
       if (color != null) {
-         shape.setFillColor(color);
-         // if the alpha value of the color is not 255, it's translucent, so we need to set the transparency property for the
-         // records used for the fill
-         if (color.getAlpha() != 255) {
-            EscherOptRecord opt = (EscherOptRecord) HSLFShape.getEscherChild(shape.getSpContainer(), EscherOptRecord.RECORD_ID);
-            // int alpha =  (p.getPropertyValue() >> 8) & 0xFF;
-            int alpha = color.getAlpha() << 8;
-            EscherSimpleProperty p = new EscherSimpleProperty(EscherPropertyTypes.FILL__FILLOPACITY, alpha);
-            opt.addEscherProperty(p);
-         }
-         shape.setLineColor(null);
-         setShapeFillingAdditionalProperties(shape);
+         setShapeFillProperties(shape, color);
       } else {
-         // else it's a paint, we will draw the paint in a BufferedImage, and then regularly draw this image, and we are done
          // We use the outline for the Shape, but the outline bounds for the image, so we don't have
          // only a stupid rectangle if the Shape was more complex
          Shape outline;
@@ -514,24 +834,26 @@ public class PPTGraphics2D extends Graphics2D {
          } else {
             outline = shape.getAnchor();
          }
-         // we need to create a new outline to be positioned on 0, 0, else we will draw outside of the BufferedImage
+         // the coordinates of the paint are relative to the outline bounds
          Rectangle rec = outline.getBounds();
+         if (PPTPaints.isGradient(paint) && PPTPaints.setGradientFill(shape, paint, rec.width, rec.height)) {
+            shape.setLineColor(null);
+            setShapeFillingAdditionalProperties(shape);
+            return;
+         }
+         // else we will draw the paint in a BufferedImage, and then regularly draw this image, and we are done
+         // we need to create a new outline to be positioned on 0, 0, else we will draw outside of the BufferedImage
          // we don't want to clip the outline to fill !!
          outline = ShapeUtilities.createTransformedShape(outline, AffineTransform.getTranslateInstance(-rec.x, -rec.y));
          if (outline != null && rec.width > 0 && rec.height > 0) {
-            BufferedImage bimg = new BufferedImage(rec.width, rec.height, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g2d = bimg.createGraphics();
-            g2d.setPaint(paint);
-            g2d.fill(outline);
             try {
-               ByteArrayOutputStream stream = new ByteArrayOutputStream(100);
-               ImageIO.write(bimg, "png", stream);
-               stream.flush();
-               stream.close();
-
-               byte[] b = stream.toByteArray();
-               HSLFSlideShow show = slide.getSlideShow();
-               HSLFPictureData idx = show.addPicture(b, PictureData.PictureType.PNG);
+               // the same paint in the same outline always gives the same picture
+               RasterKey key = new RasterKey(paint, rec.width, rec.height, outline);
+               HSLFPictureData idx = rasterCache.get(key);
+               if (idx == null) {
+                  idx = rasterizePaint(outline, rec.width, rec.height);
+                  rasterCache.put(key, idx);
+               }
 
                HSLFPictureShape pict = doCreatePicture(idx);
 
@@ -551,6 +873,15 @@ public class PPTGraphics2D extends Graphics2D {
       }
    }
 
+   private HSLFPictureData rasterizePaint(Shape outline, int imWidth, int imHeight) throws IOException {
+      BufferedImage bimg = new BufferedImage(imWidth, imHeight, BufferedImage.TYPE_INT_ARGB);
+      Graphics2D g2d = bimg.createGraphics();
+      g2d.setPaint(paint);
+      g2d.fill(outline);
+      g2d.dispose();
+      return pictureEncoder.addPicture(slide.getSlideShow(), bimg);
+   }
+
    /**
     * Creates a picture Shape.
     *
@@ -619,6 +950,7 @@ public class PPTGraphics2D extends Graphics2D {
     * @param shape the Shape
     */
    protected void addShape(HSLFShape shape) {
+      flushMergedShapes();
       shape.setSheet(slide);
       slide.addShape(shape);
    }
@@ -776,39 +1108,66 @@ public class PPTGraphics2D extends Graphics2D {
    }
 
    /**
-    * Create a PNG image as a byte array from a rendered Image. PNG is chosen because JPEG
-    * seems not adapted to batik or POI (inverts colors in the resulted image).
+    * Return the pixels of an Image as they will appear in the picture. The Image is only drawn in a new BufferedImage
+    * if it is not already a BufferedImage of the size of the picture.
     */
-   private byte[] getImageData(Image image, int iWidth, int iHeight, ImageObserver observer) throws IOException {
+   private BufferedImage getImagePixels(Image image, int iWidth, int iHeight, ImageObserver observer) {
+      if (image instanceof BufferedImage) {
+         BufferedImage bufImage = (BufferedImage) image;
+         if (bufImage.getWidth() == iWidth && bufImage.getHeight() == iHeight) {
+            return bufImage;
+         }
+      }
       BufferedImage bufImage = new BufferedImage(iWidth, iHeight, BufferedImage.TYPE_INT_ARGB);
       Graphics2D g2d = bufImage.createGraphics();
       g2d.drawImage(image, new AffineTransform(), observer);
-
-      ByteArrayOutputStream stream = new ByteArrayOutputStream(100);
-
-      ImageIO.write(bufImage, "png", stream);
-      stream.flush();
-      stream.close();
-
-      return stream.toByteArray();
+      g2d.dispose();
+      return bufImage;
    }
 
    private void addImage(Image image, Rectangle rec, ImageObserver observer) {
-      HSLFSlideShow show = slide.getSlideShow();
       try {
-         byte[] b = getImageData(image, rec.width, rec.height, observer);
-         HSLFPictureData idx = show.addPicture(b, PictureData.PictureType.PNG);
+         BufferedImage bufImage = getImagePixels(image, rec.width, rec.height, observer);
+         HSLFPictureData idx = pictureEncoder.addPicture(slide.getSlideShow(), bufImage);
+         addPicture(idx, rec);
+      } catch (IOException e) {
+      }
+   }
 
-         HSLFPictureShape pict = doCreatePicture(idx);
-         rec = new Rectangle(rec.x, rec.y, rec.width, rec.height);
-         pict.setAnchor(rec);
+   private void addPicture(HSLFPictureData data, Rectangle rec) {
+      HSLFPictureShape pict = doCreatePicture(data);
+      rec = new Rectangle(rec.x, rec.y, rec.width, rec.height);
+      pict.setAnchor(rec);
 
-         // filling with a null color is important else a default color will mask the image
-         pict.setFillColor(null);
-         pict.setLineColor(null);
-         addShape(pict);
-      } catch (IOException e) {
+      // filling with a null color is important else a default color will mask the image
+      pict.setFillColor(null);
+      pict.setLineColor(null);
+      addShape(pict);
+   }
+
+   /**
+    * Draw an already encoded image, such as the content of a PNG or JPEG file. The bytes are added in the SlideShow as
+    * they are, without being decoded or encoded again.
+    *
+    * @param data the encoded image
+    * @param type the type of the encoded image
+    * @param x the x coordinate of the image
+    * @param y the y coordinate of the image
+    * @param iWidth the width of the image
+    * @param iHeight the height of the image
+    * @return true if the image was drawn
+    */
+   public boolean drawPicture(byte[] data, PictureData.PictureType type, int x, int y, int iWidth, int iHeight) {
+      Rectangle rec = getTransformedForImage(new Rectangle(x, y, iWidth, iHeight));
+      if (rec != null) {
+         try {
+            HSLFPictureData idx = pictureEncoder.addPicture(slide.getSlideShow(), data, type);
+            addPicture(idx, rec);
+            return true;
+         } catch (IOException e) {
+         }
       }
+      return false;
    }
 
    private boolean isEmpty(Rectangle rec) {
@@ -864,7 +1223,6 @@ public class PPTGraphics2D extends Graphics2D {
       if (rec != null) {
          addImage(image, rec, observer);
       }
-      addImage(image, rec, observer);
 
       return true;
    }
@@ -975,14 +1333,16 @@ public class PPTGraphics2D extends Graphics2D {
    }
 
    private void doDrawString(String s, float x, float y) {
+      if (isTextOutsideVisibleBounds(s, x, y)) {
+         return;
+      }
       // set escapement (rotation of the text)
       float rot = -(float) ShapeUtilities.getRotationAngle(trans);
       boolean rotated = rot != 0;
 
       // all this is to be sure to have the most precise position possible
-      TextLayout layout = new TextLayout(s, font, fctx);
       // we need to check the clipping against the real position of the text of course
-      Rectangle2D layoutRec = layout.getBounds();
+      Rectangle2D layoutRec = measureText(s).getLayoutBounds();
       layoutRec.setRect(layoutRec.getX() + x, layoutRec.getY() + y, layoutRec.getWidth(), layoutRec.getHeight());
 
       Shape shape = this.transformShape(layoutRec);
@@ -1003,6 +1363,7 @@ public class PPTGraphics2D extends Graphics2D {
                AffineTransform tr = AffineTransform.getTranslateInstance(-clipRec.getX(), -clipRec.getY());
                Shape _clip = tr.createTransformedShape(deviceclip);
                clipG2D.clip(_clip);
+               TextLayout layout = new TextLayout(s, font, fctx);
                layout.draw(clipG2D, 0, 0);
                Rectangle rec2 = new Rectangle(clipRec.x, clipRec.y, (int) clipRec.getWidth(), (int) clipRec.getHeight());
                addImage(buf, rec2, null);
@@ -1051,9 +1412,7 @@ public class PPTGraphics2D extends Graphics2D {
       rt.setText(s);
       // the coll.getFontIndex(fontName) method does not exist anymore in POI 3.17
       // thanks Mark Schmieder for the fix
-      String fontName = font.getFontName(locale);
-      HSLFFontInfo fInfo = coll.getFontInfo(fontName);
-      int fIndex = (fInfo == null) ? -1 : fInfo.getIndex();
+      int fIndex = textMetrics.getFontIndex(coll, font, locale);
       if (fIndex == -1) {
          rt.setFontFamily(font.getFamily());
       } else {
@@ -1124,10 +1483,7 @@ public class PPTGraphics2D extends Graphics2D {
 
          // the coll.getFontIndex(fontName) method does not exist anymore in POI 3.17
          // thanks Mark Schmieder for the fix
-         String fontName = font.getFontName(locale);
-
-         HSLFFontInfo fInfo = coll.getFontInfo(fontName);
-         int fIndex = (fInfo == null) ? -1 : fInfo.getIndex();
+         int fIndex = textMetrics.getFontIndex(coll, font, locale);
          if (fIndex == -1) {
             rt.setFontFamily(font.getFamily());
          } else {
@@ -1157,10 +1513,24 @@ public class PPTGraphics2D extends Graphics2D {
 
    @Override
    public void fill(Shape shape) {
-      shape = transformShape(shape);
+      if (isOutsideVisibleBounds(shape, 0)) {
+         return;
+      }
+      if (shape instanceof Rectangle2D && deviceclip instanceof Rectangle2D) {
+         shape = ShapeUtilities.createTransformedShape(shape, trans);
+         if (shape instanceof Rectangle2D) {
+            shape = getClippedRectangle((Rectangle2D) shape);
+         } else {
+            shape = getClippedShape(shape);
+         }
+      } else {
+         shape = transformShape(shape);
+      }
       if (shape != null) {
          if (acceptFillShape(shape)) {
-            doFilling(shape);
+            if (!mergeShape(shape, ACTION_FILL)) {
+               doFilling(shape);
+            }
          }
       }
    }
@@ -1186,43 +1556,42 @@ public class PPTGraphics2D extends Graphics2D {
       }
    }
 
-   private Shape getClippedArea(Shape shape) {
-      Shape outputShape;
-      if (deviceclip != null) {
-         Area clip = new Area(deviceclip);
-
-         /*
-          * need to use getBounds and not getBounds2D, because there getBounds2D for a
-          * vertical or horizontal line gets a Rectangle2D with no width or height,
-          * and in this case there is no intersection
-          */
-         if (clip.contains(shape.getBounds())) {
-            outputShape = shape;
-         } else if (clip.intersects(shape.getBounds())) {
-            ClippableShape csh = new ClippableShape(shape);
-
-            csh.intersectAsArea(clip);
-            outputShape = csh.getPeerShape();
-         } else {
-            outputShape = null;
-         }
+   /**
+    * Return the intersection of a filled rectangle with the current rectangular clip. Return null if the rectangle is outside
+    * of the clip.
+    */
+   private Rectangle2D getClippedRectangle(Rectangle2D rec) {
+      Rectangle2D clipRec = (Rectangle2D) deviceclip;
+      if (clipRec.contains(rec)) {
+         return rec;
+      } else if (!clipRec.intersects(rec)) {
+         return null;
       } else {
-         outputShape = shape;
+         return intersect(rec, clipRec);
       }
-
-      return outputShape;
    }
 
    private Shape getClippedShape(Shape shape) {
       Shape outputShape;
       if (deviceclip != null) {
-         Area clip = new Area(deviceclip);
          Rectangle2D bounds = shape.getBounds2D();
          if (bounds.getWidth() < 0.1 || bounds.getHeight() < 0.1) {
             double boundsWidth = Math.max(0.1, bounds.getWidth());
             double boundsHeight = Math.max(0.1, bounds.getHeight());
             bounds.setRect(bounds.getX(), bounds.getY(), boundsWidth, boundsHeight);
          }
+         if (deviceclip instanceof Rectangle2D) {
+            // fast path for rectangular clips, which are the most common
+            Rectangle2D clipRec = (Rectangle2D) deviceclip;
+            if (clipRec.contains(bounds)) {
+               return shape;
+            } else if (!clipRec.intersects(bounds)) {
+               return null;
+            }
+         } else if (!getDeviceClipBounds().intersects(bounds)) {
+            return null;
+         }
+         Area clip = getDeviceClipArea();
          /*
           * need to use getBounds and not getBounds2D, because there getBounds2D for a
           * vertical or horizontal line gets a Rectangle2D with no width or height,
@@ -1313,7 +1682,7 @@ public class PPTGraphics2D extends Graphics2D {
 
    @Override
    public FontMetrics getFontMetrics(Font font) {
-      return g2D.getFontMetrics(font);
+      return textMetrics.getFontMetrics(g2D, font);
    }
 
    @Override
@@ -1387,9 +1756,9 @@ public class PPTGraphics2D extends Graphics2D {
    @Override
    public void setClip(Shape shape) {
       if (shape != null) {
-         deviceclip = ShapeUtilities.createTransformedShape(shape, trans);
+         setDeviceClip(ShapeUtilities.createTransformedShape(shape, trans));
       } else {
-         deviceclip = null;
+         setDeviceClip(null);
       }
    }
 
@@ -1501,10 +1870,14 @@ public class PPTGraphics2D extends Graphics2D {
       if (trans.isIdentity() && getClip() == null && col == null) {
          return image;
       }
-      if (deviceclip != null) {
-         Area area = new Area(deviceclip);
-
-         area.intersect(new Area(trans.createTransformedShape(rec)));
+      if (deviceclip instanceof Rectangle2D
+         && (trans.getType() & (AffineTransform.TYPE_GENERAL_ROTATION | AffineTransform.TYPE_GENERAL_TRANSFORM)) == 0) {
+         // the transformed image is a rectangle
+         Rectangle2D imageRec = trans.createTransformedShape(rec).getBounds2D();
+         rec1.setBounds(intersect(imageRec, (Rectangle2D) deviceclip).getBounds());
+      } else if (deviceclip != null) {
+         Area area = new Area(trans.createTransformedShape(rec));
+         area.intersect(getDeviceClipArea());
          rec1.setBounds(area.getBounds());
       }
       BufferedImage bufferedimage = new BufferedImage(rec1.width, rec1.height, 2);
@@ -1552,4 +1925,111 @@ public class PPTGraphics2D extends Graphics2D {
    public void translate(int x, int y) {
       trans.translate(x, y);
    }
+
+   /**
+    * The key of a rasterized Paint. The picture depends on the Paint, on the size of the image, and on the outline
+    * of the filled Shape.
+    */
+   private static final class RasterKey {
+      private final Paint paint;
+      private final int width;
+      private final int height;
+      private final int[] types;
+      private final double[] coords;
+      private final int hash;
+
+      private RasterKey(Paint paint, int width, int height, Shape outline) {
+         this.paint = paint;
+         this.width = width;
+         this.height = height;
+         int[] _types = new int[10];
+         double[] _coords = new double[60];
+         int count = 0;
+         int coordsCount = 0;
+         double[] seg = new double[6];
+         PathIterator it = outline.getPathIterator(null);
+         while (!it.isDone()) {
+            int type = it.currentSegment(seg);
+            if (count == _types.length) {
+               _types = Arrays.copyOf(_types, count * 2);
+               _coords = Arrays.copyOf(_coords, count * 12);
+            }
+            _types[count++] = type;
+            System.arraycopy(seg, 0, _coords, coordsCount, 6);
+            coordsCount += 6;
+            it.next();
+         }
+         this.types = Arrays.copyOf(_types, count);
+         this.coords = Arrays.copyOf(_coords, coordsCount);
+         this.hash = ((PPTPaints.hashCode(paint) * 31 + width) * 31 + height) * 31 + Arrays.hashCode(coords);
+      }
+
+      @Override
+      public int hashCode() {
+         return hash;
+      }
+
+      @Override
+      public boolean equals(Object obj) {
+         if (this == obj) {
+            return true;
+         }
+         if (!(obj instanceof RasterKey)) {
+            return false;
+         }
+         RasterKey other = (RasterKey) obj;
+         return width == other.width && height == other.height && hash == other.hash && Arrays.equals(types, other.types)
+            && Arrays.equals(coords, other.coords) && PPTPaints.equals(paint, other.paint);
+      }
+   }
+
+   /**
+    * The Shapes which are merged in one freeform Shape. The filled Shapes are only merged if their bounds do not overlap,
+    * because the overlapping parts of a freeform path are not filled.
+    */
+   private static final class MergedShapes {
+      private static final int MAX_SHAPES = 1000;
+      private boolean enabled = false;
+      private PPTGraphics2D owner = null;
+      private int type;
+      private Color color;
+      private float lineWidth;
+      private StrokeStyle.LineDash dash;
+      private Path2D.Double path = null;
+      private Rectangle2D union = null;
+      private final List<Rectangle2D> bounds = new ArrayList<>();
+      private int count = 0;
+
+      private void add(Shape shape, Rectangle2D shapeBounds) {
+         if (path == null) {
+            path = new Path2D.Double();
+            union = (Rectangle2D) shapeBounds.clone();
+         } else {
+            union.add(shapeBounds);
+         }
+         path.append(shape, false);
+         bounds.add(shapeBounds);
+         count++;
+      }
+
+      private boolean overlaps(Rectangle2D shapeBounds) {
+         if (union == null || !union.intersects(shapeBounds)) {
+            return false;
+         }
+         for (Rectangle2D rec : bounds) {
+            if (rec.intersects(shapeBounds)) {
+               return true;
+            }
+         }
+         return false;
+      }
+
+      private void clear() {
+         owner = null;
+         path = null;
+         union = null;
+         bounds.clear();
+         count = 0;
+      }
+   }
 }
@@ -66,7 +66,7 @@ import org.mdiutil.geom.ShapeUtilities;
  * <li>Conversions of Node Shadows</li>
  * </ul>
  *
- * @version 0.21
+ * @version 0.25
  */
 public class PPTJFXGraphics2D extends PPTGraphics2D implements ExtendedGraphics2D<Node, Effect> {
    private boolean supportGroups = false;
@@ -249,6 +249,7 @@ public class PPTJFXGraphics2D extends PPTGraphics2D implements ExtendedGraphics2
     */
    @Override
    protected void addShape(HSLFShape shape) {
+      flushMergedShapes();
       shape.setSheet(slide);
       if (curGroup != null) {
          curGroup.addShape(shape);
@@ -266,6 +267,7 @@ public class PPTJFXGraphics2D extends PPTGraphics2D implements ExtendedGraphics2
    @Override
    public void startGroup(String name, Node node) {
       if (supportGroups) {
+         flushMergedShapes();
          HSLFGroupShape group = new HSLFGroupShape();
          Bounds bounds = node.getBoundsInParent();
          Rectangle2D rec = new Rectangle2D.Double(bounds.getMinX(), bounds.getMinY(), bounds.getWidth(), bounds.getHeight());
@@ -295,6 +297,7 @@ public class PPTJFXGraphics2D extends PPTGraphics2D implements ExtendedGraphics2
    @Override
    public void endGroup(Node node) {
       if (supportGroups) {
+         flushMergedShapes();
          groups.pop();
          if (groups.isEmpty()) {
             curGroup = null;
@@ -317,6 +320,8 @@ public class PPTJFXGraphics2D extends PPTGraphics2D implements ExtendedGraphics2
     */
    @Override
    public void applyEffect(Node node, Effect effect) {
+      // the merged Shapes must not have the new Effect
+      flushMergedShapes();
       dshadow = null;
       ishadow = null;
       if (effect instanceof DropShadow) {
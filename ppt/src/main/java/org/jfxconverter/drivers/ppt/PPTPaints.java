@@ -0,0 +1,352 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.ppt;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.LinearGradientPaint;
+import java.awt.MultipleGradientPaint;
+import java.awt.Paint;
+import java.awt.RadialGradientPaint;
+import java.awt.TexturePaint;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.poi.ddf.AbstractEscherOptRecord;
+import org.apache.poi.ddf.EscherArrayProperty;
+import org.apache.poi.ddf.EscherPropertyTypes;
+import org.apache.poi.hslf.usermodel.HSLFFill;
+import org.apache.poi.hslf.usermodel.HSLFShape;
+import org.apache.poi.hslf.usermodel.HSLFSimpleShape;
+import org.apache.poi.util.LittleEndian;
+import org.apache.poi.util.Units;
+
+/**
+ * Utilities for the Paints in the PPT driver.
+ *
+ * The gradients are mapped on the native Escher gradient fills. The coordinates of the Paints are relative to the upper
+ * left corner of the bounds of the filled Shape, as for the rasterized Paints. An Escher gradient always spans the whole
+ * bounds of the Shape, so the stops of the Paint are projected on these bounds.
+ *
+ * @since 0.25
+ */
+final class PPTPaints {
+   /**
+    * The Escher linear gradient fill type.
+    */
+   static final int FILL_SHADE = 4;
+   /**
+    * The Escher gradient fill type which starts from a focus rectangle.
+    */
+   static final int FILL_SHADE_CENTER = 5;
+   private static final double EPSILON = 1e-6;
+   private static final int SHADE_COLOR_SIZE = 8;
+
+   private PPTPaints() {
+   }
+
+   /**
+    * Return true if the Paint is a gradient which may be handled natively.
+    *
+    * @param paint the Paint
+    * @return true if the Paint is a gradient
+    */
+   static boolean isGradient(Paint paint) {
+      return paint instanceof GradientPaint || paint instanceof LinearGradientPaint || paint instanceof RadialGradientPaint;
+   }
+
+   /**
+    * Set the native gradient fill of a Shape. Return false if the Paint can not be represented by an Escher gradient, in
+    * which case the Shape is not modified.
+    *
+    * @param shape the Shape
+    * @param paint the Paint
+    * @param width the width of the Shape bounds
+    * @param height the height of the Shape bounds
+    * @return true if the gradient fill was set
+    */
+   static boolean setGradientFill(HSLFSimpleShape shape, Paint paint, double width, double height) {
+      if (width <= 0 || height <= 0) {
+         return false;
+      }
+      if (paint instanceof GradientPaint) {
+         GradientPaint gpaint = (GradientPaint) paint;
+         float[] fractions = {0f, 1f};
+         Color[] colors = {gpaint.getColor1(), gpaint.getColor2()};
+         return setLinearGradientFill(shape, gpaint.getPoint1(), gpaint.getPoint2(), fractions, colors, gpaint.isCyclic(), width, height);
+      } else if (paint instanceof LinearGradientPaint) {
+         LinearGradientPaint lpaint = (LinearGradientPaint) paint;
+         if (!lpaint.getTransform().isIdentity()) {
+            return false;
+         }
+         boolean cyclic = lpaint.getCycleMethod() != MultipleGradientPaint.CycleMethod.NO_CYCLE;
+         return setLinearGradientFill(shape, lpaint.getStartPoint(), lpaint.getEndPoint(), lpaint.getFractions(), lpaint.getColors(),
+            cyclic, width, height);
+      } else if (paint instanceof RadialGradientPaint) {
+         RadialGradientPaint rpaint = (RadialGradientPaint) paint;
+         if (!rpaint.getTransform().isIdentity() || rpaint.getCenterPoint().distance(rpaint.getFocusPoint()) > EPSILON) {
+            return false;
+         }
+         boolean cyclic = rpaint.getCycleMethod() != MultipleGradientPaint.CycleMethod.NO_CYCLE;
+         return setRadialGradientFill(shape, rpaint.getCenterPoint(), rpaint.getRadius(), rpaint.getFractions(), rpaint.getColors(),
+            cyclic, width, height);
+      } else {
+         return false;
+      }
+   }
+
+   private static boolean setLinearGradientFill(HSLFSimpleShape shape, Point2D start, Point2D end, float[] fractions, Color[] colors,
+      boolean cyclic, double width, double height) {
+      double dx = end.getX() - start.getX();
+      double dy = end.getY() - start.getY();
+      double length2 = dx * dx + dy * dy;
+      if (length2 < EPSILON) {
+         return false;
+      }
+      // project the corners of the bounds on the gradient vector
+      double tmin = Double.POSITIVE_INFINITY;
+      double tmax = Double.NEGATIVE_INFINITY;
+      double[] corners = {0, 0, width, 0, 0, height, width, height};
+      for (int i = 0; i < corners.length; i += 2) {
+         double t = ((corners[i] - start.getX()) * dx + (corners[i + 1] - start.getY()) * dy) / length2;
+         tmin = Math.min(tmin, t);
+         tmax = Math.max(tmax, t);
+      }
+      if (cyclic && (tmin < -EPSILON || tmax > 1 + EPSILON)) {
+         return false;
+      }
+      List<Stop> stops = getStops(fractions, colors, tmin, tmax);
+      if (stops == null) {
+         return false;
+      }
+      setStops(shape, FILL_SHADE, stops);
+      // the Escher angle is counted from the vertical axis
+      double angle = 90 - Math.toDegrees(Math.atan2(dy, dx));
+      if (angle > 180) {
+         angle -= 360;
+      }
+      shape.setEscherProperty(EscherPropertyTypes.FILL__ANGLE, Units.doubleToFixedPoint(angle));
+      return true;
+   }
+
+   private static boolean setRadialGradientFill(HSLFSimpleShape shape, Point2D center, double radius, float[] fractions, Color[] colors,
+      boolean cyclic, double width, double height) {
+      if (radius < EPSILON) {
+         return false;
+      }
+      // the Escher gradient ends on the bounds of the Shape, we use the farthest corner
+      double cx = center.getX();
+      double cy = center.getY();
+      double farthest = Math.max(Math.max(Math.hypot(cx, cy), Math.hypot(width - cx, cy)),
+         Math.max(Math.hypot(cx, height - cy), Math.hypot(width - cx, height - cy)));
+      double tmax = farthest / radius;
+      if (cyclic && tmax > 1 + EPSILON) {
+         return false;
+      }
+      List<Stop> stops = getStops(fractions, colors, 0, tmax);
+      if (stops == null) {
+         return false;
+      }
+      setStops(shape, FILL_SHADE_CENTER, stops);
+      int focusX = Units.doubleToFixedPoint(Math.min(Math.max(cx / width, 0), 1));
+      int focusY = Units.doubleToFixedPoint(Math.min(Math.max(cy / height, 0), 1));
+      shape.setEscherProperty(EscherPropertyTypes.FILL__TOLEFT, focusX);
+      shape.setEscherProperty(EscherPropertyTypes.FILL__TORIGHT, focusX);
+      shape.setEscherProperty(EscherPropertyTypes.FILL__TOTOP, focusY);
+      shape.setEscherProperty(EscherPropertyTypes.FILL__TOBOTTOM, focusY);
+      return true;
+   }
+
+   /**
+    * Return the stops of the gradient on the [tmin, tmax] range of the Paint, mapped to [0, 1]. Return null if the stops
+    * can not be represented by an Escher gradient, because there are translucent intermediate colors.
+    */
+   private static List<Stop> getStops(float[] fractions, Color[] colors, double tmin, double tmax) {
+      List<Stop> stops = new ArrayList<>(fractions.length + 2);
+      double range = tmax - tmin;
+      stops.add(new Stop(0, getColorAt(fractions, colors, tmin)));
+      if (range > EPSILON) {
+         for (int i = 0; i < fractions.length; i++) {
+            if (fractions[i] > tmin && fractions[i] < tmax) {
+               stops.add(new Stop((fractions[i] - tmin) / range, colors[i]));
+            }
+         }
+      }
+      stops.add(new Stop(1, getColorAt(fractions, colors, tmax)));
+      // only the opacity of the first and last colors can be defined
+      for (int i = 1; i < stops.size() - 1; i++) {
+         if (stops.get(i).color.getAlpha() != 255) {
+            return null;
+         }
+      }
+      return stops;
+   }
+
+   private static Color getColorAt(float[] fractions, Color[] colors, double t) {
+      if (t <= fractions[0]) {
+         return colors[0];
+      }
+      int last = fractions.length - 1;
+      if (t >= fractions[last]) {
+         return colors[last];
+      }
+      int i = 1;
+      while (fractions[i] < t) {
+         i++;
+      }
+      double f = (t - fractions[i - 1]) / (fractions[i] - fractions[i - 1]);
+      Color c1 = colors[i - 1];
+      Color c2 = colors[i];
+      return new Color(interpolate(c1.getRed(), c2.getRed(), f), interpolate(c1.getGreen(), c2.getGreen(), f),
+         interpolate(c1.getBlue(), c2.getBlue(), f), interpolate(c1.getAlpha(), c2.getAlpha(), f));
+   }
+
+   private static int interpolate(int v1, int v2, double f) {
+      return (int) Math.round(v1 + (v2 - v1) * f);
+   }
+
+   private static void setStops(HSLFSimpleShape shape, int fillType, List<Stop> stops) {
+      Color first = stops.get(0).color;
+      Color last = stops.get(stops.size() - 1).color;
+      HSLFFill fill = shape.getFill();
+      fill.setFillType(fillType);
+      // the background color is at the start of the gradient and the foreground color is at its end
+      fill.setForegroundColor(last);
+      fill.setBackgroundColor(first);
+      AbstractEscherOptRecord opt = shape.getEscherOptRecord();
+      if (first.getAlpha() != 255) {
+         HSLFShape.setEscherProperty(opt, EscherPropertyTypes.FILL__BACKOPACITY, Units.doubleToFixedPoint(first.getAlpha() / 255d));
+      }
+      opt.removeEscherProperty(EscherPropertyTypes.FILL__SHADECOLORS);
+      if (stops.size() > 2) {
+         byte[] data = new byte[6 + stops.size() * SHADE_COLOR_SIZE];
+         LittleEndian.putShort(data, 0, (short) stops.size());
+         LittleEndian.putShort(data, 2, (short) stops.size());
+         LittleEndian.putShort(data, 4, (short) SHADE_COLOR_SIZE);
+         int offset = 6;
+         for (Stop stop : stops) {
+            Color color = stop.color;
+            LittleEndian.putInt(data, offset, (color.getBlue() << 16) | (color.getGreen() << 8) | color.getRed());
+            LittleEndian.putInt(data, offset + 4, Units.doubleToFixedPoint(stop.fraction));
+            offset += SHADE_COLOR_SIZE;
+         }
+         EscherArrayProperty shadeColors = new EscherArrayProperty(EscherPropertyTypes.FILL__SHADECOLORS, false, data.length);
+         shadeColors.setComplexData(data);
+         opt.addEscherProperty(shadeColors);
+         opt.sortProperties();
+      }
+   }
+
+   /**
+    * Return true if two Paints will render identically. The JDK Paints do not define their equality, except for Colors.
+    *
+    * @param paint1 the first Paint
+    * @param paint2 the second Paint
+    * @return true if the two Paints will render identically
+    */
+   static boolean equals(Paint paint1, Paint paint2) {
+      if (paint1 == paint2) {
+         return true;
+      } else if (paint1 == null || paint2 == null || paint1.getClass() != paint2.getClass()) {
+         return false;
+      } else if (paint1 instanceof TexturePaint) {
+         TexturePaint tpaint1 = (TexturePaint) paint1;
+         TexturePaint tpaint2 = (TexturePaint) paint2;
+         return tpaint1.getImage() == tpaint2.getImage() && tpaint1.getAnchorRect().equals(tpaint2.getAnchorRect());
+      } else if (paint1 instanceof GradientPaint) {
+         GradientPaint gpaint1 = (GradientPaint) paint1;
+         GradientPaint gpaint2 = (GradientPaint) paint2;
+         return gpaint1.getPoint1().equals(gpaint2.getPoint1()) && gpaint1.getPoint2().equals(gpaint2.getPoint2())
+            && gpaint1.getColor1().equals(gpaint2.getColor1()) && gpaint1.getColor2().equals(gpaint2.getColor2())
+            && gpaint1.isCyclic() == gpaint2.isCyclic();
+      } else if (paint1 instanceof MultipleGradientPaint) {
+         MultipleGradientPaint mpaint1 = (MultipleGradientPaint) paint1;
+         MultipleGradientPaint mpaint2 = (MultipleGradientPaint) paint2;
+         if (!Arrays.equals(mpaint1.getFractions(), mpaint2.getFractions()) || !Arrays.equals(mpaint1.getColors(), mpaint2.getColors())
+            || mpaint1.getCycleMethod() != mpaint2.getCycleMethod() || mpaint1.getColorSpace() != mpaint2.getColorSpace()
+            || !mpaint1.getTransform().equals(mpaint2.getTransform())) {
+            return false;
+         }
+         if (paint1 instanceof LinearGradientPaint) {
+            LinearGradientPaint lpaint1 = (LinearGradientPaint) paint1;
+            LinearGradientPaint lpaint2 = (LinearGradientPaint) paint2;
+            return lpaint1.getStartPoint().equals(lpaint2.getStartPoint()) && lpaint1.getEndPoint().equals(lpaint2.getEndPoint());
+         } else if (paint1 instanceof RadialGradientPaint) {
+            RadialGradientPaint rpaint1 = (RadialGradientPaint) paint1;
+            RadialGradientPaint rpaint2 = (RadialGradientPaint) paint2;
+            return rpaint1.getCenterPoint().equals(rpaint2.getCenterPoint()) && rpaint1.getFocusPoint().equals(rpaint2.getFocusPoint())
+               && rpaint1.getRadius() == rpaint2.getRadius();
+         } else {
+            return false;
+         }
+      } else {
+         return paint1.equals(paint2);
+      }
+   }
+
+   /**
+    * Return a hash code for a Paint which is consistent with the {@link #equals(Paint, Paint)} method.
+    *
+    * @param paint the Paint
+    * @return the hash code
+    */
+   static int hashCode(Paint paint) {
+      if (paint == null) {
+         return 0;
+      } else if (paint instanceof TexturePaint) {
+         TexturePaint tpaint = (TexturePaint) paint;
+         return System.identityHashCode(tpaint.getImage()) * 31 + tpaint.getAnchorRect().hashCode();
+      } else if (paint instanceof GradientPaint) {
+         GradientPaint gpaint = (GradientPaint) paint;
+         return gpaint.getPoint1().hashCode() * 31 + gpaint.getColor1().hashCode();
+      } else if (paint instanceof MultipleGradientPaint) {
+         MultipleGradientPaint mpaint = (MultipleGradientPaint) paint;
+         return Arrays.hashCode(mpaint.getFractions()) * 31 + Arrays.hashCode(mpaint.getColors());
+      } else {
+         return paint.hashCode();
+      }
+   }
+
+   /**
+    * A stop of a gradient.
+    */
+   private static final class Stop {
+      private final double fraction;
+      private final Color color;
+
+      private Stop(double fraction, Color color) {
+         this.fraction = fraction;
+         this.color = color;
+      }
+   }
+}
@@ -0,0 +1,196 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.ppt;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.poi.hslf.usermodel.HSLFPictureData;
+import org.apache.poi.hslf.usermodel.HSLFSlideShow;
+import org.apache.poi.sl.usermodel.PictureData;
+import org.jfxconverter.utils.ImageEncoder;
+
+/**
+ * Encodes the images drawn in a PPT SlideShow, and only adds each distinct image once in the SlideShow.
+ *
+ * <h1>Usage</h1>
+ * The images are identified by a hash of their pixels, so an image which is drawn several times, such as an icon, is
+ * encoded only once and all its drawings share the same picture in the SlideShow. The images which are already encoded
+ * are identified by a hash of their bytes, and are added without being decoded or encoded again.
+ *
+ * <p>
+ * The encoder keeps its cache for one SlideShow at a time: using it for another SlideShow clears the cache. The
+ * {@link #clear()} method must be called at the end of the conversion so that the encoder does not keep the SlideShow.
+ * It is not thread-safe, and is meant to be shared by the Graphics2D of one conversion.</p>
+ *
+ * <h1>Encoding</h1>
+ * <ul>
+ * <li>The images are encoded as PNG by default, with a configurable deflate level</li>
+ * <li>If a JPEG quality is set, the opaque images are encoded as JPEG</li>
+ * </ul>
+ * The images are encoded by an {@link ImageEncoder}, whose image writers are created once and reused for all the
+ * images until the encoder is disposed.
+ *
+ * @since 0.25
+ */
+public class PPTPictureEncoder {
+   /**
+    * The default deflate level for PNG images.
+    */
+   public static final int DEFAULT_DEFLATE_LEVEL = ImageEncoder.DEFAULT_DEFLATE_LEVEL;
+   private final Map<String, HSLFPictureData> pictures = new HashMap<>();
+   private HSLFSlideShow show = null;
+   private final ImageEncoder encoder = new ImageEncoder();
+
+   /**
+    * Set the deflate level used to encode the PNG images, from 0 (no compression) to 9 (best compression). The default
+    * is {@link #DEFAULT_DEFLATE_LEVEL}.
+    *
+    * @param deflateLevel the deflate level
+    */
+   public void setDeflateLevel(int deflateLevel) {
+      encoder.setDeflateLevel(deflateLevel);
+   }
+
+   /**
+    * Return the deflate level used to encode the PNG images.
+    *
+    * @return the deflate level
+    */
+   public int getDeflateLevel() {
+      return encoder.getDeflateLevel();
+   }
+
+   /**
+    * Set the quality used to encode the opaque images as JPEG, between 0 and 1. If the quality is 0, which is the
+    * default, all the images are encoded as PNG.
+    *
+    * @param jpegQuality the quality
+    */
+   public void setJPEGQuality(float jpegQuality) {
+      encoder.setJPEGQuality(jpegQuality);
+   }
+
+   /**
+    * Return the quality used to encode the opaque images as JPEG.
+    *
+    * @return the quality
+    */
+   public float getJPEGQuality() {
+      return encoder.getJPEGQuality();
+   }
+
+   /**
+    * Return the number of distinct pictures added in the current SlideShow.
+    *
+    * @return the number of distinct pictures
+    */
+   public int getPicturesCount() {
+      return pictures.size();
+   }
+
+   /**
+    * Add an image in a SlideShow. If an image with the same pixels has already been added, its picture is returned
+    * without encoding the image again.
+    *
+    * @param slideShow the SlideShow
+    * @param image the image
+    * @return the picture
+    * @throws IOException if the image could not be encoded
+    */
+   public HSLFPictureData addPicture(HSLFSlideShow slideShow, BufferedImage image) throws IOException {
+      setSlideShow(slideShow);
+      int width = image.getWidth();
+      int height = image.getHeight();
+      int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+      String key = encoder.getKey(pixels, width, height);
+      HSLFPictureData picture = pictures.get(key);
+      if (picture == null) {
+         BufferedImage snapshot = ImageEncoder.createSnapshot(pixels, width, height, ImageEncoder.isOpaque(pixels));
+         boolean jpeg = encoder.isJPEG(snapshot);
+         byte[] data = encoder.encode(snapshot, jpeg);
+         picture = slideShow.addPicture(data, jpeg ? PictureData.PictureType.JPEG : PictureData.PictureType.PNG);
+         pictures.put(key, picture);
+      }
+      return picture;
+   }
+
+   /**
+    * Add an already encoded image in a SlideShow. The bytes are added as is. If the same bytes have already been
+    * added, their picture is returned.
+    *
+    * @param slideShow the SlideShow
+    * @param data the encoded image
+    * @param type the type of the encoded image
+    * @return the picture
+    * @throws IOException if the picture could not be added
+    */
+   public HSLFPictureData addPicture(HSLFSlideShow slideShow, byte[] data, PictureData.PictureType type) throws IOException {
+      setSlideShow(slideShow);
+      MessageDigest digest = ImageEncoder.createDigest();
+      digest.update(data);
+      String key = type.name() + ":" + Base64.getEncoder().encodeToString(digest.digest());
+      HSLFPictureData picture = pictures.get(key);
+      if (picture == null) {
+         picture = slideShow.addPicture(data, type);
+         pictures.put(key, picture);
+      }
+      return picture;
+   }
+
+   private void setSlideShow(HSLFSlideShow slideShow) {
+      if (slideShow != show) {
+         pictures.clear();
+         show = slideShow;
+      }
+   }
+
+   /**
+    * Clear the cache of the pictures and dispose the image writers, so that the encoder does not refer to the
+    * SlideShow anymore. The encoder can still be used after this call.
+    */
+   public void clear() {
+      pictures.clear();
+      show = null;
+      dispose();
+   }
+
+   /**
+    * Dispose the image writers used to encode the images. The encoder can still be used after this call.
+    */
+   public void dispose() {
+      encoder.dispose();
+   }
+}
@@ -0,0 +1,250 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.ppt;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineMetrics;
+import java.awt.font.TextLayout;
+import java.awt.geom.Rectangle2D;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.poi.hslf.record.FontCollection;
+import org.apache.poi.hslf.usermodel.HSLFFontInfo;
+
+/**
+ * A cache for the metrics of the texts in the PPT driver. The FontMetrics and the indexes of the fonts in the font
+ * collection are kept for each Font, and the measures of the last drawn Strings are kept for each Font and String.
+ * A cache is shared by all the Graphics of a conversion.
+ *
+ * @since 0.25
+ */
+final class PPTTextMetrics {
+   /**
+    * The maximum number of measured Strings kept in the cache.
+    */
+   static final int MAX_MEASURES = 4096;
+   private final Map<MetricsKey, FontMetrics> metrics = new HashMap<>();
+   private final Map<FontKey, Integer> fontIndexes = new HashMap<>();
+   private final Map<MeasureKey, TextMeasure> measures = new LinkedHashMap<MeasureKey, TextMeasure>(256, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<MeasureKey, TextMeasure> eldest) {
+         return size() > MAX_MEASURES;
+      }
+   };
+
+   /**
+    * Return the FontMetrics of a Font for the current FontRenderContext of a Graphics.
+    *
+    * @param g2D the Graphics
+    * @param font the Font
+    * @return the FontMetrics
+    */
+   FontMetrics getFontMetrics(Graphics2D g2D, Font font) {
+      MetricsKey key = new MetricsKey(font, g2D.getFontRenderContext());
+      FontMetrics m = metrics.get(key);
+      if (m == null) {
+         m = g2D.getFontMetrics(font);
+         metrics.put(key, m);
+      }
+      return m;
+   }
+
+   /**
+    * Return the index of a Font in a font collection, or -1 if the Font is not in the collection.
+    *
+    * @param coll the font collection
+    * @param font the Font
+    * @param locale the Locale used to get the Font name
+    * @return the index of the Font
+    */
+   int getFontIndex(FontCollection coll, Font font, Locale locale) {
+      FontKey key = new FontKey(font, locale);
+      Integer index = fontIndexes.get(key);
+      if (index == null) {
+         HSLFFontInfo fInfo = coll.getFontInfo(font.getFontName(locale));
+         index = (fInfo == null) ? -1 : fInfo.getIndex();
+         fontIndexes.put(key, index);
+      }
+      return index;
+   }
+
+   /**
+    * Measure a String.
+    *
+    * @param s the String
+    * @param font the Font
+    * @param g2D the Graphics used for the String and line metrics, with its transform already set
+    * @param layoutContext the FontRenderContext used for the TextLayout
+    * @return the measure
+    */
+   TextMeasure measure(String s, Font font, Graphics2D g2D, FontRenderContext layoutContext) {
+      FontRenderContext frc = g2D.getFontRenderContext();
+      MeasureKey key = new MeasureKey(s, font, frc, layoutContext);
+      TextMeasure measure = measures.get(key);
+      if (measure == null) {
+         FontMetrics m = getFontMetrics(g2D, font);
+         LineMetrics lm = font.getLineMetrics(s, frc);
+         Rectangle stringBounds = m.getStringBounds(s, g2D).getBounds();
+         Rectangle2D layoutBounds = new TextLayout(s, font, layoutContext).getBounds();
+         measure = new TextMeasure(layoutBounds, stringBounds, m.stringWidth(s), m.charWidth('X'), lm);
+         measures.put(key, measure);
+      }
+      return measure;
+   }
+
+   /**
+    * The measure of a String.
+    */
+   static final class TextMeasure {
+      private final Rectangle2D layoutBounds;
+      private final Rectangle stringBounds;
+      final int stringWidth;
+      final int charWidth;
+      final float ascent;
+      final float descent;
+      final float leading;
+
+      private TextMeasure(Rectangle2D layoutBounds, Rectangle stringBounds, int stringWidth, int charWidth, LineMetrics lm) {
+         this.layoutBounds = layoutBounds;
+         this.stringBounds = stringBounds;
+         this.stringWidth = stringWidth;
+         this.charWidth = charWidth;
+         this.ascent = lm.getAscent();
+         this.descent = lm.getDescent();
+         this.leading = lm.getLeading();
+      }
+
+      /**
+       * Return a copy of the bounds of the TextLayout of the String.
+       *
+       * @return the bounds
+       */
+      Rectangle2D getLayoutBounds() {
+         return (Rectangle2D) layoutBounds.clone();
+      }
+
+      /**
+       * Return a copy of the bounds of the String given by the FontMetrics.
+       *
+       * @return the bounds
+       */
+      Rectangle getStringBounds() {
+         return new Rectangle(stringBounds);
+      }
+   }
+
+   private static final class MetricsKey {
+      private final Font font;
+      private final FontRenderContext frc;
+
+      private MetricsKey(Font font, FontRenderContext frc) {
+         this.font = font;
+         this.frc = frc;
+      }
+
+      @Override
+      public int hashCode() {
+         return font.hashCode() * 31 + frc.hashCode();
+      }
+
+      @Override
+      public boolean equals(Object obj) {
+         if (!(obj instanceof MetricsKey)) {
+            return false;
+         }
+         MetricsKey other = (MetricsKey) obj;
+         return font.equals(other.font) && frc.equals(other.frc);
+      }
+   }
+
+   private static final class FontKey {
+      private final Font font;
+      private final Locale locale;
+
+      private FontKey(Font font, Locale locale) {
+         this.font = font;
+         this.locale = locale;
+      }
+
+      @Override
+      public int hashCode() {
+         return font.hashCode() * 31 + Objects.hashCode(locale);
+      }
+
+      @Override
+      public boolean equals(Object obj) {
+         if (!(obj instanceof FontKey)) {
+            return false;
+         }
+         FontKey other = (FontKey) obj;
+         return font.equals(other.font) && Objects.equals(locale, other.locale);
+      }
+   }
+
+   private static final class MeasureKey {
+      private final String s;
+      private final Font font;
+      private final FontRenderContext frc;
+      private final FontRenderContext layoutContext;
+      private final int hash;
+
+      private MeasureKey(String s, Font font, FontRenderContext frc, FontRenderContext layoutContext) {
+         this.s = s;
+         this.font = font;
+         this.frc = frc;
+         this.layoutContext = layoutContext;
+         this.hash = ((s.hashCode() * 31 + font.hashCode()) * 31 + frc.hashCode()) * 31 + layoutContext.hashCode();
+      }
+
+      @Override
+      public int hashCode() {
+         return hash;
+      }
+
+      @Override
+      public boolean equals(Object obj) {
+         if (!(obj instanceof MeasureKey)) {
+            return false;
+         }
+         MeasureKey other = (MeasureKey) obj;
+         return hash == other.hash && s.equals(other.s) && font.equals(other.font) && frc.equals(other.frc)
+            && layoutContext.equals(other.layoutContext);
+      }
+   }
+}
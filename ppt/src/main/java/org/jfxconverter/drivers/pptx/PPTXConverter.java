@@ -0,0 +1,174 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.pptx;
+
+import java.awt.Color;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import javafx.embed.swing.JFXPanel;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import org.jfxconverter.JFXConverter;
+import org.jfxconverter.converters.DefaultConverterListener;
+
+/**
+ * An utility class to convert Nodes to PPTX content.
+ *
+ * <h1>Several slides</h1>
+ * A list or a Stream of Nodes can be converted in one PPTX file, with one slide for each Node. Each slide is written in
+ * the file as soon as its Node has been converted, so the memory used by the conversion does not grow with the number
+ * of slides. Using a Stream which creates the Nodes lazily allows to keep only one Node in memory at a time.
+ *
+ * @since 0.25
+ */
+public class PPTXConverter {
+   private int level = Deflater.DEFAULT_COMPRESSION;
+
+   /**
+    * Set the compression level of the PPTX files.
+    *
+    * @param level the compression level, from 0 to 9
+    * @see java.util.zip.Deflater
+    */
+   public void setLevel(int level) {
+      this.level = level;
+   }
+
+   /**
+    * Return the compression level of the PPTX files.
+    *
+    * @return the compression level
+    */
+   public int getLevel() {
+      return level;
+   }
+
+   /**
+    * Convert a Node in a PPTX file.
+    *
+    * @param node the Node
+    * @param file the PPTX file
+    * @throws Exception
+    */
+   public void convert(Node node, File file) throws Exception {
+      convert(node, file, false);
+   }
+
+   /**
+    * Convert a Node in a PPTX file.
+    *
+    * @param node the Node
+    * @param file the PPTX file
+    * @param isExtended true for an extended conversion
+    * @throws Exception
+    */
+   public void convert(Node node, File file, boolean isExtended) throws Exception {
+      convert(Collections.singletonList(node), file, isExtended);
+   }
+
+   /**
+    * Convert a list of Nodes in a PPTX file, with one slide for each Node.
+    *
+    * @param nodes the Nodes
+    * @param file the PPTX file
+    * @param isExtended true for an extended conversion
+    * @throws Exception
+    */
+   public void convert(Iterable<? extends Node> nodes, File file, boolean isExtended) throws Exception {
+      // make sure that the JavaFX Platform is initialized, the Panel is not used
+      JFXPanel jfxPanel = new JFXPanel();
+      createSlides(nodes.iterator(), file, isExtended);
+   }
+
+   /**
+    * Convert a Stream of Nodes in a PPTX file, with one slide for each Node. The Nodes are converted in the order of the
+    * Stream.
+    *
+    * @param nodes the Nodes
+    * @param file the PPTX file
+    * @param isExtended true for an extended conversion
+    * @throws Exception
+    */
+   public void convert(Stream<? extends Node> nodes, File file, boolean isExtended) throws Exception {
+      // make sure that the JavaFX Platform is initialized, the Panel is not used
+      JFXPanel jfxPanel = new JFXPanel();
+      createSlides(nodes.sequential().iterator(), file, isExtended);
+   }
+
+   /**
+    * Creates the Slides corresponding to the Nodes.
+    *
+    * @param nodes the Nodes
+    * @param file the PPTX file
+    * @param isExtended true for an extended conversion
+    */
+   private void createSlides(Iterator<? extends Node> nodes, File file, boolean isExtended) throws IOException {
+      if (file != null) {
+         try (PPTXPackageWriter writer = new PPTXPackageWriter(file)) {
+            writer.setLevel(level);
+            while (nodes.hasNext()) {
+               createSlide(writer, nodes.next(), isExtended);
+            }
+         }
+      }
+   }
+
+   /**
+    * Creates the Slide corresponding to a Node, and writes it in the package.
+    *
+    * @param writer the package writer
+    * @param node the Node
+    * @param isExtended true for an extended conversion
+    */
+   private void createSlide(PPTXPackageWriter writer, Node node, boolean isExtended) throws IOException {
+      Bounds bounds = node.getBoundsInLocal();
+      float slideWidth = (float) bounds.getWidth();
+      float slideHeight = (float) bounds.getHeight();
+      PPTXSlide slide = writer.createSlide(slideWidth, slideHeight);
+
+      JFXConverter converter = new JFXConverter();
+      PPTXGraphics2D g2d;
+      if (isExtended) {
+         g2d = new PPTXJFXGraphics2D(slide, slideWidth, slideHeight, Color.WHITE, Color.BLACK);
+         converter.setListener(new DefaultConverterListener());
+      } else {
+         g2d = new PPTXGraphics2D(slide, slideWidth, slideHeight, Color.WHITE, Color.BLACK);
+      }
+      converter.convert(g2d, node);
+      g2d.dispose();
+      slide.finish();
+   }
+}
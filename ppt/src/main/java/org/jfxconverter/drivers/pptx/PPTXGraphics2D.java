@@ -0,0 +1,1356 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.pptx;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.GradientPaint;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.MultipleGradientPaint;
+import java.awt.Paint;
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.font.LineMetrics;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Line2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.text.AttributedCharacterIterator;
+import java.text.CharacterIterator;
+import java.util.Locale;
+import java.util.Map;
+import javax.imageio.ImageIO;
+import org.apache.poi.sl.usermodel.PictureData;
+import org.apache.poi.util.Units;
+import org.mdiutil.geom.ClippableShape;
+import org.mdiutil.geom.ShapeUtilities;
+
+/**
+ * This implementation of the java.awt.Graphics2D abstract class allows users to generate PowerPoint OOXML content
+ * from Java code. The graphic orders are written as the XML of the shapes of a {@link PPTXSlide}.
+ *
+ * This implementation manage:
+ * <ul>
+ * <li>shapes, which are all converted to freeform shapes</li>
+ * <li>texts, converted to text boxes</li>
+ * <li>images, converted to pictures. Each distinct image is only written once in the package</li>
+ * <li>colors (including alpha-blending and the alpha of the AlphaComposites). The other paints are rasterized in
+ * the shape outline</li>
+ * <li>clippings</li>
+ * <li>creation of sub-contexts</li>
+ * </ul>
+ *
+ * @since 0.25
+ */
+public class PPTXGraphics2D extends Graphics2D {
+   public static final int ACTION_DRAW = 0;
+   public static final int ACTION_FILL = 1;
+   private static final short NOT_CLIPPED = 0;
+   private static final short OUTSIDE_CLIP = 1;
+   private static final short INTERSECT_CLIP = 2;
+   // the maximum angle in the OOXML angles unit
+   private static final int FULL_ANGLE = 21600000;
+   private static final int PERCENT = 100000;
+   private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+   private BufferedImage img;
+   private Graphics2D g2D;
+   protected AffineTransform trans;
+   private Font font;
+   private final FontRenderContext fctx = new FontRenderContext(new AffineTransform(), true, true);
+   private Shape deviceclip;
+   // the Area of the device clip, created only when it is needed, and never modified
+   private Area deviceclipArea = null;
+   private Rectangle2D deviceclipBounds = null;
+   private Paint paint;
+   private Composite composite = AlphaComposite.SrcOver;
+   /**
+    * The last Color.
+    */
+   protected Color color;
+   /**
+    * The default stroke to use.
+    */
+   protected BasicStroke basicStroke;
+   public boolean forceStroke = false;
+   /**
+    * True if the stroke of the shapes should be forced to a fixed value.
+    */
+   protected float forceStrokeValue;
+   /**
+    * The slide width.
+    */
+   public float width;
+   /**
+    * The slide height.
+    */
+   public float height;
+   protected PPTXSlide slide = null;
+   private boolean acceptSmallShapes = true;
+   // by default the Locale is the default Locale on the Machine
+   private Locale locale = Locale.getDefault();
+
+   /**
+    * Default constructor.
+    */
+   public PPTXGraphics2D() {
+      this.width = 5;
+      this.height = 5;
+      initContent(Color.BLACK, Color.WHITE, 1);
+   }
+
+   /**
+    * Create a Graphics2D which will paint in a PPTX Slide context. It will use a black background, a default white
+    * foreground, and a default stroke width of 1 pixel.
+    *
+    * @param pptxSlide the slide
+    * @param imWidth the slide width
+    * @param imHeight the slide height
+    */
+   public PPTXGraphics2D(PPTXSlide pptxSlide, float imWidth, float imHeight) {
+      this(pptxSlide, imWidth, imHeight, Color.black, Color.white, 1f);
+      this.forceStroke = false;
+   }
+
+   /**
+    * Create a Graphics2D which will paint in a PPTX Slide context.
+    *
+    * @param pptxSlide the slide
+    * @param imWidth the slide width
+    * @param imHeight the slide height
+    * @param background the slide background
+    * @param foreground the slide foreground
+    */
+   public PPTXGraphics2D(PPTXSlide pptxSlide, float imWidth, float imHeight, Color background, Color foreground) {
+      this(pptxSlide, imWidth, imHeight, background, foreground, 1f);
+      this.forceStroke = false;
+   }
+
+   /**
+    * Create a Graphics2D which will paint in a PPTX Slide context. It will use a black background and a default white
+    * foreground.
+    *
+    * @param pptxSlide the slide
+    * @param imWidth the slide width
+    * @param imHeight the slide height
+    * @param strokeValue the stroke width
+    */
+   public PPTXGraphics2D(PPTXSlide pptxSlide, float imWidth, float imHeight, float strokeValue) {
+      this(pptxSlide, imWidth, imHeight, Color.black, Color.white, strokeValue);
+      this.forceStroke = true;
+   }
+
+   /**
+    * Create a Graphics2D which will paint in a PPTX Slide context.
+    *
+    * @param pptxSlide the slide
+    * @param imWidth the slide width
+    * @param imHeight the slide height
+    * @param background the slide background
+    * @param foreground the slide foreground
+    * @param strokeValue the stroke width
+    */
+   public PPTXGraphics2D(PPTXSlide pptxSlide, float imWidth, float imHeight, Color background, Color foreground, float strokeValue) {
+      if (background == null) {
+         background = Color.black;
+      }
+      if (foreground == null) {
+         foreground = Color.white;
+      }
+      this.width = imWidth;
+      this.height = imHeight;
+      this.slide = pptxSlide;
+      initContent(background, foreground, strokeValue);
+   }
+
+   /**
+    * Copy constructor.
+    *
+    * @param pptxG2d the Graphics2D used for the PPTX conversion
+    */
+   public PPTXGraphics2D(PPTXGraphics2D pptxG2d) {
+      trans = (AffineTransform) pptxG2d.trans.clone();
+      paint = pptxG2d.paint;
+      color = pptxG2d.color;
+      composite = pptxG2d.composite;
+      basicStroke = pptxG2d.basicStroke;
+      forceStroke = pptxG2d.forceStroke;
+      forceStrokeValue = pptxG2d.forceStrokeValue;
+      width = pptxG2d.width;
+      height = pptxG2d.height;
+      slide = pptxG2d.slide;
+      deviceclip = pptxG2d.deviceclip;
+      deviceclipArea = pptxG2d.deviceclipArea;
+      deviceclipBounds = pptxG2d.deviceclipBounds;
+      acceptSmallShapes = pptxG2d.acceptSmallShapes;
+      locale = pptxG2d.locale;
+      // this cast is safe (the only reason of the existence of Graphics is because Graphics predated Graphics2D
+      // and Sun did not want to change the API when Swing was introduced), to the point that it is even a common pattern in Oracle tutorials on Swing
+      g2D = (Graphics2D) pptxG2d.g2D.create();
+      img = pptxG2d.img;
+      font = pptxG2d.font;
+   }
+
+   private void initContent(Color background, Color foreground, float strokeValue) {
+      trans = new AffineTransform();
+      img = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+      // this cast is safe (the only reason of the existence of Graphics is because Graphics predated Graphics2D
+      // and Sun did not want to change the API when Swing was introduced), to the point that it is even a common pattern in Oracle tutorials on Swing
+      g2D = (Graphics2D) img.getGraphics();
+      font = g2D.getFont();
+
+      basicStroke = new BasicStroke(strokeValue, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+      this.forceStroke = true;
+      this.forceStrokeValue = strokeValue;
+
+      this.setColor(background);
+      this.fillRect(0, 0, (int) width, (int) height);
+      this.setColor(foreground);
+   }
+
+   /**
+    * Force the Locale of the texts. Note that by default the default Locale on the Machine will be used.
+    *
+    * @param locale the Locale
+    */
+   public void setLocale(Locale locale) {
+      this.locale = locale;
+   }
+
+   /**
+    * Return the slide.
+    *
+    * @return the slide
+    */
+   public PPTXSlide getSlide() {
+      return slide;
+   }
+
+   public void setAcceptSmallShapes(boolean accept) {
+      this.acceptSmallShapes = accept;
+   }
+
+   public boolean isAcceptingSmallShapes() {
+      return acceptSmallShapes;
+   }
+
+   /**
+    * Return the XML content of the slide, or null if there is no slide or if the slide is already finished.
+    *
+    * @return the XML content of the slide
+    */
+   StringBuilder getContent() {
+      if (slide == null) {
+         return null;
+      } else {
+         return slide.getContent();
+      }
+   }
+
+   /**
+    * Append the effects of the next Shape. Do nothing by default.
+    *
+    * @param buf the XML content of the Shape
+    */
+   protected void appendEffects(StringBuilder buf) {
+   }
+
+   @Override
+   public void addRenderingHints(Map<?, ?> map) {
+      g2D.addRenderingHints(map);
+   }
+
+   @Override
+   public void clearRect(int x, int y, int aWidth, int aHeight) {
+      Paint paint1 = getPaint();
+
+      setColor(getBackground());
+      fillRect(x, y, aWidth, aHeight);
+      setPaint(paint1);
+   }
+
+   @Override
+   public void clip(Shape shape) {
+      shape = ShapeUtilities.createTransformedShape(shape, trans);
+      if (deviceclip != null) {
+         if (shape == null) {
+            shape = deviceclip;
+         } else if (shape instanceof Rectangle2D && ((Rectangle2D) shape).contains(getDeviceClipBounds())) {
+            // the clip does not change the effective clip region
+            shape = deviceclip;
+         } else if (shape instanceof Rectangle2D && deviceclip instanceof Rectangle2D) {
+            shape = intersect((Rectangle2D) shape, (Rectangle2D) deviceclip);
+         } else {
+            Area area = new Area(shape);
+            area.intersect(getDeviceClipArea());
+            shape = area;
+         }
+      }
+      setDeviceClip(shape);
+   }
+
+   /**
+    * Set the clip in the device space. If the clip is not a Rectangle2D but its area is rectangular, it is replaced by
+    * its bounds.
+    *
+    * @param shape the clip in the device space
+    */
+   private void setDeviceClip(Shape shape) {
+      deviceclipArea = null;
+      deviceclipBounds = null;
+      if (shape != null && !(shape instanceof Rectangle2D)) {
+         Area area = shape instanceof Area ? (Area) shape : new Area(shape);
+         if (area.isRectangular()) {
+            shape = area.getBounds2D();
+         } else {
+            deviceclipArea = area;
+         }
+      }
+      deviceclip = shape;
+   }
+
+   /**
+    * Return the Area of the device clip. The Area is cached until the clip changes, and must not be modified.
+    */
+   private Area getDeviceClipArea() {
+      if (deviceclipArea == null) {
+         deviceclipArea = new Area(deviceclip);
+      }
+      return deviceclipArea;
+   }
+
+   /**
+    * Return the bounds of the device clip. The bounds are cached until the clip changes, and must not be modified.
+    */
+   private Rectangle2D getDeviceClipBounds() {
+      if (deviceclipBounds == null) {
+         deviceclipBounds = deviceclip.getBounds2D();
+      }
+      return deviceclipBounds;
+   }
+
+   /**
+    * Return the intersection of two rectangles. The result is an empty rectangle if they do not intersect.
+    */
+   private static Rectangle2D intersect(Rectangle2D rec1, Rectangle2D rec2) {
+      Rectangle2D rec = rec1.createIntersection(rec2);
+      if (rec.isEmpty()) {
+         rec.setRect(rec.getX(), rec.getY(), 0, 0);
+      }
+      return rec;
+   }
+
+   @Override
+   public void clipRect(int x, int y, int aWidth, int aHeight) {
+      clip(new Rectangle(x, y, aWidth, aHeight));
+   }
+
+   @Override
+   public void copyArea(int x, int y, int aWidth, int aHeight, int dx, int dy) {
+   }
+
+   @Override
+   public Graphics create() {
+      return new PPTXGraphics2D(this);
+   }
+
+   @Override
+   public void dispose() {
+      g2D.dispose();
+   }
+
+   /**
+    * Return true if the Shape can be drawn. The default implementation is if both the width and height of the Shape
+    * are greater than 1.
+    *
+    * @param shape the Shape
+    * @return true if the Shape can be drawn
+    */
+   protected boolean acceptDrawShape(Shape shape) {
+      if (acceptSmallShapes) {
+         return true;
+      } else {
+         return shape.getBounds2D().getHeight() >= 1f || shape.getBounds2D().getWidth() >= 1f;
+      }
+   }
+
+   /**
+    * Return true if the Shape can be filled. The default implementation is if both the width and height of the Shape
+    * are greater than 1.
+    *
+    * @param shape the Shape
+    * @return true if the Shape can be drawn
+    */
+   protected boolean acceptFillShape(Shape shape) {
+      if (acceptSmallShapes) {
+         return true;
+      } else {
+         return shape.getBounds2D().getHeight() >= 1f && shape.getBounds2D().getWidth() >= 1f;
+      }
+   }
+
+   @Override
+   public void draw(Shape shape) {
+      shape = ShapeUtilities.createTransformedShape(shape, trans);
+      if (shape != null) {
+         shape = getClippedShape(shape);
+      }
+      if (shape != null && acceptDrawShape(shape)) {
+         addFreeform(shape, ACTION_DRAW);
+      }
+   }
+
+   @Override
+   public void fill(Shape shape) {
+      shape = ShapeUtilities.createTransformedShape(shape, trans);
+      if (shape != null) {
+         shape = getClippedArea(shape);
+      }
+      if (shape != null && acceptFillShape(shape)) {
+         addFreeform(shape, ACTION_FILL);
+      }
+   }
+
+   /**
+    * Return the part of a filled Shape which is inside the clip, or null if the Shape is outside of the clip.
+    */
+   private Shape getClippedArea(Shape shape) {
+      if (deviceclip == null) {
+         return shape;
+      }
+      Rectangle bounds = shape.getBounds();
+      if (!getDeviceClipBounds().intersects(bounds)) {
+         return null;
+      } else if (deviceclip instanceof Rectangle2D) {
+         // fast path for rectangular clips, which are the most common
+         Rectangle2D clipRec = (Rectangle2D) deviceclip;
+         if (clipRec.contains(bounds)) {
+            return shape;
+         } else if (shape instanceof Rectangle2D) {
+            return intersect((Rectangle2D) shape, clipRec);
+         }
+      }
+      Area clip = getDeviceClipArea();
+      if (clip.contains(bounds)) {
+         return shape;
+      } else if (clip.intersects(bounds)) {
+         ClippableShape csh = new ClippableShape(shape);
+         csh.intersectAsArea(clip);
+         return csh.getPeerShape();
+      } else {
+         return null;
+      }
+   }
+
+   /**
+    * Return the part of a drawn Shape which is inside the clip, or null if the Shape is outside of the clip.
+    */
+   private Shape getClippedShape(Shape shape) {
+      if (deviceclip == null) {
+         return shape;
+      }
+      Rectangle2D bounds = shape.getBounds2D();
+      // the bounds of horizontal or vertical lines have no width or height, and they would never intersect the clip
+      if (bounds.getWidth() < 0.1 || bounds.getHeight() < 0.1) {
+         bounds.setRect(bounds.getX(), bounds.getY(), Math.max(0.1, bounds.getWidth()), Math.max(0.1, bounds.getHeight()));
+      }
+      if (!getDeviceClipBounds().intersects(bounds)) {
+         return null;
+      } else if (deviceclip instanceof Rectangle2D && ((Rectangle2D) deviceclip).contains(bounds)) {
+         return shape;
+      }
+      Area clip = getDeviceClipArea();
+      if (clip.contains(bounds)) {
+         return shape;
+      } else if (clip.intersects(bounds)) {
+         ClippableShape csh = new ClippableShape(shape);
+         csh.intersect(clip);
+         return csh.getPeerShape();
+      } else {
+         return null;
+      }
+   }
+
+   /**
+    * Return the clipping state of a rectangle in the device space.
+    */
+   private short getClippedState(Rectangle2D rec) {
+      if (deviceclip == null) {
+         return NOT_CLIPPED;
+      } else if (deviceclip.contains(rec)) {
+         return NOT_CLIPPED;
+      } else if (deviceclip.intersects(rec)) {
+         return INTERSECT_CLIP;
+      } else {
+         return OUTSIDE_CLIP;
+      }
+   }
+
+   /**
+    * Add a freeform Shape in the slide.
+    *
+    * @param shape the Shape, in the device space
+    * @param type the type of the action, {@link #ACTION_DRAW} or {@link #ACTION_FILL}
+    */
+   private void addFreeform(Shape shape, int type) {
+      StringBuilder buf = getContent();
+      if (buf == null) {
+         return;
+      }
+      Rectangle2D bounds = shape.getBounds2D();
+      String pictureId = null;
+      if (type == ACTION_FILL && color == null) {
+         pictureId = rasterizePaint(shape, bounds);
+         if (pictureId == null) {
+            return;
+         }
+      }
+      int x = Units.toEMU(bounds.getX());
+      int y = Units.toEMU(bounds.getY());
+      int cx = Units.toEMU(bounds.getMaxX()) - x;
+      int cy = Units.toEMU(bounds.getMaxY()) - y;
+      int id = slide.nextShapeId();
+      buf.append("<p:sp><p:nvSpPr><p:cNvPr id=\"").append(id).append("\" name=\"Freeform ").append(id);
+      buf.append("\"/><p:cNvSpPr/><p:nvPr/></p:nvSpPr><p:spPr>");
+      appendTransform(buf, x, y, cx, cy, 0, false, false);
+      buf.append("<a:custGeom><a:avLst/><a:gdLst/><a:ahLst/><a:cxnLst/><a:rect l=\"l\" t=\"t\" r=\"r\" b=\"b\"/>");
+      buf.append("<a:pathLst><a:path w=\"").append(cx).append("\" h=\"").append(cy).append("\">");
+      appendPath(buf, shape, x, y);
+      buf.append("</a:path></a:pathLst></a:custGeom>");
+      if (type == ACTION_DRAW) {
+         buf.append("<a:noFill/>");
+         appendLine(buf);
+      } else {
+         if (pictureId != null) {
+            buf.append("<a:blipFill><a:blip r:embed=\"").append(pictureId).append("\"/><a:stretch><a:fillRect/></a:stretch></a:blipFill>");
+         } else {
+            buf.append("<a:solidFill>");
+            appendColor(buf, color);
+            buf.append("</a:solidFill>");
+         }
+         buf.append("<a:ln><a:noFill/></a:ln>");
+         appendEffects(buf);
+      }
+      buf.append("</p:spPr></p:sp>");
+   }
+
+   private static void appendPath(StringBuilder buf, Shape shape, int x, int y) {
+      PathIterator it = shape.getPathIterator(null);
+      double[] coords = new double[6];
+      while (!it.isDone()) {
+         int segType = it.currentSegment(coords);
+         switch (segType) {
+            case PathIterator.SEG_MOVETO:
+               buf.append("<a:moveTo>");
+               appendPoint(buf, coords, 0, x, y);
+               buf.append("</a:moveTo>");
+               break;
+            case PathIterator.SEG_LINETO:
+               buf.append("<a:lnTo>");
+               appendPoint(buf, coords, 0, x, y);
+               buf.append("</a:lnTo>");
+               break;
+            case PathIterator.SEG_QUADTO:
+               buf.append("<a:quadBezTo>");
+               appendPoint(buf, coords, 0, x, y);
+               appendPoint(buf, coords, 2, x, y);
+               buf.append("</a:quadBezTo>");
+               break;
+            case PathIterator.SEG_CUBICTO:
+               buf.append("<a:cubicBezTo>");
+               appendPoint(buf, coords, 0, x, y);
+               appendPoint(buf, coords, 2, x, y);
+               appendPoint(buf, coords, 4, x, y);
+               buf.append("</a:cubicBezTo>");
+               break;
+            case PathIterator.SEG_CLOSE:
+               buf.append("<a:close/>");
+               break;
+         }
+         it.next();
+      }
+   }
+
+   private static void appendPoint(StringBuilder buf, double[] coords, int offset, int x, int y) {
+      buf.append("<a:pt x=\"").append(Units.toEMU(coords[offset]) - x);
+      buf.append("\" y=\"").append(Units.toEMU(coords[offset + 1]) - y).append("\"/>");
+   }
+
+   private static void appendTransform(StringBuilder buf, int x, int y, int cx, int cy, int rot, boolean flipH, boolean flipV) {
+      buf.append("<a:xfrm");
+      if (rot != 0) {
+         buf.append(" rot=\"").append(rot).append('"');
+      }
+      if (flipH) {
+         buf.append(" flipH=\"1\"");
+      }
+      if (flipV) {
+         buf.append(" flipV=\"1\"");
+      }
+      buf.append("><a:off x=\"").append(x).append("\" y=\"").append(y).append("\"/>");
+      buf.append("<a:ext cx=\"").append(Math.max(0, cx)).append("\" cy=\"").append(Math.max(0, cy)).append("\"/></a:xfrm>");
+   }
+
+   /**
+    * Return an angle in radians in the OOXML angles unit, which is the 60000th of a degree clockwise.
+    *
+    * @param angle the angle in radians
+    * @return the OOXML angle
+    */
+   static int toAngle(double angle) {
+      int rot = (int) Math.round(Math.toDegrees(angle) * 60000d) % FULL_ANGLE;
+      return rot < 0 ? rot + FULL_ANGLE : rot;
+   }
+
+   /**
+    * Return the alpha value of the current AlphaComposite.
+    */
+   private float getCompositeAlpha() {
+      if (composite instanceof AlphaComposite) {
+         return ((AlphaComposite) composite).getAlpha();
+      } else {
+         return 1f;
+      }
+   }
+
+   /**
+    * Append a Color, with its alpha value if it is translucent.
+    *
+    * @param buf the XML content
+    * @param col the Color
+    */
+   void appendColor(StringBuilder buf, Color col) {
+      appendColor(buf, col, col.getAlpha() / 255f * getCompositeAlpha());
+   }
+
+   /**
+    * Append a Color with an alpha value.
+    *
+    * @param buf the XML content
+    * @param col the Color
+    * @param alpha the alpha value, from 0 to 1
+    */
+   static void appendColor(StringBuilder buf, Color col, double alpha) {
+      int rgb = col.getRGB();
+      buf.append("<a:srgbClr val=\"");
+      for (int shift = 20; shift >= 0; shift -= 4) {
+         buf.append(HEX[(rgb >> shift) & 0xF]);
+      }
+      if (alpha < 1) {
+         buf.append("\"><a:alpha val=\"").append(Math.round(Math.max(0, alpha) * PERCENT)).append("\"/></a:srgbClr>");
+      } else {
+         buf.append("\"/>");
+      }
+   }
+
+   /**
+    * Return the Color of the lines and texts. If the current paint is a gradient, its first color is used.
+    */
+   private Color getLineColor() {
+      if (color != null) {
+         return color;
+      } else if (paint instanceof GradientPaint) {
+         return ((GradientPaint) paint).getColor1();
+      } else if (paint instanceof MultipleGradientPaint) {
+         return ((MultipleGradientPaint) paint).getColors()[0];
+      } else {
+         return Color.BLACK;
+      }
+   }
+
+   /**
+    * Return the scale of the current transform.
+    */
+   private double getScale() {
+      return Math.sqrt(Math.abs(trans.getDeterminant()));
+   }
+
+   private void appendLine(StringBuilder buf) {
+      double lineWidth = forceStroke ? forceStrokeValue : basicStroke.getLineWidth() * getScale();
+      buf.append("<a:ln w=\"").append(Units.toEMU(lineWidth)).append("\" cap=\"");
+      switch (basicStroke.getEndCap()) {
+         case BasicStroke.CAP_ROUND:
+            buf.append("rnd");
+            break;
+         case BasicStroke.CAP_SQUARE:
+            buf.append("sq");
+            break;
+         default:
+            buf.append("flat");
+      }
+      buf.append("\"><a:solidFill>");
+      appendColor(buf, getLineColor());
+      buf.append("</a:solidFill>");
+      float[] dash = basicStroke.getDashArray();
+      if (dash != null && dash.length > 1) {
+         // the dashes are relative to the line width
+         float strokeWidth = Math.max(basicStroke.getLineWidth(), 0.1f);
+         int length = dash.length % 2 == 0 ? dash.length : dash.length * 2;
+         buf.append("<a:custDash>");
+         for (int i = 0; i < length; i += 2) {
+            buf.append("<a:ds d=\"").append(Math.round(dash[i % dash.length] / strokeWidth * PERCENT));
+            buf.append("\" sp=\"").append(Math.round(dash[(i + 1) % dash.length] / strokeWidth * PERCENT)).append("\"/>");
+         }
+         buf.append("</a:custDash>");
+      }
+      switch (basicStroke.getLineJoin()) {
+         case BasicStroke.JOIN_ROUND:
+            buf.append("<a:round/>");
+            break;
+         case BasicStroke.JOIN_BEVEL:
+            buf.append("<a:bevel/>");
+            break;
+         default:
+            buf.append("<a:miter lim=\"").append(Math.round(basicStroke.getMiterLimit() * PERCENT)).append("\"/>");
+      }
+      buf.append("</a:ln>");
+   }
+
+   /**
+    * Rasterize the current paint in the outline of a Shape, and return the relationship id of the picture. The
+    * coordinates of the paint are relative to the outline bounds.
+    */
+   private String rasterizePaint(Shape shape, Rectangle2D bounds) {
+      int imWidth = (int) Math.ceil(bounds.getWidth());
+      int imHeight = (int) Math.ceil(bounds.getHeight());
+      if (imWidth <= 0 || imHeight <= 0) {
+         return null;
+      }
+      Shape outline = ShapeUtilities.createTransformedShape(shape, AffineTransform.getTranslateInstance(-bounds.getX(), -bounds.getY()));
+      BufferedImage bimg = new BufferedImage(imWidth, imHeight, BufferedImage.TYPE_INT_ARGB);
+      Graphics2D g2d = bimg.createGraphics();
+      g2d.setComposite(composite);
+      g2d.setPaint(paint);
+      g2d.fill(outline);
+      g2d.dispose();
+      try {
+         return slide.addPicture(encode(bimg), PictureData.PictureType.PNG);
+      } catch (IOException e) {
+         return null;
+      }
+   }
+
+   private static byte[] encode(BufferedImage image) throws IOException {
+      ByteArrayOutputStream stream = new ByteArrayOutputStream();
+      ImageIO.write(image, "png", stream);
+      return stream.toByteArray();
+   }
+
+   /**
+    * Return the pixels of an Image. The Image is only drawn in a new BufferedImage if it is not already a BufferedImage.
+    */
+   private static BufferedImage getImagePixels(Image image, ImageObserver observer) {
+      if (image instanceof BufferedImage) {
+         return (BufferedImage) image;
+      }
+      int iWidth = image.getWidth(observer);
+      int iHeight = image.getHeight(observer);
+      if (iWidth <= 0 || iHeight <= 0) {
+         return null;
+      }
+      BufferedImage bufImage = new BufferedImage(iWidth, iHeight, BufferedImage.TYPE_INT_ARGB);
+      Graphics2D g2d = bufImage.createGraphics();
+      g2d.drawImage(image, 0, 0, observer);
+      g2d.dispose();
+      return bufImage;
+   }
+
+   private boolean addImage(Image image, double x, double y, double iWidth, double iHeight, ImageObserver observer) {
+      if (getContent() == null || iWidth <= 0 || iHeight <= 0 || isOutsideClip(x, y, iWidth, iHeight)) {
+         return true;
+      }
+      try {
+         BufferedImage bufImage = getImagePixels(image, observer);
+         if (bufImage != null) {
+            return addPicture(encode(bufImage), PictureData.PictureType.PNG, x, y, iWidth, iHeight);
+         }
+      } catch (IOException e) {
+      }
+      return false;
+   }
+
+   private boolean isOutsideClip(double x, double y, double iWidth, double iHeight) {
+      if (deviceclip == null) {
+         return false;
+      }
+      Rectangle2D rec = trans.createTransformedShape(new Rectangle2D.Double(x, y, iWidth, iHeight)).getBounds2D();
+      return getClippedState(rec) == OUTSIDE_CLIP;
+   }
+
+   /**
+    * Add a picture in the slide. The picture is rotated, flipped and scaled by the current transform, and cropped by the
+    * clip if its sides are parallel to the slide sides.
+    */
+   private boolean addPicture(byte[] data, PictureData.PictureType type, double x, double y, double iWidth, double iHeight)
+      throws IOException {
+      Rectangle2D rec = new Rectangle2D.Double(x, y, iWidth, iHeight);
+      String pictureId = slide.addPicture(data, type);
+      StringBuilder buf = getContent();
+      int id = slide.nextShapeId();
+      buf.append("<p:pic><p:nvPicPr><p:cNvPr id=\"").append(id).append("\" name=\"Picture ").append(id);
+      buf.append("\"/><p:cNvPicPr><a:picLocks noChangeAspect=\"1\"/></p:cNvPicPr><p:nvPr/></p:nvPicPr>");
+      buf.append("<p:blipFill><a:blip r:embed=\"").append(pictureId).append('"');
+      float alpha = getCompositeAlpha();
+      if (alpha < 1) {
+         buf.append("><a:alphaModFix amt=\"").append(Math.round(alpha * PERCENT)).append("\"/></a:blip>");
+      } else {
+         buf.append("/>");
+      }
+      boolean axisAligned = (trans.getType() & (AffineTransform.TYPE_GENERAL_ROTATION | AffineTransform.TYPE_QUADRANT_ROTATION
+         | AffineTransform.TYPE_GENERAL_TRANSFORM)) == 0;
+      int rot = 0;
+      boolean flipH = false;
+      boolean flipV = false;
+      Rectangle2D devRec;
+      if (axisAligned) {
+         devRec = trans.createTransformedShape(rec).getBounds2D();
+         flipH = trans.getScaleX() < 0;
+         flipV = trans.getScaleY() < 0;
+         if (deviceclip != null && !getDeviceClipBounds().contains(devRec)) {
+            // crop the picture to the clip bounds
+            Rectangle2D visible = intersect(devRec, getDeviceClipBounds());
+            double left = (visible.getX() - devRec.getX()) / devRec.getWidth();
+            double top = (visible.getY() - devRec.getY()) / devRec.getHeight();
+            double right = (devRec.getMaxX() - visible.getMaxX()) / devRec.getWidth();
+            double bottom = (devRec.getMaxY() - visible.getMaxY()) / devRec.getHeight();
+            buf.append("<a:srcRect l=\"").append(Math.round((flipH ? right : left) * PERCENT));
+            buf.append("\" t=\"").append(Math.round((flipV ? bottom : top) * PERCENT));
+            buf.append("\" r=\"").append(Math.round((flipH ? left : right) * PERCENT));
+            buf.append("\" b=\"").append(Math.round((flipV ? top : bottom) * PERCENT)).append("\"/>");
+            devRec = visible;
+         }
+      } else {
+         // the picture is rotated around its center
+         Point2D center = trans.transform(new Point2D.Double(rec.getCenterX(), rec.getCenterY()), null);
+         double devWidth = iWidth * Math.hypot(trans.getScaleX(), trans.getShearY());
+         double devHeight = iHeight * Math.hypot(trans.getShearX(), trans.getScaleY());
+         devRec = new Rectangle2D.Double(center.getX() - devWidth / 2, center.getY() - devHeight / 2, devWidth, devHeight);
+         rot = toAngle(Math.atan2(trans.getShearY(), trans.getScaleX()));
+         flipV = trans.getDeterminant() < 0;
+      }
+      buf.append("<a:stretch><a:fillRect/></a:stretch></p:blipFill><p:spPr>");
+      int devX = Units.toEMU(devRec.getX());
+      int devY = Units.toEMU(devRec.getY());
+      appendTransform(buf, devX, devY, Units.toEMU(devRec.getMaxX()) - devX, Units.toEMU(devRec.getMaxY()) - devY, rot, flipH, flipV);
+      buf.append("<a:prstGeom prst=\"rect\"><a:avLst/></a:prstGeom>");
+      appendEffects(buf);
+      buf.append("</p:spPr></p:pic>");
+      return true;
+   }
+
+   /**
+    * Draw an already encoded image, such as the content of a PNG or JPEG file. The bytes are added in the package as
+    * they are, without being decoded or encoded again.
+    *
+    * @param data the encoded image
+    * @param type the type of the encoded image
+    * @param x the x coordinate of the image
+    * @param y the y coordinate of the image
+    * @param iWidth the width of the image
+    * @param iHeight the height of the image
+    * @return true if the image was drawn
+    */
+   public boolean drawPicture(byte[] data, PictureData.PictureType type, int x, int y, int iWidth, int iHeight) {
+      if (getContent() == null || iWidth <= 0 || iHeight <= 0 || isOutsideClip(x, y, iWidth, iHeight)) {
+         return false;
+      }
+      try {
+         return addPicture(data, type, x, y, iWidth, iHeight);
+      } catch (IOException e) {
+         return false;
+      }
+   }
+
+   @Override
+   public void drawArc(int x, int y, int aWidth, int aHeight, int startAngle, int arcAngle) {
+      draw(new Arc2D.Float(x, y, aWidth, aHeight, startAngle, arcAngle, Arc2D.OPEN));
+   }
+
+   @Override
+   public void drawGlyphVector(GlyphVector vec, float x, float y) {
+      fill(vec.getOutline(x, y));
+   }
+
+   @Override
+   public boolean drawImage(Image image, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2, Color color1, ImageObserver observer) {
+      BufferedImage bufImage = getImagePixels(image, observer);
+      if (bufImage == null || sx2 <= sx1 || sy2 <= sy1) {
+         return true;
+      }
+      int sx = Math.max(0, sx1);
+      int sy = Math.max(0, sy1);
+      int sw = Math.min(bufImage.getWidth(), sx2) - sx;
+      int sh = Math.min(bufImage.getHeight(), sy2) - sy;
+      if (sw > 0 && sh > 0) {
+         addImage(bufImage.getSubimage(sx, sy, sw, sh), dx1, dy1, dx2 - dx1, dy2 - dy1, observer);
+      }
+      return true;
+   }
+
+   @Override
+   public boolean drawImage(Image image, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2, ImageObserver observer) {
+      return drawImage(image, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, null, observer);
+   }
+
+   @Override
+   public boolean drawImage(Image image, int x, int y, int iWidth, int iHeight, Color theColor, ImageObserver observer) {
+      addImage(image, x, y, iWidth, iHeight, observer);
+      return true;
+   }
+
+   @Override
+   public boolean drawImage(Image image, int x, int y, int aWidth, int aHeight, ImageObserver observer) {
+      return drawImage(image, x, y, aWidth, aHeight, null, observer);
+   }
+
+   @Override
+   public boolean drawImage(Image image, int x, int y, Color aColor, ImageObserver observer) {
+      return drawImage(image, x, y, image.getWidth(observer), image.getHeight(observer), aColor, observer);
+   }
+
+   @Override
+   public boolean drawImage(Image image, int x, int y, ImageObserver observer) {
+      return drawImage(image, x, y, image.getWidth(observer), image.getHeight(observer), observer);
+   }
+
+   @Override
+   public boolean drawImage(Image image, AffineTransform tr, ImageObserver imageobserver) {
+      AffineTransform affine1 = (AffineTransform) trans.clone();
+
+      trans.concatenate(tr);
+      drawImage(image, 0, 0, imageobserver);
+      trans = affine1;
+      return true;
+   }
+
+   @Override
+   public void drawImage(BufferedImage image, BufferedImageOp imageOp, int i, int j) {
+      BufferedImage bufImage1 = imageOp.filter(image, null);
+      drawImage(bufImage1, new AffineTransform(1.0f, 0.0f, 0.0f, 1.0f, i, j), null);
+   }
+
+   @Override
+   public void drawLine(int x1, int y1, int x2, int y2) {
+      draw(new Line2D.Float(x1, y1, x2, y2));
+   }
+
+   @Override
+   public void drawOval(int x, int y, int aWidth, int aHeight) {
+      draw(new Ellipse2D.Float(x, y, aWidth, aHeight));
+   }
+
+   @Override
+   public void drawPolygon(int xPoints[], int yPoints[], int nPoints) {
+      draw(new Polygon(xPoints, yPoints, nPoints));
+   }
+
+   @Override
+   public void drawPolyline(int xPoints[], int yPoints[], int nPoints) {
+      if (nPoints > 0) {
+         GeneralPath generalpath = new GeneralPath();
+
+         generalpath.moveTo(xPoints[0], yPoints[0]);
+         for (int j = 1; j < nPoints; j++) {
+            generalpath.lineTo(xPoints[j], yPoints[j]);
+         }
+
+         draw(generalpath);
+      }
+   }
+
+   @Override
+   public void drawRect(int x, int y, int aWidth, int aHeight) {
+      draw(new Rectangle(x, y, aWidth, aHeight));
+   }
+
+   @Override
+   public void drawRenderableImage(RenderableImage image, AffineTransform transform) {
+      drawRenderedImage(image.createDefaultRendering(), transform);
+   }
+
+   @Override
+   public void drawRenderedImage(RenderedImage image, AffineTransform transform) {
+      BufferedImage bufferedimage = new BufferedImage(image.getColorModel(), image.getData().createCompatibleWritableRaster(), false, null);
+
+      bufferedimage.setData(image.getData());
+      drawImage(bufferedimage, transform, null);
+   }
+
+   @Override
+   public void drawRoundRect(int x, int y, int aWidth, int aHeight, int arcWidth, int arcHeight) {
+      draw(new RoundRectangle2D.Float(x, y, aWidth, aHeight, arcWidth, arcHeight));
+   }
+
+   @Override
+   public void drawString(String s, float x, float y) {
+      StringBuilder buf = getContent();
+      if (buf == null || s.isEmpty()) {
+         return;
+      }
+      // the box of the text in the user space, its top is at the ascent of the font above the baseline
+      LineMetrics metrics = font.getLineMetrics(s, fctx);
+      double textWidth = font.getStringBounds(s, fctx).getWidth();
+      double textHeight = metrics.getAscent() + metrics.getDescent();
+      Rectangle2D userRec = new Rectangle2D.Double(x, y - metrics.getAscent(), textWidth, textHeight);
+      Rectangle2D devBounds = trans.createTransformedShape(userRec).getBounds2D();
+      if (getClippedState(devBounds) == OUTSIDE_CLIP) {
+         return;
+      }
+
+      // the text box is rotated around its center
+      double scale = getScale();
+      Point2D center = trans.transform(new Point2D.Double(userRec.getCenterX(), userRec.getCenterY()), null);
+      double devWidth = textWidth * scale;
+      double devHeight = textHeight * scale;
+      if (!acceptSmallShapes && (devWidth < 1d || devHeight < 1d)) {
+         return;
+      }
+      int rot = toAngle(Math.atan2(trans.getShearY(), trans.getScaleX()));
+      int devX = Units.toEMU(center.getX() - devWidth / 2);
+      int devY = Units.toEMU(center.getY() - devHeight / 2);
+      int size = (int) Math.round(font.getSize2D() * scale * 100);
+      size = Math.max(100, Math.min(400000, size));
+
+      int id = slide.nextShapeId();
+      buf.append("<p:sp><p:nvSpPr><p:cNvPr id=\"").append(id).append("\" name=\"TextBox ").append(id);
+      buf.append("\"/><p:cNvSpPr txBox=\"1\"/><p:nvPr/></p:nvSpPr><p:spPr>");
+      appendTransform(buf, devX, devY, Units.toEMU(devWidth), Units.toEMU(devHeight), rot, false, false);
+      buf.append("<a:prstGeom prst=\"rect\"><a:avLst/></a:prstGeom><a:noFill/></p:spPr>");
+      buf.append("<p:txBody><a:bodyPr wrap=\"none\" lIns=\"0\" tIns=\"0\" rIns=\"0\" bIns=\"0\" anchor=\"t\"><a:noAutofit/></a:bodyPr>");
+      buf.append("<a:lstStyle/><a:p><a:r><a:rPr lang=\"").append(locale.toLanguageTag()).append("\" sz=\"").append(size);
+      buf.append("\" b=\"").append(font.isBold() ? 1 : 0).append("\" i=\"").append(font.isItalic() ? 1 : 0).append("\" dirty=\"0\">");
+      buf.append("<a:solidFill>");
+      appendColor(buf, getLineColor());
+      buf.append("</a:solidFill>");
+      String family = font.getFamily(locale);
+      for (String script : new String[]{"latin", "ea", "cs"}) {
+         buf.append("<a:").append(script).append(" typeface=\"");
+         PPTXParts.appendEscaped(buf, family);
+         buf.append("\"/>");
+      }
+      buf.append("</a:rPr><a:t>");
+      PPTXParts.appendEscaped(buf, s);
+      buf.append("</a:t></a:r></a:p></p:txBody></p:sp>");
+   }
+
+   @Override
+   public void drawString(String s, int x, int y) {
+      drawString(s, (float) x, (float) y);
+   }
+
+   /**
+    * Draw the text of an AttributedCharacterIterator. The attributes of the text are not used, the text is drawn with the
+    * current Font.
+    *
+    * @param ati the AttributedCharacterIterator
+    * @param x the x coordinate of the text
+    * @param y the y coordinate of the text
+    */
+   @Override
+   public void drawString(AttributedCharacterIterator ati, float x, float y) {
+      StringBuilder buf = new StringBuilder();
+      for (char c = ati.first(); c != CharacterIterator.DONE; c = ati.next()) {
+         buf.append(c);
+      }
+      drawString(buf.toString(), x, y);
+   }
+
+   @Override
+   public void drawString(AttributedCharacterIterator ati, int x, int y) {
+      drawString(ati, (float) x, (float) y);
+   }
+
+   @Override
+   public void fillArc(int x, int y, int aWidth, int aHeight, int startAngle, int arcAngle) {
+      fill(new Arc2D.Float(x, y, aWidth, aHeight, startAngle, arcAngle, Arc2D.PIE));
+   }
+
+   @Override
+   public void fillOval(int x, int y, int aWidth, int aHeight) {
+      fill(new Ellipse2D.Float(x, y, aWidth, aHeight));
+   }
+
+   @Override
+   public void fillPolygon(int xPoints[], int yPoints[], int nPoints) {
+      fill(new Polygon(xPoints, yPoints, nPoints));
+   }
+
+   @Override
+   public void fillRect(int x, int y, int rWidth, int rHeight) {
+      fill(new Rectangle(x, y, rWidth, rHeight));
+   }
+
+   @Override
+   public void fillRoundRect(int x, int y, int rWidth, int rHeight, int arcWidth, int arcHeight) {
+      fill(new RoundRectangle2D.Float(x, y, rWidth, rHeight, arcWidth, arcHeight));
+   }
+
+   @Override
+   public Color getBackground() {
+      return Color.WHITE;
+   }
+
+   @Override
+   public Shape getClip() {
+      if (deviceclip == null) {
+         return null;
+      }
+      try {
+         return ShapeUtilities.createTransformedShape(deviceclip, trans.createInverse());
+      } catch (Exception _ex) {
+         return null;
+      }
+   }
+
+   @Override
+   public Rectangle getClipBounds() {
+      Shape clip = getClip();
+      if (clip != null) {
+         return clip.getBounds();
+      } else {
+         return null;
+      }
+   }
+
+   @Override
+   public Color getColor() {
+      return color;
+   }
+
+   @Override
+   public Composite getComposite() {
+      return composite;
+   }
+
+   @Override
+   public GraphicsConfiguration getDeviceConfiguration() {
+      return g2D.getDeviceConfiguration();
+   }
+
+   @Override
+   public Font getFont() {
+      return font;
+   }
+
+   @Override
+   public FontMetrics getFontMetrics(Font font) {
+      return g2D.getFontMetrics(font);
+   }
+
+   @Override
+   public FontRenderContext getFontRenderContext() {
+      g2D.setTransform(trans);
+      return g2D.getFontRenderContext();
+   }
+
+   @Override
+   public Paint getPaint() {
+      return color != null ? color : paint;
+   }
+
+   @Override
+   public Object getRenderingHint(RenderingHints.Key key) {
+      return g2D.getRenderingHint(key);
+   }
+
+   @Override
+   public RenderingHints getRenderingHints() {
+      return g2D.getRenderingHints();
+   }
+
+   @Override
+   public Stroke getStroke() {
+      return basicStroke;
+   }
+
+   @Override
+   public AffineTransform getTransform() {
+      return (AffineTransform) trans.clone();
+   }
+
+   @Override
+   public boolean hit(Rectangle rectangle, Shape shape, boolean flag) {
+      g2D.setTransform(trans);
+      g2D.setStroke(getStroke());
+      g2D.setClip(getClip());
+      return g2D.hit(rectangle, shape, flag);
+   }
+
+   @Override
+   public void rotate(double theta) {
+      trans.rotate(theta);
+   }
+
+   @Override
+   public void rotate(double theta, double x, double y) {
+      trans.rotate(theta, x, y);
+   }
+
+   @Override
+   public void scale(double sx, double sy) {
+      trans.scale(sx, sy);
+   }
+
+   @Override
+   public void setBackground(Color aColor) {
+   }
+
+   @Override
+   public void setClip(int x, int y, int cWidth, int cHeight) {
+      setClip(new Rectangle(x, y, cWidth, cHeight));
+   }
+
+   /**
+    * Set the clipping for the next graphic orders.
+    *
+    * @param shape the Clipping Shape
+    */
+   @Override
+   public void setClip(Shape shape) {
+      if (shape != null) {
+         setDeviceClip(ShapeUtilities.createTransformedShape(shape, trans));
+      } else {
+         setDeviceClip(null);
+      }
+   }
+
+   @Override
+   public void setColor(Color col) {
+      setPaint(col);
+   }
+
+   @Override
+   public void setComposite(Composite composite) {
+      this.composite = composite;
+   }
+
+   @Override
+   public void setFont(Font font) {
+      if (font != null) {
+         g2D.setFont(font);
+         this.font = font;
+      }
+   }
+
+   @Override
+   public void setPaint(Paint paint) {
+      if (paint != null) {
+         if (paint instanceof Color) {
+            color = (Color) paint;
+            this.paint = null;
+         } else {
+            color = null;
+            this.paint = paint;
+         }
+      }
+   }
+
+   @Override
+   public void setPaintMode() {
+   }
+
+   @Override
+   public void setRenderingHint(RenderingHints.Key key, Object obj) {
+      g2D.setRenderingHint(key, obj);
+   }
+
+   @Override
+   public void setRenderingHints(Map<?, ?> map) {
+      g2D.setRenderingHints(map);
+   }
+
+   @Override
+   public void setStroke(Stroke theStroke) {
+      if (theStroke instanceof BasicStroke) {
+         basicStroke = (BasicStroke) theStroke;
+      } else {
+         basicStroke = new BasicStroke();
+      }
+      if (forceStroke) {
+         basicStroke = new BasicStroke(forceStrokeValue, basicStroke.getEndCap(), basicStroke.getLineJoin(), basicStroke.getMiterLimit(),
+            basicStroke.getDashArray(), basicStroke.getDashPhase());
+      }
+   }
+
+   @Override
+   public void setTransform(AffineTransform tr) {
+      trans = (AffineTransform) tr.clone();
+   }
+
+   @Override
+   public void setXORMode(Color aColor) {
+   }
+
+   @Override
+   public void shear(double shx, double shy) {
+      trans.shear(shx, shy);
+   }
+
+   @Override
+   public void transform(AffineTransform tr) {
+      trans.concatenate(tr);
+   }
+
+   @Override
+   public void translate(double x, double y) {
+      trans.translate(x, y);
+   }
+
+   @Override
+   public void translate(int x, int y) {
+      trans.translate(x, y);
+   }
+}
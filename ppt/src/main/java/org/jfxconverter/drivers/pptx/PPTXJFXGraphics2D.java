@@ -0,0 +1,269 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.pptx;
+
+import java.awt.Color;
+import java.awt.Shape;
+import java.awt.geom.Rectangle2D;
+import java.util.Stack;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.effect.Effect;
+import javafx.scene.effect.InnerShadow;
+import org.apache.poi.util.Units;
+import org.jfxconverter.utils.ExtendedGraphics2D;
+import org.mdiutil.geom.ShapeUtilities;
+
+/**
+ * A PPTXGraphics2D which is also an ExtendedGraphics2D. Compared to a {@link PPTXGraphics2D}, the following behavior is
+ * supported:
+ * <ul>
+ * <li>Grouping of Shapes</li>
+ * <li>Conversions of Node Shadows, as native OOXML shadow effects</li>
+ * </ul>
+ *
+ * @since 0.25
+ */
+public class PPTXJFXGraphics2D extends PPTXGraphics2D implements ExtendedGraphics2D<Node, Effect> {
+   private boolean supportGroups = false;
+   // the number of opened groups
+   private final Stack<Integer> groups = new Stack<>();
+   private DropShadow dshadow = null;
+   private InnerShadow ishadow = null;
+
+   /**
+    * Default constructor.
+    */
+   public PPTXJFXGraphics2D() {
+   }
+
+   /**
+    * Create a Graphics2D which will paint in a PPTX Slide context. It will use a black background, a default white
+    * foreground, and a default stroke width of 1 pixel.
+    *
+    * @param pptxSlide the slide
+    * @param imWidth the slide width
+    * @param imHeight the slide height
+    */
+   public PPTXJFXGraphics2D(PPTXSlide pptxSlide, float imWidth, float imHeight) {
+      super(pptxSlide, imWidth, imHeight);
+   }
+
+   /**
+    * Create a Graphics2D which will paint in a PPTX Slide context.
+    *
+    * @param pptxSlide the slide
+    * @param imWidth the slide width
+    * @param imHeight the slide height
+    * @param background the slide background
+    * @param foreground the slide foreground
+    */
+   public PPTXJFXGraphics2D(PPTXSlide pptxSlide, float imWidth, float imHeight, Color background, Color foreground) {
+      super(pptxSlide, imWidth, imHeight, background, foreground);
+   }
+
+   /**
+    * Create a Graphics2D which will paint in a PPTX Slide context. It will use a black background and a default white
+    * foreground.
+    *
+    * @param pptxSlide the slide
+    * @param imWidth the slide width
+    * @param imHeight the slide height
+    * @param strokeValue the stroke width
+    */
+   public PPTXJFXGraphics2D(PPTXSlide pptxSlide, float imWidth, float imHeight, float strokeValue) {
+      super(pptxSlide, imWidth, imHeight, strokeValue);
+   }
+
+   /**
+    * Create a Graphics2D which will paint in a PPTX Slide context.
+    *
+    * @param pptxSlide the slide
+    * @param imWidth the slide width
+    * @param imHeight the slide height
+    * @param background the slide background
+    * @param foreground the slide foreground
+    * @param strokeValue the stroke width
+    */
+   public PPTXJFXGraphics2D(PPTXSlide pptxSlide, float imWidth, float imHeight, Color background, Color foreground, float strokeValue) {
+      super(pptxSlide, imWidth, imHeight, background, foreground, strokeValue);
+   }
+
+   /**
+    * Copy constructor.
+    *
+    * @param pptxG2d the Graphics2D used for the PPTX conversion
+    */
+   public PPTXJFXGraphics2D(PPTXGraphics2D pptxG2d) {
+      super(pptxG2d);
+   }
+
+   /**
+    * Set if grouping is supported. If supported, a group Shape will be created when the method
+    * {@link #startGroup(java.lang.String, javafx.scene.Node)} is called.
+    *
+    * @param b true if grouping is supported
+    */
+   public void supportGroups(boolean b) {
+      this.supportGroups = b;
+   }
+
+   /**
+    * Return true if grouping is supported.
+    *
+    * @return true if grouping is supported
+    */
+   public boolean isSupportingGroups() {
+      return supportGroups;
+   }
+
+   /**
+    * Start a Group. The Shapes are added in the Group until the Group is ended.
+    *
+    * @param name the group name
+    * @param node the Node
+    */
+   @Override
+   public void startGroup(String name, Node node) {
+      StringBuilder buf = getContent();
+      if (supportGroups && buf != null) {
+         Bounds bounds = node.getBoundsInParent();
+         Rectangle2D rec = new Rectangle2D.Double(bounds.getMinX(), bounds.getMinY(), bounds.getWidth(), bounds.getHeight());
+         // the children Shapes are in the slide coordinates, so the coordinates of the group children are the same as
+         // the coordinates of the group
+         Shape shape = ShapeUtilities.createTransformedShape(rec, trans);
+         rec = shape.getBounds2D();
+         int x = Units.toEMU(rec.getX());
+         int y = Units.toEMU(rec.getY());
+         int cx = Math.max(0, Units.toEMU(rec.getMaxX()) - x);
+         int cy = Math.max(0, Units.toEMU(rec.getMaxY()) - y);
+
+         int id = slide.nextShapeId();
+         buf.append("<p:grpSp><p:nvGrpSpPr><p:cNvPr id=\"").append(id).append("\" name=\"");
+         if (name != null) {
+            PPTXParts.appendEscaped(buf, name);
+         } else {
+            buf.append("Group ").append(id);
+         }
+         buf.append("\"/><p:cNvGrpSpPr/><p:nvPr/></p:nvGrpSpPr><p:grpSpPr><a:xfrm>");
+         buf.append("<a:off x=\"").append(x).append("\" y=\"").append(y).append("\"/>");
+         buf.append("<a:ext cx=\"").append(cx).append("\" cy=\"").append(cy).append("\"/>");
+         buf.append("<a:chOff x=\"").append(x).append("\" y=\"").append(y).append("\"/>");
+         buf.append("<a:chExt cx=\"").append(cx).append("\" cy=\"").append(cy).append("\"/>");
+         buf.append("</a:xfrm></p:grpSpPr>");
+         groups.push(id);
+      }
+   }
+
+   /**
+    * End a Group.
+    *
+    * @param node the Node
+    */
+   @Override
+   public void endGroup(Node node) {
+      StringBuilder buf = getContent();
+      if (supportGroups && buf != null && !groups.isEmpty()) {
+         groups.pop();
+         buf.append("</p:grpSp>");
+      }
+   }
+
+   /**
+    * Apply an Effect on the next graphics object to be rendered. For the moment, only the following Effects are handled:
+    * <ul>
+    * <li>{@link javafx.scene.effect.DropShadow}</li>
+    * <li>{@link javafx.scene.effect.InnerShadow}</li>
+    * </ul>
+    *
+    * @param node the Node on which the effect must be applied
+    * @param effect the Effect
+    */
+   @Override
+   public void applyEffect(Node node, Effect effect) {
+      dshadow = null;
+      ishadow = null;
+      if (effect instanceof DropShadow) {
+         dshadow = (DropShadow) effect;
+      } else if (effect instanceof InnerShadow) {
+         ishadow = (InnerShadow) effect;
+      }
+   }
+
+   /**
+    * Append a Shadow to a Shape if the associated Node has a Shadow Effect.
+    *
+    * @param buf the XML content of the Shape
+    */
+   @Override
+   protected void appendEffects(StringBuilder buf) {
+      if (dshadow != null) {
+         buf.append("<a:effectLst><a:outerShdw");
+         appendShadow(buf, dshadow.getRadius(), dshadow.getOffsetX(), dshadow.getOffsetY());
+         buf.append(" algn=\"ctr\" rotWithShape=\"0\">");
+         appendShadowColor(buf, dshadow.getColor());
+         buf.append("</a:outerShdw></a:effectLst>");
+      } else if (ishadow != null) {
+         buf.append("<a:effectLst><a:innerShdw");
+         appendShadow(buf, ishadow.getRadius(), ishadow.getOffsetX(), ishadow.getOffsetY());
+         buf.append('>');
+         appendShadowColor(buf, ishadow.getColor());
+         buf.append("</a:innerShdw></a:effectLst>");
+      }
+   }
+
+   private void appendShadow(StringBuilder buf, double radius, double offsetX, double offsetY) {
+      double scale = Math.sqrt(Math.abs(trans.getDeterminant()));
+      buf.append(" blurRad=\"").append(Units.toEMU(radius * scale));
+      buf.append("\" dist=\"").append(Units.toEMU(Math.hypot(offsetX, offsetY) * scale));
+      buf.append("\" dir=\"").append(toAngle(Math.atan2(offsetY, offsetX))).append('"');
+   }
+
+   private static void appendShadowColor(StringBuilder buf, javafx.scene.paint.Color jfxColor) {
+      Color col = new Color((float) jfxColor.getRed(), (float) jfxColor.getGreen(), (float) jfxColor.getBlue());
+      appendColor(buf, col, jfxColor.getOpacity());
+   }
+
+   /**
+    * Close the Groups which have not been ended.
+    */
+   @Override
+   public void dispose() {
+      StringBuilder buf = getContent();
+      while (buf != null && !groups.isEmpty()) {
+         groups.pop();
+         buf.append("</p:grpSp>");
+      }
+      super.dispose();
+   }
+}
@@ -0,0 +1,352 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.pptx;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.apache.poi.sl.usermodel.PictureData;
+import org.apache.poi.util.Units;
+
+/**
+ * Writes a PPTX package in a Stream. Contrary to a SlideShow, the package is not kept in memory until it is saved:
+ * <ul>
+ * <li>The XML part of a slide is written in the zip Stream as soon as the slide is finished, and the slide content is
+ * released</li>
+ * <li>The pictures are written as soon as they are added, and each distinct picture is only written once in the package,
+ * identified by a hash of its bytes</li>
+ * <li>The presentation part and the fixed parts of the package are written when the writer is closed</li>
+ * </ul>
+ * Only one slide can be created at a time, creating a new slide finishes the current one. The size of the presentation
+ * is the size of its largest slide.
+ *
+ * <h1>Example</h1>
+ * <pre>
+ * try (PPTXPackageWriter writer = new PPTXPackageWriter(file)) {
+ *    PPTXSlide slide = writer.createSlide(500, 400);
+ *    PPTXGraphics2D g2D = new PPTXGraphics2D(slide, 500, 400);
+ *    g2D.fillRect(10, 10, 100, 100);
+ *    g2D.dispose();
+ *    slide.finish();
+ * }
+ * </pre>
+ *
+ * @since 0.25
+ */
+public class PPTXPackageWriter implements Closeable {
+   // the minimum and maximum sizes of a presentation in EMUs, as defined by the OOXML schema
+   private static final int MIN_SIZE = 914400;
+   private static final int MAX_SIZE = 51206400;
+   private final ZipOutputStream zip;
+   private final Writer writer;
+   private final char[] chunk = new char[8192];
+   private MessageDigest digest = null;
+   // the paths of the pictures in the package, by hash of their bytes
+   private final Map<String, String> pictures = new HashMap<>();
+   // the content types of the pictures, by extension
+   private final Map<String, String> pictureTypes = new TreeMap<>();
+   private PPTXSlide curSlide = null;
+   private int slidesCount = 0;
+   private double width = 0;
+   private double height = 0;
+   private boolean closed = false;
+
+   /**
+    * Constructor.
+    *
+    * @param stream the Stream of the package. It is closed when the writer is closed
+    */
+   public PPTXPackageWriter(OutputStream stream) {
+      zip = new ZipOutputStream(stream);
+      writer = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+   }
+
+   /**
+    * Constructor.
+    *
+    * @param file the file of the package
+    * @throws IOException if the file can not be created
+    */
+   public PPTXPackageWriter(File file) throws IOException {
+      this(new FileOutputStream(file));
+   }
+
+   /**
+    * Set the compression level of the parts of the package.
+    *
+    * @param level the compression level, from 0 to 9
+    * @see java.util.zip.Deflater
+    */
+   public void setLevel(int level) {
+      zip.setLevel(level);
+   }
+
+   /**
+    * Creates a new slide. The current slide is finished if it has not been finished yet.
+    *
+    * @param slideWidth the width of the slide in points
+    * @param slideHeight the height of the slide in points
+    * @return the slide
+    * @throws IOException if the current slide could not be written
+    */
+   public PPTXSlide createSlide(double slideWidth, double slideHeight) throws IOException {
+      if (closed) {
+         throw new IOException("The package is closed");
+      }
+      if (curSlide != null) {
+         curSlide.finish();
+      }
+      slidesCount++;
+      width = Math.max(width, slideWidth);
+      height = Math.max(height, slideHeight);
+      curSlide = new PPTXSlide(this, slidesCount, slideWidth, slideHeight);
+      return curSlide;
+   }
+
+   /**
+    * Return the number of slides created in the package.
+    *
+    * @return the number of slides
+    */
+   public int getSlidesCount() {
+      return slidesCount;
+   }
+
+   /**
+    * Return the number of distinct pictures written in the package.
+    *
+    * @return the number of pictures
+    */
+   public int getPicturesCount() {
+      return pictures.size();
+   }
+
+   /**
+    * Add a picture in the package. The picture is written only if the package does not already contain the same bytes.
+    *
+    * @param data the encoded picture
+    * @param type the picture type
+    * @return the path of the picture in the package, relative to the slides parts
+    * @throws IOException if the picture could not be written
+    */
+   String addPicture(byte[] data, PictureData.PictureType type) throws IOException {
+      String extension = type.extension.substring(1);
+      String key = extension + ':' + hash(data);
+      String path = pictures.get(key);
+      if (path == null) {
+         String name = "image" + (pictures.size() + 1) + "." + extension;
+         writeEntry("ppt/media/" + name, data);
+         pictureTypes.put(extension, type.contentType);
+         path = "../media/" + name;
+         pictures.put(key, path);
+      }
+      return path;
+   }
+
+   private String hash(byte[] data) throws IOException {
+      if (digest == null) {
+         try {
+            digest = MessageDigest.getInstance("SHA-256");
+         } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+         }
+      }
+      byte[] bytes = digest.digest(data);
+      StringBuilder buf = new StringBuilder(bytes.length * 2);
+      for (int i = 0; i < bytes.length; i++) {
+         buf.append(Character.forDigit((bytes[i] >> 4) & 0xF, 16));
+         buf.append(Character.forDigit(bytes[i] & 0xF, 16));
+      }
+      return buf.toString();
+   }
+
+   /**
+    * Write the parts of a finished slide.
+    *
+    * @param slide the slide
+    * @param content the content of the shape tree of the slide
+    * @param rels the content of the relationships part of the slide
+    * @throws IOException if the slide could not be written
+    */
+   void writeSlide(PPTXSlide slide, CharSequence content, CharSequence rels) throws IOException {
+      int index = slide.getIndex();
+      zip.putNextEntry(new ZipEntry("ppt/slides/slide" + index + ".xml"));
+      writer.write(PPTXParts.SLIDE_HEADER);
+      write(content);
+      writer.write(PPTXParts.SLIDE_FOOTER);
+      writer.flush();
+      zip.closeEntry();
+      writeEntry("ppt/slides/_rels/slide" + index + ".xml.rels", rels);
+      if (slide == curSlide) {
+         curSlide = null;
+      }
+   }
+
+   /**
+    * Write a content by chunks, so that the content is not copied in a String before being written.
+    */
+   private void write(CharSequence content) throws IOException {
+      if (content instanceof StringBuilder) {
+         StringBuilder buf = (StringBuilder) content;
+         int length = buf.length();
+         for (int offset = 0; offset < length; offset += chunk.length) {
+            int end = Math.min(length, offset + chunk.length);
+            buf.getChars(offset, end, chunk, 0);
+            writer.write(chunk, 0, end - offset);
+         }
+      } else {
+         writer.append(content);
+      }
+   }
+
+   private void writeEntry(String name, CharSequence content) throws IOException {
+      zip.putNextEntry(new ZipEntry(name));
+      write(content);
+      writer.flush();
+      zip.closeEntry();
+   }
+
+   private void writeEntry(String name, byte[] content) throws IOException {
+      zip.putNextEntry(new ZipEntry(name));
+      zip.write(content);
+      zip.closeEntry();
+   }
+
+   private StringBuilder createRelationships() {
+      StringBuilder buf = new StringBuilder();
+      buf.append(PPTXParts.XML_HEADER).append("<Relationships xmlns=\"").append(PPTXParts.NS_RELS).append("\">");
+      return buf;
+   }
+
+   private String getRelationships(String... rels) {
+      StringBuilder buf = createRelationships();
+      for (int i = 0; i < rels.length; i += 2) {
+         PPTXParts.appendRelationship(buf, "rId" + (i / 2 + 1), rels[i], rels[i + 1]);
+      }
+      return buf.append("</Relationships>").toString();
+   }
+
+   private static int toSize(double size) {
+      int emu = Units.toEMU(size);
+      return Math.min(MAX_SIZE, Math.max(MIN_SIZE, emu));
+   }
+
+   private void writePackageParts() throws IOException {
+      // content types
+      StringBuilder buf = new StringBuilder();
+      buf.append(PPTXParts.XML_HEADER).append("<Types xmlns=\"").append(PPTXParts.NS_CONTENT_TYPES).append("\">");
+      buf.append("<Default Extension=\"rels\" ContentType=\"").append(PPTXParts.TYPE_RELS).append("\"/>");
+      buf.append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>");
+      for (Map.Entry<String, String> entry : pictureTypes.entrySet()) {
+         buf.append("<Default Extension=\"").append(entry.getKey()).append("\" ContentType=\"").append(entry.getValue()).append("\"/>");
+      }
+      appendOverride(buf, "/ppt/presentation.xml", PPTXParts.TYPE_PRESENTATION);
+      appendOverride(buf, "/ppt/slideMasters/slideMaster1.xml", PPTXParts.TYPE_SLIDE_MASTER);
+      appendOverride(buf, "/ppt/slideLayouts/slideLayout1.xml", PPTXParts.TYPE_SLIDE_LAYOUT);
+      appendOverride(buf, "/ppt/theme/theme1.xml", PPTXParts.TYPE_THEME);
+      for (int i = 1; i <= slidesCount; i++) {
+         appendOverride(buf, "/ppt/slides/slide" + i + ".xml", PPTXParts.TYPE_SLIDE);
+      }
+      buf.append("</Types>");
+      writeEntry("[Content_Types].xml", buf);
+      writeEntry("_rels/.rels", getRelationships(PPTXParts.REL_OFFICE_DOCUMENT, "ppt/presentation.xml"));
+
+      // presentation
+      buf.setLength(0);
+      buf.append(PPTXParts.XML_HEADER).append("<p:presentation").append(PPTXParts.NAMESPACES).append('>');
+      buf.append("<p:sldMasterIdLst><p:sldMasterId id=\"2147483648\" r:id=\"rId1\"/></p:sldMasterIdLst>");
+      if (slidesCount > 0) {
+         buf.append("<p:sldIdLst>");
+         for (int i = 1; i <= slidesCount; i++) {
+            buf.append("<p:sldId id=\"").append(255 + i).append("\" r:id=\"rId").append(i + 2).append("\"/>");
+         }
+         buf.append("</p:sldIdLst>");
+      }
+      buf.append("<p:sldSz cx=\"").append(toSize(width)).append("\" cy=\"").append(toSize(height)).append("\"/>");
+      buf.append("<p:notesSz cx=\"6858000\" cy=\"9144000\"/></p:presentation>");
+      writeEntry("ppt/presentation.xml", buf);
+      buf = createRelationships();
+      PPTXParts.appendRelationship(buf, "rId1", PPTXParts.REL_SLIDE_MASTER, "slideMasters/slideMaster1.xml");
+      PPTXParts.appendRelationship(buf, "rId2", PPTXParts.REL_THEME, "theme/theme1.xml");
+      for (int i = 1; i <= slidesCount; i++) {
+         PPTXParts.appendRelationship(buf, "rId" + (i + 2), PPTXParts.REL_SLIDE, "slides/slide" + i + ".xml");
+      }
+      buf.append("</Relationships>");
+      writeEntry("ppt/_rels/presentation.xml.rels", buf);
+
+      // master, layout, and theme
+      writeEntry("ppt/slideMasters/slideMaster1.xml", PPTXParts.SLIDE_MASTER);
+      writeEntry("ppt/slideMasters/_rels/slideMaster1.xml.rels", getRelationships(PPTXParts.REL_SLIDE_LAYOUT,
+         "../slideLayouts/slideLayout1.xml", PPTXParts.REL_THEME, "../theme/theme1.xml"));
+      writeEntry("ppt/slideLayouts/slideLayout1.xml", PPTXParts.SLIDE_LAYOUT);
+      writeEntry("ppt/slideLayouts/_rels/slideLayout1.xml.rels", getRelationships(PPTXParts.REL_SLIDE_MASTER,
+         "../slideMasters/slideMaster1.xml"));
+      writeEntry("ppt/theme/theme1.xml", PPTXParts.THEME);
+   }
+
+   private static void appendOverride(StringBuilder buf, String partName, String contentType) {
+      buf.append("<Override PartName=\"").append(partName).append("\" ContentType=\"").append(contentType).append("\"/>");
+   }
+
+   /**
+    * Finish the current slide, write the presentation and the fixed parts of the package, and close the Stream.
+    *
+    * @throws IOException if the package could not be written
+    */
+   @Override
+   public void close() throws IOException {
+      if (closed) {
+         return;
+      }
+      try {
+         if (curSlide != null) {
+            curSlide.finish();
+         }
+         writePackageParts();
+      } finally {
+         closed = true;
+         zip.close();
+      }
+   }
+}
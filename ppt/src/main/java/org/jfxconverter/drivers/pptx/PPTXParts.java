@@ -0,0 +1,159 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.pptx;
+
+/**
+ * The content types, relationship types, and the fixed parts of the PPTX packages. The slide master, the slide layout,
+ * and the theme are the same for all the packages, the slides only use the blank layout.
+ *
+ * @since 0.25
+ */
+final class PPTXParts {
+   static final String NS_A = "http://schemas.openxmlformats.org/drawingml/2006/main";
+   static final String NS_R = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+   static final String NS_P = "http://schemas.openxmlformats.org/presentationml/2006/main";
+   static final String NS_RELS = "http://schemas.openxmlformats.org/package/2006/relationships";
+   static final String NS_CONTENT_TYPES = "http://schemas.openxmlformats.org/package/2006/content-types";
+   static final String REL_OFFICE_DOCUMENT = NS_R + "/officeDocument";
+   static final String REL_SLIDE_MASTER = NS_R + "/slideMaster";
+   static final String REL_SLIDE_LAYOUT = NS_R + "/slideLayout";
+   static final String REL_SLIDE = NS_R + "/slide";
+   static final String REL_THEME = NS_R + "/theme";
+   static final String REL_IMAGE = NS_R + "/image";
+   static final String TYPE_PRESENTATION = "application/vnd.openxmlformats-officedocument.presentationml.presentation.main+xml";
+   static final String TYPE_SLIDE_MASTER = "application/vnd.openxmlformats-officedocument.presentationml.slideMaster+xml";
+   static final String TYPE_SLIDE_LAYOUT = "application/vnd.openxmlformats-officedocument.presentationml.slideLayout+xml";
+   static final String TYPE_SLIDE = "application/vnd.openxmlformats-officedocument.presentationml.slide+xml";
+   static final String TYPE_THEME = "application/vnd.openxmlformats-officedocument.theme+xml";
+   static final String TYPE_RELS = "application/vnd.openxmlformats-package.relationships+xml";
+   static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+   static final String NAMESPACES = " xmlns:a=\"" + NS_A + "\" xmlns:r=\"" + NS_R + "\" xmlns:p=\"" + NS_P + "\"";
+   /**
+    * The non visual properties and the identity transform of the root group of a shape tree.
+    */
+   static final String SHAPE_TREE_HEADER = "<p:nvGrpSpPr><p:cNvPr id=\"1\" name=\"\"/><p:cNvGrpSpPr/><p:nvPr/></p:nvGrpSpPr>"
+      + "<p:grpSpPr><a:xfrm><a:off x=\"0\" y=\"0\"/><a:ext cx=\"0\" cy=\"0\"/><a:chOff x=\"0\" y=\"0\"/>"
+      + "<a:chExt cx=\"0\" cy=\"0\"/></a:xfrm></p:grpSpPr>";
+   static final String SLIDE_HEADER = XML_HEADER + "<p:sld" + NAMESPACES + "><p:cSld><p:spTree>" + SHAPE_TREE_HEADER;
+   static final String SLIDE_FOOTER = "</p:spTree></p:cSld><p:clrMapOvr><a:masterClrMapping/></p:clrMapOvr></p:sld>";
+   static final String SLIDE_MASTER = XML_HEADER + "<p:sldMaster" + NAMESPACES + "><p:cSld><p:bg><p:bgRef idx=\"1001\">"
+      + "<a:schemeClr val=\"bg1\"/></p:bgRef></p:bg><p:spTree>" + SHAPE_TREE_HEADER + "</p:spTree></p:cSld>"
+      + "<p:clrMap bg1=\"lt1\" tx1=\"dk1\" bg2=\"lt2\" tx2=\"dk2\" accent1=\"accent1\" accent2=\"accent2\" accent3=\"accent3\""
+      + " accent4=\"accent4\" accent5=\"accent5\" accent6=\"accent6\" hlink=\"hlink\" folHlink=\"folHlink\"/>"
+      + "<p:sldLayoutIdLst><p:sldLayoutId id=\"2147483649\" r:id=\"rId1\"/></p:sldLayoutIdLst></p:sldMaster>";
+   static final String SLIDE_LAYOUT = XML_HEADER + "<p:sldLayout" + NAMESPACES + " type=\"blank\" preserve=\"1\">"
+      + "<p:cSld name=\"Blank\"><p:spTree>" + SHAPE_TREE_HEADER + "</p:spTree></p:cSld>"
+      + "<p:clrMapOvr><a:masterClrMapping/></p:clrMapOvr></p:sldLayout>";
+   static final String THEME;
+
+   static {
+      StringBuilder buf = new StringBuilder();
+      buf.append(XML_HEADER).append("<a:theme xmlns:a=\"").append(NS_A).append("\" name=\"Office Theme\"><a:themeElements>");
+      buf.append("<a:clrScheme name=\"Office\"><a:dk1><a:sysClr val=\"windowText\" lastClr=\"000000\"/></a:dk1>");
+      buf.append("<a:lt1><a:sysClr val=\"window\" lastClr=\"FFFFFF\"/></a:lt1>");
+      String[] colors = {"dk2", "1F497D", "lt2", "EEECE1", "accent1", "4F81BD", "accent2", "C0504D", "accent3", "9BBB59",
+         "accent4", "8064A2", "accent5", "4BACC6", "accent6", "F79646", "hlink", "0000FF", "folHlink", "800080"};
+      for (int i = 0; i < colors.length; i += 2) {
+         buf.append("<a:").append(colors[i]).append("><a:srgbClr val=\"").append(colors[i + 1]).append("\"/></a:");
+         buf.append(colors[i]).append('>');
+      }
+      buf.append("</a:clrScheme><a:fontScheme name=\"Office\">");
+      buf.append("<a:majorFont><a:latin typeface=\"Calibri\"/><a:ea typeface=\"\"/><a:cs typeface=\"\"/></a:majorFont>");
+      buf.append("<a:minorFont><a:latin typeface=\"Calibri\"/><a:ea typeface=\"\"/><a:cs typeface=\"\"/></a:minorFont>");
+      buf.append("</a:fontScheme><a:fmtScheme name=\"Office\">");
+      String solidFill = "<a:solidFill><a:schemeClr val=\"phClr\"/></a:solidFill>";
+      buf.append("<a:fillStyleLst>").append(solidFill).append(solidFill).append(solidFill).append("</a:fillStyleLst>");
+      buf.append("<a:lnStyleLst>");
+      for (int i = 1; i <= 3; i++) {
+         buf.append("<a:ln w=\"").append(9525 * i).append("\">").append(solidFill).append("</a:ln>");
+      }
+      buf.append("</a:lnStyleLst><a:effectStyleLst>");
+      for (int i = 0; i < 3; i++) {
+         buf.append("<a:effectStyle><a:effectLst/></a:effectStyle>");
+      }
+      buf.append("</a:effectStyleLst>");
+      buf.append("<a:bgFillStyleLst>").append(solidFill).append(solidFill).append(solidFill).append("</a:bgFillStyleLst>");
+      buf.append("</a:fmtScheme></a:themeElements><a:objectDefaults/><a:extraClrSchemeLst/></a:theme>");
+      THEME = buf.toString();
+   }
+
+   private PPTXParts() {
+   }
+
+   /**
+    * Append a relationship to the content of a relationships part.
+    *
+    * @param buf the content of the relationships part
+    * @param id the relationship id
+    * @param type the relationship type
+    * @param target the target of the relationship, relative to the source part
+    */
+   static void appendRelationship(StringBuilder buf, String id, String type, String target) {
+      buf.append("<Relationship Id=\"").append(id).append("\" Type=\"").append(type);
+      buf.append("\" Target=\"").append(target).append("\"/>");
+   }
+
+   /**
+    * Append a text in a XML content, escaping the characters which are reserved in XML and removing the characters which
+    * are not allowed in XML 1.0.
+    *
+    * @param buf the XML content
+    * @param text the text
+    */
+   static void appendEscaped(StringBuilder buf, String text) {
+      int length = text.length();
+      for (int i = 0; i < length; i++) {
+         char c = text.charAt(i);
+         switch (c) {
+            case '<':
+               buf.append("&lt;");
+               break;
+            case '>':
+               buf.append("&gt;");
+               break;
+            case '&':
+               buf.append("&amp;");
+               break;
+            case '"':
+               buf.append("&quot;");
+               break;
+            case '\'':
+               buf.append("&apos;");
+               break;
+            default:
+               if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                  buf.append(c);
+               }
+         }
+      }
+   }
+}
@@ -0,0 +1,177 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.pptx;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.poi.sl.usermodel.PictureData;
+
+/**
+ * A slide of a PPTX package. The slide keeps the XML content of its shapes until it is finished, then the content is
+ * written in the package and released.
+ *
+ * @since 0.25
+ */
+public final class PPTXSlide {
+   private final PPTXPackageWriter writer;
+   private final int index;
+   private final double width;
+   private final double height;
+   private StringBuilder content = new StringBuilder();
+   // the relationship ids of the pictures, by path of the picture in the package
+   private final Map<String, String> pictureRels = new LinkedHashMap<>();
+   // the id 1 is used by the root group of the shape tree
+   private int lastShapeId = 1;
+
+   PPTXSlide(PPTXPackageWriter writer, int index, double width, double height) {
+      this.writer = writer;
+      this.index = index;
+      this.width = width;
+      this.height = height;
+   }
+
+   /**
+    * Return the index of the slide in the package, starting from 1.
+    *
+    * @return the index of the slide
+    */
+   public int getIndex() {
+      return index;
+   }
+
+   /**
+    * Return the width of the slide in points.
+    *
+    * @return the width
+    */
+   public double getWidth() {
+      return width;
+   }
+
+   /**
+    * Return the height of the slide in points.
+    *
+    * @return the height
+    */
+   public double getHeight() {
+      return height;
+   }
+
+   /**
+    * Return the package writer of the slide.
+    *
+    * @return the package writer
+    */
+   public PPTXPackageWriter getPackageWriter() {
+      return writer;
+   }
+
+   /**
+    * Return true if the slide has been finished. Nothing can be added to a finished slide.
+    *
+    * @return true if the slide has been finished
+    */
+   public boolean isFinished() {
+      return content == null;
+   }
+
+   /**
+    * Return the number of shapes in the slide, including the groups.
+    *
+    * @return the number of shapes
+    */
+   public int getShapesCount() {
+      return lastShapeId - 1;
+   }
+
+   /**
+    * Return a new shape id.
+    *
+    * @return the shape id
+    */
+   int nextShapeId() {
+      lastShapeId++;
+      return lastShapeId;
+   }
+
+   /**
+    * Return the XML content of the shape tree of the slide.
+    *
+    * @return the XML content
+    */
+   StringBuilder getContent() {
+      return content;
+   }
+
+   /**
+    * Add a picture in the slide, and return the relationship id of the picture.
+    *
+    * @param data the encoded picture
+    * @param type the picture type
+    * @return the relationship id
+    * @throws IOException if the picture could not be written in the package
+    */
+   String addPicture(byte[] data, PictureData.PictureType type) throws IOException {
+      String path = writer.addPicture(data, type);
+      String id = pictureRels.get(path);
+      if (id == null) {
+         // the id rId1 is the relationship with the slide layout
+         id = "rId" + (pictureRels.size() + 2);
+         pictureRels.put(path, id);
+      }
+      return id;
+   }
+
+   /**
+    * Finish the slide. The slide is written in the package and its content is released. Do nothing if the slide is
+    * already finished.
+    *
+    * @throws IOException if the slide could not be written
+    */
+   public void finish() throws IOException {
+      if (content == null) {
+         return;
+      }
+      StringBuilder rels = new StringBuilder();
+      rels.append(PPTXParts.XML_HEADER).append("<Relationships xmlns=\"").append(PPTXParts.NS_RELS).append("\">");
+      PPTXParts.appendRelationship(rels, "rId1", PPTXParts.REL_SLIDE_LAYOUT, "../slideLayouts/slideLayout1.xml");
+      for (Map.Entry<String, String> entry : pictureRels.entrySet()) {
+         PPTXParts.appendRelationship(rels, entry.getValue(), PPTXParts.REL_IMAGE, entry.getKey());
+      }
+      rels.append("</Relationships>");
+      StringBuilder slideContent = content;
+      content = null;
+      pictureRels.clear();
+      writer.writeSlide(this, slideContent, rels);
+   }
+}
@@ -31,9 +31,13 @@ the project website at the project page on https://sourceforge.net/projects/jfxc
  */
 package org.jfxconverter.drivers.ppt;
 
+import static org.junit.Assert.assertEquals;
 import java.io.File;
+import java.io.FileInputStream;
+import java.util.stream.Stream;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Line;
+import org.apache.poi.hslf.usermodel.HSLFSlideShow;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -81,4 +85,22 @@ public class PPTConverterTest {
       file.delete();
    }
 
+   /**
+    * Test of converting several Nodes in one file.
+    */
+   @Test
+   public void testConvertNodes() throws Exception {
+      System.out.println("PPTDriverUtilsTest : testConvertNodes");
+      PPTConverter utils = new PPTConverter();
+      File file = File.createTempFile("jfxconverter", ".ppt");
+      utils.convert(Stream.of(20, 100, 200).map(length -> {
+         Line line = new Line(0, 0, length, length);
+         line.setStroke(Color.RED);
+         return line;
+      }), file, false);
+      try (FileInputStream stream = new FileInputStream(file); HSLFSlideShow show = new HSLFSlideShow(stream)) {
+         assertEquals("Number of slides", 3, show.getSlides().size());
+      }
+      file.delete();
+   }
 }
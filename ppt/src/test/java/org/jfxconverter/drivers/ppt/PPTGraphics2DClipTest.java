@@ -0,0 +1,144 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.ppt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+import org.apache.poi.hslf.usermodel.HSLFShape;
+import org.apache.poi.hslf.usermodel.HSLFSlide;
+import org.apache.poi.hslf.usermodel.HSLFSlideShow;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the clipping in the PPTGraphics2D class.
+ *
+ * @since 0.25
+ */
+public class PPTGraphics2DClipTest {
+
+   /**
+    * Test that a clip whose area is rectangular is handled as a rectangle.
+    */
+   @Test
+   public void testRectangularPathClip() throws Exception {
+      System.out.println("PPTGraphics2DClipTest : testRectangularPathClip");
+      try (HSLFSlideShow show = new HSLFSlideShow()) {
+         HSLFSlide slide = show.createSlide();
+         PPTGraphics2D g2D = new PPTGraphics2D(slide, 500, 500);
+         Path2D path = new Path2D.Double();
+         path.moveTo(10, 10);
+         path.lineTo(110, 10);
+         path.lineTo(110, 60);
+         path.lineTo(10, 60);
+         path.closePath();
+         g2D.setClip(path);
+         Shape clip = g2D.getClip();
+         assertEquals(new Rectangle2D.Double(10, 10, 100, 50), clip.getBounds2D(), "Clip bounds");
+
+         int count = slide.getShapes().size();
+         g2D.setColor(Color.RED);
+         g2D.fill(new Rectangle2D.Double(200, 200, 10, 10));
+         assertEquals(count, slide.getShapes().size(), "Rectangle outside of the clip");
+         g2D.fill(new Rectangle2D.Double(0, 0, 50, 50));
+         List<HSLFShape> shapes = slide.getShapes();
+         assertEquals(count + 1, shapes.size(), "Rectangle intersecting the clip");
+      }
+   }
+
+   /**
+    * Test of the intersection of a non rectangular clip with a rectangular clip.
+    */
+   @Test
+   public void testNonRectangularClip() throws Exception {
+      System.out.println("PPTGraphics2DClipTest : testNonRectangularClip");
+      try (HSLFSlideShow show = new HSLFSlideShow()) {
+         HSLFSlide slide = show.createSlide();
+         PPTGraphics2D g2D = new PPTGraphics2D(slide, 500, 500);
+         g2D.setClip(new Ellipse2D.Double(0, 0, 100, 100));
+         g2D.clip(new Rectangle2D.Double(50, 0, 100, 100));
+         Rectangle2D bounds = g2D.getClip().getBounds2D();
+         assertEquals(50, bounds.getX(), 1e-6, "Clip x");
+         assertEquals(50, bounds.getWidth(), 1e-6, "Clip width");
+
+         int count = slide.getShapes().size();
+         g2D.setColor(Color.RED);
+         g2D.fill(new Rectangle2D.Double(0, 0, 40, 40));
+         assertEquals(count, slide.getShapes().size(), "Rectangle outside of the clip");
+         g2D.fill(new Rectangle2D.Double(60, 40, 10, 10));
+         assertEquals(count + 1, slide.getShapes().size(), "Rectangle inside the clip");
+      }
+   }
+
+   /**
+    * Test that the Shapes and texts outside of the clip or of the page are rejected and counted.
+    */
+   @Test
+   public void testEarlyRejection() throws Exception {
+      System.out.println("PPTGraphics2DClipTest : testEarlyRejection");
+      try (HSLFSlideShow show = new HSLFSlideShow()) {
+         HSLFSlide slide = show.createSlide();
+         PPTGraphics2D g2D = new PPTGraphics2D(slide, 500, 500);
+         g2D.setFont(new Font("Dialog", Font.PLAIN, 12));
+         g2D.setColor(Color.RED);
+         g2D.setClip(0, 0, 100, 100);
+         int count = slide.getShapes().size();
+         g2D.fill(new Rectangle2D.Double(200, 200, 10, 10));
+         g2D.drawLine(200, 0, 300, 0);
+         g2D.drawString("Outside", 100, 300);
+         assertEquals(count, slide.getShapes().size(), "Shapes outside of the clip");
+         assertEquals(3, g2D.getRejectedCount(), "Rejected Shapes");
+
+         // the primitives are rejected after their transformation
+         g2D.translate(-150, -150);
+         g2D.fill(new Rectangle2D.Double(200, 200, 10, 10));
+         g2D.drawString("Inside", 160, 180);
+         assertEquals(count + 2, slide.getShapes().size(), "Shapes inside the clip");
+         assertEquals(3, g2D.getRejectedCount(), "Rejected Shapes");
+
+         g2D.setTransform(new AffineTransform());
+         g2D.setClip(null);
+         g2D.fill(new Rectangle2D.Double(1000, 1000, 10, 10));
+         assertEquals(count + 3, slide.getShapes().size(), "Shape outside of the page");
+         g2D.setRejectOutsideSlide(true);
+         g2D.fill(new Rectangle2D.Double(1000, 1000, 10, 10));
+         assertEquals(count + 3, slide.getShapes().size(), "Shape outside of the page");
+         assertEquals(4, g2D.getRejectedCount(), "Rejected Shapes");
+      }
+   }
+}
@@ -0,0 +1,114 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.ppt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+import org.apache.poi.hslf.usermodel.HSLFFreeformShape;
+import org.apache.poi.hslf.usermodel.HSLFShape;
+import org.apache.poi.hslf.usermodel.HSLFSlide;
+import org.apache.poi.hslf.usermodel.HSLFSlideShow;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the merging of Shapes in the PPTGraphics2D class.
+ *
+ * @since 0.25
+ */
+public class PPTGraphics2DMergeTest {
+
+   /**
+    * Test that consecutive Shapes with the same style are merged.
+    */
+   @Test
+   public void testMergeShapes() throws Exception {
+      System.out.println("PPTGraphics2DMergeTest : testMergeShapes");
+      try (HSLFSlideShow show = new HSLFSlideShow()) {
+         HSLFSlide slide = show.createSlide();
+         PPTGraphics2D g2D = new PPTGraphics2D(slide, 500, 500);
+         g2D.setMergeShapes(true);
+         int count = slide.getShapes().size();
+         g2D.setColor(Color.RED);
+         for (int i = 0; i < 50; i++) {
+            g2D.fill(new Rectangle2D.Double(i * 10, 100, 8, 50 + i));
+         }
+         g2D.setColor(Color.BLACK);
+         g2D.setStroke(new BasicStroke(2f));
+         for (int i = 0; i < 20; i++) {
+            g2D.draw(new Line2D.Double(0, i * 10, 500, i * 10));
+         }
+         assertEquals(count + 1, slide.getShapes().size(), "Number of Shapes before the dispose");
+         g2D.dispose();
+
+         List<HSLFShape> shapes = slide.getShapes();
+         assertEquals(count + 2, shapes.size(), "Number of Shapes");
+         HSLFFreeformShape bars = (HSLFFreeformShape) shapes.get(count);
+         assertEquals(Color.RED, bars.getFillColor(), "Bars color");
+         assertEquals(new Rectangle2D.Double(0, 100, 498, 99), bars.getPath().getBounds2D(), "Bars bounds");
+         HSLFFreeformShape lines = (HSLFFreeformShape) shapes.get(count + 1);
+         assertNull(lines.getFillColor(), "Lines fill");
+         assertEquals(Color.BLACK, lines.getLineColor(), "Lines color");
+         assertEquals(2, lines.getLineWidth(), 1e-6, "Lines width");
+      }
+   }
+
+   /**
+    * Test that the overlapping filled Shapes and the texts stop the merging.
+    */
+   @Test
+   public void testFlush() throws Exception {
+      System.out.println("PPTGraphics2DMergeTest : testFlush");
+      try (HSLFSlideShow show = new HSLFSlideShow()) {
+         HSLFSlide slide = show.createSlide();
+         PPTGraphics2D g2D = new PPTGraphics2D(slide, 500, 500);
+         g2D.setMergeShapes(true);
+         int count = slide.getShapes().size();
+         g2D.setColor(Color.BLUE);
+         g2D.fill(new Rectangle2D.Double(0, 0, 10, 10));
+         g2D.fill(new Rectangle2D.Double(10, 0, 10, 10));
+         // overlaps the first rectangle
+         g2D.fill(new Rectangle2D.Double(5, 5, 10, 10));
+         assertEquals(count + 1, slide.getShapes().size(), "Overlapping rectangle");
+         g2D.setFont(new Font("Dialog", Font.PLAIN, 12));
+         g2D.drawString("text", 100, 100);
+         assertEquals(count + 3, slide.getShapes().size(), "Text");
+         g2D.fill(new Rectangle2D.Double(200, 0, 10, 10));
+         g2D.setMergeShapes(false);
+         assertEquals(count + 4, slide.getShapes().size(), "Merging disabled");
+      }
+   }
+}
@@ -0,0 +1,150 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.ppt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.Color;
+import java.awt.LinearGradientPaint;
+import java.awt.RadialGradientPaint;
+import java.awt.TexturePaint;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import org.apache.poi.ddf.EscherPropertyTypes;
+import org.apache.poi.hslf.usermodel.HSLFAutoShape;
+import org.apache.poi.hslf.usermodel.HSLFPictureShape;
+import org.apache.poi.hslf.usermodel.HSLFShape;
+import org.apache.poi.hslf.usermodel.HSLFSlide;
+import org.apache.poi.hslf.usermodel.HSLFSlideShow;
+import org.apache.poi.sl.usermodel.PaintStyle;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the Paints in the PPTGraphics2D class.
+ *
+ * @since 0.25
+ */
+public class PPTGraphics2DPaintTest {
+
+   /**
+    * Test that a linear gradient is converted to a native gradient fill.
+    */
+   @Test
+   public void testLinearGradient() throws Exception {
+      System.out.println("PPTGraphics2DPaintTest : testLinearGradient");
+      try (HSLFSlideShow show = new HSLFSlideShow()) {
+         HSLFSlide slide = show.createSlide();
+         PPTGraphics2D g2D = new PPTGraphics2D(slide, 500, 500);
+         int count = slide.getShapes().size();
+         float[] fractions = {0f, 0.5f, 1f};
+         Color[] colors = {Color.RED, Color.GREEN, Color.BLUE};
+         g2D.setPaint(new LinearGradientPaint(0, 0, 100, 0, fractions, colors));
+         g2D.fill(new Rectangle2D.Double(10, 10, 100, 50));
+
+         List<HSLFShape> shapes = slide.getShapes();
+         assertEquals(count + 1, shapes.size(), "Number of Shapes");
+         assertTrue(shapes.get(count) instanceof HSLFAutoShape, "Gradient Shape");
+         assertEquals(0, show.getPictureData().size(), "Number of pictures");
+         HSLFAutoShape shape = (HSLFAutoShape) shapes.get(count);
+         assertEquals(PPTPaints.FILL_SHADE, shape.getFill().getFillType(), "Fill type");
+         assertEquals(90, shape.getEscherProperty(EscherPropertyTypes.FILL__ANGLE) >> 16, "Gradient angle");
+
+         PaintStyle style = shape.getFill().getFillStyle().getPaint();
+         assertTrue(style instanceof PaintStyle.GradientPaint, "Gradient style");
+         PaintStyle.GradientPaint gradient = (PaintStyle.GradientPaint) style;
+         assertEquals(PaintStyle.GradientPaint.GradientType.linear, gradient.getGradientType(), "Gradient type");
+         assertEquals(0, gradient.getGradientAngle(), 1e-3, "Gradient angle");
+         float[] fractions2 = gradient.getGradientFractions();
+         assertEquals(3, fractions2.length, "Number of stops");
+         assertEquals(0.5f, fractions2[1], 1e-3f, "Middle stop");
+         assertEquals(Color.GREEN, gradient.getGradientColors()[1].getColor(), "Middle color");
+         assertEquals(Color.BLUE, gradient.getGradientColors()[2].getColor(), "End color");
+      }
+   }
+
+   /**
+    * Test that a radial gradient is converted to a native gradient fill.
+    */
+   @Test
+   public void testRadialGradient() throws Exception {
+      System.out.println("PPTGraphics2DPaintTest : testRadialGradient");
+      try (HSLFSlideShow show = new HSLFSlideShow()) {
+         HSLFSlide slide = show.createSlide();
+         PPTGraphics2D g2D = new PPTGraphics2D(slide, 500, 500);
+         int count = slide.getShapes().size();
+         float[] fractions = {0f, 1f};
+         Color[] colors = {Color.WHITE, Color.BLACK};
+         g2D.setPaint(new RadialGradientPaint(50, 50, 200, fractions, colors));
+         g2D.fill(new Rectangle2D.Double(0, 0, 100, 100));
+
+         List<HSLFShape> shapes = slide.getShapes();
+         assertEquals(count + 1, shapes.size(), "Number of Shapes");
+         assertEquals(0, show.getPictureData().size(), "Number of pictures");
+         HSLFAutoShape shape = (HSLFAutoShape) shapes.get(count);
+         assertEquals(PPTPaints.FILL_SHADE_CENTER, shape.getFill().getFillType(), "Fill type");
+         assertEquals(0x8000, shape.getEscherProperty(EscherPropertyTypes.FILL__TOLEFT), "Focus");
+         PaintStyle.GradientPaint gradient = (PaintStyle.GradientPaint) shape.getFill().getFillStyle().getPaint();
+         assertEquals(Color.WHITE, gradient.getGradientColors()[0].getColor(), "Center color");
+         // the bounds corners are at 70.7 of the center, so the end color is not reached
+         Color end = gradient.getGradientColors()[1].getColor();
+         assertEquals(165, end.getRed(), 1, "End color");
+      }
+   }
+
+   /**
+    * Test that the rasterized Paints are only rasterized once.
+    */
+   @Test
+   public void testRasterCache() throws Exception {
+      System.out.println("PPTGraphics2DPaintTest : testRasterCache");
+      try (HSLFSlideShow show = new HSLFSlideShow()) {
+         HSLFSlide slide = show.createSlide();
+         PPTGraphics2D g2D = new PPTGraphics2D(slide, 500, 500);
+         BufferedImage image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+         image.setRGB(0, 0, Color.RED.getRGB());
+         g2D.setPaint(new TexturePaint(image, new Rectangle2D.Double(0, 0, 4, 4)));
+         g2D.fill(new Rectangle2D.Double(10, 10, 20, 20));
+         g2D.setPaint(new TexturePaint(image, new Rectangle2D.Double(0, 0, 4, 4)));
+         g2D.fill(new Rectangle2D.Double(100, 100, 20, 20));
+         g2D.fill(new Rectangle2D.Double(100, 100, 30, 20));
+
+         int pictures = 0;
+         for (HSLFShape shape : slide.getShapes()) {
+            if (shape instanceof HSLFPictureShape) {
+               pictures++;
+            }
+         }
+         assertEquals(3, pictures, "Number of picture Shapes");
+         assertEquals(2, show.getPictureData().size(), "Number of pictures");
+      }
+   }
+}
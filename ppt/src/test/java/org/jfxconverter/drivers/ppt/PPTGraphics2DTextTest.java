@@ -0,0 +1,81 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.ppt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.Font;
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+import org.apache.poi.hslf.usermodel.HSLFShape;
+import org.apache.poi.hslf.usermodel.HSLFSlide;
+import org.apache.poi.hslf.usermodel.HSLFSlideShow;
+import org.apache.poi.hslf.usermodel.HSLFTextBox;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the texts in the PPTGraphics2D class.
+ *
+ * @since 0.25
+ */
+public class PPTGraphics2DTextTest {
+
+   /**
+    * Test that the texts drawn with cached measures are positioned as the first one.
+    */
+   @Test
+   public void testCachedMeasures() throws Exception {
+      System.out.println("PPTGraphics2DTextTest : testCachedMeasures");
+      try (HSLFSlideShow show = new HSLFSlideShow()) {
+         HSLFSlide slide = show.createSlide();
+         PPTGraphics2D g2D = new PPTGraphics2D(slide, 500, 500);
+         Font font = new Font("Dialog", Font.PLAIN, 12);
+         g2D.setFont(font);
+         assertSame(g2D.getFontMetrics(font), g2D.getFontMetrics(new Font("Dialog", Font.PLAIN, 12)), "FontMetrics");
+         int count = slide.getShapes().size();
+         g2D.drawString("Cell", 10, 20);
+         g2D.drawString("Cell", 10, 120);
+         PPTGraphics2D g2D2 = (PPTGraphics2D) g2D.create();
+         g2D2.translate(100, 0);
+         g2D2.drawString("Cell", 10, 20);
+         g2D2.dispose();
+
+         List<HSLFShape> shapes = slide.getShapes();
+         assertEquals(count + 3, shapes.size(), "Number of texts");
+         Rectangle2D anchor1 = ((HSLFTextBox) shapes.get(count)).getAnchor();
+         Rectangle2D anchor2 = ((HSLFTextBox) shapes.get(count + 1)).getAnchor();
+         Rectangle2D anchor3 = ((HSLFTextBox) shapes.get(count + 2)).getAnchor();
+         assertEquals(anchor1.getWidth(), anchor2.getWidth(), 1e-6, "Same width");
+         assertEquals(100, anchor2.getY() - anchor1.getY(), 1, "Vertical offset");
+         assertEquals(100, anchor3.getX() - anchor1.getX(), 1, "Horizontal offset");
+      }
+   }
+}
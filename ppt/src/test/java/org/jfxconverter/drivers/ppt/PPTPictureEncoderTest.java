@@ -0,0 +1,124 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.ppt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import javax.imageio.ImageIO;
+import org.apache.poi.hslf.usermodel.HSLFPictureData;
+import org.apache.poi.hslf.usermodel.HSLFSlide;
+import org.apache.poi.hslf.usermodel.HSLFSlideShow;
+import org.apache.poi.sl.usermodel.PictureData;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the PPTPictureEncoder class.
+ *
+ * @since 0.25
+ */
+public class PPTPictureEncoderTest {
+
+   private static BufferedImage createImage(int type, Color color) {
+      BufferedImage image = new BufferedImage(8, 8, type);
+      for (int x = 0; x < 8; x++) {
+         image.setRGB(x, x, color.getRGB());
+      }
+      return image;
+   }
+
+   /**
+    * Test that the images with the same pixels share the same picture.
+    */
+   @Test
+   public void testDeduplication() throws Exception {
+      System.out.println("PPTPictureEncoderTest : testDeduplication");
+      try (HSLFSlideShow show = new HSLFSlideShow()) {
+         HSLFSlide slide = show.createSlide();
+         PPTGraphics2D g2D = new PPTGraphics2D(slide, 500, 500);
+         int count = slide.getShapes().size();
+         g2D.drawImage(createImage(BufferedImage.TYPE_INT_ARGB, Color.RED), 10, 10, null);
+         // same pixels in another image
+         g2D.drawImage(createImage(BufferedImage.TYPE_INT_ARGB, Color.RED), 100, 10, null);
+         g2D.drawImage(createImage(BufferedImage.TYPE_INT_ARGB, Color.BLUE), 200, 10, null);
+
+         assertEquals(count + 3, slide.getShapes().size(), "Number of Shapes");
+         assertEquals(2, show.getPictureData().size(), "Number of pictures");
+         assertEquals(2, g2D.getPictureEncoder().getPicturesCount(), "Number of encoded pictures");
+      }
+   }
+
+   /**
+    * Test the encoding of the opaque images as JPEG, and the encoded images passed through.
+    */
+   @Test
+   public void testEncoding() throws Exception {
+      System.out.println("PPTPictureEncoderTest : testEncoding");
+      try (HSLFSlideShow show = new HSLFSlideShow()) {
+         PPTPictureEncoder encoder = new PPTPictureEncoder();
+         encoder.setJPEGQuality(0.8f);
+         HSLFPictureData picture = encoder.addPicture(show, createImage(BufferedImage.TYPE_INT_RGB, Color.RED));
+         assertEquals(PictureData.PictureType.JPEG, picture.getType(), "Opaque image type");
+         picture = encoder.addPicture(show, createImage(BufferedImage.TYPE_INT_ARGB, Color.RED));
+         assertEquals(PictureData.PictureType.PNG, picture.getType(), "Translucent image type");
+
+         ByteArrayOutputStream stream = new ByteArrayOutputStream();
+         ImageIO.write(createImage(BufferedImage.TYPE_INT_ARGB, Color.GREEN), "png", stream);
+         byte[] data = stream.toByteArray();
+         HSLFPictureData encoded = encoder.addPicture(show, data, PictureData.PictureType.PNG);
+         assertTrue(Arrays.equals(data, encoded.getData()), "Passed through data");
+         assertSame(encoded, encoder.addPicture(show, data.clone(), PictureData.PictureType.PNG), "Same encoded data");
+         assertEquals(3, show.getPictureData().size(), "Number of pictures");
+      }
+   }
+
+   /**
+    * Test that clearing the encoder releases the pictures of the SlideShow.
+    */
+   @Test
+   public void testClear() throws Exception {
+      System.out.println("PPTPictureEncoderTest : testClear");
+      try (HSLFSlideShow show = new HSLFSlideShow()) {
+         PPTPictureEncoder encoder = new PPTPictureEncoder();
+         encoder.addPicture(show, createImage(BufferedImage.TYPE_INT_ARGB, Color.RED));
+         assertEquals(1, encoder.getPicturesCount(), "Number of encoded pictures");
+         encoder.clear();
+         assertEquals(0, encoder.getPicturesCount(), "Number of encoded pictures after clear");
+         // the encoder can still be used after clear
+         HSLFPictureData picture = encoder.addPicture(show, createImage(BufferedImage.TYPE_INT_ARGB, Color.BLUE));
+         assertEquals(PictureData.PictureType.PNG, picture.getType(), "Image type");
+         assertEquals(1, encoder.getPicturesCount(), "Number of encoded pictures");
+      }
+   }
+}
@@ -0,0 +1,177 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.pptx;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.apache.poi.xslf.usermodel.XSLFFreeformShape;
+import org.apache.poi.xslf.usermodel.XSLFPictureShape;
+import org.apache.poi.xslf.usermodel.XSLFShape;
+import org.apache.poi.xslf.usermodel.XSLFSlide;
+import org.apache.poi.xslf.usermodel.XSLFTextBox;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the PPTXGraphics2D class and of the PPTX package writer.
+ *
+ * @since 0.25
+ */
+public class PPTXGraphics2DTest {
+
+   private static BufferedImage createImage(Color color) {
+      BufferedImage image = new BufferedImage(8, 8, BufferedImage.TYPE_INT_ARGB);
+      for (int x = 0; x < 8; x++) {
+         image.setRGB(x, x, color.getRGB());
+      }
+      return image;
+   }
+
+   private static boolean contains(byte[] bytes, String text) {
+      return new String(bytes, StandardCharsets.ISO_8859_1).contains(text);
+   }
+
+   /**
+    * Test that the slides are written in the Stream as soon as they are finished, and that the package can be read.
+    */
+   @Test
+   public void testPackage() throws Exception {
+      System.out.println("PPTXGraphics2DTest : testPackage");
+      ByteArrayOutputStream stream = new ByteArrayOutputStream();
+      try (PPTXPackageWriter writer = new PPTXPackageWriter(stream)) {
+         PPTXSlide slide = writer.createSlide(400, 300);
+         PPTXGraphics2D g2D = new PPTXGraphics2D(slide, 400, 300, Color.WHITE, Color.BLACK);
+         g2D.setColor(new Color(255, 0, 0, 128));
+         g2D.fill(new Ellipse2D.Double(10, 10, 100, 50));
+         g2D.setColor(Color.BLUE);
+         g2D.setStroke(new BasicStroke(2f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10f, new float[]{4f, 2f}, 0f));
+         g2D.drawLine(10, 100, 200, 100);
+         g2D.setFont(new Font("Dialog", Font.BOLD, 12));
+         g2D.drawString("Hello <World>", 20, 150);
+         g2D.drawImage(createImage(Color.GREEN), 250, 10, null);
+         g2D.dispose();
+         slide.finish();
+         assertTrue(slide.isFinished(), "Slide finished");
+         assertTrue(contains(stream.toByteArray(), "ppt/slides/slide1.xml"), "Slide written before the end");
+
+         slide = writer.createSlide(600, 500);
+         g2D = new PPTXGraphics2D(slide, 600, 500, Color.WHITE, Color.BLACK);
+         // the same image is only written once in the package
+         g2D.drawImage(createImage(Color.GREEN), 10, 10, null);
+         g2D.setPaint(new GradientPaint(0, 0, Color.RED, 100, 0, Color.YELLOW));
+         g2D.fillRect(50, 50, 100, 100);
+         g2D.dispose();
+         assertFalse(contains(stream.toByteArray(), "ppt/slides/slide2.xml"), "Slide not finished");
+         assertEquals(2, writer.getSlidesCount(), "Number of slides");
+         assertEquals(2, writer.getPicturesCount(), "Number of pictures");
+      }
+
+      try (XMLSlideShow show = new XMLSlideShow(new ByteArrayInputStream(stream.toByteArray()))) {
+         List<XSLFSlide> slides = show.getSlides();
+         assertEquals(2, slides.size(), "Number of slides");
+         assertEquals(600, show.getPageSize().getWidth(), 1, "Presentation width");
+         assertEquals(2, show.getPictureData().size(), "Number of pictures");
+
+         List<XSLFShape> shapes = slides.get(0).getShapes();
+         // background, ellipse, line, text, and image
+         assertEquals(5, shapes.size(), "Number of Shapes");
+         assertTrue(shapes.get(1) instanceof XSLFFreeformShape, "Freeform Shape");
+         XSLFFreeformShape ellipse = (XSLFFreeformShape) shapes.get(1);
+         assertEquals(10, ellipse.getAnchor().getX(), 0.01, "Ellipse x");
+         assertEquals(100, ellipse.getAnchor().getWidth(), 0.01, "Ellipse width");
+         assertEquals(new Color(255, 0, 0, 128), ellipse.getFillColor(), "Ellipse color");
+         XSLFFreeformShape line = (XSLFFreeformShape) shapes.get(2);
+         assertEquals(Color.BLUE, line.getLineColor(), "Line color");
+         assertEquals(2, line.getLineWidth(), 0.01, "Line width");
+         assertTrue(shapes.get(3) instanceof XSLFTextBox, "Text box");
+         XSLFTextBox text = (XSLFTextBox) shapes.get(3);
+         assertEquals("Hello <World>", text.getText(), "Text");
+         assertTrue(text.getTextParagraphs().get(0).getTextRuns().get(0).isBold(), "Bold text");
+         assertTrue(shapes.get(4) instanceof XSLFPictureShape, "Picture");
+         assertEquals(8, shapes.get(4).getAnchor().getWidth(), 0.01, "Picture width");
+
+         shapes = slides.get(1).getShapes();
+         assertEquals(3, shapes.size(), "Number of Shapes");
+         XSLFPictureShape pict = (XSLFPictureShape) shapes.get(1);
+         assertEquals(((XSLFPictureShape) slides.get(0).getShapes().get(4)).getPictureData().getFileName(),
+            pict.getPictureData().getFileName(), "Shared picture");
+      }
+   }
+
+   /**
+    * Test the clipping and the transformation of the graphic orders.
+    */
+   @Test
+   public void testClipAndTransform() throws Exception {
+      System.out.println("PPTXGraphics2DTest : testClipAndTransform");
+      ByteArrayOutputStream stream = new ByteArrayOutputStream();
+      try (PPTXPackageWriter writer = new PPTXPackageWriter(stream)) {
+         PPTXSlide slide = writer.createSlide(400, 300);
+         PPTXGraphics2D g2D = new PPTXGraphics2D(slide, 400, 300, Color.WHITE, Color.BLACK);
+         int count = slide.getShapesCount();
+         g2D.setClip(0, 0, 100, 100);
+         g2D.fillRect(200, 200, 10, 10);
+         g2D.drawImage(createImage(Color.RED), 200, 200, null);
+         g2D.drawString("Outside", 200, 200);
+         assertEquals(count, slide.getShapesCount(), "Rejected Shapes");
+
+         g2D.fillRect(50, 50, 100, 100);
+         g2D.drawImage(createImage(Color.RED), 96, 10, null);
+         g2D.setClip(null);
+         g2D.translate(100, 100);
+         g2D.rotate(Math.PI / 2);
+         g2D.drawString("Rotated", 0, 0);
+         assertEquals(count + 3, slide.getShapesCount(), "Number of Shapes");
+         g2D.dispose();
+      }
+
+      try (XMLSlideShow show = new XMLSlideShow(new ByteArrayInputStream(stream.toByteArray()))) {
+         List<XSLFShape> shapes = show.getSlides().get(0).getShapes();
+         assertEquals(4, shapes.size(), "Number of Shapes");
+         assertEquals(50, shapes.get(1).getAnchor().getWidth(), 0.01, "Clipped rectangle width");
+         XSLFPictureShape pict = (XSLFPictureShape) shapes.get(2);
+         assertEquals(4, pict.getAnchor().getWidth(), 0.01, "Cropped picture width");
+         // the cropping is in thousandths of percent
+         assertEquals(50000, pict.getClipping().right, "Cropped picture right");
+         assertEquals(90, ((XSLFTextBox) shapes.get(3)).getRotation(), 0.01, "Text rotation");
+      }
+   }
+}
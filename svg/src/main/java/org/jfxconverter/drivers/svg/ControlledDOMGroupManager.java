@@ -45,9 +45,18 @@ import java.util.Map;
  * This class is used by the Graphics2D SVG Generator to manage a group of Nodes that can later be added to the SVG DOM Tree
  * managed by the DOMTreeManager. It must ne used with {@link ControlledDOMTreeManager} class.
  *
- * @version 0.21
+ * <p>
+ * If the graphic context is a {@link VersionedGraphicContext}, the conversion of the graphic context and its delta with
+ * the group graphic context are reused for consecutive elements as long as the graphic context is not modified.</p>
+ *
+ * @version 0.25
  */
 public class ControlledDOMGroupManager extends DOMGroupManager implements SVGGeneratorConstants {
+   private long cachedVersion = -1;
+   private SVGGraphicContext cachedGroupGC = null;
+   private Map cachedGroupDelta = null;
+   private Map cachedElementContext = null;
+   private TransformStackElement[] cachedTransformStack = null;
 
    /**
     * Constructor
@@ -107,6 +116,36 @@ public class ControlledDOMGroupManager extends DOMGroupManager implements SVGGen
       return mapDelta;
    }
 
+   /**
+    * Return the delta between the current graphic context and the group graphic context. The delta is reused if neither
+    * the graphic context nor the group graphic context have changed since the last call. The group context of the
+    * result is always a new Map because it is modified by the caller.
+    * <p>
+    * The delta is never reused for texts if the fonts are embedded, because the conversion of the graphic context
+    * creates the glyphs of the characters used by the text.</p>
+    *
+    * @param element the element
+    */
+   private SVGGraphicContext getDeltaGC(Element element) {
+      if (!(gc instanceof VersionedGraphicContext) || (SVG_TEXT_TAG.equals(element.getTagName())
+         && ((ControlledDOMTreeManager) domTreeManager).getGeneratorContextAsPublic().isEmbeddedFontsOn())) {
+         SVGGraphicContext elementGC = domTreeManager.getGraphicContextConverter().toSVG(gc);
+         return processDeltaGC(elementGC, groupGC);
+      }
+      long version = ((VersionedGraphicContext) gc).getVersion();
+      if (version != cachedVersion || groupGC != cachedGroupGC) {
+         SVGGraphicContext elementGC = domTreeManager.getGraphicContextConverter().toSVG(gc);
+         SVGGraphicContext deltaGC = processDeltaGC(elementGC, groupGC);
+         cachedVersion = version;
+         cachedGroupGC = groupGC;
+         cachedGroupDelta = new HashMap<>(deltaGC.getGroupContext());
+         cachedElementContext = new HashMap<>(deltaGC.getGraphicElementContext());
+         cachedTransformStack = deltaGC.getTransformStack();
+         return deltaGC;
+      }
+      return new SVGGraphicContext(new HashMap<>(cachedGroupDelta), cachedElementContext, cachedTransformStack);
+   }
+
    /**
     * Reset the state of this object to handle a new currentGroup
     */
@@ -164,8 +203,7 @@ public class ControlledDOMGroupManager extends DOMGroupManager implements SVGGen
          // out delta between current gc and group
          // context
          //
-         SVGGraphicContext elementGC = domTreeManager.getGraphicContextConverter().toSVG(gc);
-         SVGGraphicContext deltaGC = processDeltaGC(elementGC, groupGC);
+         SVGGraphicContext deltaGC = getDeltaGC(element);
 
          // If there are less than the maximum number
          // of differences, then add the node to the current
@@ -33,6 +33,7 @@ package org.jfxconverter.drivers.svg;
 
 import javafx.scene.Node;
 import javafx.scene.effect.Effect;
+import org.apache.batik.svggen.SVGGeneratorContext;
 import org.jfxconverter.utils.ExtendedGraphics2D;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -42,7 +43,7 @@ import java.util.Stack;
 /**
  * A SVGGraphics2D which has an added extension handler to handle Groups and Effects.
  *
- * @version 0.21
+ * @version 0.25
  */
 public class ConvertorJFXSVGGraphics2D extends ConvertorSVGGraphics2D implements ExtendedGraphics2D<Node, Effect> {
    private ControlledDOMGroupManager groupmanager = null;
@@ -55,6 +56,15 @@ public class ConvertorJFXSVGGraphics2D extends ConvertorSVGGraphics2D implements
       super(doc);
    }
 
+   /**
+    * Create a Graphics2D using an existing generator context.
+    *
+    * @param generatorCtx the generator context
+    */
+   public ConvertorJFXSVGGraphics2D(SVGGeneratorContext generatorCtx) {
+      super(generatorCtx);
+   }
+
    /**
     * Set if grouping is supported. If supported, a {@link org.apache.poi.hslf.usermodel.HSLFGroupShape} will be created
     * when the method {@link #startGroup(String, Node)} is called.
@@ -65,6 +75,10 @@ public class ConvertorJFXSVGGraphics2D extends ConvertorSVGGraphics2D implements
       this.supportGroups = b;
       // register managers
       if (treemanager == null) {
+         // count the graphic context modifications so that the group manager can reuse its conversion
+         if (!(gc instanceof VersionedGraphicContext)) {
+            gc = new VersionedGraphicContext(gc);
+         }
          treemanager = new ControlledDOMTreeManager(getGraphicContext(), getGeneratorContext());
          groupmanager = new ControlledDOMGroupManager(getGraphicContext(), treemanager);
          treemanager.addGroupManager(groupmanager);
@@ -32,8 +32,10 @@ the project website at the project page on https://sourceforge.net/projects/jfxc
 package org.jfxconverter.drivers.svg;
 
 import org.apache.batik.svggen.SVGCSSStyler;
+import org.apache.batik.svggen.SVGGeneratorContext;
 import org.apache.batik.svggen.SVGGraphics2D;
 import org.apache.batik.svggen.SVGGraphics2DIOException;
+import org.apache.batik.svggen.SVGShape;
 import org.apache.batik.util.SVGConstants;
 import org.w3c.dom.*;
 
@@ -43,12 +45,67 @@ import java.io.Writer;
 /**
  * A SVGGraphics2D which has an added extension handler to handle Color gradients.
  *
- * @version 0.23
+ * @version 0.25
  */
 public class ConvertorSVGGraphics2D extends SVGGraphics2D {
+   private boolean compactOutput = false;
+   private boolean optimizedPaths = true;
+
    public ConvertorSVGGraphics2D(Document doc) {
       super(doc);
       this.setExtensionHandler(new SVGExtensionHandler());
+      this.shapeConverter = new SVGOptimizedShape(generatorCtx);
+   }
+
+   /**
+    * Create a Graphics2D using an existing generator context. The DOM factory of the generator context is the document
+    * in which the SVG content is created.
+    *
+    * @param generatorCtx the generator context
+    */
+   public ConvertorSVGGraphics2D(SVGGeneratorContext generatorCtx) {
+      super(generatorCtx, false);
+      this.setExtensionHandler(new SVGExtensionHandler());
+      this.shapeConverter = new SVGOptimizedShape(generatorCtx);
+   }
+
+   /**
+    * Set if the path data is encoded in its shortest form, using the {@link SVGPathEncoder}. The default is true.
+    *
+    * @param optimizedPaths true if the path data is encoded in its shortest form
+    */
+   public void setOptimizedPaths(boolean optimizedPaths) {
+      if (optimizedPaths != this.optimizedPaths) {
+         this.optimizedPaths = optimizedPaths;
+         shapeConverter = optimizedPaths ? new SVGOptimizedShape(generatorCtx) : new SVGShape(generatorCtx);
+      }
+   }
+
+   /**
+    * Return true if the path data is encoded in its shortest form.
+    *
+    * @return true if the path data is encoded in its shortest form
+    */
+   public boolean isOptimizingPaths() {
+      return optimizedPaths;
+   }
+
+   /**
+    * Set if the SVG content is streamed without indenting the elements. The default is false.
+    *
+    * @param compactOutput true if the SVG content is streamed without indenting the elements
+    */
+   public void setCompactOutput(boolean compactOutput) {
+      this.compactOutput = compactOutput;
+   }
+
+   /**
+    * Return true if the SVG content is streamed without indenting the elements.
+    *
+    * @return true if the SVG content is streamed without indenting the elements
+    */
+   public boolean isCompactOutput() {
+      return compactOutput;
    }
 
    /**
@@ -75,7 +132,8 @@ public class ConvertorSVGGraphics2D extends SVGGraphics2D {
 
    /**
     * Stream the content.
-    * Changes from the Batik original class: use our custom XmlWriter implementation.
+    * Changes from the Batik original class: use our custom XmlWriter implementation, which does not indent the elements
+    * if the output is compact.
     *
     * @param svgRoot root element to stream out
     * @param writer output
@@ -108,7 +166,7 @@ public class ConvertorSVGGraphics2D extends SVGGraphics2D {
             SVGCSSStyler.style(svgDocument);
          }
 
-         XmlWriter.writeXml(svgDocument, writer, escaped);
+         XmlWriter.writeXml(svgDocument, writer, escaped, compactOutput);
          writer.flush();
       } catch (SVGGraphics2DIOException e) {
          // this catch prevents from catching an SVGGraphics2DIOException
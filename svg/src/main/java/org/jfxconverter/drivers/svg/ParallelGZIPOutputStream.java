@@ -0,0 +1,254 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.svg;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * An OutputStream which writes the GZIP format, and compresses the data in parallel.
+ *
+ * <p>
+ * The data is cut in blocks which are compressed independently on several threads, each block using the end of the
+ * previous block as its dictionary. The compressed blocks are flushed on a byte boundary and concatenated in order,
+ * so that the result is one valid GZIP stream which can be read by any GZIP reader. The compression ratio is very
+ * close to the ratio of a {@link java.util.zip.GZIPOutputStream} with the same level.</p>
+ *
+ * @since 0.25
+ */
+public class ParallelGZIPOutputStream extends FilterOutputStream {
+   /**
+    * The default size of the blocks.
+    */
+   public static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+   private static final int DICTIONARY_SIZE = 32 * 1024;
+   private static final byte[] HEADER = {(byte) 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+   private final int level;
+   private final int blockSize;
+   private final int maxPendingBlocks;
+   private final ExecutorService executor;
+   private final Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+   private final CRC32 crc = new CRC32();
+   private long size = 0;
+   private byte[] block;
+   private int count = 0;
+   private byte[] previousBlock = null;
+   private int previousCount = 0;
+   private boolean closed = false;
+
+   /**
+    * Constructor.
+    *
+    * @param out the underlying OutputStream
+    * @param level the compression level, from 0 to 9, or {@link Deflater#DEFAULT_COMPRESSION}
+    * @param blockSize the size of the blocks
+    * @param threads the number of compression threads
+    * @throws IOException if the GZIP header could not be written
+    */
+   public ParallelGZIPOutputStream(OutputStream out, int level, int blockSize, int threads) throws IOException {
+      super(out);
+      this.level = level;
+      this.blockSize = Math.max(blockSize, DICTIONARY_SIZE);
+      int nThreads = Math.max(1, threads);
+      this.maxPendingBlocks = 2 * nThreads;
+      this.executor = Executors.newFixedThreadPool(nThreads, r -> {
+         Thread thread = new Thread(r, "ParallelGZIP");
+         thread.setDaemon(true);
+         return thread;
+      });
+      this.block = new byte[this.blockSize];
+      out.write(HEADER);
+   }
+
+   /**
+    * Constructor, using one compression thread for each available processor.
+    *
+    * @param out the underlying OutputStream
+    * @param level the compression level, from 0 to 9, or {@link Deflater#DEFAULT_COMPRESSION}
+    * @throws IOException if the GZIP header could not be written
+    */
+   public ParallelGZIPOutputStream(OutputStream out, int level) throws IOException {
+      this(out, level, DEFAULT_BLOCK_SIZE, Runtime.getRuntime().availableProcessors());
+   }
+
+   @Override
+   public void write(int b) throws IOException {
+      ensureOpen();
+      block[count++] = (byte) b;
+      if (count == blockSize) {
+         submitBlock(false);
+      }
+   }
+
+   @Override
+   public void write(byte[] b, int off, int len) throws IOException {
+      ensureOpen();
+      while (len > 0) {
+         int n = Math.min(len, blockSize - count);
+         System.arraycopy(b, off, block, count, n);
+         count += n;
+         off += n;
+         len -= n;
+         if (count == blockSize) {
+            submitBlock(false);
+         }
+      }
+   }
+
+   /**
+    * Write the blocks which have already been compressed, and flush the underlying OutputStream. The current block is
+    * not compressed, to avoid degrading the compression.
+    *
+    * @throws IOException if an I/O error occurs
+    */
+   @Override
+   public void flush() throws IOException {
+      ensureOpen();
+      while (!pendingBlocks.isEmpty() && pendingBlocks.peekFirst().isDone()) {
+         writeFirstBlock();
+      }
+      out.flush();
+   }
+
+   /**
+    * Compress the remaining data, write the GZIP trailer, and close the underlying OutputStream.
+    *
+    * @throws IOException if an I/O error occurs
+    */
+   @Override
+   public void close() throws IOException {
+      if (closed) {
+         return;
+      }
+      try {
+         submitBlock(true);
+         while (!pendingBlocks.isEmpty()) {
+            writeFirstBlock();
+         }
+         writeInt((int) crc.getValue());
+         writeInt((int) size);
+         out.flush();
+      } finally {
+         closed = true;
+         executor.shutdownNow();
+         out.close();
+      }
+   }
+
+   private void ensureOpen() throws IOException {
+      if (closed) {
+         throw new IOException("Stream closed");
+      }
+   }
+
+   private void writeInt(int value) throws IOException {
+      out.write(value & 0xff);
+      out.write((value >>> 8) & 0xff);
+      out.write((value >>> 16) & 0xff);
+      out.write((value >>> 24) & 0xff);
+   }
+
+   private void submitBlock(boolean last) throws IOException {
+      final byte[] data = block;
+      final int length = count;
+      final byte[] dictionary = previousBlock;
+      final int dictionaryEnd = previousCount;
+      crc.update(data, 0, length);
+      size += length;
+      pendingBlocks.addLast(executor.submit(() -> compress(data, length, dictionary, dictionaryEnd, last)));
+      previousBlock = data;
+      previousCount = length;
+      if (!last) {
+         block = new byte[blockSize];
+         count = 0;
+      }
+      while (pendingBlocks.size() > maxPendingBlocks) {
+         writeFirstBlock();
+      }
+   }
+
+   private void writeFirstBlock() throws IOException {
+      Future<byte[]> future = pendingBlocks.removeFirst();
+      try {
+         out.write(future.get());
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new InterruptedIOException();
+      } catch (ExecutionException e) {
+         throw new IOException(e.getCause());
+      }
+   }
+
+   /**
+    * Compress a block. The block is flushed on a byte boundary, except for the last block which terminates the deflate
+    * stream.
+    */
+   private byte[] compress(byte[] data, int length, byte[] dictionary, int dictionaryEnd, boolean last) {
+      Deflater deflater = new Deflater(level, true);
+      try {
+         if (dictionary != null) {
+            int dictionaryLength = Math.min(DICTIONARY_SIZE, dictionaryEnd);
+            deflater.setDictionary(dictionary, dictionaryEnd - dictionaryLength, dictionaryLength);
+         }
+         deflater.setInput(data, 0, length);
+         ByteArrayOutputStream result = new ByteArrayOutputStream(length / 2 + 64);
+         byte[] buf = new byte[16384];
+         if (last) {
+            deflater.finish();
+            while (!deflater.finished()) {
+               int n = deflater.deflate(buf);
+               result.write(buf, 0, n);
+            }
+         } else {
+            int n;
+            do {
+               n = deflater.deflate(buf, 0, buf.length, Deflater.SYNC_FLUSH);
+               result.write(buf, 0, n);
+            } while (n == buf.length);
+         }
+         return result.toByteArray();
+      } finally {
+         deflater.end();
+      }
+   }
+}
@@ -34,6 +34,7 @@ package org.jfxconverter.drivers.svg;
 import javafx.embed.swing.JFXPanel;
 import javafx.scene.Node;
 import org.apache.batik.dom.svg.SVGDOMImplementation;
+import org.apache.batik.svggen.SVGGeneratorContext;
 import org.apache.batik.svggen.SVGGraphics2D;
 import org.apache.batik.transcoder.TranscoderException;
 import org.apache.batik.transcoder.TranscoderOutput;
@@ -48,16 +49,62 @@ import org.w3c.dom.Text;
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * An utility class to convert Nodes to SVG content.
  *
- * @version 0.23
+ * <h1>Streaming</h1>
+ * By default the SVG content is first created as a DOM Document, which is written to the output at the end of the
+ * conversion. If {@link #setStreaming(boolean)} is set to true, a {@link SVGStreamGraphics2D} is used instead, which
+ * writes the SVG content to the output as the Nodes are converted, so that the memory used by the conversion does not
+ * depend on the size of the Node tree.
+ *
+ * <h1>Shared styles</h1>
+ * If {@link #setSharedStyles(boolean)} is set to true, the styles which are repeated in the SVG content are defined
+ * once as CSS classes, see {@link SVGStyleSheetHandler}. This option has no effect when streaming.
+ *
+ * <h1>Fonts</h1>
+ * If {@link #setEmbeddedFonts(boolean)} is set to true, the glyphs used by the texts are embedded in the SVG content as
+ * one SVG font for each font, so that the texts are rendered with the same font on all the platforms.
+ *
+ * <h1>Images</h1>
+ * The images are handled by a {@link SVGImageHandler}, which only encodes each distinct image once. The images can be
+ * written as external files in a directory next to the SVG file with {@link #setExternalImages(boolean)}.
+ *
+ * <h1>Compression</h1>
+ * The SVG files whose name ends with <code>.svgz</code>, or all the SVG files if {@link #setCompressed(boolean)} is
+ * set to true, are compressed with GZIP while being written. If more than one compression thread is set with
+ * {@link #setCompressionThreads(int)}, the content is compressed in parallel with a {@link ParallelGZIPOutputStream}.
+ *
+ * <h1>Concurrency</h1>
+ * The converter does not keep any state about the conversions, so the same instance can be used to perform several
+ * conversions concurrently, for example in a server. Its options should be set before sharing it between threads.
+ * Each conversion creates its own Batik generator context.
+ *
+ * @version 0.25
  */
 public class SVGConverter {
-   private SVGGraphics2D g2D = null;
-   private Color background = null;
+   private static volatile boolean platformInitialized = false;
+   private volatile Color background = null;
+   private volatile boolean streaming = false;
+   private volatile int precision = SVGNumberFormat.DEFAULT_PRECISION;
+   private volatile boolean sharedStyles = false;
+   private volatile int imageDeflateLevel = SVGImageHandler.DEFAULT_DEFLATE_LEVEL;
+   private volatile float jpegQuality = 0f;
+   private volatile boolean externalImages = false;
+   private volatile boolean compressed = false;
+   private volatile boolean compactOutput = false;
+   private volatile boolean optimizedPaths = true;
+   private volatile boolean flattenGroups = false;
+   private volatile boolean embeddedFonts = false;
+   private volatile int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+   private volatile int compressionBufferSize = 65536;
+   private volatile int compressionThreads = 1;
 
    /**
     * Convert a Node in a SVG file, with a default title.
@@ -108,17 +155,30 @@ public class SVGConverter {
     * @throws Exception
     */
    public void convert(Node node, File file, String title, boolean isExtended) throws Exception {
-      // make sure that the JavaFX Platform is initialized, the Panel is not used
-      new JFXPanel();
+      initializePlatform();
       createSVGDocument(node, file, title, isExtended);
    }
 
    public void convert(Node node, BufferedWriter out, String title, boolean isExtended) throws Exception {
-      // make sure that the JavaFX Platform is initialized, the Panel is not used
-      new JFXPanel();
+      initializePlatform();
       createSVGDocument(node, out, title, isExtended);
    }
 
+   /**
+    * Make sure that the JavaFX Platform is initialized. This is only done for the first conversion.
+    */
+   private static void initializePlatform() {
+      if (!platformInitialized) {
+         synchronized (SVGConverter.class) {
+            if (!platformInitialized) {
+               // the Panel is not used
+               new JFXPanel();
+               platformInitialized = true;
+            }
+         }
+      }
+   }
+
    /**
     * Set the background color used for the conversion.
     *
@@ -137,6 +197,273 @@ public class SVGConverter {
       return background;
    }
 
+   /**
+    * Set the maximum number of decimal places of the numbers in the SVG content. The default is
+    * {@link SVGNumberFormat#DEFAULT_PRECISION}.
+    *
+    * @param precision the maximum number of decimal places
+    */
+   public void setPrecision(int precision) {
+      this.precision = Math.max(0, Math.min(precision, SVGNumberFormat.MAX_PRECISION));
+   }
+
+   /**
+    * Return the maximum number of decimal places of the numbers in the SVG content.
+    *
+    * @return the maximum number of decimal places
+    */
+   public int getPrecision() {
+      return precision;
+   }
+
+   /**
+    * Set if the styles which are repeated in the SVG content are defined once as CSS classes.
+    *
+    * @param sharedStyles true if the repeated styles are defined as CSS classes
+    */
+   public void setSharedStyles(boolean sharedStyles) {
+      this.sharedStyles = sharedStyles;
+   }
+
+   /**
+    * Return true if the styles which are repeated in the SVG content are defined once as CSS classes.
+    *
+    * @return true if the repeated styles are defined as CSS classes
+    */
+   public boolean isSharingStyles() {
+      return sharedStyles;
+   }
+
+   /**
+    * Set the deflate level used to encode the PNG images, from 0 (no compression) to 9 (best compression).
+    *
+    * @param deflateLevel the deflate level
+    * @see SVGImageHandler#setDeflateLevel(int)
+    */
+   public void setImageDeflateLevel(int deflateLevel) {
+      this.imageDeflateLevel = deflateLevel;
+   }
+
+   /**
+    * Return the deflate level used to encode the PNG images.
+    *
+    * @return the deflate level
+    */
+   public int getImageDeflateLevel() {
+      return imageDeflateLevel;
+   }
+
+   /**
+    * Set the quality used to encode the opaque images as JPEG. If the quality is 0, which is the default, all the images
+    * are encoded as PNG.
+    *
+    * @param jpegQuality the quality
+    * @see SVGImageHandler#setJPEGQuality(float)
+    */
+   public void setJPEGQuality(float jpegQuality) {
+      this.jpegQuality = jpegQuality;
+   }
+
+   /**
+    * Return the quality used to encode the opaque images as JPEG.
+    *
+    * @return the quality
+    */
+   public float getJPEGQuality() {
+      return jpegQuality;
+   }
+
+   /**
+    * Set if the images are written as external files when converting to a SVG file. The images are written in a
+    * directory next to the SVG file, whose name is the name of the SVG file followed by <code>_images</code>.
+    *
+    * @param externalImages true if the images are written as external files
+    */
+   public void setExternalImages(boolean externalImages) {
+      this.externalImages = externalImages;
+   }
+
+   /**
+    * Return true if the images are written as external files when converting to a SVG file.
+    *
+    * @return true if the images are written as external files
+    */
+   public boolean hasExternalImages() {
+      return externalImages;
+   }
+
+   /**
+    * Set if the SVG content is written without indenting the elements. The default is false.
+    *
+    * @param compactOutput true if the SVG content is written without indenting the elements
+    */
+   public void setCompactOutput(boolean compactOutput) {
+      this.compactOutput = compactOutput;
+   }
+
+   /**
+    * Return true if the SVG content is written without indenting the elements.
+    *
+    * @return true if the SVG content is written without indenting the elements
+    */
+   public boolean isCompactOutput() {
+      return compactOutput;
+   }
+
+   /**
+    * Set if the path data is encoded in its shortest form, using the {@link SVGPathEncoder}. The default is true.
+    *
+    * @param optimizedPaths true if the path data is encoded in its shortest form
+    */
+   public void setOptimizedPaths(boolean optimizedPaths) {
+      this.optimizedPaths = optimizedPaths;
+   }
+
+   /**
+    * Return true if the path data is encoded in its shortest form.
+    *
+    * @return true if the path data is encoded in its shortest form
+    */
+   public boolean isOptimizingPaths() {
+      return optimizedPaths;
+   }
+
+   /**
+    * Set if the empty groups are removed, the groups which have only one child are merged into their child, and the
+    * translations are folded into the coordinates of the elements. The default is false. This option has no effect
+    * for the streaming conversion.
+    *
+    * @param flattenGroups true if the groups are flattened
+    * @see SVGGroupOptimizer
+    */
+   public void setFlattenGroups(boolean flattenGroups) {
+      this.flattenGroups = flattenGroups;
+   }
+
+   /**
+    * Return true if the groups are flattened.
+    *
+    * @return true if the groups are flattened
+    */
+   public boolean isFlatteningGroups() {
+      return flattenGroups;
+   }
+
+   /**
+    * Set if the fonts used by the texts are embedded in the SVG content. If true, a SVG font is defined for each
+    * font used by the texts, which only contains the glyphs of the characters used with this font, and the texts are
+    * kept as <code>text</code> elements. The default is false. This option has no effect for the streaming conversion.
+    *
+    * @param embeddedFonts true if the fonts are embedded
+    */
+   public void setEmbeddedFonts(boolean embeddedFonts) {
+      this.embeddedFonts = embeddedFonts;
+   }
+
+   /**
+    * Return true if the fonts used by the texts are embedded in the SVG content.
+    *
+    * @return true if the fonts are embedded
+    */
+   public boolean hasEmbeddedFonts() {
+      return embeddedFonts;
+   }
+
+   /**
+    * Set if the SVG files are always compressed with GZIP. The files whose name ends with <code>.svgz</code> are
+    * compressed regardless of this option.
+    *
+    * @param compressed true if the SVG files are always compressed
+    */
+   public void setCompressed(boolean compressed) {
+      this.compressed = compressed;
+   }
+
+   /**
+    * Return true if the SVG files are always compressed with GZIP.
+    *
+    * @return true if the SVG files are always compressed
+    */
+   public boolean isCompressed() {
+      return compressed;
+   }
+
+   /**
+    * Set the GZIP compression level, from 0 to 9. The default is {@link Deflater#DEFAULT_COMPRESSION}.
+    *
+    * @param compressionLevel the compression level
+    */
+   public void setCompressionLevel(int compressionLevel) {
+      if (compressionLevel != Deflater.DEFAULT_COMPRESSION) {
+         compressionLevel = Math.max(0, Math.min(compressionLevel, 9));
+      }
+      this.compressionLevel = compressionLevel;
+   }
+
+   /**
+    * Return the GZIP compression level.
+    *
+    * @return the compression level
+    */
+   public int getCompressionLevel() {
+      return compressionLevel;
+   }
+
+   /**
+    * Set the size of the buffer used for the compression. The default is 64 KB.
+    *
+    * @param compressionBufferSize the size of the buffer
+    */
+   public void setCompressionBufferSize(int compressionBufferSize) {
+      this.compressionBufferSize = Math.max(512, compressionBufferSize);
+   }
+
+   /**
+    * Return the size of the buffer used for the compression.
+    *
+    * @return the size of the buffer
+    */
+   public int getCompressionBufferSize() {
+      return compressionBufferSize;
+   }
+
+   /**
+    * Set the number of threads used for the compression. If this number is greater than 1, the content is compressed in
+    * parallel by independent blocks. The default is 1.
+    *
+    * @param compressionThreads the number of threads
+    */
+   public void setCompressionThreads(int compressionThreads) {
+      this.compressionThreads = compressionThreads;
+   }
+
+   /**
+    * Return the number of threads used for the compression.
+    *
+    * @return the number of threads
+    */
+   public int getCompressionThreads() {
+      return compressionThreads;
+   }
+
+   /**
+    * Set if the SVG content is streamed to the output rather than created as a DOM Document.
+    *
+    * @param streaming true if the SVG content is streamed to the output
+    */
+   public void setStreaming(boolean streaming) {
+      this.streaming = streaming;
+   }
+
+   /**
+    * Return true if the SVG content is streamed to the output rather than created as a DOM Document.
+    *
+    * @return true if the SVG content is streamed to the output
+    */
+   public boolean isStreaming() {
+      return streaming;
+   }
+
    /**
     * Creates the Document corresponding to the Node, and write it to the output.
     *
@@ -147,51 +474,170 @@ public class SVGConverter {
       if (file == null) {
          throw new IllegalArgumentException("File is null");
       }
-      try(BufferedWriter bw = Files.newBufferedWriter(file.toPath())) {
-         createSVGDocument(node, bw, title, isExtended);
+      File imagesDirectory = null;
+      if (externalImages && !streaming) {
+         String name = file.getName();
+         int index = name.lastIndexOf('.');
+         if (index > 0) {
+            name = name.substring(0, index);
+         }
+         imagesDirectory = new File(file.getAbsoluteFile().getParentFile(), name + "_images");
+         Files.createDirectories(imagesDirectory.toPath());
+      }
+      if (compressed || file.getName().toLowerCase(Locale.ROOT).endsWith(".svgz")) {
+         try(BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(createCompressedStream(file), StandardCharsets.UTF_8),
+            compressionBufferSize)) {
+            createSVGDocument(node, bw, title, isExtended, imagesDirectory);
+         }
+      } else {
+         try(BufferedWriter bw = Files.newBufferedWriter(file.toPath())) {
+            createSVGDocument(node, bw, title, isExtended, imagesDirectory);
+         }
+      }
+   }
+
+   /**
+    * Create the GZIP OutputStream used to write a compressed SVG file.
+    *
+    * @param file the file
+    * @return the OutputStream
+    */
+   private OutputStream createCompressedStream(File file) throws IOException {
+      OutputStream out = Files.newOutputStream(file.toPath());
+      try {
+         if (compressionThreads > 1) {
+            return new ParallelGZIPOutputStream(out, compressionLevel, Math.max(compressionBufferSize,
+               ParallelGZIPOutputStream.DEFAULT_BLOCK_SIZE), compressionThreads);
+         } else {
+            final int level = compressionLevel;
+            return new GZIPOutputStream(out, compressionBufferSize) {
+               {
+                  def.setLevel(level);
+               }
+            };
+         }
+      } catch (IOException e) {
+         out.close();
+         throw e;
       }
    }
 
    private void createSVGDocument(Node node, BufferedWriter out, String title, boolean isExtended) throws IOException {
+      createSVGDocument(node, out, title, isExtended, null);
+   }
+
+   private void createSVGDocument(Node node, BufferedWriter out, String title, boolean isExtended, File imagesDirectory) throws IOException {
+      if (streaming) {
+         streamSVGDocument(node, out, title, isExtended);
+         return;
+      }
+      SVGImageHandler imageHandler = null;
       try {
          Document doc = SVGDOMImplementation.getDOMImplementation().createDocument(SVGDOMImplementation.SVG_NAMESPACE_URI, "svg", null);
 
          TranscoderOutput output = new TranscoderOutput(out);
          Rectangle2D rec = Utilities.getBounds(node);
 
+         SVGGeneratorContext generatorCtx = SVGGeneratorContext.createDefault(doc);
+         generatorCtx.setPrecision(precision);
+         generatorCtx.setEmbeddedFontsOn(embeddedFonts);
+         imageHandler = new SVGImageHandler();
+         imageHandler.setDeflateLevel(imageDeflateLevel);
+         imageHandler.setJPEGQuality(jpegQuality);
+         if (imagesDirectory != null) {
+            imageHandler.setImagesDirectory(imagesDirectory, imagesDirectory.getName());
+         }
+         generatorCtx.setGenericImageHandler(imageHandler);
+         SVGStyleSheetHandler styleHandler = null;
+         if (sharedStyles) {
+            styleHandler = new SVGStyleSheetHandler();
+            generatorCtx.setStyleHandler(styleHandler);
+         }
+
          JFXConverter converter = new JFXConverter();
          converter.setBackground(background);
+         ConvertorSVGGraphics2D g2D;
          if (isExtended) {
-            g2D = new ConvertorJFXSVGGraphics2D(doc);
+            g2D = new ConvertorJFXSVGGraphics2D(generatorCtx);
             converter.setListener(new DefaultConverterListener());
          } else {
-            g2D = new ConvertorSVGGraphics2D(doc);
+            g2D = new ConvertorSVGGraphics2D(generatorCtx);
          }
+         g2D.setCompactOutput(compactOutput);
+         g2D.setOptimizedPaths(optimizedPaths);
 
          converter.convert(g2D, node);
 
-         finishTranscoding(rec, title, output);
+         finishTranscoding(g2D, styleHandler, imageHandler, rec, title, output);
          out.flush();
       } catch (DOMException | TranscoderException e) {
          throw new IOException("Failed to convert jfx node to svg", e);
+      } finally {
+         // cancel the encoding of the images if the conversion failed
+         if (imageHandler != null) {
+            imageHandler.dispose();
+         }
+      }
+   }
+
+   /**
+    * Stream the SVG content corresponding to the Node to the output. The title and the viewBox are written before
+    * converting the Node.
+    *
+    * @param node the Node
+    * @param out the output
+    * @param title the document title
+    * @param isExtended true for an extended conversion
+    */
+   private void streamSVGDocument(Node node, BufferedWriter out, String title, boolean isExtended) throws IOException {
+      Rectangle2D rec = Utilities.getBounds(node);
+      if (title == null) {
+         title = "The SVG Document";
+      }
+      SVGStreamGraphics2D stream2D = new SVGStreamGraphics2D(out, rec, title, precision);
+      stream2D.setOptimizedPaths(optimizedPaths);
+      JFXConverter converter = new JFXConverter();
+      converter.setBackground(background);
+      if (isExtended) {
+         converter.setListener(new DefaultConverterListener());
       }
+      converter.convert(stream2D, node);
+      stream2D.finish();
    }
 
    /**
     * Finish the transcoding.
+    *
+    * @param g2D the Graphics2D
+    * @param styleHandler the style handler, or null if the styles are not shared
+    * @param imageHandler the image handler
+    * @param rec the bounds of the Node
+    * @param title the document title
+    * @param output the output
     */
-   private void finishTranscoding(Rectangle2D rec, String title, TranscoderOutput output) throws TranscoderException {
+   private void finishTranscoding(SVGGraphics2D g2D, SVGStyleSheetHandler styleHandler, SVGImageHandler imageHandler,
+      Rectangle2D rec, String title, TranscoderOutput output) throws TranscoderException {
       // get the root element and add size
-      String minX = Double.toString(rec.getMinX());
-      String minY = Double.toString(rec.getMinY());
-      String width = Double.toString(rec.getWidth());
-      String height = Double.toString(rec.getHeight());
-      String size = minX + " " + minY + " " + width + " " + height;
+      SVGNumberFormat format = new SVGNumberFormat(precision);
+      String size = format.format(rec.getMinX(), rec.getMinY(), rec.getWidth(), rec.getHeight());
       if (title == null) {
          title = "The SVG Document";
       }
 
       Element svgRoot = g2D.getRoot();
+      if (styleHandler != null) {
+         styleHandler.applyStyles(svgRoot);
+      }
+      if (imageHandler != null) {
+         try {
+            imageHandler.finish(svgRoot);
+         } catch (IOException e) {
+            throw new TranscoderException(e);
+         }
+      }
+      if (flattenGroups) {
+         new SVGGroupOptimizer(precision).optimize(svgRoot);
+      }
       svgRoot.setAttributeNS(null, "viewBox", size);
       Element titleNode = g2D.getDOMFactory().createElement("title");
       Text textNode = g2D.getDOMFactory().createTextNode(title);
@@ -201,16 +647,17 @@ public class SVGConverter {
 
       //testOutput(doc, new File(System.getProperty("user.dir"),"test.xml"));
       // Now, write the SVG content to the output
-      writeSVGToOutput(svgRoot, output);
+      writeSVGToOutput(g2D, svgRoot, output);
    }
 
    /**
     * Writes the SVG content.
     *
+    * @param g2D the Graphics2D
     * @param svgRoot the root of the SVG Document
     * @param output the output
     */
-   private void writeSVGToOutput(Element svgRoot, TranscoderOutput output) throws TranscoderException {
+   private void writeSVGToOutput(SVGGraphics2D g2D, Element svgRoot, TranscoderOutput output) throws TranscoderException {
       try {
          // Writer
          Writer wr = output.getWriter();
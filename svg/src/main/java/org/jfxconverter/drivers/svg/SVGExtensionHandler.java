@@ -35,37 +35,76 @@ import org.apache.batik.svggen.DefaultExtensionHandler;
 import org.apache.batik.svggen.SVGColor;
 import org.apache.batik.svggen.SVGGeneratorContext;
 import org.apache.batik.svggen.SVGPaintDescriptor;
+import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.apache.batik.util.SVGConstants.*;
 
 /**
  * This SVG extension handler is able to handle color gradients.
  *
- * @version 0.21
+ * <p>
+ * The numbers of the gradients are formatted with the precision of the {@link SVGGeneratorContext}.</p>
+ *
+ * <p>
+ * Identical gradients are only defined once in each document, even if they are different Paint instances: each
+ * later use of the same gradient references the first definition.</p>
+ *
+ * @version 0.25
  */
 public class SVGExtensionHandler extends DefaultExtensionHandler {
+   private SVGNumberFormat numberFormat = null;
+   private final Map<SVGGradientKey, SVGPaintDescriptor> gradients = new HashMap<>();
+   private Document gradientsDocument = null;
+
    @Override
    public SVGPaintDescriptor handlePaint(Paint paint, SVGGeneratorContext genCtx) {
-      // Handle LinearGradientPaint
-      if (paint instanceof LinearGradientPaint) {
-         return getLgpDescriptor((LinearGradientPaint) paint, genCtx);
-      }
-
-      // Handle RadialGradientPaint
-      if (paint instanceof RadialGradientPaint) {
-         return getRgpDescriptor((RadialGradientPaint) paint, genCtx);
+      if (paint instanceof LinearGradientPaint || paint instanceof RadialGradientPaint) {
+         // the gradients definitions can only be shared in the same document
+         if (gradientsDocument != genCtx.getDOMFactory()) {
+            gradients.clear();
+            gradientsDocument = genCtx.getDOMFactory();
+         }
+         SVGGradientKey key = new SVGGradientKey((MultipleGradientPaint) paint);
+         SVGPaintDescriptor descriptor = gradients.get(key);
+         if (descriptor == null) {
+            if (paint instanceof LinearGradientPaint) {
+               // Handle LinearGradientPaint
+               descriptor = getLgpDescriptor((LinearGradientPaint) paint, genCtx);
+            } else {
+               // Handle RadialGradientPaint
+               descriptor = getRgpDescriptor((RadialGradientPaint) paint, genCtx);
+            }
+            gradients.put(key, descriptor);
+         }
+         return descriptor;
       }
 
       return super.handlePaint(paint, genCtx);
    }
 
+   /**
+    * Return the number format corresponding to the precision of the generator context.
+    *
+    * @param genCtx the generator context
+    * @return the number format
+    */
+   private SVGNumberFormat getNumberFormat(SVGGeneratorContext genCtx) {
+      if (numberFormat == null || numberFormat.getPrecision() != genCtx.getPrecision()) {
+         numberFormat = new SVGNumberFormat(genCtx.getPrecision());
+      }
+      return numberFormat;
+   }
+
    private SVGPaintDescriptor getRgpDescriptor(RadialGradientPaint gradient, SVGGeneratorContext genCtx) {
       Element gradElem = genCtx.getDOMFactory().createElementNS(SVG_NAMESPACE_URI, SVG_RADIAL_GRADIENT_TAG);
+      SVGNumberFormat format = getNumberFormat(genCtx);
 
       // Create and set unique XML id
       String id = genCtx.getIDGenerator().generateID("gradient");
@@ -73,22 +112,23 @@ public class SVGExtensionHandler extends DefaultExtensionHandler {
 
       // Set x,y pairs
       Point2D centerPt = gradient.getCenterPoint();
-      gradElem.setAttribute("cx", String.valueOf(centerPt.getX()));
-      gradElem.setAttribute("cy", String.valueOf(centerPt.getY()));
+      gradElem.setAttribute("cx", format.format(centerPt.getX()));
+      gradElem.setAttribute("cy", format.format(centerPt.getY()));
 
       Point2D focusPt = gradient.getFocusPoint();
-      gradElem.setAttribute("fx", String.valueOf(focusPt.getX()));
-      gradElem.setAttribute("fy", String.valueOf(focusPt.getY()));
+      gradElem.setAttribute("fx", format.format(focusPt.getX()));
+      gradElem.setAttribute("fy", format.format(focusPt.getY()));
 
-      gradElem.setAttribute("r", String.valueOf(gradient.getRadius()));
+      gradElem.setAttribute("r", format.format(gradient.getRadius()));
 
-      addMgpAttributes(gradElem, genCtx, gradient);
+      addMgpAttributes(gradElem, genCtx, gradient, format);
 
       return new SVGPaintDescriptor("url(#" + id + ")", SVG_OPAQUE_VALUE, gradElem);
    }
 
    private SVGPaintDescriptor getLgpDescriptor(LinearGradientPaint gradient, SVGGeneratorContext genCtx) {
       Element gradElem = genCtx.getDOMFactory().createElementNS(SVG_NAMESPACE_URI, SVG_LINEAR_GRADIENT_TAG);
+      SVGNumberFormat format = getNumberFormat(genCtx);
 
       // Create and set unique XML id
       String id = genCtx.getIDGenerator().generateID("gradient");
@@ -96,19 +136,19 @@ public class SVGExtensionHandler extends DefaultExtensionHandler {
 
       // Set x,y pairs
       Point2D startPt = gradient.getStartPoint();
-      gradElem.setAttribute("x1", String.valueOf(startPt.getX()));
-      gradElem.setAttribute("y1", String.valueOf(startPt.getY()));
+      gradElem.setAttribute("x1", format.format(startPt.getX()));
+      gradElem.setAttribute("y1", format.format(startPt.getY()));
 
       Point2D endPt = gradient.getEndPoint();
-      gradElem.setAttribute("x2", String.valueOf(endPt.getX()));
-      gradElem.setAttribute("y2", String.valueOf(endPt.getY()));
+      gradElem.setAttribute("x2", format.format(endPt.getX()));
+      gradElem.setAttribute("y2", format.format(endPt.getY()));
 
-      addMgpAttributes(gradElem, genCtx, gradient);
+      addMgpAttributes(gradElem, genCtx, gradient, format);
 
       return new SVGPaintDescriptor("url(#" + id + ")", SVG_OPAQUE_VALUE, gradElem);
    }
 
-   private void addMgpAttributes(Element gradElem, SVGGeneratorContext genCtx, MultipleGradientPaint gradient) {
+   private void addMgpAttributes(Element gradElem, SVGGeneratorContext genCtx, MultipleGradientPaint gradient, SVGNumberFormat format) {
       gradElem.setAttribute(SVG_GRADIENT_UNITS_ATTRIBUTE, SVG_USER_SPACE_ON_USE_VALUE);
 
       // Set cycle method
@@ -138,10 +178,7 @@ public class SVGExtensionHandler extends DefaultExtensionHandler {
       // Set transform matrix if not identity
       AffineTransform tf = gradient.getTransform();
       if (!tf.isIdentity()) {
-         String matrix = "matrix("
-            + tf.getScaleX() + " " + tf.getShearX() + " " + tf.getTranslateX() + " "
-            + tf.getScaleY() + " " + tf.getShearY() + " " + tf.getTranslateY() + ")";
-         gradElem.setAttribute(SVG_TRANSFORM_ATTRIBUTE, matrix);
+         gradElem.setAttribute(SVG_GRADIENT_TRANSFORM_ATTRIBUTE, format.format(tf));
       }
 
       // Convert gradient stops
@@ -152,7 +189,7 @@ public class SVGExtensionHandler extends DefaultExtensionHandler {
          Element stop = genCtx.getDOMFactory().createElementNS(SVG_NAMESPACE_URI, SVG_STOP_TAG);
          SVGPaintDescriptor pd = SVGColor.toSVG(colors[i], genCtx);
 
-         stop.setAttribute(SVG_OFFSET_ATTRIBUTE, (int) (fracs[i] * 100.0f) + "%");
+         stop.setAttribute(SVG_OFFSET_ATTRIBUTE, format.format(fracs[i]));
          stop.setAttribute(SVG_STOP_COLOR_ATTRIBUTE, pd.getPaintValue());
 
          if (colors[i].getAlpha() != 255) {
@@ -0,0 +1,145 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.svg;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.LinearGradientPaint;
+import java.awt.MultipleGradientPaint;
+import java.awt.RadialGradientPaint;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.util.Arrays;
+
+/**
+ * A canonical key for a gradient Paint. Two gradients which have the same key produce the same SVG gradient
+ * definition, even if they are different Paint instances.
+ *
+ * @since 0.25
+ */
+final class SVGGradientKey {
+   private static final int LINEAR = 0;
+   private static final int RADIAL = 1;
+   private static final int CYCLIC = 2;
+   private final int type;
+   private final double[] geometry;
+   private final float[] fractions;
+   private final int[] colors;
+   private final int cycleMethod;
+   private final int colorSpace;
+   private final double[] matrix;
+   private final int hashCode;
+
+   /**
+    * Create the key of a MultipleGradientPaint.
+    *
+    * @param gradient the gradient
+    */
+   SVGGradientKey(MultipleGradientPaint gradient) {
+      if (gradient instanceof LinearGradientPaint) {
+         LinearGradientPaint linear = (LinearGradientPaint) gradient;
+         type = LINEAR;
+         geometry = getGeometry(linear.getStartPoint(), linear.getEndPoint(), 0);
+      } else {
+         RadialGradientPaint radial = (RadialGradientPaint) gradient;
+         type = RADIAL;
+         geometry = getGeometry(radial.getCenterPoint(), radial.getFocusPoint(), radial.getRadius());
+      }
+      fractions = gradient.getFractions();
+      colors = getColors(gradient.getColors());
+      cycleMethod = gradient.getCycleMethod().ordinal();
+      colorSpace = gradient.getColorSpace().ordinal();
+      AffineTransform tr = gradient.getTransform();
+      matrix = new double[6];
+      tr.getMatrix(matrix);
+      hashCode = computeHashCode();
+   }
+
+   /**
+    * Create the key of a GradientPaint.
+    *
+    * @param gradient the gradient
+    */
+   SVGGradientKey(GradientPaint gradient) {
+      type = gradient.isCyclic() ? CYCLIC : LINEAR;
+      geometry = getGeometry(gradient.getPoint1(), gradient.getPoint2(), 0);
+      fractions = new float[] {0f, 1f};
+      colors = getColors(new Color[] {gradient.getColor1(), gradient.getColor2()});
+      cycleMethod = 0;
+      colorSpace = 0;
+      matrix = null;
+      hashCode = computeHashCode();
+   }
+
+   private static double[] getGeometry(Point2D pt1, Point2D pt2, double radius) {
+      return new double[] {pt1.getX(), pt1.getY(), pt2.getX(), pt2.getY(), radius};
+   }
+
+   private static int[] getColors(Color[] colors) {
+      int[] argb = new int[colors.length];
+      for (int i = 0; i < colors.length; i++) {
+         argb[i] = colors[i].getRGB();
+      }
+      return argb;
+   }
+
+   private int computeHashCode() {
+      int hash = type;
+      hash = 31 * hash + Arrays.hashCode(geometry);
+      hash = 31 * hash + Arrays.hashCode(fractions);
+      hash = 31 * hash + Arrays.hashCode(colors);
+      hash = 31 * hash + cycleMethod;
+      hash = 31 * hash + colorSpace;
+      hash = 31 * hash + Arrays.hashCode(matrix);
+      return hash;
+   }
+
+   @Override
+   public int hashCode() {
+      return hashCode;
+   }
+
+   @Override
+   public boolean equals(Object obj) {
+      if (this == obj) {
+         return true;
+      }
+      if (!(obj instanceof SVGGradientKey)) {
+         return false;
+      }
+      SVGGradientKey other = (SVGGradientKey) obj;
+      return hashCode == other.hashCode && type == other.type && cycleMethod == other.cycleMethod
+         && colorSpace == other.colorSpace && Arrays.equals(geometry, other.geometry)
+         && Arrays.equals(fractions, other.fractions) && Arrays.equals(colors, other.colors)
+         && Arrays.equals(matrix, other.matrix);
+   }
+}
@@ -0,0 +1,427 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.svg;
+
+import org.apache.batik.parser.AWTPathProducer;
+import org.apache.batik.parser.AWTTransformProducer;
+import org.apache.batik.parser.ParseException;
+import org.apache.batik.util.SVGConstants;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.PathIterator;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Simplifies the groups of a SVG document. The extended conversion creates a group for each JavaFX Parent, so deep
+ * layout hierarchies produce many nested groups which are empty or only have one child. This class:
+ * <ul>
+ * <li>removes the empty groups</li>
+ * <li>merges the groups which only have one child into their child</li>
+ * <li>folds the translations of the shapes, images and texts into their coordinates</li>
+ * </ul>
+ *
+ * <p>
+ * Only the groups which have no id are removed or merged, so the ids are only kept where they were explicitly
+ * set on the JavaFX Nodes. A group is merged only if its attributes are inherited presentation attributes or a
+ * transform, so the rendering of the document is not modified.</p>
+ *
+ * @since 0.25
+ */
+public class SVGGroupOptimizer implements SVGConstants {
+   /**
+    * The presentation attributes which are inherited by the children of a group.
+    */
+   private static final Set<String> INHERITED_ATTRIBUTES = new HashSet<>(Arrays.asList(
+      "clip-rule", "color", "color-interpolation", "color-interpolation-filters", "color-profile", "color-rendering",
+      "cursor", "direction", "fill", "fill-opacity", "fill-rule", "font", "font-family", "font-size", "font-size-adjust",
+      "font-stretch", "font-style", "font-variant", "font-weight", "glyph-orientation-horizontal",
+      "glyph-orientation-vertical", "image-rendering", "kerning", "letter-spacing", "marker", "marker-end", "marker-mid",
+      "marker-start", "pointer-events", "shape-rendering", "stroke", "stroke-dasharray", "stroke-dashoffset",
+      "stroke-linecap", "stroke-linejoin", "stroke-miterlimit", "stroke-opacity", "stroke-width", "text-anchor",
+      "text-rendering", "visibility", "word-spacing", "writing-mode"));
+   private final SVGNumberFormat numberFormat;
+   private final SVGPathEncoder pathEncoder;
+   private final List<String> pendingNames = new ArrayList<>();
+   private final List<String> pendingValues = new ArrayList<>();
+   private int removedGroups = 0;
+   private int foldedTransforms = 0;
+
+   /**
+    * Create an optimizer with the default precision.
+    */
+   public SVGGroupOptimizer() {
+      this(SVGNumberFormat.DEFAULT_PRECISION);
+   }
+
+   /**
+    * Constructor.
+    *
+    * @param precision the maximum number of decimal places of the coordinates modified by the optimizer
+    */
+   public SVGGroupOptimizer(int precision) {
+      this.numberFormat = new SVGNumberFormat(precision);
+      this.pathEncoder = new SVGPathEncoder(precision);
+   }
+
+   /**
+    * Return the number of groups which have been removed or merged.
+    *
+    * @return the number of groups
+    */
+   public int getRemovedGroupsCount() {
+      return removedGroups;
+   }
+
+   /**
+    * Return the number of translations which have been folded into the coordinates of the elements.
+    *
+    * @return the number of translations
+    */
+   public int getFoldedTransformsCount() {
+      return foldedTransforms;
+   }
+
+   /**
+    * Optimize the groups under an element.
+    *
+    * @param svgRoot the element, usually the root of the SVG document
+    */
+   public void optimize(Element svgRoot) {
+      optimizeChildren(svgRoot);
+   }
+
+   private void optimizeChildren(Element parent) {
+      Node child = parent.getFirstChild();
+      while (child != null) {
+         Node next = child.getNextSibling();
+         if (child instanceof Element) {
+            optimizeElement((Element) child);
+         }
+         child = next;
+      }
+   }
+
+   /**
+    * Optimize an element and its children. The element may be removed or replaced.
+    */
+   private void optimizeElement(Element element) {
+      if (!isGroup(element)) {
+         foldTranslation(element);
+         return;
+      }
+      optimizeChildren(element);
+      Element child = getSingleChild(element);
+      Node parent = element.getParentNode();
+      if (child == null) {
+         if (!hasElementChildren(element) && !element.hasAttributeNS(null, SVG_ID_ATTRIBUTE)) {
+            // empty group
+            parent.removeChild(element);
+            removedGroups++;
+         } else {
+            removeIdentityTransform(element);
+         }
+      } else if (!element.hasAttributeNS(null, SVG_ID_ATTRIBUTE) && hasOnlyMergeableAttributes(element, false)
+         && !child.hasAttributeNS(null, SVG_STYLE_ATTRIBUTE)) {
+         // merge the group into its only child
+         mergeAttributes(element, child, false);
+         parent.replaceChild(child, element);
+         removedGroups++;
+         if (isGroup(child)) {
+            removeIdentityTransform(child);
+         } else {
+            foldTranslation(child);
+         }
+      } else if (isGroup(child) && !child.hasAttributeNS(null, SVG_ID_ATTRIBUTE) && hasOnlyMergeableAttributes(child, false)
+         && hasOnlyMergeableAttributes(element, true)) {
+         // merge the only child group into the group, which keeps its id
+         mergeAttributes(child, element, true);
+         while (child.getFirstChild() != null) {
+            element.insertBefore(child.getFirstChild(), child);
+         }
+         element.removeChild(child);
+         removedGroups++;
+         removeIdentityTransform(element);
+      } else {
+         removeIdentityTransform(element);
+      }
+   }
+
+   private static boolean isGroup(Element element) {
+      return SVG_G_TAG.equals(element.getLocalName()) || SVG_G_TAG.equals(element.getTagName());
+   }
+
+   private static boolean hasElementChildren(Element element) {
+      Node child = element.getFirstChild();
+      while (child != null) {
+         if (child instanceof Element) {
+            return true;
+         }
+         child = child.getNextSibling();
+      }
+      return false;
+   }
+
+   /**
+    * Return the only child of a group, or null if the group has no child element or more than one child element, or
+    * if it has text content.
+    */
+   private static Element getSingleChild(Element group) {
+      Element single = null;
+      Node child = group.getFirstChild();
+      while (child != null) {
+         if (child instanceof Element) {
+            if (single != null) {
+               return null;
+            }
+            single = (Element) child;
+         } else if (child.getNodeType() != Node.TEXT_NODE || !child.getNodeValue().trim().isEmpty()) {
+            return null;
+         }
+         child = child.getNextSibling();
+      }
+      return single;
+   }
+
+   /**
+    * Return true if all the attributes of the element are inherited presentation attributes or a transform.
+    *
+    * @param element the element
+    * @param allowId true if the element may also have an id
+    */
+   private static boolean hasOnlyMergeableAttributes(Element element, boolean allowId) {
+      NamedNodeMap attrs = element.getAttributes();
+      for (int i = 0; i < attrs.getLength(); i++) {
+         String name = ((Attr) attrs.item(i)).getName();
+         if (!INHERITED_ATTRIBUTES.contains(name) && !SVG_TRANSFORM_ATTRIBUTE.equals(name)
+            && !(allowId && SVG_ID_ATTRIBUTE.equals(name))) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Merge the attributes of an outer element into an inner element, or the attributes of an inner element into an
+    * outer element. The attributes of the inner element take precedence, and the transform of the outer element is
+    * applied before the transform of the inner element.
+    *
+    * @param from the element whose attributes are merged
+    * @param to the element which receives the attributes
+    * @param fromInner true if the element whose attributes are merged is the inner element
+    */
+   private static void mergeAttributes(Element from, Element to, boolean fromInner) {
+      NamedNodeMap attrs = from.getAttributes();
+      for (int i = 0; i < attrs.getLength(); i++) {
+         Attr attr = (Attr) attrs.item(i);
+         String name = attr.getName();
+         String value = attr.getValue();
+         if (SVG_TRANSFORM_ATTRIBUTE.equals(name)) {
+            String transform = to.getAttributeNS(null, SVG_TRANSFORM_ATTRIBUTE);
+            if (!transform.isEmpty()) {
+               value = fromInner ? transform + " " + value : value + " " + transform;
+            }
+            to.setAttributeNS(null, SVG_TRANSFORM_ATTRIBUTE, value);
+         } else if (fromInner || !to.hasAttributeNS(null, name)) {
+            to.setAttributeNS(null, name, value);
+         }
+      }
+   }
+
+   /**
+    * Return the transform of an element, or null if the element has no transform or if the transform can not be
+    * parsed.
+    */
+   private static AffineTransform getTransform(Element element) {
+      String transform = element.getAttributeNS(null, SVG_TRANSFORM_ATTRIBUTE);
+      if (transform.isEmpty()) {
+         return null;
+      }
+      try {
+         return AWTTransformProducer.createAffineTransform(transform);
+      } catch (ParseException e) {
+         return null;
+      }
+   }
+
+   private static void removeIdentityTransform(Element element) {
+      AffineTransform tr = getTransform(element);
+      if (tr != null && tr.isIdentity()) {
+         element.removeAttributeNS(null, SVG_TRANSFORM_ATTRIBUTE);
+      }
+   }
+
+   /**
+    * Fold the translation of an element into its coordinates, if its transform is a pure translation and if it does
+    * not reference any resource defined in its user space, such as a gradient or a clip.
+    */
+   private void foldTranslation(Element element) {
+      AffineTransform tr = getTransform(element);
+      if (tr == null) {
+         return;
+      }
+      if (tr.isIdentity()) {
+         element.removeAttributeNS(null, SVG_TRANSFORM_ATTRIBUTE);
+         return;
+      }
+      if (tr.getType() != AffineTransform.TYPE_TRANSLATION || hasReferences(element)) {
+         return;
+      }
+      double tx = tr.getTranslateX();
+      double ty = tr.getTranslateY();
+      pendingNames.clear();
+      pendingValues.clear();
+      String tag = element.getLocalName() != null ? element.getLocalName() : element.getTagName();
+      boolean folded;
+      switch (tag) {
+         case SVG_RECT_TAG:
+         case SVG_IMAGE_TAG:
+         case SVG_USE_TAG:
+            folded = translate(element, SVG_X_ATTRIBUTE, tx) && translate(element, SVG_Y_ATTRIBUTE, ty);
+            break;
+         case SVG_TEXT_TAG:
+            folded = !hasElementChildren(element)
+               && translate(element, SVG_X_ATTRIBUTE, tx) && translate(element, SVG_Y_ATTRIBUTE, ty);
+            break;
+         case SVG_CIRCLE_TAG:
+         case SVG_ELLIPSE_TAG:
+            folded = translate(element, SVG_CX_ATTRIBUTE, tx) && translate(element, SVG_CY_ATTRIBUTE, ty);
+            break;
+         case SVG_LINE_TAG:
+            folded = translate(element, SVG_X1_ATTRIBUTE, tx) && translate(element, SVG_Y1_ATTRIBUTE, ty)
+               && translate(element, SVG_X2_ATTRIBUTE, tx) && translate(element, SVG_Y2_ATTRIBUTE, ty);
+            break;
+         case SVG_POLYGON_TAG:
+         case SVG_POLYLINE_TAG:
+            folded = translatePoints(element, tx, ty);
+            break;
+         case SVG_PATH_TAG:
+            folded = translatePath(element, tr);
+            break;
+         default:
+            folded = false;
+            break;
+      }
+      if (folded) {
+         for (int i = 0; i < pendingNames.size(); i++) {
+            element.setAttributeNS(null, pendingNames.get(i), pendingValues.get(i));
+         }
+         element.removeAttributeNS(null, SVG_TRANSFORM_ATTRIBUTE);
+         foldedTransforms++;
+      }
+   }
+
+   /**
+    * Return true if one of the attributes of the element references another element, or if it has a style attribute.
+    */
+   private static boolean hasReferences(Element element) {
+      NamedNodeMap attrs = element.getAttributes();
+      for (int i = 0; i < attrs.getLength(); i++) {
+         Attr attr = (Attr) attrs.item(i);
+         if (attr.getValue().contains("url(") || SVG_STYLE_ATTRIBUTE.equals(attr.getName())
+            || SVG_CLASS_ATTRIBUTE.equals(attr.getName())) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   /**
+    * Compute the translated value of a coordinate attribute. The new values are only set on the element if all its
+    * coordinates can be translated.
+    */
+   private boolean translate(Element element, String name, double delta) {
+      String value = element.getAttributeNS(null, name);
+      double coord;
+      if (value.isEmpty()) {
+         coord = 0;
+      } else {
+         try {
+            coord = Double.parseDouble(value);
+         } catch (NumberFormatException e) {
+            // a list of coordinates, or a coordinate with a unit
+            return false;
+         }
+      }
+      pendingNames.add(name);
+      pendingValues.add(numberFormat.format(coord + delta));
+      return true;
+   }
+
+   private boolean translatePoints(Element element, double tx, double ty) {
+      String[] values = element.getAttributeNS(null, SVG_POINTS_ATTRIBUTE).trim().split("[\\s,]+");
+      if (values.length < 2 || values.length % 2 != 0) {
+         return false;
+      }
+      StringBuilder buf = new StringBuilder(values.length * 6);
+      try {
+         for (int i = 0; i < values.length; i += 2) {
+            if (i > 0) {
+               buf.append(' ');
+            }
+            numberFormat.append(buf, Double.parseDouble(values[i]) + tx).append(',');
+            numberFormat.append(buf, Double.parseDouble(values[i + 1]) + ty);
+         }
+      } catch (NumberFormatException e) {
+         return false;
+      }
+      pendingNames.add(SVG_POINTS_ATTRIBUTE);
+      pendingValues.add(buf.toString());
+      return true;
+   }
+
+   private boolean translatePath(Element element, AffineTransform tr) {
+      String data = element.getAttributeNS(null, SVG_D_ATTRIBUTE);
+      if (data.indexOf('A') >= 0 || data.indexOf('a') >= 0) {
+         // the arcs would be approximated by curves
+         return false;
+      }
+      try {
+         Shape shape = AWTPathProducer.createShape(new StringReader(data), PathIterator.WIND_NON_ZERO);
+         pendingNames.add(SVG_D_ATTRIBUTE);
+         pendingValues.add(pathEncoder.encode(tr.createTransformedShape(shape)));
+         return true;
+      } catch (IOException | ParseException e) {
+         return false;
+      }
+   }
+}
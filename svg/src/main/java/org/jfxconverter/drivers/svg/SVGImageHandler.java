@@ -0,0 +1,477 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.svg;
+
+import org.apache.batik.svggen.DOMTreeManager;
+import org.apache.batik.svggen.GenericImageHandler;
+import org.apache.batik.svggen.SVGGeneratorContext;
+import org.apache.batik.util.SVGConstants;
+import org.jfxconverter.utils.ImageEncoder;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.RenderedImage;
+import java.awt.image.WritableRaster;
+import java.awt.image.renderable.RenderableImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An image handler for the SVG driver which only encodes each distinct image once.
+ *
+ * <h1>Usage</h1>
+ * The images are identified by a hash of their pixels. Each distinct image is defined once as an <code>image</code>
+ * element in a <code>defs</code> element, and each drawing of the image is a <code>use</code> element referencing
+ * this definition. The images are encoded in parallel, and the {@link #finish(Element)} method must be called on the
+ * SVG root element at the end of the conversion to wait for the encoding of the images and add their definitions. If
+ * the conversion fails before, the {@link #dispose()} method must be called to cancel the encoding of the images.
+ *
+ * <p>
+ * The images which are drawn only once are not put in the definitions, but are directly drawn as an
+ * <code>image</code> element.</p>
+ *
+ * <h1>Encoding</h1>
+ * <ul>
+ * <li>The images are encoded as PNG by default, with a configurable deflate level</li>
+ * <li>If a JPEG quality is set, the opaque images are encoded as JPEG</li>
+ * <li>The images are embedded in the SVG content as base64 data by default, but they can also be written as external
+ * files in a directory</li>
+ * <li>The images are encoded in a pool of daemon threads shared by all the handlers, which has at most as many
+ * threads as available processors. The threads of this pool stop when no image has been encoded for a short time</li>
+ * </ul>
+ *
+ * @since 0.25
+ */
+public class SVGImageHandler implements GenericImageHandler {
+   /**
+    * The default deflate level for PNG images.
+    */
+   public static final int DEFAULT_DEFLATE_LEVEL = ImageEncoder.DEFAULT_DEFLATE_LEVEL;
+   // the idle time in seconds after which the encoding threads stop
+   private static final long KEEP_ALIVE = 1L;
+   private static ThreadPoolExecutor sharedExecutor = null;
+   private final Map<String, ImageEntry> images = new HashMap<>();
+   private final List<ImageEntry> entries = new ArrayList<>();
+   // the elements of the images which are empty or can not be rendered
+   private final List<Element> discarded = new ArrayList<>();
+   private int encodingThreads = Runtime.getRuntime().availableProcessors();
+   private File imagesDirectory = null;
+   private String imagesPrefix = null;
+   // computes the keys of the images, and encodes them in the calling thread
+   private final ImageEncoder encoder = new ImageEncoder();
+
+   /**
+    * Set the number of threads used to encode the images. If this number is 1 or less, the images are encoded in the
+    * calling thread when calling {@link #finish(Element)}. Else they are encoded in the encoding pool shared by all the
+    * handlers, which has at most as many threads as available processors. The default is the number of available
+    * processors.
+    *
+    * @param encodingThreads the number of threads
+    */
+   public void setEncodingThreads(int encodingThreads) {
+      this.encodingThreads = encodingThreads;
+   }
+
+   /**
+    * Return the number of threads used to encode the images.
+    *
+    * @return the number of threads
+    */
+   public int getEncodingThreads() {
+      return encodingThreads;
+   }
+
+   /**
+    * Set the deflate level used to encode the PNG images, from 0 (no compression) to 9 (best compression). The default
+    * is {@link #DEFAULT_DEFLATE_LEVEL}.
+    *
+    * @param deflateLevel the deflate level
+    */
+   public void setDeflateLevel(int deflateLevel) {
+      encoder.setDeflateLevel(deflateLevel);
+   }
+
+   /**
+    * Return the deflate level used to encode the PNG images.
+    *
+    * @return the deflate level
+    */
+   public int getDeflateLevel() {
+      return encoder.getDeflateLevel();
+   }
+
+   /**
+    * Set the quality used to encode the opaque images as JPEG, between 0 and 1. If the quality is 0, which is the
+    * default, all the images are encoded as PNG.
+    *
+    * @param jpegQuality the quality
+    */
+   public void setJPEGQuality(float jpegQuality) {
+      encoder.setJPEGQuality(jpegQuality);
+   }
+
+   /**
+    * Return the quality used to encode the opaque images as JPEG.
+    *
+    * @return the quality
+    */
+   public float getJPEGQuality() {
+      return encoder.getJPEGQuality();
+   }
+
+   /**
+    * Set the directory where the images are written as external files. If the directory is null, which is the
+    * default, the images are embedded in the SVG content.
+    *
+    * @param directory the directory
+    * @param prefix the prefix of the images references in the SVG content, for example the name of the directory
+    * relative to the SVG file
+    */
+   public void setImagesDirectory(File directory, String prefix) {
+      this.imagesDirectory = directory;
+      this.imagesPrefix = prefix;
+   }
+
+   /**
+    * Return the directory where the images are written as external files.
+    *
+    * @return the directory
+    */
+   public File getImagesDirectory() {
+      return imagesDirectory;
+   }
+
+   /**
+    * Return the number of distinct images.
+    *
+    * @return the number of distinct images
+    */
+   public int getImagesCount() {
+      return entries.size();
+   }
+
+   @Override
+   public void setDOMTreeManager(DOMTreeManager domTreeManager) {
+   }
+
+   @Override
+   public Element createElement(SVGGeneratorContext generatorContext) {
+      return generatorContext.getDOMFactory().createElementNS(SVGConstants.SVG_NAMESPACE_URI, SVGConstants.SVG_USE_TAG);
+   }
+
+   @Override
+   public AffineTransform handleImage(Image image, Element imageElement, int x, int y, int width, int height,
+      SVGGeneratorContext generatorContext) {
+      int imageWidth = image.getWidth(null);
+      int imageHeight = image.getHeight(null);
+      if (imageWidth <= 0 || imageHeight <= 0 || width <= 0 || height <= 0) {
+         return discard(imageElement);
+      }
+      BufferedImage buf;
+      if (image instanceof BufferedImage) {
+         buf = (BufferedImage) image;
+      } else {
+         buf = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_ARGB);
+         Graphics2D g = buf.createGraphics();
+         g.drawImage(image, 0, 0, null);
+         g.dispose();
+      }
+      return handleImage(buf, imageElement, x, y, width, height, generatorContext);
+   }
+
+   @Override
+   public AffineTransform handleImage(RenderedImage image, Element imageElement, int x, int y, int width, int height,
+      SVGGeneratorContext generatorContext) {
+      if (image.getWidth() <= 0 || image.getHeight() <= 0 || width <= 0 || height <= 0) {
+         return discard(imageElement);
+      }
+      BufferedImage buf;
+      if (image instanceof BufferedImage) {
+         buf = (BufferedImage) image;
+      } else {
+         ColorModel model = image.getColorModel();
+         WritableRaster raster = model.createCompatibleWritableRaster(image.getWidth(), image.getHeight());
+         image.copyData(raster.createWritableTranslatedChild(image.getMinX(), image.getMinY()));
+         buf = new BufferedImage(model, raster, model.isAlphaPremultiplied(), null);
+      }
+      return handleImage(buf, imageElement, x, y, width, height, generatorContext);
+   }
+
+   @Override
+   public AffineTransform handleImage(RenderableImage image, Element imageElement, double x, double y, double width,
+      double height, SVGGeneratorContext generatorContext) {
+      if (width <= 0 || height <= 0) {
+         return discard(imageElement);
+      }
+      RenderedImage rendered = image.createDefaultRendering();
+      if (rendered == null || rendered.getWidth() <= 0 || rendered.getHeight() <= 0) {
+         return discard(imageElement);
+      }
+      AffineTransform tr = handleImage(rendered, imageElement, 0, 0, rendered.getWidth(), rendered.getHeight(),
+         generatorContext);
+      AffineTransform result = AffineTransform.getTranslateInstance(x, y);
+      result.scale(width / rendered.getWidth(), height / rendered.getHeight());
+      if (tr != null) {
+         result.concatenate(tr);
+      }
+      return result;
+   }
+
+   private AffineTransform handleImage(BufferedImage image, Element imageElement, int x, int y, int width, int height,
+      SVGGeneratorContext generatorContext) {
+      int imageWidth = image.getWidth();
+      int imageHeight = image.getHeight();
+      int[] pixels = image.getRGB(0, 0, imageWidth, imageHeight, null, 0, imageWidth);
+      String key = encoder.getKey(pixels, imageWidth, imageHeight);
+      ImageEntry entry = images.get(key);
+      if (entry == null) {
+         String id = generatorContext.getIDGenerator().generateID(SVGConstants.SVG_IMAGE_TAG);
+         BufferedImage snapshot = ImageEncoder.createSnapshot(pixels, imageWidth, imageHeight, ImageEncoder.isOpaque(pixels));
+         entry = new ImageEntry(id, snapshot, imageWidth, imageHeight);
+         images.put(key, entry);
+         entries.add(entry);
+         if (encodingThreads > 1) {
+            final ImageEntry toEncode = entry;
+            // the encoder is not thread-safe, so each encoding in the pool has its own encoder
+            final ImageEncoder poolEncoder = new ImageEncoder();
+            poolEncoder.setDeflateLevel(encoder.getDeflateLevel());
+            poolEncoder.setJPEGQuality(encoder.getJPEGQuality());
+            entry.future = getSharedExecutor().submit(() -> {
+               try {
+                  return encode(toEncode, poolEncoder);
+               } finally {
+                  poolEncoder.dispose();
+               }
+            });
+         }
+      }
+      entry.uses.add(imageElement);
+      imageElement.setAttributeNS(SVGConstants.XLINK_NAMESPACE_URI, SVGConstants.XLINK_HREF_QNAME, "#" + entry.id);
+      AffineTransform tr = AffineTransform.getTranslateInstance(x, y);
+      if (width != imageWidth || height != imageHeight) {
+         tr.scale(width / (double) imageWidth, height / (double) imageHeight);
+      }
+      return tr.isIdentity() ? null : tr;
+   }
+
+   /**
+    * Discard the element of an image which is empty or can not be rendered. The element is added to the SVG content
+    * anyway, so it is removed when finishing.
+    */
+   private AffineTransform discard(Element imageElement) {
+      discarded.add(imageElement);
+      return null;
+   }
+
+   /**
+    * Wait for the encoding of the images, and add their definitions to the SVG root element. The images which are used
+    * only once are directly drawn in place of their <code>use</code> element.
+    *
+    * @param svgRoot the SVG root element
+    * @throws IOException if an image could not be encoded or written
+    */
+   public void finish(Element svgRoot) throws IOException {
+      try {
+         for (Element elt : discarded) {
+            if (elt.getParentNode() != null) {
+               elt.getParentNode().removeChild(elt);
+            }
+         }
+         Document doc = svgRoot.getOwnerDocument();
+         Element defs = null;
+         Iterator<ImageEntry> it = entries.iterator();
+         while (it.hasNext()) {
+            ImageEntry entry = it.next();
+            String href = getHref(entry);
+            if (entry.uses.size() == 1) {
+               Element use = entry.uses.get(0);
+               Element imageElt = createImageElement(doc, entry, href);
+               NamedNodeMap attributes = use.getAttributes();
+               for (int i = 0; i < attributes.getLength(); i++) {
+                  Node attr = attributes.item(i);
+                  if (!SVGConstants.XLINK_HREF_ATTRIBUTE.equals(attr.getLocalName())) {
+                     imageElt.setAttributeNS(attr.getNamespaceURI(), attr.getNodeName(), attr.getNodeValue());
+                  }
+               }
+               if (use.getParentNode() != null) {
+                  use.getParentNode().replaceChild(imageElt, use);
+               }
+            } else {
+               if (defs == null) {
+                  defs = doc.createElementNS(SVGConstants.SVG_NAMESPACE_URI, SVGConstants.SVG_DEFS_TAG);
+                  svgRoot.insertBefore(defs, svgRoot.getFirstChild());
+               }
+               Element imageElt = createImageElement(doc, entry, href);
+               imageElt.setAttributeNS(null, SVGConstants.SVG_ID_ATTRIBUTE, entry.id);
+               defs.appendChild(imageElt);
+            }
+         }
+      } finally {
+         dispose();
+      }
+   }
+
+   /**
+    * Cancel the encoding of the images which have not been encoded yet, and release the images. This method is called
+    * by {@link #finish(Element)}, and must be called if the conversion fails before the call to this method.
+    */
+   public void dispose() {
+      Iterator<ImageEntry> it = entries.iterator();
+      while (it.hasNext()) {
+         ImageEntry entry = it.next();
+         if (entry.future != null) {
+            entry.future.cancel(true);
+         }
+      }
+      images.clear();
+      entries.clear();
+      discarded.clear();
+      encoder.dispose();
+   }
+
+   private Element createImageElement(Document doc, ImageEntry entry, String href) {
+      Element imageElt = doc.createElementNS(SVGConstants.SVG_NAMESPACE_URI, SVGConstants.SVG_IMAGE_TAG);
+      imageElt.setAttributeNS(null, SVGConstants.SVG_WIDTH_ATTRIBUTE, Integer.toString(entry.width));
+      imageElt.setAttributeNS(null, SVGConstants.SVG_HEIGHT_ATTRIBUTE, Integer.toString(entry.height));
+      imageElt.setAttributeNS(null, SVGConstants.SVG_PRESERVE_ASPECT_RATIO_ATTRIBUTE, SVGConstants.SVG_NONE_VALUE);
+      imageElt.setAttributeNS(SVGConstants.XLINK_NAMESPACE_URI, SVGConstants.XLINK_HREF_QNAME, href);
+      return imageElt;
+   }
+
+   private String getHref(ImageEntry entry) throws IOException {
+      EncodedImage encoded;
+      if (entry.future == null) {
+         encoded = encode(entry, encoder);
+      } else {
+         try {
+            encoded = entry.future.get();
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+         } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+               throw (IOException) cause;
+            }
+            throw new IOException(cause);
+         }
+      }
+      if (imagesDirectory != null) {
+         String fileName = entry.id + "." + (encoded.format.equals("jpeg") ? "jpg" : encoded.format);
+         Files.write(new File(imagesDirectory, fileName).toPath(), encoded.bytes);
+         return imagesPrefix == null ? fileName : imagesPrefix + "/" + fileName;
+      } else {
+         return "data:image/" + encoded.format + ";base64," + Base64.getEncoder().encodeToString(encoded.bytes);
+      }
+   }
+
+   /**
+    * Return the encoding pool shared by all the handlers. The pool threads are daemon threads which stop when they
+    * have been idle for {@link #KEEP_ALIVE} seconds.
+    */
+   private static synchronized ThreadPoolExecutor getSharedExecutor() {
+      if (sharedExecutor == null) {
+         int threads = Runtime.getRuntime().availableProcessors();
+         sharedExecutor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "SVGImageEncoder");
+            thread.setDaemon(true);
+            return thread;
+         });
+         sharedExecutor.allowCoreThreadTimeOut(true);
+      }
+      return sharedExecutor;
+   }
+
+   /**
+    * Encode an image. This method can be called from the encoding threads, with an encoder which is not used by other
+    * threads.
+    */
+   private static EncodedImage encode(ImageEntry entry, ImageEncoder imageEncoder) throws IOException {
+      BufferedImage image = entry.image;
+      boolean jpeg = imageEncoder.isJPEG(image);
+      byte[] bytes = imageEncoder.encode(image, jpeg);
+      // the encoded image does not need the pixels anymore
+      entry.image = null;
+      return new EncodedImage(jpeg ? "jpeg" : "png", bytes);
+   }
+
+   /**
+    * A distinct image.
+    */
+   private static class ImageEntry {
+      private final String id;
+      private final int width;
+      private final int height;
+      private volatile BufferedImage image;
+      private Future<EncodedImage> future = null;
+      private final List<Element> uses = new ArrayList<>(1);
+
+      private ImageEntry(String id, BufferedImage image, int width, int height) {
+         this.id = id;
+         this.image = image;
+         this.width = width;
+         this.height = height;
+      }
+   }
+
+   /**
+    * An encoded image.
+    */
+   private static class EncodedImage {
+      private final String format;
+      private final byte[] bytes;
+
+      private EncodedImage(String format, byte[] bytes) {
+         this.format = format;
+         this.bytes = bytes;
+      }
+   }
+}
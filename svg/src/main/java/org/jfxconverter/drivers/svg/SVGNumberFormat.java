@@ -0,0 +1,199 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.svg;
+
+import java.awt.geom.AffineTransform;
+import java.math.BigDecimal;
+
+/**
+ * Formats the numbers of the SVG content with a fixed maximum number of decimal places.
+ *
+ * <p>
+ * The digits are appended directly to a StringBuilder, without creating intermediate Strings. The trailing zeros
+ * are removed, the exponent notation is never used, and the negative zero is written as <code>0</code>. For example
+ * with a precision of 3, <code>12.50000001</code> is written as <code>12.5</code> and <code>-0.0001</code> is
+ * written as <code>0</code>.</p>
+ *
+ * <p>
+ * This class is not thread-safe, because the {@link #format(double)} methods reuse an internal buffer.</p>
+ *
+ * @since 0.25
+ */
+public final class SVGNumberFormat {
+   /**
+    * The default precision, which is the same as the default precision of Batik.
+    */
+   public static final int DEFAULT_PRECISION = 4;
+   /**
+    * The maximum precision.
+    */
+   public static final int MAX_PRECISION = 12;
+   private static final long[] POWERS = new long[MAX_PRECISION + 1];
+   /**
+    * The maximum absolute scaled value which can be represented as a long without loss.
+    */
+   private static final double MAX_SCALED = 9e15;
+   private final int precision;
+   private final long power;
+   private final StringBuilder buf = new StringBuilder(24);
+
+   static {
+      long pow = 1;
+      for (int i = 0; i <= MAX_PRECISION; i++) {
+         POWERS[i] = pow;
+         pow *= 10;
+      }
+   }
+
+   /**
+    * Create a number format with the default precision.
+    */
+   public SVGNumberFormat() {
+      this(DEFAULT_PRECISION);
+   }
+
+   /**
+    * Constructor.
+    *
+    * @param precision the maximum number of decimal places, between 0 and {@link #MAX_PRECISION}
+    */
+   public SVGNumberFormat(int precision) {
+      this.precision = Math.max(0, Math.min(precision, MAX_PRECISION));
+      this.power = POWERS[this.precision];
+   }
+
+   /**
+    * Return the maximum number of decimal places.
+    *
+    * @return the maximum number of decimal places
+    */
+   public int getPrecision() {
+      return precision;
+   }
+
+   /**
+    * Append a number to a StringBuilder.
+    *
+    * @param buf the StringBuilder
+    * @param value the number
+    * @return the StringBuilder
+    */
+   public StringBuilder append(StringBuilder buf, double value) {
+      if (Double.isNaN(value) || Double.isInfinite(value)) {
+         return buf.append('0');
+      }
+      double scaledValue = value * power;
+      if (Math.abs(scaledValue) >= MAX_SCALED) {
+         // the value is too large for the decimal places to be significant
+         if (Math.abs(value) < MAX_SCALED) {
+            return buf.append(Math.round(value));
+         }
+         return buf.append(new BigDecimal(Math.rint(value)).toPlainString());
+      }
+      long scaled = Math.round(scaledValue);
+      if (scaled == 0) {
+         return buf.append('0');
+      } else if (scaled < 0) {
+         buf.append('-');
+         scaled = -scaled;
+      }
+      buf.append(scaled / power);
+      long decimals = scaled % power;
+      if (decimals != 0) {
+         buf.append('.');
+         long digit = power / 10;
+         while (decimals != 0) {
+            buf.append((char) ('0' + decimals / digit));
+            decimals %= digit;
+            digit /= 10;
+         }
+      }
+      return buf;
+   }
+
+   /**
+    * Append a transform to a StringBuilder, using the SVG <code>matrix(a b c d e f)</code> syntax.
+    *
+    * @param buf the StringBuilder
+    * @param tr the transform
+    * @return the StringBuilder
+    */
+   public StringBuilder appendMatrix(StringBuilder buf, AffineTransform tr) {
+      buf.append("matrix(");
+      append(buf, tr.getScaleX()).append(' ');
+      append(buf, tr.getShearY()).append(' ');
+      append(buf, tr.getShearX()).append(' ');
+      append(buf, tr.getScaleY()).append(' ');
+      append(buf, tr.getTranslateX()).append(' ');
+      append(buf, tr.getTranslateY());
+      return buf.append(')');
+   }
+
+   /**
+    * Format a number.
+    *
+    * @param value the number
+    * @return the formatted number
+    */
+   public String format(double value) {
+      buf.setLength(0);
+      return append(buf, value).toString();
+   }
+
+   /**
+    * Format several numbers, separated by spaces.
+    *
+    * @param values the numbers
+    * @return the formatted numbers
+    */
+   public String format(double... values) {
+      buf.setLength(0);
+      for (int i = 0; i < values.length; i++) {
+         if (i > 0) {
+            buf.append(' ');
+         }
+         append(buf, values[i]);
+      }
+      return buf.toString();
+   }
+
+   /**
+    * Format a transform, using the SVG <code>matrix(a b c d e f)</code> syntax.
+    *
+    * @param tr the transform
+    * @return the formatted transform
+    */
+   public String format(AffineTransform tr) {
+      buf.setLength(0);
+      return appendMatrix(buf, tr).toString();
+   }
+}
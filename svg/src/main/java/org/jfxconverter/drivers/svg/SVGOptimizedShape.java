@@ -0,0 +1,78 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.svg;
+
+import org.apache.batik.svggen.SVGGeneratorContext;
+import org.apache.batik.svggen.SVGShape;
+import org.w3c.dom.Element;
+
+import java.awt.Polygon;
+import java.awt.Shape;
+import java.awt.geom.Line2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.RectangularShape;
+
+/**
+ * A shape converter which encodes the paths with a {@link SVGPathEncoder}. The shapes which have a specific SVG
+ * element are still converted by the Batik shape converter.
+ *
+ * @since 0.25
+ */
+class SVGOptimizedShape extends SVGShape {
+   private SVGPathEncoder encoder = null;
+
+   SVGOptimizedShape(SVGGeneratorContext generatorContext) {
+      super(generatorContext);
+   }
+
+   @Override
+   public Element toSVG(Shape shape) {
+      if (shape instanceof Polygon || shape instanceof RectangularShape || shape instanceof Line2D) {
+         // rectangles, ellipses, arcs, lines and polygons
+         return super.toSVG(shape);
+      }
+      int precision = generatorContext.getPrecision();
+      if (encoder == null || encoder.getPrecision() != precision) {
+         encoder = new SVGPathEncoder(precision);
+      }
+      String data = encoder.encode(shape);
+      if (data.isEmpty()) {
+         return null;
+      }
+      Element path = generatorContext.getDOMFactory().createElementNS(SVG_NAMESPACE_URI, SVG_PATH_TAG);
+      path.setAttributeNS(null, SVG_D_ATTRIBUTE, data);
+      if (shape.getPathIterator(null).getWindingRule() == PathIterator.WIND_EVEN_ODD) {
+         path.setAttributeNS(null, SVG_FILL_RULE_ATTRIBUTE, SVG_EVEN_ODD_VALUE);
+      }
+      return path;
+   }
+}
@@ -0,0 +1,406 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.svg;
+
+import java.awt.Shape;
+import java.awt.geom.PathIterator;
+
+/**
+ * Encodes the outline of a Shape as SVG path data, using the shortest form for each segment.
+ *
+ * <p>
+ * For each segment, the encoder writes either the absolute or the relative command, whichever is shorter. It also:</p>
+ * <ul>
+ * <li>omits the command letter when it is the same as the previous command, including the implicit line commands
+ * following a move command</li>
+ * <li>writes horizontal and vertical lines with the <code>H</code> and <code>V</code> commands</li>
+ * <li>writes curves whose first control point is the reflection of the previous control point with the
+ * <code>S</code> and <code>T</code> commands</li>
+ * <li>omits the separators which are not necessary, and the leading zero of the numbers which are smaller than 1</li>
+ * </ul>
+ *
+ * <p>
+ * The coordinates are rounded to the precision of the encoder before computing the relative coordinates, so the
+ * rounding errors do not accumulate along the path. For example with a precision of 3, the outline of the
+ * <code>Rectangle2D.Double(10, 10, 20, 0.5)</code> rectangle is encoded as <code>M10 10H30v.5H10Z</code>.</p>
+ *
+ * <p>
+ * This class is not thread-safe, because it reuses internal buffers.</p>
+ *
+ * @since 0.25
+ */
+public final class SVGPathEncoder {
+   /**
+    * The maximum absolute scaled value which can be represented as a long without loss.
+    */
+   private static final double MAX_SCALED = 9e15;
+   private final SVGNumberFormat numberFormat;
+   private final long power;
+   private final double[] coords = new double[6];
+   private final long[] values = new long[6];
+   private final StringBuilder absBuf = new StringBuilder(64);
+   private final StringBuilder relBuf = new StringBuilder(64);
+   private char lastCommand;
+   private boolean lastIsNumber;
+   private boolean lastHasDot;
+   private int lastType;
+   private long curX;
+   private long curY;
+   private long startX;
+   private long startY;
+   private long ctrlX;
+   private long ctrlY;
+   private boolean overflow;
+   private boolean pendingLine;
+
+   /**
+    * Create an encoder with the default precision.
+    */
+   public SVGPathEncoder() {
+      this(SVGNumberFormat.DEFAULT_PRECISION);
+   }
+
+   /**
+    * Constructor.
+    *
+    * @param precision the maximum number of decimal places, between 0 and {@link SVGNumberFormat#MAX_PRECISION}
+    */
+   public SVGPathEncoder(int precision) {
+      this.numberFormat = new SVGNumberFormat(precision);
+      long pow = 1;
+      for (int i = 0; i < numberFormat.getPrecision(); i++) {
+         pow *= 10;
+      }
+      this.power = pow;
+   }
+
+   /**
+    * Return the maximum number of decimal places.
+    *
+    * @return the maximum number of decimal places
+    */
+   public int getPrecision() {
+      return numberFormat.getPrecision();
+   }
+
+   /**
+    * Encode the outline of a Shape.
+    *
+    * @param shape the Shape
+    * @return the path data
+    */
+   public String encode(Shape shape) {
+      return append(new StringBuilder(), shape).toString();
+   }
+
+   /**
+    * Append the path data of the outline of a Shape to a StringBuilder.
+    *
+    * @param buf the StringBuilder
+    * @param shape the Shape
+    * @return the StringBuilder
+    */
+   public StringBuilder append(StringBuilder buf, Shape shape) {
+      int start = buf.length();
+      lastCommand = 0;
+      lastIsNumber = false;
+      lastHasDot = false;
+      lastType = PathIterator.SEG_CLOSE;
+      curX = 0;
+      curY = 0;
+      startX = 0;
+      startY = 0;
+      overflow = false;
+      pendingLine = false;
+      PathIterator it = shape.getPathIterator(null);
+      while (!it.isDone()) {
+         appendSegment(buf, it.currentSegment(coords));
+         it.next();
+      }
+      appendPendingLine(buf);
+      if (overflow) {
+         // some coordinates are too large for the decimal places to be significant
+         buf.setLength(start);
+         appendAbsolute(buf, shape);
+      }
+      return buf;
+   }
+
+   /**
+    * Append the path data of the outline of a Shape to a StringBuilder, using only absolute commands with their
+    * command letters.
+    *
+    * @param buf the StringBuilder
+    * @param shape the Shape
+    * @return the StringBuilder
+    */
+   public StringBuilder appendAbsolute(StringBuilder buf, Shape shape) {
+      PathIterator it = shape.getPathIterator(null);
+      boolean first = true;
+      while (!it.isDone()) {
+         int type = it.currentSegment(coords);
+         if (!first) {
+            buf.append(' ');
+         }
+         first = false;
+         switch (type) {
+            case PathIterator.SEG_MOVETO:
+               buf.append('M');
+               appendCoords(buf, 2);
+               break;
+            case PathIterator.SEG_LINETO:
+               buf.append('L');
+               appendCoords(buf, 2);
+               break;
+            case PathIterator.SEG_QUADTO:
+               buf.append('Q');
+               appendCoords(buf, 4);
+               break;
+            case PathIterator.SEG_CUBICTO:
+               buf.append('C');
+               appendCoords(buf, 6);
+               break;
+            default:
+               buf.append('Z');
+               break;
+         }
+         it.next();
+      }
+      return buf;
+   }
+
+   private void appendCoords(StringBuilder buf, int count) {
+      for (int i = 0; i < count; i++) {
+         if (i > 0) {
+            buf.append(' ');
+         }
+         numberFormat.append(buf, coords[i]);
+      }
+   }
+
+   private void appendSegment(StringBuilder buf, int type) {
+      if (type == PathIterator.SEG_CLOSE) {
+         // the line to the start of the subpath is implied by the close command
+         pendingLine = false;
+      } else {
+         appendPendingLine(buf);
+      }
+      switch (type) {
+         case PathIterator.SEG_MOVETO:
+            scale(2);
+            appendShortest(buf, 'M', 'm', 0, 2);
+            curX = values[0];
+            curY = values[1];
+            startX = curX;
+            startY = curY;
+            break;
+         case PathIterator.SEG_LINETO:
+            scale(2);
+            if (values[0] == startX && values[1] == startY && lastType != PathIterator.SEG_MOVETO) {
+               // wait for the next segment to know if the line is followed by a close command
+               pendingLine = true;
+               break;
+            }
+            appendLine(buf);
+            break;
+         case PathIterator.SEG_QUADTO:
+            scale(4);
+            if (lastType == PathIterator.SEG_QUADTO && values[0] == 2 * curX - ctrlX && values[1] == 2 * curY - ctrlY) {
+               appendShortest(buf, 'T', 't', 2, 2);
+            } else {
+               appendShortest(buf, 'Q', 'q', 0, 4);
+            }
+            ctrlX = values[0];
+            ctrlY = values[1];
+            curX = values[2];
+            curY = values[3];
+            break;
+         case PathIterator.SEG_CUBICTO:
+            scale(6);
+            if (lastType == PathIterator.SEG_CUBICTO && values[0] == 2 * curX - ctrlX && values[1] == 2 * curY - ctrlY) {
+               appendShortest(buf, 'S', 's', 2, 4);
+            } else {
+               appendShortest(buf, 'C', 'c', 0, 6);
+            }
+            ctrlX = values[2];
+            ctrlY = values[3];
+            curX = values[4];
+            curY = values[5];
+            break;
+         default:
+            buf.append('Z');
+            lastCommand = 0;
+            lastIsNumber = false;
+            curX = startX;
+            curY = startY;
+            break;
+      }
+      lastType = type;
+   }
+
+   private void appendLine(StringBuilder buf) {
+      if (values[1] == curY) {
+         appendShortest(buf, 'H', 'h', 0, 1);
+      } else if (values[0] == curX) {
+         appendShortest(buf, 'V', 'v', 1, 1);
+      } else {
+         appendShortest(buf, 'L', 'l', 0, 2);
+      }
+      curX = values[0];
+      curY = values[1];
+   }
+
+   /**
+    * Append the line to the start of the subpath which was not followed by a close command.
+    */
+   private void appendPendingLine(StringBuilder buf) {
+      if (pendingLine) {
+         pendingLine = false;
+         values[0] = startX;
+         values[1] = startY;
+         appendLine(buf);
+      }
+   }
+
+   /**
+    * Convert the current coordinates to longs, scaled by the precision.
+    */
+   private void scale(int count) {
+      for (int i = 0; i < count; i++) {
+         double scaledValue = coords[i] * power;
+         if (Double.isNaN(scaledValue) || Double.isInfinite(scaledValue)) {
+            values[i] = 0;
+         } else if (Math.abs(scaledValue) >= MAX_SCALED) {
+            overflow = true;
+            values[i] = 0;
+         } else {
+            values[i] = Math.round(scaledValue);
+         }
+      }
+   }
+
+   /**
+    * Append the absolute or the relative form of the current segment, whichever is shorter.
+    *
+    * @param buf the StringBuilder
+    * @param absCommand the absolute command
+    * @param relCommand the relative command
+    * @param offset the index of the first value of the segment
+    * @param count the number of values of the segment
+    */
+   private void appendShortest(StringBuilder buf, char absCommand, char relCommand, int offset, int count) {
+      absBuf.setLength(0);
+      relBuf.setLength(0);
+      boolean absHasDot = appendValues(absBuf, absCommand, false, offset, count);
+      boolean relHasDot = appendValues(relBuf, relCommand, true, offset, count);
+      char command;
+      if (relBuf.length() < absBuf.length()) {
+         buf.append(relBuf);
+         command = relCommand;
+         lastHasDot = relHasDot;
+      } else {
+         buf.append(absBuf);
+         command = absCommand;
+         lastHasDot = absHasDot;
+      }
+      // the coordinates following a move command are implicit line commands
+      if (command == 'M') {
+         command = 'L';
+      } else if (command == 'm') {
+         command = 'l';
+      }
+      lastCommand = command;
+      lastIsNumber = true;
+   }
+
+   /**
+    * Append the values of the current segment.
+    *
+    * @return true if the last number has a decimal point
+    */
+   private boolean appendValues(StringBuilder buf, char command, boolean relative, int offset, int count) {
+      boolean isNumber = lastIsNumber;
+      boolean hasDot = lastHasDot;
+      if (command != lastCommand) {
+         buf.append(command);
+         isNumber = false;
+      }
+      for (int i = offset; i < offset + count; i++) {
+         long value = values[i];
+         if (relative) {
+            value -= (i & 1) == 0 ? curX : curY;
+         }
+         hasDot = appendNumber(buf, value, isNumber, hasDot);
+         isNumber = true;
+      }
+      return hasDot;
+   }
+
+   /**
+    * Append a scaled number, with a separator only if it is necessary.
+    *
+    * @param buf the StringBuilder
+    * @param value the scaled number
+    * @param afterNumber true if the number follows another number
+    * @param afterDot true if the previous number has a decimal point
+    * @return true if the number has a decimal point
+    */
+   private boolean appendNumber(StringBuilder buf, long value, boolean afterNumber, boolean afterDot) {
+      boolean negative = value < 0;
+      if (negative) {
+         value = -value;
+      }
+      long integer = value / power;
+      long decimals = value % power;
+      boolean leadingDot = integer == 0 && decimals != 0;
+      if (afterNumber && !negative && !(leadingDot && afterDot)) {
+         buf.append(' ');
+      }
+      if (negative) {
+         buf.append('-');
+      }
+      if (!leadingDot) {
+         buf.append(integer);
+      }
+      if (decimals != 0) {
+         buf.append('.');
+         long digit = power / 10;
+         while (decimals != 0) {
+            buf.append((char) ('0' + decimals / digit));
+            decimals %= digit;
+            digit /= 10;
+         }
+         return true;
+      }
+      return false;
+   }
+}
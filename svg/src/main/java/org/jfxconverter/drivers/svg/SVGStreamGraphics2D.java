@@ -0,0 +1,927 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.svg;
+
+import javafx.scene.Node;
+import javafx.scene.effect.Effect;
+import org.apache.batik.ext.awt.g2d.AbstractGraphics2D;
+import org.apache.batik.ext.awt.g2d.GraphicContext;
+import org.apache.batik.ext.awt.g2d.TransformStackElement;
+import org.apache.batik.util.SVGConstants;
+import org.jfxconverter.utils.ExtendedGraphics2D;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.font.TextLayout;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Line2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.WritableRaster;
+import java.awt.image.renderable.RenderableImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.AttributedCharacterIterator;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A Graphics2D which streams the SVG content directly to a Writer, without building a DOM Document.
+ *
+ * <h1>Usage</h1>
+ * The XML header, the <code>svg</code> root element, its <code>viewBox</code> and the document <code>title</code> are
+ * written when the Graphics2D is created. Each drawing order is then written as soon as it is received, so the memory
+ * used during the conversion does not depend on the size of the Node tree. The {@link #finish()} method must be called
+ * at the end of the conversion to close the remaining groups and the root element.
+ *
+ * <h1>Limitations</h1>
+ * <ul>
+ * <li>Clips are applied by enclosing the elements in a <code>g</code> element referencing a <code>clipPath</code></li>
+ * <li>Paints which are neither colors nor gradients are rasterized</li>
+ * <li>Identical gradients are only defined once</li>
+ * <li>Effects are ignored, as for the {@link ConvertorJFXSVGGraphics2D}</li>
+ * </ul>
+ *
+ * <p>
+ * Contrary to the Graphics2D methods, which can not throw an IOException, the {@link #finish()} method will throw
+ * the first IOException which occurred while writing the content.</p>
+ *
+ * @since 0.25
+ */
+public class SVGStreamGraphics2D extends AbstractGraphics2D implements ExtendedGraphics2D<Node, Effect> {
+   /**
+    * The size of the internal buffer above which the content is written to the Writer.
+    */
+   private static final int FLUSH_THRESHOLD = 8192;
+   private final StreamContext ctx;
+
+   /**
+    * Constructor.
+    *
+    * @param out the Writer
+    * @param viewBox the viewBox of the SVG root (can be null)
+    * @param title the document title (can be null)
+    */
+   public SVGStreamGraphics2D(Writer out, Rectangle2D viewBox, String title) {
+      this(out, viewBox, title, SVGNumberFormat.DEFAULT_PRECISION);
+   }
+
+   /**
+    * Constructor.
+    *
+    * @param out the Writer
+    * @param viewBox the viewBox of the SVG root (can be null)
+    * @param title the document title (can be null)
+    * @param precision the maximum number of decimal places of the numbers
+    */
+   public SVGStreamGraphics2D(Writer out, Rectangle2D viewBox, String title, int precision) {
+      super(false);
+      gc = new StreamGraphicContext();
+      ctx = new StreamContext(out, precision);
+      writeHeader(viewBox, title);
+   }
+
+   /**
+    * Copy constructor, used by {@link #create()}. The copy shares the output of the original Graphics2D, and has a
+    * copy of its StreamGraphicContext.
+    *
+    * @param g2D the original Graphics2D
+    */
+   private SVGStreamGraphics2D(SVGStreamGraphics2D g2D) {
+      super(g2D);
+      ctx = g2D.ctx;
+   }
+
+   private void writeHeader(Rectangle2D viewBox, String title) {
+      StringBuilder buf = ctx.buf;
+      buf.append("<?xml version=\"1.0\"?>\n");
+      buf.append("<!DOCTYPE svg PUBLIC '").append(SVGConstants.SVG_PUBLIC_ID).append("'\n");
+      buf.append("          '").append(SVGConstants.SVG_SYSTEM_ID).append("'>\n");
+      buf.append("<svg xmlns=\"").append(SVGConstants.SVG_NAMESPACE_URI);
+      buf.append("\" xmlns:xlink=\"").append(SVGConstants.XLINK_NAMESPACE_URI).append("\"");
+      if (viewBox != null) {
+         buf.append(" viewBox=\"");
+         appendNumber(buf, viewBox.getMinX());
+         buf.append(' ');
+         appendNumber(buf, viewBox.getMinY());
+         buf.append(' ');
+         appendNumber(buf, viewBox.getWidth());
+         buf.append(' ');
+         appendNumber(buf, viewBox.getHeight());
+         buf.append("\"");
+      }
+      // the Java2D default stroke attributes, which are not the same as the SVG defaults
+      buf.append(" stroke-linecap=\"square\" stroke-miterlimit=\"10\">\n");
+      if (title != null) {
+         buf.append("<title>");
+         appendEscaped(buf, title);
+         buf.append("</title>\n");
+      }
+      flushIfNeeded();
+   }
+
+   /**
+    * Set if the path data is encoded in its shortest form, using the {@link SVGPathEncoder}. The default is true.
+    *
+    * @param optimizedPaths true if the path data is encoded in its shortest form
+    */
+   public void setOptimizedPaths(boolean optimizedPaths) {
+      ctx.optimizedPaths = optimizedPaths;
+   }
+
+   /**
+    * Return true if the path data is encoded in its shortest form.
+    *
+    * @return true if the path data is encoded in its shortest form
+    */
+   public boolean isOptimizingPaths() {
+      return ctx.optimizedPaths;
+   }
+
+   /**
+    * Close the remaining groups and the root element, and flush the Writer.
+    *
+    * @throws IOException if an IOException occurred while writing the content
+    */
+   public void finish() throws IOException {
+      if (!ctx.finished) {
+         closeClip();
+         while (ctx.groupsDepth > 0) {
+            ctx.buf.append("</g>\n");
+            ctx.groupsDepth--;
+         }
+         ctx.buf.append("</svg>\n");
+         ctx.finished = true;
+         flush();
+         if (ctx.error == null) {
+            try {
+               ctx.out.flush();
+            } catch (IOException e) {
+               ctx.error = e;
+            }
+         }
+      }
+      if (ctx.error != null) {
+         throw ctx.error;
+      }
+   }
+
+   /**
+    * Start a Group.
+    *
+    * @param name the group name (can be null)
+    * @param node the Node
+    */
+   @Override
+   public void startGroup(String name, Node node) {
+      if (ctx.finished) {
+         return;
+      }
+      closeClip();
+      StringBuilder buf = ctx.buf;
+      buf.append("<g");
+      if (name != null) {
+         buf.append(" id=\"");
+         appendEscaped(buf, name);
+         buf.append('"');
+      }
+      buf.append(">\n");
+      ctx.groupsDepth++;
+      flushIfNeeded();
+   }
+
+   /**
+    * End a Group.
+    *
+    * @param node the Node
+    */
+   @Override
+   public void endGroup(Node node) {
+      if (ctx.finished || ctx.groupsDepth == 0) {
+         return;
+      }
+      closeClip();
+      ctx.buf.append("</g>\n");
+      ctx.groupsDepth--;
+      flushIfNeeded();
+   }
+
+   @Override
+   public void applyEffect(Node node, Effect effect) {
+   }
+
+   @Override
+   public Graphics create() {
+      return new SVGStreamGraphics2D(this);
+   }
+
+   @Override
+   public void dispose() {
+   }
+
+   @Override
+   public GraphicsConfiguration getDeviceConfiguration() {
+      return getMeasureGraphics().getDeviceConfiguration();
+   }
+
+   @Override
+   public FontMetrics getFontMetrics(Font font) {
+      return getMeasureGraphics().getFontMetrics(font);
+   }
+
+   @Override
+   public void setXORMode(Color color) {
+   }
+
+   @Override
+   public void copyArea(int x, int y, int width, int height, int dx, int dy) {
+   }
+
+   @Override
+   public void draw(Shape shape) {
+      if (shape == null || ctx.finished) {
+         return;
+      }
+      Stroke stroke = gc.getStroke();
+      Paint paint = gc.getPaint();
+      if (!(stroke instanceof BasicStroke)) {
+         // the stroke has no SVG equivalent, so we fill its outline
+         fill(stroke.createStrokedShape(shape));
+         return;
+      }
+      if (!isSupported(paint)) {
+         fillRaster(stroke.createStrokedShape(shape));
+         return;
+      }
+      String paintRef = writePaint(paint);
+      openClip();
+      StringBuilder buf = ctx.buf;
+      appendShape(buf, shape);
+      buf.append(" fill=\"none\" stroke=\"").append(paintRef).append('"');
+      appendOpacity(buf, "stroke-opacity", paint);
+      appendStroke(buf, (BasicStroke) stroke);
+      appendTransform(buf, gc.getTransform());
+      buf.append("/>\n");
+      flushIfNeeded();
+   }
+
+   @Override
+   public void fill(Shape shape) {
+      if (shape == null || ctx.finished) {
+         return;
+      }
+      Paint paint = gc.getPaint();
+      if (!isSupported(paint)) {
+         fillRaster(shape);
+         return;
+      }
+      String paintRef = writePaint(paint);
+      openClip();
+      StringBuilder buf = ctx.buf;
+      appendShape(buf, shape);
+      buf.append(" fill=\"").append(paintRef).append('"');
+      appendOpacity(buf, "fill-opacity", paint);
+      if (!(shape instanceof Rectangle2D) && !(shape instanceof Ellipse2D)
+         && shape.getPathIterator(null).getWindingRule() == PathIterator.WIND_EVEN_ODD) {
+         buf.append(" fill-rule=\"evenodd\"");
+      }
+      appendTransform(buf, gc.getTransform());
+      buf.append("/>\n");
+      flushIfNeeded();
+   }
+
+   @Override
+   public void drawString(String str, float x, float y) {
+      if (str == null || str.isEmpty() || ctx.finished) {
+         return;
+      }
+      Font font = gc.getFont();
+      Paint paint = gc.getPaint();
+      if (textAsShapes || font.isTransformed() || !(paint instanceof Color)) {
+         fill(font.createGlyphVector(gc.getFontRenderContext(), str).getOutline(x, y));
+         return;
+      }
+      openClip();
+      StringBuilder buf = ctx.buf;
+      buf.append("<text x=\"");
+      appendNumber(buf, x);
+      buf.append("\" y=\"");
+      appendNumber(buf, y);
+      buf.append("\" font-family=\"");
+      appendEscaped(buf, font.getFamily());
+      buf.append("\" font-size=\"");
+      appendNumber(buf, font.getSize2D());
+      buf.append('"');
+      if (font.isBold()) {
+         buf.append(" font-weight=\"bold\"");
+      }
+      if (font.isItalic()) {
+         buf.append(" font-style=\"italic\"");
+      }
+      buf.append(" fill=\"");
+      appendColor(buf, (Color) paint);
+      buf.append('"');
+      appendOpacity(buf, "fill-opacity", paint);
+      appendTransform(buf, gc.getTransform());
+      buf.append(" xml:space=\"preserve\">");
+      appendEscaped(buf, str);
+      buf.append("</text>\n");
+      flushIfNeeded();
+   }
+
+   @Override
+   public void drawString(AttributedCharacterIterator iterator, float x, float y) {
+      if (iterator == null || iterator.getBeginIndex() == iterator.getEndIndex() || ctx.finished) {
+         return;
+      }
+      TextLayout layout = new TextLayout(iterator, gc.getFontRenderContext());
+      fill(layout.getOutline(AffineTransform.getTranslateInstance(x, y)));
+   }
+
+   @Override
+   public boolean drawImage(Image img, int x, int y, ImageObserver observer) {
+      if (img == null) {
+         return true;
+      }
+      int width = img.getWidth(observer);
+      int height = img.getHeight(observer);
+      if (width < 0 || height < 0) {
+         return false;
+      }
+      return drawImage(img, x, y, width, height, observer);
+   }
+
+   @Override
+   public boolean drawImage(Image img, int x, int y, int width, int height, ImageObserver observer) {
+      if (img == null || ctx.finished) {
+         return true;
+      }
+      if (width <= 0 || height <= 0) {
+         return true;
+      }
+      BufferedImage image = toBufferedImage(img, observer);
+      if (image == null) {
+         return false;
+      }
+      writeImage(image, x, y, width, height, gc.getTransform());
+      return true;
+   }
+
+   @Override
+   public void drawRenderedImage(RenderedImage img, AffineTransform xform) {
+      if (img == null || ctx.finished) {
+         return;
+      }
+      BufferedImage image;
+      if (img instanceof BufferedImage) {
+         image = (BufferedImage) img;
+      } else {
+         ColorModel model = img.getColorModel();
+         WritableRaster raster = model.createCompatibleWritableRaster(img.getWidth(), img.getHeight());
+         img.copyData(raster.createWritableTranslatedChild(img.getMinX(), img.getMinY()));
+         image = new BufferedImage(model, raster, model.isAlphaPremultiplied(), null);
+      }
+      AffineTransform tr = gc.getTransform();
+      if (xform != null) {
+         tr.concatenate(xform);
+      }
+      writeImage(image, 0, 0, image.getWidth(), image.getHeight(), tr);
+   }
+
+   @Override
+   public void drawRenderableImage(RenderableImage img, AffineTransform xform) {
+      if (img != null) {
+         drawRenderedImage(img.createDefaultRendering(), xform);
+      }
+   }
+
+   private Graphics2D getMeasureGraphics() {
+      if (ctx.measureGraphics == null) {
+         ctx.measureGraphics = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+      }
+      return ctx.measureGraphics;
+   }
+
+   private static BufferedImage toBufferedImage(Image img, ImageObserver observer) {
+      if (img instanceof BufferedImage) {
+         return (BufferedImage) img;
+      }
+      int width = img.getWidth(observer);
+      int height = img.getHeight(observer);
+      if (width <= 0 || height <= 0) {
+         return null;
+      }
+      BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+      Graphics2D g = image.createGraphics();
+      boolean complete = g.drawImage(img, 0, 0, observer);
+      g.dispose();
+      return complete ? image : null;
+   }
+
+   private static boolean isSupported(Paint paint) {
+      return paint instanceof Color || paint instanceof GradientPaint || paint instanceof MultipleGradientPaint;
+   }
+
+   /**
+    * Rasterize a filled Shape whose Paint has no SVG equivalent, and write it as an image in the device space.
+    *
+    * @param shape the Shape
+    */
+   private void fillRaster(Shape shape) {
+      AffineTransform tr = gc.getTransform();
+      Rectangle2D bounds = tr.createTransformedShape(shape).getBounds2D();
+      Shape deviceClip = ((StreamGraphicContext) gc).getDeviceClip();
+      if (deviceClip != null) {
+         bounds = bounds.createIntersection(deviceClip.getBounds2D());
+      }
+      Rectangle rec = bounds.getBounds();
+      if (rec.isEmpty()) {
+         return;
+      }
+      BufferedImage image = new BufferedImage(rec.width, rec.height, BufferedImage.TYPE_INT_ARGB);
+      Graphics2D g = image.createGraphics();
+      g.setRenderingHints(gc.getRenderingHints());
+      g.translate(-rec.x, -rec.y);
+      g.transform(tr);
+      g.setPaint(gc.getPaint());
+      g.fill(shape);
+      g.dispose();
+      writeImage(image, rec.x, rec.y, rec.width, rec.height, null);
+   }
+
+   private void writeImage(BufferedImage image, double x, double y, double width, double height, AffineTransform tr) {
+      byte[] bytes;
+      try {
+         ByteArrayOutputStream stream = new ByteArrayOutputStream();
+         if (!ImageIO.write(image, "png", stream)) {
+            BufferedImage argb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = argb.createGraphics();
+            g.drawImage(image, 0, 0, null);
+            g.dispose();
+            stream.reset();
+            ImageIO.write(argb, "png", stream);
+         }
+         bytes = stream.toByteArray();
+      } catch (IOException e) {
+         if (ctx.error == null) {
+            ctx.error = e;
+         }
+         return;
+      }
+      openClip();
+      StringBuilder buf = ctx.buf;
+      buf.append("<image x=\"");
+      appendNumber(buf, x);
+      buf.append("\" y=\"");
+      appendNumber(buf, y);
+      buf.append("\" width=\"");
+      appendNumber(buf, width);
+      buf.append("\" height=\"");
+      appendNumber(buf, height);
+      buf.append("\" preserveAspectRatio=\"none\"");
+      appendOpacity(buf, "opacity", null);
+      if (tr != null) {
+         appendTransform(buf, tr);
+      }
+      buf.append(" xlink:href=\"data:image/png;base64,");
+      buf.append(Base64.getEncoder().encodeToString(bytes));
+      buf.append("\"/>\n");
+      flushIfNeeded();
+   }
+
+   /**
+    * Write the definition of a gradient Paint if necessary, and return the value of the attribute referencing the Paint.
+    *
+    * @param paint the Paint
+    * @return the attribute value
+    */
+   private String writePaint(Paint paint) {
+      if (paint instanceof Color) {
+         StringBuilder buf = new StringBuilder(7);
+         appendColor(buf, (Color) paint);
+         return buf.toString();
+      }
+      if (paint == ctx.lastPaint) {
+         return ctx.lastPaintRef;
+      }
+      SVGGradientKey key;
+      if (paint instanceof GradientPaint) {
+         key = new SVGGradientKey((GradientPaint) paint);
+      } else {
+         key = new SVGGradientKey((MultipleGradientPaint) paint);
+      }
+      String ref = ctx.gradients.get(key);
+      if (ref != null) {
+         ctx.lastPaint = paint;
+         ctx.lastPaintRef = ref;
+         return ref;
+      }
+      String id = "gradient" + (++ctx.ids);
+      StringBuilder buf = ctx.buf;
+      buf.append("<defs>");
+      if (paint instanceof GradientPaint) {
+         GradientPaint gradient = (GradientPaint) paint;
+         buf.append("<linearGradient id=\"").append(id).append("\" gradientUnits=\"userSpaceOnUse\"");
+         appendPoint(buf, "x1", "y1", gradient.getPoint1());
+         appendPoint(buf, "x2", "y2", gradient.getPoint2());
+         if (gradient.isCyclic()) {
+            buf.append(" spreadMethod=\"reflect\"");
+         }
+         buf.append('>');
+         appendStop(buf, 0, gradient.getColor1());
+         appendStop(buf, 1, gradient.getColor2());
+         buf.append("</linearGradient>");
+      } else {
+         MultipleGradientPaint gradient = (MultipleGradientPaint) paint;
+         String tag;
+         if (gradient instanceof LinearGradientPaint) {
+            LinearGradientPaint linear = (LinearGradientPaint) gradient;
+            tag = "linearGradient";
+            buf.append("<linearGradient id=\"").append(id).append("\" gradientUnits=\"userSpaceOnUse\"");
+            appendPoint(buf, "x1", "y1", linear.getStartPoint());
+            appendPoint(buf, "x2", "y2", linear.getEndPoint());
+         } else {
+            RadialGradientPaint radial = (RadialGradientPaint) gradient;
+            tag = "radialGradient";
+            buf.append("<radialGradient id=\"").append(id).append("\" gradientUnits=\"userSpaceOnUse\"");
+            appendPoint(buf, "cx", "cy", radial.getCenterPoint());
+            appendPoint(buf, "fx", "fy", radial.getFocusPoint());
+            buf.append(" r=\"");
+            appendNumber(buf, radial.getRadius());
+            buf.append('"');
+         }
+         if (gradient.getCycleMethod() == MultipleGradientPaint.CycleMethod.REFLECT) {
+            buf.append(" spreadMethod=\"reflect\"");
+         } else if (gradient.getCycleMethod() == MultipleGradientPaint.CycleMethod.REPEAT) {
+            buf.append(" spreadMethod=\"repeat\"");
+         }
+         if (gradient.getColorSpace() == MultipleGradientPaint.ColorSpaceType.LINEAR_RGB) {
+            buf.append(" color-interpolation=\"linearRGB\"");
+         }
+         AffineTransform tr = gradient.getTransform();
+         if (!tr.isIdentity()) {
+            buf.append(" gradientTransform=\"");
+            ctx.numberFormat.appendMatrix(buf, tr);
+            buf.append('"');
+         }
+         buf.append('>');
+         float[] fractions = gradient.getFractions();
+         Color[] colors = gradient.getColors();
+         for (int i = 0; i < fractions.length; i++) {
+            appendStop(buf, fractions[i], colors[i]);
+         }
+         buf.append("</").append(tag).append('>');
+      }
+      buf.append("</defs>\n");
+      ctx.lastPaint = paint;
+      ctx.lastPaintRef = "url(#" + id + ")";
+      ctx.gradients.put(key, ctx.lastPaintRef);
+      return ctx.lastPaintRef;
+   }
+
+   /**
+    * Open a group for the current clip if it is different from the clip of the group which is currently opened.
+    */
+   private void openClip() {
+      Shape deviceClip = ((StreamGraphicContext) gc).getDeviceClip();
+      if (deviceClip == ctx.clip) {
+         return;
+      }
+      if (deviceClip instanceof Rectangle2D && deviceClip.equals(ctx.clip)) {
+         return;
+      }
+      closeClip();
+      if (deviceClip != null) {
+         String id = "clipPath" + (++ctx.ids);
+         StringBuilder buf = ctx.buf;
+         buf.append("<clipPath id=\"").append(id).append("\">");
+         appendShape(buf, deviceClip);
+         if (!(deviceClip instanceof Rectangle2D)
+            && deviceClip.getPathIterator(null).getWindingRule() == PathIterator.WIND_EVEN_ODD) {
+            buf.append(" clip-rule=\"evenodd\"");
+         }
+         buf.append("/></clipPath>\n");
+         buf.append("<g clip-path=\"url(#").append(id).append(")\">\n");
+         ctx.clip = deviceClip;
+      }
+   }
+
+   private void closeClip() {
+      if (ctx.clip != null) {
+         ctx.buf.append("</g>\n");
+         ctx.clip = null;
+      }
+   }
+
+   /**
+    * Append the start of the element corresponding to a Shape, without closing the element.
+    *
+    * @param buf the buffer
+    * @param shape the Shape
+    */
+   private void appendShape(StringBuilder buf, Shape shape) {
+      if (shape instanceof Rectangle2D) {
+         Rectangle2D rec = (Rectangle2D) shape;
+         buf.append("<rect x=\"");
+         appendNumber(buf, rec.getX());
+         buf.append("\" y=\"");
+         appendNumber(buf, rec.getY());
+         buf.append("\" width=\"");
+         appendNumber(buf, rec.getWidth());
+         buf.append("\" height=\"");
+         appendNumber(buf, rec.getHeight());
+         buf.append('"');
+      } else if (shape instanceof Ellipse2D) {
+         Ellipse2D ellipse = (Ellipse2D) shape;
+         buf.append("<ellipse cx=\"");
+         appendNumber(buf, ellipse.getCenterX());
+         buf.append("\" cy=\"");
+         appendNumber(buf, ellipse.getCenterY());
+         buf.append("\" rx=\"");
+         appendNumber(buf, ellipse.getWidth() / 2);
+         buf.append("\" ry=\"");
+         appendNumber(buf, ellipse.getHeight() / 2);
+         buf.append('"');
+      } else if (shape instanceof Line2D) {
+         Line2D line = (Line2D) shape;
+         buf.append("<line");
+         appendPoint(buf, "x1", "y1", line.getP1());
+         appendPoint(buf, "x2", "y2", line.getP2());
+      } else {
+         buf.append("<path d=\"");
+         appendPathData(buf, shape);
+         buf.append('"');
+      }
+   }
+
+   private void appendPathData(StringBuilder buf, Shape shape) {
+      if (ctx.optimizedPaths) {
+         ctx.pathEncoder.append(buf, shape);
+      } else {
+         ctx.pathEncoder.appendAbsolute(buf, shape);
+      }
+   }
+
+   private void appendPoint(StringBuilder buf, String xName, String yName, Point2D pt) {
+      buf.append(' ').append(xName).append("=\"");
+      appendNumber(buf, pt.getX());
+      buf.append("\" ").append(yName).append("=\"");
+      appendNumber(buf, pt.getY());
+      buf.append('"');
+   }
+
+   private void appendStop(StringBuilder buf, float offset, Color color) {
+      buf.append("<stop offset=\"");
+      appendNumber(buf, offset);
+      buf.append("\" stop-color=\"");
+      appendColor(buf, color);
+      buf.append('"');
+      if (color.getAlpha() != 255) {
+         buf.append(" stop-opacity=\"");
+         appendNumber(buf, color.getAlpha() / 255d);
+         buf.append('"');
+      }
+      buf.append("/>");
+   }
+
+   private void appendStroke(StringBuilder buf, BasicStroke stroke) {
+      if (stroke.getLineWidth() != 1f) {
+         buf.append(" stroke-width=\"");
+         appendNumber(buf, stroke.getLineWidth());
+         buf.append('"');
+      }
+      switch (stroke.getEndCap()) {
+         case BasicStroke.CAP_BUTT:
+            buf.append(" stroke-linecap=\"butt\"");
+            break;
+         case BasicStroke.CAP_ROUND:
+            buf.append(" stroke-linecap=\"round\"");
+            break;
+         default:
+            break;
+      }
+      switch (stroke.getLineJoin()) {
+         case BasicStroke.JOIN_BEVEL:
+            buf.append(" stroke-linejoin=\"bevel\"");
+            break;
+         case BasicStroke.JOIN_ROUND:
+            buf.append(" stroke-linejoin=\"round\"");
+            break;
+         default:
+            if (stroke.getMiterLimit() != 10f) {
+               buf.append(" stroke-miterlimit=\"");
+               appendNumber(buf, Math.max(1f, stroke.getMiterLimit()));
+               buf.append('"');
+            }
+            break;
+      }
+      float[] dashes = stroke.getDashArray();
+      if (dashes != null && dashes.length != 0) {
+         buf.append(" stroke-dasharray=\"");
+         for (int i = 0; i < dashes.length; i++) {
+            if (i > 0) {
+               buf.append(',');
+            }
+            appendNumber(buf, dashes[i]);
+         }
+         buf.append('"');
+         if (stroke.getDashPhase() != 0f) {
+            buf.append(" stroke-dashoffset=\"");
+            appendNumber(buf, stroke.getDashPhase());
+            buf.append('"');
+         }
+      }
+   }
+
+   /**
+    * Append the opacity attribute for a Paint, taking into account the current composite.
+    *
+    * @param buf the buffer
+    * @param attribute the attribute name
+    * @param paint the Paint (can be null)
+    */
+   private void appendOpacity(StringBuilder buf, String attribute, Paint paint) {
+      double opacity = 1d;
+      if (paint instanceof Color) {
+         opacity = ((Color) paint).getAlpha() / 255d;
+      }
+      Composite composite = gc.getComposite();
+      if (composite instanceof AlphaComposite) {
+         opacity *= ((AlphaComposite) composite).getAlpha();
+      }
+      if (opacity < 1d) {
+         buf.append(' ').append(attribute).append("=\"");
+         appendNumber(buf, opacity);
+         buf.append('"');
+      }
+   }
+
+   private void appendTransform(StringBuilder buf, AffineTransform tr) {
+      if (!tr.isIdentity()) {
+         buf.append(" transform=\"");
+         ctx.numberFormat.appendMatrix(buf, tr);
+         buf.append('"');
+      }
+   }
+
+   private static void appendColor(StringBuilder buf, Color color) {
+      int rgb = color.getRGB() & 0xFFFFFF;
+      buf.append('#');
+      for (int shift = 20; shift >= 0; shift -= 4) {
+         buf.append(Character.forDigit((rgb >> shift) & 0xF, 16));
+      }
+   }
+
+   private void appendNumber(StringBuilder buf, double value) {
+      ctx.numberFormat.append(buf, value);
+   }
+
+   private static void appendEscaped(StringBuilder buf, String text) {
+      for (int i = 0; i < text.length(); i++) {
+         char c = text.charAt(i);
+         switch (c) {
+            case '&':
+               buf.append("&amp;");
+               break;
+            case '<':
+               buf.append("&lt;");
+               break;
+            case '>':
+               buf.append("&gt;");
+               break;
+            case '"':
+               buf.append("&quot;");
+               break;
+            default:
+               if (c < 0x20 && c != '\t' && c != '\n' && c != '\r') {
+                  // not allowed in XML 1.0
+                  break;
+               }
+               buf.append(c);
+               break;
+         }
+      }
+   }
+
+   private void flushIfNeeded() {
+      if (ctx.buf.length() >= FLUSH_THRESHOLD) {
+         flush();
+      }
+   }
+
+   private void flush() {
+      if (ctx.error == null) {
+         try {
+            ctx.out.append(ctx.buf);
+         } catch (IOException e) {
+            ctx.error = e;
+         }
+      }
+      ctx.buf.setLength(0);
+   }
+
+   /**
+    * The GraphicContext, which gives access to the clip in the device space.
+    */
+   private static class StreamGraphicContext extends GraphicContext {
+      private Shape getDeviceClip() {
+         return clip;
+      }
+
+      /**
+       * Return a copy of this GraphicContext. The GraphicContext clone would not be a StreamGraphicContext, and would
+       * not keep a rectangular clip as a Rectangle.
+       */
+      @Override
+      public Object clone() {
+         StreamGraphicContext copy = new StreamGraphicContext();
+         copy.defaultTransform = new AffineTransform(defaultTransform);
+         copy.transform = new AffineTransform(transform);
+         copy.transformStack = new ArrayList<>(transformStack.size());
+         for (Object element : transformStack) {
+            copy.transformStack.add(((TransformStackElement) element).clone());
+         }
+         copy.transformStackValid = transformStackValid;
+         copy.paint = paint;
+         copy.stroke = stroke;
+         copy.composite = composite;
+         if (clip instanceof Rectangle2D) {
+            copy.clip = (Shape) ((Rectangle2D) clip).clone();
+         } else if (clip != null) {
+            copy.clip = new GeneralPath(clip);
+         } else {
+            copy.clip = null;
+         }
+         copy.hints = (RenderingHints) hints.clone();
+         copy.font = font;
+         copy.background = background;
+         copy.foreground = foreground;
+         return copy;
+      }
+   }
+
+   /**
+    * The output state, which is shared by the Graphics2D and all the Graphics2D created from it.
+    */
+   private static class StreamContext {
+      private final Writer out;
+      private final StringBuilder buf = new StringBuilder(FLUSH_THRESHOLD + 1024);
+      private IOException error = null;
+      private boolean finished = false;
+      private int ids = 0;
+      private int groupsDepth = 0;
+      private Shape clip = null;
+      private Paint lastPaint = null;
+      private String lastPaintRef = null;
+      private final Map<SVGGradientKey, String> gradients = new HashMap<>();
+      private Graphics2D measureGraphics = null;
+      private final SVGNumberFormat numberFormat;
+      private final SVGPathEncoder pathEncoder;
+      private boolean optimizedPaths = true;
+
+      private StreamContext(Writer out, int precision) {
+         this.out = out;
+         this.numberFormat = new SVGNumberFormat(precision);
+         this.pathEncoder = new SVGPathEncoder(precision);
+      }
+   }
+}
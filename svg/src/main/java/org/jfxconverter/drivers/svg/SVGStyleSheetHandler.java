@@ -0,0 +1,205 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.svg;
+
+import org.apache.batik.svggen.DefaultStyleHandler;
+import org.apache.batik.svggen.SVGGeneratorContext;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A StyleHandler which shares the styles which are repeated in the SVG content in CSS classes.
+ *
+ * <h1>Usage</h1>
+ * The styles of the elements are not set when the elements are created. Each distinct set of style properties is
+ * interned, and the {@link #applyStyles(Element)} method must be called on the SVG root element at the end of the
+ * conversion. For each distinct style, this method chooses the cheapest representation:
+ * <ul>
+ * <li>If the style is used by enough elements, a CSS class is created for the style in a <code>style</code> element,
+ * and the elements reference this class</li>
+ * <li>Else the style properties are set as presentation attributes on each element, as for the
+ * {@link DefaultStyleHandler}</li>
+ * </ul>
+ *
+ * <p>
+ * The properties which are already defined as attributes on an element are never put in a class, because a CSS
+ * class would have a higher priority than the attribute.</p>
+ *
+ * @since 0.25
+ */
+public class SVGStyleSheetHandler extends DefaultStyleHandler {
+   /**
+    * The prefix of the generated class names.
+    */
+   public static final String CLASS_PREFIX = "s";
+   private final Map<String, Style> styles = new LinkedHashMap<>();
+
+   /**
+    * Intern the style of an element. The style will only be set on the element by the {@link #applyStyles(Element)}
+    * method.
+    *
+    * @param element the element
+    * @param styleMap the style properties
+    * @param generatorContext the generator context
+    */
+   @Override
+   public void setStyle(Element element, Map styleMap, SVGGeneratorContext generatorContext) {
+      String tagName = element.getTagName();
+      Map<String, String> properties = new TreeMap<>();
+      Iterator it = styleMap.entrySet().iterator();
+      while (it.hasNext()) {
+         Map.Entry entry = (Map.Entry) it.next();
+         String name = (String) entry.getKey();
+         if (element.getAttributeNS(null, name).isEmpty() && appliesTo(name, tagName)) {
+            properties.put(name, (String) entry.getValue());
+         }
+      }
+      if (properties.isEmpty()) {
+         return;
+      }
+      String key = properties.toString();
+      Style style = styles.get(key);
+      if (style == null) {
+         style = new Style(properties);
+         styles.put(key, style);
+      }
+      style.elements.add(element);
+   }
+
+   /**
+    * Return the number of distinct styles which have been interned.
+    *
+    * @return the number of distinct styles
+    */
+   public int getStylesCount() {
+      return styles.size();
+   }
+
+   /**
+    * Set the interned styles on their elements, and add the <code>style</code> element to the SVG root if at least one
+    * CSS class is used. The interned styles are cleared after this call.
+    *
+    * @param svgRoot the SVG root element
+    * @return the number of CSS classes
+    */
+   public int applyStyles(Element svgRoot) {
+      StringBuilder css = new StringBuilder();
+      int classes = 0;
+      Iterator<Style> it = styles.values().iterator();
+      while (it.hasNext()) {
+         Style style = it.next();
+         String className = CLASS_PREFIX + classes;
+         if (style.isClassCheaper(className)) {
+            classes++;
+            style.appendRule(css, className);
+            for (Element element : style.elements) {
+               String previous = element.getAttributeNS(null, SVG_CLASS_ATTRIBUTE);
+               element.setAttributeNS(null, SVG_CLASS_ATTRIBUTE, previous.isEmpty() ? className : previous + " " + className);
+            }
+         } else {
+            for (Element element : style.elements) {
+               for (Map.Entry<String, String> entry : style.properties.entrySet()) {
+                  if (element.getAttributeNS(null, entry.getKey()).isEmpty()) {
+                     element.setAttributeNS(null, entry.getKey(), entry.getValue());
+                  }
+               }
+            }
+         }
+      }
+      styles.clear();
+      if (classes != 0) {
+         Document doc = svgRoot.getOwnerDocument();
+         Element styleElt = doc.createElementNS(SVG_NAMESPACE_URI, SVG_STYLE_TAG);
+         styleElt.setAttributeNS(null, SVG_TYPE_ATTRIBUTE, "text/css");
+         styleElt.appendChild(doc.createCDATASection(css.toString()));
+         Element defs = doc.createElementNS(SVG_NAMESPACE_URI, SVG_DEFS_TAG);
+         defs.appendChild(styleElt);
+         svgRoot.insertBefore(defs, svgRoot.getFirstChild());
+      }
+      return classes;
+   }
+
+   /**
+    * A distinct set of style properties, and the elements which use it.
+    */
+   private static class Style {
+      private final Map<String, String> properties;
+      private final List<Element> elements = new ArrayList<>();
+
+      private Style(Map<String, String> properties) {
+         this.properties = properties;
+      }
+
+      /**
+       * Return true if a CSS class is cheaper than the presentation attributes, by comparing the number of characters
+       * of the two representations.
+       */
+      private boolean isClassCheaper(String className) {
+         if (elements.size() < 2) {
+            return false;
+         }
+         int attributesLength = 0;
+         int ruleLength = className.length() + 3;
+         for (Map.Entry<String, String> entry : properties.entrySet()) {
+            int length = entry.getKey().length() + entry.getValue().length();
+            // name="value" versus name:value;
+            attributesLength += length + 4;
+            ruleLength += length + 2;
+         }
+         // class="name"
+         int classLength = className.length() + 9;
+         long inlineCost = (long) attributesLength * elements.size();
+         long classCost = ruleLength + (long) classLength * elements.size();
+         return classCost < inlineCost;
+      }
+
+      private void appendRule(StringBuilder css, String className) {
+         css.append('.').append(className).append(" {");
+         Iterator<Map.Entry<String, String>> it = properties.entrySet().iterator();
+         while (it.hasNext()) {
+            Map.Entry<String, String> entry = it.next();
+            css.append(entry.getKey()).append(':').append(entry.getValue());
+            if (it.hasNext()) {
+               css.append(';');
+            }
+         }
+         css.append("}\n");
+      }
+   }
+}
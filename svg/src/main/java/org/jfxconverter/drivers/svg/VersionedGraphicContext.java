@@ -0,0 +1,212 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.svg;
+
+import org.apache.batik.ext.awt.g2d.GraphicContext;
+
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.Paint;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.util.Map;
+
+/**
+ * A GraphicContext which counts its modifications. This allows to reuse the SVG conversion of the graphic context
+ * as long as its version has not changed.
+ *
+ * @since 0.25
+ */
+public class VersionedGraphicContext extends GraphicContext {
+   private long version = 0;
+
+   /**
+    * Create a GraphicContext with the same state as another GraphicContext.
+    *
+    * @param gc the other GraphicContext
+    */
+   public VersionedGraphicContext(GraphicContext gc) {
+      super(new AffineTransform());
+      setTransform(gc.getTransform());
+      setPaint(gc.getPaint());
+      setStroke(gc.getStroke());
+      setComposite(gc.getComposite());
+      setClip(gc.getClip());
+      setRenderingHints(gc.getRenderingHints());
+      setFont(gc.getFont());
+      setBackground(gc.getBackground());
+   }
+
+   /**
+    * Return the version of the GraphicContext, which is incremented each time its state is modified.
+    *
+    * @return the version
+    */
+   public long getVersion() {
+      return version;
+   }
+
+   @Override
+   public void setColor(Color c) {
+      version++;
+      super.setColor(c);
+   }
+
+   @Override
+   public void setFont(Font font) {
+      version++;
+      super.setFont(font);
+   }
+
+   @Override
+   public void clipRect(int x, int y, int width, int height) {
+      version++;
+      super.clipRect(x, y, width, height);
+   }
+
+   @Override
+   public void setClip(int x, int y, int width, int height) {
+      version++;
+      super.setClip(x, y, width, height);
+   }
+
+   @Override
+   public void setClip(Shape clip) {
+      version++;
+      super.setClip(clip);
+   }
+
+   @Override
+   public void clip(Shape s) {
+      version++;
+      super.clip(s);
+   }
+
+   @Override
+   public void setComposite(Composite comp) {
+      version++;
+      super.setComposite(comp);
+   }
+
+   @Override
+   public void setPaint(Paint paint) {
+      version++;
+      super.setPaint(paint);
+   }
+
+   @Override
+   public void setStroke(Stroke s) {
+      version++;
+      super.setStroke(s);
+   }
+
+   @Override
+   public void setRenderingHint(RenderingHints.Key hintKey, Object hintValue) {
+      version++;
+      super.setRenderingHint(hintKey, hintValue);
+   }
+
+   @Override
+   public void setRenderingHints(Map hints) {
+      version++;
+      super.setRenderingHints(hints);
+   }
+
+   @Override
+   public void addRenderingHints(Map hints) {
+      version++;
+      super.addRenderingHints(hints);
+   }
+
+   @Override
+   public void translate(int x, int y) {
+      version++;
+      super.translate(x, y);
+   }
+
+   @Override
+   public void translate(double tx, double ty) {
+      version++;
+      super.translate(tx, ty);
+   }
+
+   @Override
+   public void rotate(double theta) {
+      version++;
+      super.rotate(theta);
+   }
+
+   @Override
+   public void rotate(double theta, double x, double y) {
+      version++;
+      super.rotate(theta, x, y);
+   }
+
+   @Override
+   public void scale(double sx, double sy) {
+      version++;
+      super.scale(sx, sy);
+   }
+
+   @Override
+   public void shear(double shx, double shy) {
+      version++;
+      super.shear(shx, shy);
+   }
+
+   @Override
+   public void transform(AffineTransform tx) {
+      version++;
+      super.transform(tx);
+   }
+
+   @Override
+   public void setTransform(AffineTransform tx) {
+      version++;
+      super.setTransform(tx);
+   }
+
+   @Override
+   public void validateTransformStack() {
+      version++;
+      super.validateTransformStack();
+   }
+
+   @Override
+   public void setBackground(Color color) {
+      version++;
+      super.setBackground(color);
+   }
+}
@@ -35,9 +35,11 @@ import java.io.Writer;
  * The code for this class draws heavily from the work done
  * for Sun's Project X by David Brownell.
  *
- * Changes from the Batik original class: put the eol after and not before the ">" tags.
+ * Changes from the Batik original class: put the eol after and not before the ">" tags, buffer the output in a char
+ * array, and add a compact mode which does not indent the elements.
  *
  * @author <a href="mailto:vincent.hardy@eng.sun.com">Vincent Hardy</a>
+ * @version 0.25
  * @since 0.23
  */
 class XmlWriter implements SVGConstants {
@@ -61,16 +63,40 @@ class XmlWriter implements SVGConstants {
    }
 
    static class IndentWriter extends Writer {
+      private static final int BUFFER_SIZE = 32768;
       protected Writer proxied;
       protected int indentLevel;
       protected int column;
+      private final boolean compact;
+      private final char[] buf = new char[BUFFER_SIZE];
+      private int count = 0;
 
       public IndentWriter(Writer proxied) {
+         this(proxied, false);
+      }
+
+      /**
+       * Constructor.
+       *
+       * @param proxied the proxied Writer
+       * @param compact true if the elements must not be indented
+       */
+      public IndentWriter(Writer proxied, boolean compact) {
          if (proxied == null) {
             throw new SVGGraphics2DRuntimeException(ErrorConstants.ERR_PROXY);
          }
 
          this.proxied = proxied;
+         this.compact = compact;
+      }
+
+      /**
+       * Return true if the elements are not indented.
+       *
+       * @return true if the elements are not indented
+       */
+      public boolean isCompact() {
+         return compact;
       }
 
       public void setIndentLevel(int indentLevel) {
@@ -82,14 +108,17 @@ class XmlWriter implements SVGConstants {
       }
 
       public void printIndent() throws IOException {
-         proxied.write(EOL);
+         if (compact) {
+            return;
+         }
+         write(EOL);
          int temp = indentLevel;
          while (temp > 0) {
             if (temp > SPACES_LEN) {
-               proxied.write(SPACES, 0, SPACES_LEN);
+               write(SPACES, 0, SPACES_LEN);
                temp -= SPACES_LEN;
             } else {
-               proxied.write(SPACES, 0, temp);
+               write(SPACES, 0, temp);
                break;
             }
          }
@@ -106,39 +135,81 @@ class XmlWriter implements SVGConstants {
 
       public void write(int c) throws IOException {
          column++;
-         proxied.write(c);
+         if (count == BUFFER_SIZE) {
+            flushBuffer();
+         }
+         buf[count++] = (char) c;
       }
 
       public void write(char[] cbuf) throws IOException {
-         column += cbuf.length;
-         proxied.write(cbuf);
+         write(cbuf, 0, cbuf.length);
       }
 
       public void write(char[] cbuf, int off, int len) throws IOException {
          column += len;
-         proxied.write(cbuf, off, len);
+         if (len > BUFFER_SIZE - count) {
+            flushBuffer();
+            if (len > BUFFER_SIZE) {
+               proxied.write(cbuf, off, len);
+               return;
+            }
+         }
+         System.arraycopy(cbuf, off, buf, count, len);
+         count += len;
       }
 
       public void write(String str) throws IOException {
-         column += str.length();
-         proxied.write(str);
+         write(str, 0, str.length());
       }
 
       public void write(String str, int off, int len) throws IOException {
          column += len;
-         proxied.write(str, off, len);
+         if (len > BUFFER_SIZE - count) {
+            flushBuffer();
+            if (len > BUFFER_SIZE) {
+               proxied.write(str, off, len);
+               return;
+            }
+         }
+         str.getChars(off, off + len, buf, count);
+         count += len;
+      }
+
+      /**
+       * Write the content of the buffer to the proxied Writer, without flushing the proxied Writer.
+       *
+       * @throws IOException if an I/O error occurs
+       */
+      public void flushBuffer() throws IOException {
+         if (count != 0) {
+            proxied.write(buf, 0, count);
+            count = 0;
+         }
       }
 
       public void flush() throws IOException {
+         flushBuffer();
          proxied.flush();
       }
 
       public void close() throws IOException {
+         flushBuffer();
          column = -1;
          proxied.close();
       }
    }
 
+   /**
+    * Write a character as an hexadecimal character reference.
+    */
+   private static void writeCharRef(IndentWriter out, char c) throws IOException {
+      out.write("&#x");
+      for (int shift = 12; shift >= 0; shift -= 4) {
+         out.write(Character.forDigit((c >> shift) & 0xF, 16));
+      }
+      out.write(';');
+   }
+
    private static void writeXml(Attr attr, IndentWriter out,
       boolean escaped)
       throws IOException {
@@ -155,15 +226,16 @@ class XmlWriter implements SVGConstants {
    private static void writeChildrenXml(Attr attr, IndentWriter out,
       boolean escaped)
       throws IOException {
-      char[] data = attr.getValue().toCharArray();
+      String data = attr.getValue();
       if (data == null) {
          return;
       }
 
-      int length = data.length;
+      // scan for the next special character and write the runs in bulk
+      int length = data.length();
       int start = 0, last = 0;
       while (last < length) {
-         char c = data[last];
+         char c = data.charAt(last);
          switch (c) {
             case '<':
                out.write(data, start, last - start);
@@ -188,8 +260,7 @@ class XmlWriter implements SVGConstants {
             default: // to be able to escape characters if allowed
                if (escaped && (c > 0x007F)) {
                   out.write(data, start, last - start);
-                  String hex = "0000" + Integer.toHexString(c);
-                  out.write("&#x" + hex.substring(hex.length() - 4) + ";");
+                  writeCharRef(out, c);
                   start = last + 1;
                }
                break;
@@ -250,7 +321,7 @@ class XmlWriter implements SVGConstants {
    private static void writeXml(Text text, IndentWriter out, boolean trimWS,
       boolean escaped)
       throws IOException {
-      char[] data = text.getData().toCharArray();
+      String data = text.getData();
 
       // XXX saw this once -- being paranoid
       if (data == null) {
@@ -258,11 +329,11 @@ class XmlWriter implements SVGConstants {
          return;
       }
 
-      int length = data.length;
+      int length = data.length();
       int start = 0, last = 0;
       if (trimWS) {
          while (last < length) {
-            char c = data[last];
+            char c = data.charAt(last);
             switch (c) {
                case ' ':
                case '\t':
@@ -279,7 +350,7 @@ class XmlWriter implements SVGConstants {
       }
 
       while (last < length) {
-         char c = data[last];
+         char c = data.charAt(last);
 
          // escape markup delimiters only ... and do bulk
          // writes wherever possible, for best performance
@@ -298,7 +369,7 @@ class XmlWriter implements SVGConstants {
                   int wsStart = last;
                   last++;
                   while (last < length) {
-                     switch (data[last]) {
+                     switch (data.charAt(last)) {
                         case ' ':
                         case '\t':
                         case '\n':
@@ -336,8 +407,7 @@ class XmlWriter implements SVGConstants {
             default: // to be able to escape characters if allowed
                if (escaped && (c > 0x007F)) {
                   out.write(data, start, last - start);
-                  String hex = "0000" + Integer.toHexString(c);
-                  out.write("&#x" + hex.substring(hex.length() - 4) + ";");
+                  writeCharRef(out, c);
                   start = last + 1;
                }
                break;
@@ -550,13 +620,27 @@ class XmlWriter implements SVGConstants {
    }
 
    public static void writeXml(Node node, Writer writer, boolean escaped)
+      throws SVGGraphics2DIOException {
+      writeXml(node, writer, escaped, false);
+   }
+
+   /**
+    * Write a Node.
+    *
+    * @param node the Node
+    * @param writer the Writer
+    * @param escaped true if the non ASCII characters must be escaped
+    * @param compact true if the elements must not be indented
+    * @throws SVGGraphics2DIOException if an I/O error occurs
+    */
+   public static void writeXml(Node node, Writer writer, boolean escaped, boolean compact)
       throws SVGGraphics2DIOException {
       try {
          IndentWriter out = null;
          if (writer instanceof IndentWriter) {
             out = (IndentWriter) writer;
          } else {
-            out = new IndentWriter(writer);
+            out = new IndentWriter(writer, compact);
          }
 
          switch (node.getNodeType()) {
@@ -586,6 +670,7 @@ class XmlWriter implements SVGConstants {
             default:
                throw new SVGGraphics2DRuntimeException(ErrorConstants.INVALID_NODE + node.getClass().getName());
          }
+         out.flushBuffer();
       } catch (IOException io) {
          throw new SVGGraphics2DIOException(io);
       }
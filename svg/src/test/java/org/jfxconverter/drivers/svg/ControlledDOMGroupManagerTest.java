@@ -0,0 +1,119 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.svg;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Rectangle;
+import org.apache.batik.dom.svg.SVGDOMImplementation;
+import org.apache.batik.svggen.SVGGeneratorContext;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/**
+ * Tests for the ControlledDOMGroupManager class.
+ *
+ * @since 0.25
+ */
+public class ControlledDOMGroupManagerTest {
+
+   /**
+    * Test that the elements style is still right when the graphic context conversion is reused.
+    */
+   @Test
+   public void testReuseGraphicContext() {
+      System.out.println("ControlledDOMGroupManagerTest : testReuseGraphicContext");
+      Document doc = SVGDOMImplementation.getDOMImplementation().createDocument(SVGDOMImplementation.SVG_NAMESPACE_URI, "svg", null);
+      ConvertorJFXSVGGraphics2D g2D = new ConvertorJFXSVGGraphics2D(doc);
+      g2D.supportGroups(true);
+      assertTrue(g2D.getGraphicContext() instanceof VersionedGraphicContext, "Versioned graphic context");
+      VersionedGraphicContext gc = (VersionedGraphicContext) g2D.getGraphicContext();
+
+      g2D.startGroup("shapes", null);
+      g2D.setColor(Color.RED);
+      g2D.fill(new Rectangle(0, 0, 10, 10));
+      g2D.fill(new Rectangle(20, 0, 10, 10));
+      long version = gc.getVersion();
+      g2D.fill(new Rectangle(40, 0, 10, 10));
+      g2D.draw(new Rectangle(60, 0, 10, 10));
+      assertEquals(version, gc.getVersion(), "Version not changed");
+      g2D.setColor(Color.BLUE);
+      assertTrue(gc.getVersion() > version, "Version changed");
+      g2D.fill(new Rectangle(80, 0, 10, 10));
+      g2D.setColor(Color.RED);
+      g2D.fill(new Rectangle(100, 0, 10, 10));
+      g2D.endGroup(null);
+
+      NodeList list = g2D.getRoot().getElementsByTagName("rect");
+      assertEquals(6, list.getLength(), "Rectangles count");
+      assertEquals("red", ((Element) list.item(0).getParentNode()).getAttribute("fill"), "Group fill");
+      String[] fills = {"", "", "", "none", "blue", ""};
+      String[] strokes = {"none", "none", "none", "", "none", "none"};
+      for (int i = 0; i < fills.length; i++) {
+         Element rect = (Element) list.item(i);
+         assertEquals(fills[i], rect.getAttribute("fill"), "Rectangle " + i + " fill");
+         assertEquals(strokes[i], rect.getAttribute("stroke"), "Rectangle " + i + " stroke");
+      }
+   }
+
+   /**
+    * Test that the glyphs of all the texts are embedded when the graphic context is not modified between the texts.
+    */
+   @Test
+   public void testEmbeddedFonts() {
+      System.out.println("ControlledDOMGroupManagerTest : testEmbeddedFonts");
+      Document doc = SVGDOMImplementation.getDOMImplementation().createDocument(SVGDOMImplementation.SVG_NAMESPACE_URI, "svg", null);
+      SVGGeneratorContext generatorCtx = SVGGeneratorContext.createDefault(doc);
+      generatorCtx.setEmbeddedFontsOn(true);
+      ConvertorJFXSVGGraphics2D g2D = new ConvertorJFXSVGGraphics2D(generatorCtx);
+      g2D.supportGroups(true);
+      g2D.startGroup("texts", null);
+      g2D.setFont(new Font("Dialog", Font.PLAIN, 12));
+      g2D.drawString("ab", 10, 10);
+      g2D.drawString("bc", 10, 30);
+      g2D.endGroup(null);
+
+      Element root = g2D.getRoot();
+      assertEquals(2, root.getElementsByTagName("text").getLength(), "Texts count");
+      assertEquals(1, root.getElementsByTagName("font").getLength(), "Fonts count");
+      NodeList glyphs = root.getElementsByTagName("glyph");
+      StringBuilder chars = new StringBuilder();
+      for (int i = 0; i < glyphs.getLength(); i++) {
+         chars.append(((Element) glyphs.item(i)).getAttribute("unicode"));
+      }
+      assertEquals(3, chars.length(), "Glyphs count");
+      assertTrue(chars.indexOf("a") >= 0 && chars.indexOf("b") >= 0 && chars.indexOf("c") >= 0, "Glyphs");
+   }
+}
@@ -0,0 +1,106 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.svg;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the ParallelGZIPOutputStream class.
+ *
+ * @since 0.25
+ */
+public class ParallelGZIPOutputStreamTest {
+
+   private byte[] decompress(byte[] compressed) throws IOException {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+         byte[] buf = new byte[8192];
+         int n;
+         while ((n = in.read(buf)) != -1) {
+            out.write(buf, 0, n);
+         }
+      }
+      return out.toByteArray();
+   }
+
+   /**
+    * Test of compressing content in several blocks.
+    */
+   @Test
+   public void testCompress() throws Exception {
+      System.out.println("ParallelGZIPOutputStreamTest : testCompress");
+      StringBuilder buf = new StringBuilder();
+      for (int i = 0; i < 50000; i++) {
+         buf.append("<rect x=\"").append(i % 731).append("\" y=\"").append(i % 97).append("\" width=\"10\" height=\"10\"/>\n");
+      }
+      byte[] content = buf.toString().getBytes(StandardCharsets.UTF_8);
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try (ParallelGZIPOutputStream stream = new ParallelGZIPOutputStream(out, 6, 64 * 1024, 4)) {
+         // write in chunks which are not aligned on the blocks
+         int off = 0;
+         while (off < content.length) {
+            int len = Math.min(10000, content.length - off);
+            stream.write(content, off, len);
+            off += len;
+         }
+         stream.write('\n');
+      }
+      byte[] compressed = out.toByteArray();
+      assertTrue(compressed.length < content.length / 4, "Content must be compressed");
+      byte[] result = decompress(compressed);
+      assertEquals(content.length + 1, result.length, "Decompressed length");
+      for (int i = 0; i < content.length; i++) {
+         if (content[i] != result[i]) {
+            fail("Decompressed content differs at " + i);
+         }
+      }
+      assertEquals('\n', result[content.length], "Last byte");
+   }
+
+   /**
+    * Test of compressing an empty content.
+    */
+   @Test
+   public void testCompressEmpty() throws Exception {
+      System.out.println("ParallelGZIPOutputStreamTest : testCompressEmpty");
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      new ParallelGZIPOutputStream(out, 9).close();
+      assertEquals(0, decompress(out.toByteArray()).length, "Decompressed length");
+   }
+}
@@ -0,0 +1,156 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.svg;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javafx.collections.ObservableList;
+import javafx.embed.swing.JFXPanel;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Line;
+import org.apache.batik.dom.svg.SAXSVGDocumentFactory;
+import org.apache.batik.util.XMLResourceDescriptor;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/**
+ * Tests of the concurrent use of a SVGConverter.
+ *
+ * @since 0.25
+ */
+public class SVGDriverConcurrentTest {
+
+   /**
+    * Test of converting several Nodes concurrently with the same converter.
+    */
+   @Test
+   public void testConcurrentConversions() throws Exception {
+      System.out.println("SVGDriverConcurrentTest : testConcurrentConversions");
+      new JFXPanel();
+      SVGConverter utils = new SVGConverter();
+      ExecutorService executor = Executors.newFixedThreadPool(4);
+      List<Future<File>> results = new ArrayList<>();
+      try {
+         for (int i = 0; i < 16; i++) {
+            final int length = 100 + i;
+            results.add(executor.submit(() -> {
+               Line line = new Line(0, 0, length, length);
+               line.setStroke(Color.RED);
+               File file = File.createTempFile("jfxconverter", ".svg");
+               utils.convert(line, file, false);
+               return file;
+            }));
+         }
+         String parser = XMLResourceDescriptor.getXMLParserClassName();
+         SAXSVGDocumentFactory factory = new SAXSVGDocumentFactory(parser);
+         for (int i = 0; i < results.size(); i++) {
+            File file = results.get(i).get();
+            Document doc = factory.createDocument(file.toURI().toString());
+            NodeList lines = doc.getElementsByTagName("line");
+            assertEquals(1, lines.getLength(), "Lines count");
+            assertEquals(Integer.toString(100 + i), ((Element) lines.item(0)).getAttribute("x2"), "Line x2");
+            if (!file.delete()) {
+               file.deleteOnExit();
+            }
+         }
+      } finally {
+         executor.shutdown();
+      }
+   }
+
+   /**
+    * Test that the encoding threads of the images stop when a conversion fails.
+    */
+   @Test
+   public void testFailedConversion() throws Exception {
+      System.out.println("SVGDriverConcurrentTest : testFailedConversion");
+      new JFXPanel();
+      SVGConverter utils = new SVGConverter();
+      Group root = new Group();
+      for (int i = 0; i < 8; i++) {
+         WritableImage image = new WritableImage(64, 64);
+         PixelWriter writer = image.getPixelWriter();
+         for (int y = 0; y < 64; y++) {
+            for (int x = 0; x < 64; x++) {
+               writer.setArgb(x, y, 0xFF000000 | (i * 64 * 64 + y * 64 + x));
+            }
+         }
+         ImageView view = new ImageView(image);
+         view.setLayoutY(i * 70);
+         root.getChildren().add(view);
+      }
+      FailingGroup failing = new FailingGroup();
+      root.getChildren().add(failing);
+      File file = File.createTempFile("jfxconverter", ".svg");
+      failing.failing = true;
+      try {
+         utils.convert(root, file, false);
+         fail("The conversion should fail");
+      } catch (IOException | IllegalStateException e) {
+      } finally {
+         failing.failing = false;
+         if (!file.delete()) {
+            file.deleteOnExit();
+         }
+      }
+      assertEquals(0, SVGImageHandlerTest.waitForEncoderThreads(10000), "Stopped encoding threads");
+   }
+
+   /**
+    * A Group whose conversion fails.
+    */
+   private static class FailingGroup extends Group {
+      private volatile boolean failing = false;
+
+      @Override
+      public ObservableList<Node> getChildrenUnmodifiable() {
+         if (failing) {
+            throw new IllegalStateException("Conversion failure");
+         }
+         return super.getChildrenUnmodifiable();
+      }
+   }
+}
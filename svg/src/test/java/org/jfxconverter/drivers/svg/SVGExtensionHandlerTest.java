@@ -0,0 +1,93 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.svg;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.Color;
+import java.awt.LinearGradientPaint;
+import java.awt.MultipleGradientPaint;
+import java.awt.geom.Rectangle2D;
+import org.apache.batik.dom.svg.SVGDOMImplementation;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/**
+ * Tests for the SVGExtensionHandler class.
+ *
+ * @since 0.25
+ */
+public class SVGExtensionHandlerTest {
+
+   private LinearGradientPaint createGradient(Color endColor) {
+      return new LinearGradientPaint(0, 0, 100, 0, new float[] {0f, 1f}, new Color[] {Color.RED, endColor},
+         MultipleGradientPaint.CycleMethod.REFLECT);
+   }
+
+   /**
+    * Test that identical gradients are only defined once.
+    */
+   @Test
+   public void testSharedGradients() {
+      System.out.println("SVGExtensionHandlerTest : testSharedGradients");
+      Document doc = SVGDOMImplementation.getDOMImplementation().createDocument(SVGDOMImplementation.SVG_NAMESPACE_URI, "svg", null);
+      ConvertorSVGGraphics2D g2D = new ConvertorSVGGraphics2D(doc);
+      for (int i = 0; i < 5; i++) {
+         g2D.setPaint(createGradient(Color.BLUE));
+         g2D.fill(new Rectangle2D.Double(0, i * 10, 100, 5));
+      }
+      g2D.setPaint(createGradient(Color.GREEN));
+      g2D.fill(new Rectangle2D.Double(0, 60, 100, 5));
+
+      Element root = g2D.getRoot();
+      NodeList gradients = root.getElementsByTagName("linearGradient");
+      assertEquals(2, gradients.getLength(), "Two distinct gradients");
+      Element gradient = (Element) gradients.item(0);
+      assertEquals("reflect", gradient.getAttribute("spreadMethod"), "spreadMethod");
+      assertEquals("100", gradient.getAttribute("x2"), "x2");
+      String ref = "url(#" + gradient.getAttribute("id") + ")";
+      NodeList rects = root.getElementsByTagName("rect");
+      int count = 0;
+      for (int i = 0; i < rects.getLength(); i++) {
+         Element rect = (Element) rects.item(i);
+         String fill = rect.getAttribute("fill");
+         if (fill.isEmpty()) {
+            fill = ((Element) rect.getParentNode()).getAttribute("fill");
+         }
+         if (ref.equals(fill)) {
+            count++;
+         }
+      }
+      assertEquals(5, count, "Rectangles referencing the first gradient");
+   }
+}
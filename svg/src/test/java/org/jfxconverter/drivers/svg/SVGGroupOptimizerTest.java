@@ -0,0 +1,119 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.svg;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.apache.batik.dom.svg.SVGDOMImplementation;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Tests for the SVGGroupOptimizer class.
+ *
+ * @since 0.25
+ */
+public class SVGGroupOptimizerTest {
+   private Document doc;
+
+   private Element create(Element parent, String tag, String... attributes) {
+      Element element = doc.createElementNS(SVGDOMImplementation.SVG_NAMESPACE_URI, tag);
+      for (int i = 0; i < attributes.length; i += 2) {
+         element.setAttributeNS(null, attributes[i], attributes[i + 1]);
+      }
+      parent.appendChild(element);
+      return element;
+   }
+
+   /**
+    * Test of the removal and the merge of the groups.
+    */
+   @Test
+   public void testOptimize() {
+      System.out.println("SVGGroupOptimizerTest : testOptimize");
+      doc = SVGDOMImplementation.getDOMImplementation().createDocument(SVGDOMImplementation.SVG_NAMESPACE_URI, "svg", null);
+      Element root = doc.getDocumentElement();
+      Element g1 = create(root, "g", "fill", "red", "transform", "translate(10,20)");
+      Element g2 = create(g1, "g", "stroke", "blue");
+      create(g2, "g");
+      Element rect = create(g2, "rect", "x", "1", "y", "2", "width", "5", "height", "5", "fill", "green");
+      Element named = create(root, "g", "id", "pane");
+      Element g3 = create(named, "g", "fill", "yellow", "transform", "scale(2)");
+      create(g3, "path", "d", "M0 0 L10 0 L10 10 Z");
+      create(g3, "path", "d", "M0 0 L10 10");
+      Element clipped = create(root, "g", "clip-path", "url(#clip)");
+      create(clipped, "rect", "width", "5", "height", "5", "transform", "translate(3,4)");
+      create(root, "g", "id", "empty");
+
+      SVGGroupOptimizer optimizer = new SVGGroupOptimizer();
+      optimizer.optimize(root);
+      assertEquals(4, optimizer.getRemovedGroupsCount(), "Removed groups");
+      assertEquals(2, optimizer.getFoldedTransformsCount(), "Folded transforms");
+
+      assertSame(root, rect.getParentNode(), "Rectangle parent");
+      assertEquals("green", rect.getAttribute("fill"), "Rectangle fill");
+      assertEquals("blue", rect.getAttribute("stroke"), "Rectangle stroke");
+      assertEquals("11", rect.getAttribute("x"), "Rectangle x");
+      assertEquals("22", rect.getAttribute("y"), "Rectangle y");
+      assertFalse(rect.hasAttribute("transform"), "Rectangle transform");
+
+      assertSame(root, named.getParentNode(), "Named group parent");
+      assertEquals(2, named.getElementsByTagName("path").getLength(), "Named group children");
+      assertEquals("yellow", named.getAttribute("fill"), "Named group fill");
+      assertEquals("scale(2)", named.getAttribute("transform"), "Named group transform");
+
+      Element clippedRect = (Element) clipped.getFirstChild();
+      assertSame(root, clipped.getParentNode(), "Clipped group parent");
+      assertEquals("3", clippedRect.getAttribute("x"), "Clipped rectangle x");
+      assertEquals(3, root.getElementsByTagName("g").getLength(), "Remaining groups");
+   }
+
+   /**
+    * Test of folding a translation into a path.
+    */
+   @Test
+   public void testFoldPath() {
+      System.out.println("SVGGroupOptimizerTest : testFoldPath");
+      doc = SVGDOMImplementation.getDOMImplementation().createDocument(SVGDOMImplementation.SVG_NAMESPACE_URI, "svg", null);
+      Element root = doc.getDocumentElement();
+      Element g = create(root, "g", "transform", "translate(100,0)");
+      Element path = create(g, "path", "d", "M0 0 L10 0 L10 10 Z", "transform", "translate(0.5,50)");
+      Element gradient = create(root, "path", "d", "M0 0 L10 0", "stroke", "url(#gradient)", "transform", "translate(5,5)");
+
+      SVGGroupOptimizer optimizer = new SVGGroupOptimizer();
+      optimizer.optimize(root);
+      assertSame(root, path.getParentNode(), "Path parent");
+      assertEquals("M100.5 50h10V60Z", path.getAttribute("d"), "Path data");
+      assertFalse(path.hasAttribute("transform"), "Path transform");
+      assertEquals("translate(5,5)", gradient.getAttribute("transform"), "Transform with a gradient");
+   }
+}
@@ -0,0 +1,201 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.svg;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import org.apache.batik.dom.svg.SVGDOMImplementation;
+import org.apache.batik.util.SVGConstants;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/**
+ * Tests for the SVGImageHandler class.
+ *
+ * @since 0.25
+ */
+public class SVGImageHandlerTest {
+
+   private BufferedImage createImage(int type, Color color) {
+      BufferedImage image = new BufferedImage(16, 16, type);
+      Graphics2D g = image.createGraphics();
+      g.setColor(color);
+      g.fillRect(0, 0, 8, 8);
+      g.dispose();
+      return image;
+   }
+
+   /**
+    * Wait until the threads of the shared encoding pool have stopped, and return the number of encoding threads which
+    * are still alive after the timeout.
+    */
+   static int waitForEncoderThreads(long timeout) throws InterruptedException {
+      long end = System.currentTimeMillis() + timeout;
+      int count = countEncoderThreads();
+      while (count > 0 && System.currentTimeMillis() < end) {
+         Thread.sleep(100);
+         count = countEncoderThreads();
+      }
+      return count;
+   }
+
+   private static int countEncoderThreads() {
+      int count = 0;
+      for (Thread thread : Thread.getAllStackTraces().keySet()) {
+         if (thread.isAlive() && "SVGImageEncoder".equals(thread.getName())) {
+            count++;
+         }
+      }
+      return count;
+   }
+
+   private String getHref(Element elt) {
+      return elt.getAttributeNS(SVGConstants.XLINK_NAMESPACE_URI, "href");
+   }
+
+   /**
+    * Test that the identical images are only encoded once.
+    */
+   @Test
+   public void testSharedImages() throws Exception {
+      System.out.println("SVGImageHandlerTest : testSharedImages");
+      Document doc = SVGDOMImplementation.getDOMImplementation().createDocument(SVGDOMImplementation.SVG_NAMESPACE_URI, "svg", null);
+      ConvertorSVGGraphics2D g2D = new ConvertorSVGGraphics2D(doc);
+      SVGImageHandler handler = new SVGImageHandler();
+      g2D.getGeneratorContext().setGenericImageHandler(handler);
+      for (int i = 0; i < 3; i++) {
+         // different instances with the same pixels
+         g2D.drawImage(createImage(BufferedImage.TYPE_INT_ARGB, Color.RED), i * 20, 0, null);
+      }
+      g2D.drawImage(createImage(BufferedImage.TYPE_INT_ARGB, Color.BLUE), 0, 40, 32, 32, null);
+      assertEquals(2, handler.getImagesCount(), "Distinct images");
+
+      Element root = g2D.getRoot();
+      handler.finish(root);
+      NodeList uses = root.getElementsByTagName("use");
+      assertEquals(3, uses.getLength(), "use elements");
+      NodeList images = root.getElementsByTagName("image");
+      assertEquals(2, images.getLength(), "image elements");
+      Element shared = (Element) images.item(0);
+      assertEquals("defs", shared.getParentNode().getNodeName(), "shared image in defs");
+      String ref = "#" + shared.getAttribute("id");
+      for (int i = 0; i < uses.getLength(); i++) {
+         assertEquals(ref, getHref((Element) uses.item(i)), "use reference");
+      }
+      assertTrue(getHref(shared).startsWith("data:image/png;base64,"), "PNG image");
+      Element single = (Element) images.item(1);
+      assertNotEquals("defs", single.getParentNode().getNodeName(), "image used once");
+      assertTrue(getHref(single).startsWith("data:image/png;base64,"), "PNG image");
+      assertEquals(0, handler.getImagesCount(), "Images must be cleared");
+   }
+
+   /**
+    * Test the encoding of opaque images as JPEG.
+    */
+   @Test
+   public void testEmptyImage() throws Exception {
+      System.out.println("SVGImageHandlerTest : testEmptyImage");
+      Document doc = SVGDOMImplementation.getDOMImplementation().createDocument(SVGDOMImplementation.SVG_NAMESPACE_URI, "svg", null);
+      ConvertorSVGGraphics2D g2D = new ConvertorSVGGraphics2D(doc);
+      SVGImageHandler handler = new SVGImageHandler();
+      g2D.getGeneratorContext().setGenericImageHandler(handler);
+      // a 0x10 image
+      g2D.drawImage(createImage(BufferedImage.TYPE_INT_ARGB, Color.RED), 0, 0, 0, 10, null);
+      g2D.drawImage(createImage(BufferedImage.TYPE_INT_ARGB, Color.BLUE), 0, 40, null);
+      assertEquals(1, handler.getImagesCount(), "Distinct images");
+
+      Element root = g2D.getRoot();
+      handler.finish(root);
+      NodeList uses = root.getElementsByTagName("use");
+      for (int i = 0; i < uses.getLength(); i++) {
+         assertFalse(getHref((Element) uses.item(i)).isEmpty(), "use reference");
+      }
+      NodeList images = root.getElementsByTagName("image");
+      assertEquals(1, images.getLength(), "image elements");
+      assertTrue(getHref((Element) images.item(0)).startsWith("data:image/png;base64,"), "PNG image");
+   }
+
+   @Test
+   public void testJPEGImages() throws Exception {
+      System.out.println("SVGImageHandlerTest : testJPEGImages");
+      Document doc = SVGDOMImplementation.getDOMImplementation().createDocument(SVGDOMImplementation.SVG_NAMESPACE_URI, "svg", null);
+      ConvertorSVGGraphics2D g2D = new ConvertorSVGGraphics2D(doc);
+      SVGImageHandler handler = new SVGImageHandler();
+      handler.setEncodingThreads(1);
+      handler.setJPEGQuality(0.8f);
+      g2D.getGeneratorContext().setGenericImageHandler(handler);
+      g2D.drawImage(createImage(BufferedImage.TYPE_INT_RGB, Color.RED), 0, 0, null);
+      g2D.drawImage(createImage(BufferedImage.TYPE_INT_ARGB, Color.RED), 0, 20, null);
+
+      Element root = g2D.getRoot();
+      handler.finish(root);
+      NodeList images = root.getElementsByTagName("image");
+      assertEquals(2, images.getLength(), "image elements");
+      assertTrue(getHref((Element) images.item(0)).startsWith("data:image/jpeg;base64,"), "JPEG for an opaque image");
+      assertTrue(getHref((Element) images.item(1)).startsWith("data:image/png;base64,"), "PNG for a transparent image");
+   }
+
+   /**
+    * Test that disposing the handler without finishing it, as when the conversion fails, cancels the encoding of the
+    * images and lets the encoding threads stop.
+    */
+   @Test
+   public void testDispose() throws Exception {
+      System.out.println("SVGImageHandlerTest : testDispose");
+      Document doc = SVGDOMImplementation.getDOMImplementation().createDocument(SVGDOMImplementation.SVG_NAMESPACE_URI, "svg", null);
+      ConvertorSVGGraphics2D g2D = new ConvertorSVGGraphics2D(doc);
+      SVGImageHandler handler = new SVGImageHandler();
+      handler.setEncodingThreads(4);
+      g2D.getGeneratorContext().setGenericImageHandler(handler);
+      Random random = new Random(1);
+      for (int i = 0; i < 16; i++) {
+         // noise images which are long to encode
+         BufferedImage image = new BufferedImage(256, 256, BufferedImage.TYPE_INT_ARGB);
+         for (int y = 0; y < 256; y++) {
+            for (int x = 0; x < 256; x++) {
+               image.setRGB(x, y, random.nextInt());
+            }
+         }
+         g2D.drawImage(image, 0, i * 10, null);
+      }
+      assertEquals(16, handler.getImagesCount(), "Distinct images");
+      assertTrue(waitForEncoderThreads(0) > 0, "Encoding threads started");
+      handler.dispose();
+      assertEquals(0, handler.getImagesCount(), "Released images");
+      assertEquals(0, waitForEncoderThreads(10000), "Stopped encoding threads");
+   }
+}
@@ -0,0 +1,77 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.svg;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.geom.AffineTransform;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the SVGNumberFormat class.
+ *
+ * @since 0.25
+ */
+public class SVGNumberFormatTest {
+
+   /**
+    * Test of formatting numbers.
+    */
+   @Test
+   public void testFormat() {
+      System.out.println("SVGNumberFormatTest : testFormat");
+      SVGNumberFormat format = new SVGNumberFormat(3);
+      assertEquals("0", format.format(0d), "zero");
+      assertEquals("0", format.format(-0d), "negative zero");
+      assertEquals("0", format.format(-0.0001d), "rounded to negative zero");
+      assertEquals("12", format.format(12d), "integer");
+      assertEquals("12.5", format.format(12.50000001d), "trailing zeros");
+      assertEquals("-3.142", format.format(-Math.PI), "negative");
+      assertEquals("0.05", format.format(0.05d), "leading zeros");
+      assertEquals("1", format.format(0.9999d), "rounding");
+      assertEquals("100000000000000000000", format.format(1e20d), "large value");
+      assertEquals("0", format.format(Double.NaN), "NaN");
+      assertEquals("0 -1.5 20", format.format(0d, -1.5d, 20d), "several values");
+   }
+
+   /**
+    * Test of formatting numbers with a different precision.
+    */
+   @Test
+   public void testPrecision() {
+      System.out.println("SVGNumberFormatTest : testPrecision");
+      assertEquals("3", new SVGNumberFormat(0).format(Math.PI), "precision 0");
+      assertEquals("3.14", new SVGNumberFormat(2).format(Math.PI), "precision 2");
+      assertEquals("3.14159265", new SVGNumberFormat(8).format(Math.PI), "precision 8");
+      AffineTransform tr = new AffineTransform(1, 0.5, -0.5, 2, 10, 20);
+      assertEquals("matrix(1 0.5 -0.5 2 10 20)", new SVGNumberFormat().format(tr), "matrix");
+   }
+}
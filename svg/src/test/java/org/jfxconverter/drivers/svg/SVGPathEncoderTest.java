@@ -0,0 +1,121 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.svg;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Rectangle2D;
+import org.apache.batik.parser.AWTPathProducer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the SVGPathEncoder class.
+ *
+ * @since 0.25
+ */
+public class SVGPathEncoderTest {
+
+   /**
+    * Test of the shortest form of the commands.
+    */
+   @Test
+   public void testEncode() {
+      System.out.println("SVGPathEncoderTest : testEncode");
+      SVGPathEncoder encoder = new SVGPathEncoder(3);
+      assertEquals("M10 10H30v.5H10Z", encoder.encode(new Rectangle2D.Double(10, 10, 20, 0.5)), "Rectangle");
+
+      Path2D path = new Path2D.Double();
+      path.moveTo(100, 100);
+      path.lineTo(110, 120);
+      path.lineTo(120, 140);
+      path.curveTo(130, 140, 140, 150, 150, 150);
+      path.curveTo(160, 150, 170, 140, 180, 140);
+      path.quadTo(190, 130, 200, 140);
+      path.quadTo(210, 150, 220, 140);
+      path.closePath();
+      assertEquals("M100 100l10 20 10 20c10 0 20 10 30 10s20-10 30-10q10-10 20 0t20 0Z", encoder.encode(path), "Path");
+
+      path = new Path2D.Double();
+      path.moveTo(0.5, -0.25);
+      path.lineTo(0.125, 0.3333);
+      assertEquals("M.5-.25.125.333", encoder.encode(path), "Separators");
+   }
+
+   /**
+    * Test that the encoded path is the same as the original path, with the rounding of the precision.
+    */
+   @Test
+   public void testRoundTrip() throws Exception {
+      System.out.println("SVGPathEncoderTest : testRoundTrip");
+      Path2D path = new Path2D.Double(PathIterator.WIND_EVEN_ODD);
+      double x = 0;
+      double y = 0;
+      path.moveTo(x, y);
+      for (int i = 0; i < 200; i++) {
+         x += Math.cos(i) * 1.23456;
+         y += Math.sin(i * 0.7) * 2.34567;
+         if (i % 3 == 0) {
+            path.lineTo(x, y);
+         } else if (i % 3 == 1) {
+            path.quadTo(x + 1.1111, y - 0.7777, x + 2, y);
+         } else {
+            path.curveTo(x + 0.3, y + 0.4, x - 0.5, y + 0.6, x + 1, y - 1);
+         }
+         if (i % 50 == 49) {
+            path.closePath();
+            path.moveTo(x, y);
+         }
+      }
+      SVGPathEncoder encoder = new SVGPathEncoder(2);
+      String data = encoder.encode(path);
+      String absolute = encoder.appendAbsolute(new StringBuilder(), path).toString();
+      assertTrue(data.length() < absolute.length(), "Shorter path");
+
+      PathIterator expected = AWTPathProducer.createShape(new java.io.StringReader(absolute), PathIterator.WIND_EVEN_ODD).getPathIterator(null);
+      PathIterator actual = AWTPathProducer.createShape(new java.io.StringReader(data), PathIterator.WIND_EVEN_ODD).getPathIterator(null);
+      double[] expectedCoords = new double[6];
+      double[] actualCoords = new double[6];
+      while (!expected.isDone()) {
+         assertFalse(actual.isDone(), "Segments count");
+         int type = expected.currentSegment(expectedCoords);
+         int actualType = actual.currentSegment(actualCoords);
+         assertEquals(type, actualType, "Segment type");
+         for (int i = 0; i < 6; i++) {
+            assertEquals(expectedCoords[i], actualCoords[i], 1e-3, "Coordinate");
+         }
+         expected.next();
+         actual.next();
+      }
+      assertTrue(actual.isDone(), "Segments count");
+   }
+}
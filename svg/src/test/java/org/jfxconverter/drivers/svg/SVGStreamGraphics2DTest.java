@@ -0,0 +1,170 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.svg;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.LinearGradientPaint;
+import java.awt.geom.Ellipse2D;
+import java.awt.TexturePaint;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.StringReader;
+import java.io.StringWriter;
+import org.apache.batik.dom.svg.SAXSVGDocumentFactory;
+import org.apache.batik.util.XMLResourceDescriptor;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/**
+ * Tests for the SVGStreamGraphics2D class.
+ *
+ * @since 0.25
+ */
+public class SVGStreamGraphics2DTest {
+
+   private Document parse(String content) throws Exception {
+      String parser = XMLResourceDescriptor.getXMLParserClassName();
+      SAXSVGDocumentFactory factory = new SAXSVGDocumentFactory(parser);
+      return factory.createDocument("file:/stream.svg", new StringReader(content));
+   }
+
+   /**
+    * Test of streaming shapes, groups and clips.
+    */
+   @Test
+   public void testStreamShapes() throws Exception {
+      System.out.println("SVGStreamGraphics2DTest : testStreamShapes");
+      StringWriter out = new StringWriter();
+      SVGStreamGraphics2D g2D = new SVGStreamGraphics2D(out, new Rectangle2D.Double(0, 0, 200, 100), "The <title>");
+      g2D.startGroup("group", null);
+      g2D.setColor(Color.RED);
+      g2D.fill(new Rectangle2D.Double(10, 10, 50, 20));
+      g2D.translate(100, 0);
+      g2D.clip(new Rectangle2D.Double(0, 0, 40, 40));
+      g2D.setStroke(new BasicStroke(2f));
+      g2D.setColor(new Color(0, 0, 255, 128));
+      g2D.draw(new Ellipse2D.Double(0, 0, 50, 50));
+      g2D.draw(new Ellipse2D.Double(10, 10, 50, 50));
+      g2D.endGroup(null);
+      g2D.finish();
+
+      Document doc = parse(out.toString());
+      Element root = doc.getDocumentElement();
+      assertEquals("0 0 200 100", root.getAttribute("viewBox"), "viewBox");
+      assertEquals("The <title>", doc.getElementsByTagName("title").item(0).getTextContent(), "title");
+      NodeList rects = doc.getElementsByTagName("rect");
+      assertEquals(1, rects.getLength(), "rect elements");
+      Element rect = (Element) rects.item(0);
+      assertEquals("#ff0000", rect.getAttribute("fill"), "fill");
+      NodeList clips = doc.getElementsByTagName("clipPath");
+      assertEquals(1, clips.getLength(), "the clip must be shared by the two ellipses");
+      Element clipPath = (Element) ((Element) clips.item(0)).getElementsByTagName("path").item(0);
+      assertEquals("M100 0h40V40H100Z", clipPath.getAttribute("d"), "clip in the device space");
+      NodeList ellipses = doc.getElementsByTagName("ellipse");
+      assertEquals(2, ellipses.getLength(), "ellipse elements");
+      Element ellipse = (Element) ellipses.item(0);
+      assertEquals("none", ellipse.getAttribute("fill"), "fill");
+      assertEquals("#0000ff", ellipse.getAttribute("stroke"), "stroke");
+      assertEquals("2", ellipse.getAttribute("stroke-width"), "stroke-width");
+      assertEquals("0.502", ellipse.getAttribute("stroke-opacity"), "stroke-opacity");
+      assertEquals("matrix(1 0 0 1 100 0)", ellipse.getAttribute("transform"), "transform");
+      Element clipGroup = (Element) ellipse.getParentNode();
+      assertEquals("url(#clipPath1)", clipGroup.getAttribute("clip-path"), "clip-path");
+      assertEquals("group", ((Element) clipGroup.getParentNode()).getAttribute("id"), "group");
+   }
+
+   /**
+    * Test of streaming gradients.
+    */
+   @Test
+   public void testStreamGradient() throws Exception {
+      System.out.println("SVGStreamGraphics2DTest : testStreamGradient");
+      StringWriter out = new StringWriter();
+      SVGStreamGraphics2D g2D = new SVGStreamGraphics2D(out, null, null);
+      LinearGradientPaint paint = new LinearGradientPaint(0, 0, 100, 0, new float[] {0f, 0.5f, 1f},
+         new Color[] {Color.RED, Color.GREEN, Color.BLUE});
+      g2D.setPaint(paint);
+      g2D.fill(new Rectangle2D.Double(0, 0, 100, 10));
+      g2D.fill(new Rectangle2D.Double(0, 20, 100, 10));
+      g2D.finish();
+
+      Document doc = parse(out.toString());
+      NodeList gradients = doc.getElementsByTagName("linearGradient");
+      assertEquals(1, gradients.getLength(), "the gradient must be defined once");
+      Element gradient = (Element) gradients.item(0);
+      assertEquals(3, gradient.getElementsByTagName("stop").getLength(), "stops");
+      assertEquals("100", gradient.getAttribute("x2"), "x2");
+      NodeList rects = doc.getElementsByTagName("rect");
+      assertEquals(2, rects.getLength(), "rect elements");
+      String ref = "url(#" + gradient.getAttribute("id") + ")";
+      assertEquals(ref, ((Element) rects.item(1)).getAttribute("fill"), "fill");
+   }
+
+   /**
+    * Test of clipping and drawing images with a Graphics2D created from the streaming Graphics2D.
+    */
+   @Test
+   public void testCreatedGraphics() throws Exception {
+      System.out.println("SVGStreamGraphics2DTest : testCreatedGraphics");
+      StringWriter out = new StringWriter();
+      SVGStreamGraphics2D g2D = new SVGStreamGraphics2D(out, new Rectangle2D.Double(0, 0, 200, 100), null);
+      g2D.translate(10, 0);
+      Graphics2D g = (Graphics2D) g2D.create();
+      assertTrue(g instanceof SVGStreamGraphics2D, "Created Graphics2D");
+      g.setClip(new Rectangle2D.Double(0, 0, 50, 50));
+      g.setColor(Color.RED);
+      g.fill(new Rectangle2D.Double(10, 10, 100, 20));
+      BufferedImage image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+      image.setRGB(1, 1, 0xFF00FF00);
+      g.drawImage(image, 20, 20, null);
+      // a Paint which has no SVG equivalent is rasterized
+      g.setPaint(new TexturePaint(image, new Rectangle2D.Double(0, 0, 4, 4)));
+      g.fill(new Rectangle2D.Double(0, 0, 100, 100));
+      g.dispose();
+      g2D.finish();
+
+      Document doc = parse(out.toString());
+      NodeList clips = doc.getElementsByTagName("clipPath");
+      assertEquals(1, clips.getLength(), "the clip must be shared by all the drawings");
+      Element clipPath = (Element) ((Element) clips.item(0)).getElementsByTagName("path").item(0);
+      assertEquals("M10 0H60V50H10Z", clipPath.getAttribute("d"), "clip in the device space");
+      NodeList images = doc.getElementsByTagName("image");
+      assertEquals(2, images.getLength(), "image elements");
+      Element raster = (Element) images.item(1);
+      assertEquals("50", raster.getAttribute("width"), "rasterized Paint clipped");
+   }
+}
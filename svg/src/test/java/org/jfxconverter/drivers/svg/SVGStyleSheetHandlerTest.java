@@ -0,0 +1,90 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.svg;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.Color;
+import java.awt.geom.Rectangle2D;
+import org.apache.batik.dom.svg.SVGDOMImplementation;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/**
+ * Tests for the SVGStyleSheetHandler class.
+ *
+ * @since 0.25
+ */
+public class SVGStyleSheetHandlerTest {
+
+   /**
+    * Test of sharing the repeated styles in CSS classes.
+    */
+   @Test
+   public void testApplyStyles() {
+      System.out.println("SVGStyleSheetHandlerTest : testApplyStyles");
+      Document doc = SVGDOMImplementation.getDOMImplementation().createDocument(SVGDOMImplementation.SVG_NAMESPACE_URI, "svg", null);
+      ConvertorSVGGraphics2D g2D = new ConvertorSVGGraphics2D(doc);
+      SVGStyleSheetHandler handler = new SVGStyleSheetHandler();
+      g2D.getGeneratorContext().setStyleHandler(handler);
+      g2D.setColor(Color.RED);
+      for (int i = 0; i < 10; i++) {
+         g2D.fill(new Rectangle2D.Double(i * 10, 0, 5, 5));
+      }
+      g2D.setColor(Color.BLUE);
+      g2D.draw(new Rectangle2D.Double(0, 20, 5, 5));
+
+      Element root = g2D.getRoot();
+      int classes = handler.applyStyles(root);
+      assertTrue(classes >= 1, "At least one class");
+      assertEquals(0, handler.getStylesCount(), "Styles must be cleared");
+      NodeList styles = root.getElementsByTagName("style");
+      assertEquals(1, styles.getLength(), "style element");
+      String css = styles.item(0).getTextContent();
+
+      NodeList rects = root.getElementsByTagName("rect");
+      assertEquals(11, rects.getLength(), "rect elements");
+      Element first = (Element) rects.item(0);
+      Element last = (Element) rects.item(10);
+      // the filled rectangles share the same style
+      String className = first.getAttribute("class");
+      assertFalse(className.isEmpty(), "class");
+      assertEquals(className, ((Element) rects.item(9)).getAttribute("class"), "shared class");
+      assertTrue(css.contains("." + className + " {stroke:none}"), "class rule");
+      assertTrue(first.getAttribute("stroke").isEmpty(), "no stroke attribute");
+      // the styles which are used once are inlined
+      assertEquals("red", ((Element) first.getParentNode()).getAttribute("fill"), "inlined group fill");
+      assertEquals("blue", last.getAttribute("stroke"), "inlined stroke");
+      assertTrue(last.getAttribute("class").isEmpty(), "no class for a single use");
+   }
+}
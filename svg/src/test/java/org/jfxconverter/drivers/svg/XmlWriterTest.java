@@ -0,0 +1,96 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.jfxconverter.drivers.svg;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.StringWriter;
+import org.apache.batik.dom.svg.SVGDOMImplementation;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Tests for the XmlWriter class.
+ *
+ * @since 0.25
+ */
+public class XmlWriterTest {
+
+   private Element createRoot(int count) {
+      Document doc = SVGDOMImplementation.getDOMImplementation().createDocument(SVGDOMImplementation.SVG_NAMESPACE_URI, "svg", null);
+      Element root = doc.getDocumentElement();
+      Element g = doc.createElementNS(SVGDOMImplementation.SVG_NAMESPACE_URI, "g");
+      g.setAttributeNS(null, "id", "a<b&\"c\"");
+      root.appendChild(g);
+      for (int i = 0; i < count; i++) {
+         Element rect = doc.createElementNS(SVGDOMImplementation.SVG_NAMESPACE_URI, "rect");
+         rect.setAttributeNS(null, "x", Integer.toString(i));
+         g.appendChild(rect);
+      }
+      Element text = doc.createElementNS(SVGDOMImplementation.SVG_NAMESPACE_URI, "text");
+      text.appendChild(doc.createTextNode("x < y & é"));
+      g.appendChild(text);
+      return root;
+   }
+
+   /**
+    * Test of the compact mode.
+    */
+   @Test
+   public void testCompact() throws Exception {
+      System.out.println("XmlWriterTest : testCompact");
+      StringWriter out = new StringWriter();
+      XmlWriter.writeXml(createRoot(2), out, false, true);
+      String content = out.toString();
+      assertTrue(content.contains("><g id=\"a&lt;b&amp;&quot;c&quot;\"><rect x=\"0\"/><rect x=\"1\"/>"
+         + "<text>x &lt; y &amp; é</text></g></svg>"), "Compact content");
+
+      out = new StringWriter();
+      XmlWriter.writeXml(createRoot(2), out, true, false);
+      content = out.toString();
+      assertTrue(content.contains("<rect x=\"0\"/>\n"), "Indented content");
+      assertTrue(content.contains("x &lt; y &amp; &#x00e9;"), "Escaped content");
+   }
+
+   /**
+    * Test of writing a content larger than the buffer.
+    */
+   @Test
+   public void testLargeContent() throws Exception {
+      System.out.println("XmlWriterTest : testLargeContent");
+      StringWriter out = new StringWriter();
+      XmlWriter.writeXml(createRoot(20000), out, false, true);
+      String content = out.toString();
+      assertTrue(content.contains("<rect x=\"19999\"/><text>"), "Last rectangle");
+      assertTrue(content.endsWith("</g></svg>"), "End of the content");
+   }
+}
@@ -0,0 +1,178 @@
+/*
+Copyright (c) 2026, Herve Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+The views and conclusions contained in the software and documentation are those
+of the authors and should not be interpreted as representing official policies,
+either expressed or implied, of the FreeBSD Project.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://sourceforge.net/projects/jfxconverter/
+ */
+package org.tools.jfxconverter.utils;
+
+import java.io.BufferedWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Text;
+import org.jfxconverter.drivers.svg.SVGConverter;
+
+/**
+ * Measures the throughput of concurrent SVG conversions performed with one shared {@link SVGConverter}, as in a
+ * server which converts Nodes for several requests at the same time.
+ *
+ * <h1>Usage</h1>
+ * <pre>
+ * java org.tools.jfxconverter.utils.SVGConcurrencyBenchmark [maximum threads] [seconds]
+ * </pre>
+ * The throughput is measured for 1, 2, 4, ... threads up to the maximum number of threads, which is the number of
+ * available processors by default. Each measure lasts 5 seconds by default, after a warmup of the same duration. The
+ * number of conversions per second and the speedup compared to one thread are printed for each number of threads.
+ *
+ * @since 0.25
+ */
+public class SVGConcurrencyBenchmark {
+   private final SVGConverter converter = new SVGConverter();
+   private final long duration;
+
+   public SVGConcurrencyBenchmark(long duration) {
+      this.duration = duration;
+   }
+
+   public static void main(String[] args) throws Exception {
+      int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+      long seconds = args.length > 1 ? Long.parseLong(args[1]) : 5L;
+      SVGConcurrencyBenchmark benchmark = new SVGConcurrencyBenchmark(seconds * 1000L);
+      // warmup
+      benchmark.measure(maxThreads);
+      double reference = 0;
+      for (int threads = 1; threads <= maxThreads; threads *= 2) {
+         double throughput = benchmark.measure(threads);
+         if (threads == 1) {
+            reference = throughput;
+         }
+         System.out.println(String.format("%d threads: %.1f conversions/s, speedup %.2f", threads, throughput, throughput / reference));
+      }
+   }
+
+   /**
+    * Return the number of conversions per second for a number of threads.
+    *
+    * @param threads the number of threads
+    * @return the number of conversions per second
+    */
+   public double measure(int threads) throws InterruptedException {
+      AtomicLong count = new AtomicLong();
+      AtomicBoolean running = new AtomicBoolean(true);
+      CountDownLatch ready = new CountDownLatch(threads);
+      CountDownLatch start = new CountDownLatch(1);
+      List<Thread> workers = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+         Thread worker = new Thread(() -> {
+            // the Nodes are not shared between the threads
+            Node node = createNode();
+            ready.countDown();
+            try {
+               start.await();
+               while (running.get()) {
+                  converter.convert(node, new BufferedWriter(new NullWriter()), null, false);
+                  count.incrementAndGet();
+               }
+            } catch (Exception e) {
+               e.printStackTrace();
+            }
+         });
+         workers.add(worker);
+         worker.start();
+      }
+      ready.await();
+      long begin = System.nanoTime();
+      start.countDown();
+      Thread.sleep(duration);
+      running.set(false);
+      long conversions = count.get();
+      long elapsed = System.nanoTime() - begin;
+      for (Thread worker : workers) {
+         worker.join();
+      }
+      return conversions * 1e9 / elapsed;
+   }
+
+   /**
+    * Create the converted Node: Shapes, texts, and a distinct image.
+    */
+   private static Node createNode() {
+      Group group = new Group();
+      for (int i = 0; i < 100; i++) {
+         Line line = new Line(i * 4, 0, 400 - i * 4, 400);
+         line.setStroke(Color.hsb(i * 3.6, 1, 1));
+         group.getChildren().add(line);
+         Rectangle rec = new Rectangle(i * 4, i * 2, 20, 10);
+         rec.setFill(Color.BLUE);
+         group.getChildren().add(rec);
+      }
+      for (int i = 0; i < 10; i++) {
+         Text text = new Text(10, 40 * i + 20, "Text " + i);
+         group.getChildren().add(text);
+      }
+      WritableImage image = new WritableImage(64, 64);
+      PixelWriter writer = image.getPixelWriter();
+      int seed = System.identityHashCode(group);
+      for (int y = 0; y < 64; y++) {
+         for (int x = 0; x < 64; x++) {
+            writer.setArgb(x, y, 0xFF000000 | (seed + y * 64 + x));
+         }
+      }
+      group.getChildren().add(new ImageView(image));
+      return group;
+   }
+
+   /**
+    * A Writer which discards the SVG content.
+    */
+   private static class NullWriter extends Writer {
+      @Override
+      public void write(char[] cbuf, int off, int len) {
+      }
+
+      @Override
+      public void flush() {
+      }
+
+      @Override
+      public void close() {
+      }
+   }
+}